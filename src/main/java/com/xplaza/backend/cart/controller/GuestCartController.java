@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.cart.controller;
+
+import java.util.List;
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import com.xplaza.backend.cart.domain.entity.Cart;
+import com.xplaza.backend.cart.service.CartService;
+import com.xplaza.backend.cart.service.GuestCartCookieCodec;
+import com.xplaza.backend.cart.service.GuestCartCookieCodec.GuestCartLine;
+import com.xplaza.backend.cart.service.GuestCartService;
+import com.xplaza.backend.cart.service.GuestCartService.GuestCartView;
+import com.xplaza.backend.customer.domain.entity.Customer;
+
+/**
+ * REST controller for anonymous carts held in a signed cookie. Guest carts are
+ * only written to the database when they are merged into the customer's cart on
+ * login; a cart that would outgrow the cookie is refused. Every endpoint but
+ * the merge is open to anonymous visitors.
+ */
+@RestController
+@RequestMapping("/api/v1/carts/guest")
+@RequiredArgsConstructor
+@Tag(name = "Guest Cart", description = "Cookie-backed guest cart operations")
+public class GuestCartController {
+
+  private final GuestCartService guestCartService;
+  private final GuestCartCookieCodec cookieCodec;
+  private final CartService cartService;
+
+  @GetMapping
+  @Operation(summary = "Get guest cart")
+  public ResponseEntity<GuestCartView> getCart(
+      @CookieValue(name = GuestCartCookieCodec.COOKIE_NAME, required = false) String cookie) {
+    return ResponseEntity.ok(guestCartService.view(cookieCodec.decode(cookie)));
+  }
+
+  @PostMapping("/items")
+  @Operation(summary = "Add item to guest cart")
+  public ResponseEntity<GuestCartView> addItem(
+      @CookieValue(name = GuestCartCookieCodec.COOKIE_NAME, required = false) String cookie,
+      @RequestBody GuestItemRequest request) {
+    List<GuestCartLine> lines = guestCartService.addItem(
+        cookieCodec.decode(cookie), request.productId(), request.variantId(), request.quantity());
+    return store(lines);
+  }
+
+  @PutMapping("/items")
+  @Operation(summary = "Update guest cart item quantity")
+  public ResponseEntity<GuestCartView> updateItemQuantity(
+      @CookieValue(name = GuestCartCookieCodec.COOKIE_NAME, required = false) String cookie,
+      @RequestBody GuestItemRequest request) {
+    List<GuestCartLine> lines = guestCartService.updateQuantity(
+        cookieCodec.decode(cookie), request.productId(), request.variantId(), request.quantity());
+    return store(lines);
+  }
+
+  @DeleteMapping("/items")
+  @Operation(summary = "Remove item from guest cart")
+  public ResponseEntity<GuestCartView> removeItem(
+      @CookieValue(name = GuestCartCookieCodec.COOKIE_NAME, required = false) String cookie,
+      @RequestParam Long productId,
+      @RequestParam(required = false) UUID variantId) {
+    List<GuestCartLine> lines = guestCartService.removeItem(cookieCodec.decode(cookie), productId, variantId);
+    return store(lines);
+  }
+
+  @PostMapping("/merge/{customerId}")
+  @Operation(summary = "Merge guest cart into customer cart on login",
+      description = "Only the signed-in customer may merge into their own cart")
+  public ResponseEntity<Cart> mergeIntoCustomerCart(
+      @CookieValue(name = GuestCartCookieCodec.COOKIE_NAME, required = false) String cookie,
+      @PathVariable Long customerId,
+      Authentication authentication) {
+    if (authentication == null || !(authentication.getPrincipal() instanceof Customer customer)
+        || !customerId.equals(customer.getCustomerId())) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+    Cart cart = cartService.mergeGuestCart(cookieCodec.decode(cookie), customerId);
+    return ResponseEntity.ok()
+        .header(HttpHeaders.SET_COOKIE, cookieCodec.expiredCookie().toString())
+        .body(cart);
+  }
+
+  /**
+   * Write the lines back to the cookie. A cart too large for the cookie is
+   * refused rather than persisted; the visitor has to sign in to grow it.
+   */
+  private ResponseEntity<GuestCartView> store(List<GuestCartLine> lines) {
+    String encoded = cookieCodec.encode(lines);
+    if (encoded == null) {
+      throw new IllegalStateException("Guest cart is full; sign in to add more items");
+    }
+    return ResponseEntity.ok()
+        .header(HttpHeaders.SET_COOKIE, cookieCodec.toCookie(encoded).toString())
+        .body(guestCartService.view(lines));
+  }
+
+  // ==================== Request DTOs ====================
+
+  public record GuestItemRequest(
+      Long productId,
+      UUID variantId,
+      int quantity
+  ) {
+  }
+}
@@ -9,8 +9,11 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,6 +25,7 @@ import com.xplaza.backend.cart.domain.entity.Cart.CartStatus;
 import com.xplaza.backend.cart.domain.entity.CartItem;
 import com.xplaza.backend.cart.domain.repository.CartItemRepository;
 import com.xplaza.backend.cart.domain.repository.CartRepository;
+import com.xplaza.backend.cart.service.GuestCartCookieCodec.GuestCartLine;
 import com.xplaza.backend.catalog.domain.entity.Product;
 import com.xplaza.backend.catalog.domain.repository.ProductRepository;
 import com.xplaza.backend.catalog.domain.repository.ProductVariantRepository;
@@ -121,13 +125,7 @@ public class CartService {
         .orElseThrow(() -> new IllegalArgumentException("Product not found: " + productId));
 
     // Use price from DB to prevent tampering, applying any active discounts
-    BigDecimal actualPrice = productDiscountService.calculateDiscountedPrice(product);
-
-    if (variantId != null) {
-      actualPrice = productVariantRepository.findById(variantId)
-          .map(v -> v.getPrice())
-          .orElseThrow(() -> new IllegalArgumentException("Variant not found: " + variantId));
-    }
+    BigDecimal actualPrice = resolveUnitPrice(product, variantId);
 
     // Check inventory
     int availableStock = variantId != null
@@ -160,9 +158,7 @@ public class CartService {
         .productName(product.getProductName())
         .variantName(variantName)
         .sku("SKU-" + productId) // Placeholder as Product entity lacks SKU
-        .imageUrl(product.getImages() != null && !product.getImages().isEmpty()
-            ? product.getImages().get(0).getProductImagePath()
-            : null)
+        .imageUrl(primaryImageUrl(product))
         .build();
 
     cart.addCartItem(item);
@@ -170,6 +166,26 @@ public class CartService {
     return cartItemRepository.save(item);
   }
 
+  /**
+   * Resolve the current unit price of a product or variant from the catalog.
+   */
+  @Transactional(readOnly = true)
+  public BigDecimal resolveUnitPrice(Product product, UUID variantId) {
+    BigDecimal price = productDiscountService.calculateDiscountedPrice(product);
+    if (variantId != null) {
+      price = productVariantRepository.findById(variantId)
+          .map(v -> v.getPrice())
+          .orElseThrow(() -> new IllegalArgumentException("Variant not found: " + variantId));
+    }
+    return price;
+  }
+
+  private String primaryImageUrl(Product product) {
+    return product.getImages() != null && !product.getImages().isEmpty()
+        ? product.getImages().get(0).getProductImagePath()
+        : null;
+  }
+
   /**
    * Update item quantity.
    */
@@ -314,6 +330,47 @@ public class CartService {
     return cartRepository.save(customerCart);
   }
 
+  /**
+   * Merge a cookie-held guest cart into the customer's cart on login. This is the
+   * first point at which a guest cart is written to the database.
+   */
+  public Cart mergeGuestCart(List<GuestCartLine> lines, Long customerId) {
+    Cart customerCart = cartRepository.findActiveCartByCustomerIdWithItems(customerId)
+        .orElseGet(() -> createCart(customerId, null));
+    addGuestLines(customerCart, lines);
+    return cartRepository.save(customerCart);
+  }
+
+  private void addGuestLines(Cart cart, List<GuestCartLine> lines) {
+    Map<Long, Product> products = productRepository.findAllById(
+        lines.stream().map(GuestCartLine::productId).distinct().toList())
+        .stream()
+        .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+
+    for (GuestCartLine line : lines) {
+      Product product = products.get(line.productId());
+      if (product == null) {
+        // Product removed since it was added to the cookie
+        continue;
+      }
+      CartItem existingItem = cart.findItem(line.productId(), line.variantId());
+      if (existingItem != null && existingItem.isActive()) {
+        existingItem.incrementQuantity(line.quantity());
+        continue;
+      }
+      cart.addCartItem(CartItem.builder()
+          .productId(line.productId())
+          .variantId(line.variantId())
+          .shopId(product.getShop().getShopId())
+          .quantity(line.quantity())
+          .unitPrice(resolveUnitPrice(product, line.variantId()))
+          .productName(product.getProductName())
+          .sku("SKU-" + line.productId())
+          .imageUrl(primaryImageUrl(product))
+          .build());
+    }
+  }
+
   /**
    * Mark cart as converted (when order is created).
    */
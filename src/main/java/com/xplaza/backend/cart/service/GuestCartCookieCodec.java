@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.cart.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encodes guest carts into a compact, HMAC-signed cookie value so that
+ * anonymous carts never need a database row.
+ *
+ * <p>
+ * Wire format: {@code base64url(payload) + "." + base64url(hmac)} where the
+ * payload is {@code v1|expiresEpochSeconds|line~line~...} and each line is
+ * {@code productId:variantId:quantity} (variant empty when absent). Prices are
+ * never stored in the cookie; they are always resolved from the catalog.
+ */
+@Component
+@Slf4j
+public class GuestCartCookieCodec {
+
+  public static final String COOKIE_NAME = "xp_guest_cart";
+
+  private static final String VERSION = "v1";
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  @Value("${cart.guest-cookie.secret:${jwt.secret}}")
+  private String secret;
+
+  /** Upper bound for the encoded cookie value (browsers cap a cookie at ~4KB) */
+  @Value("${cart.guest-cookie.max-bytes:3072}")
+  private int maxBytes;
+
+  @Value("${cart.guest-cookie.ttl-days:30}")
+  private int ttlDays;
+
+  @Value("${cart.guest-cookie.secure:true}")
+  private boolean secureCookie;
+
+  private SecretKeySpec key;
+
+  @PostConstruct
+  public void init() {
+    key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+  }
+
+  /**
+   * Encode lines into a signed cookie value.
+   *
+   * @return the cookie value, or {@code null} if the cart exceeds the size cap
+   */
+  public String encode(List<GuestCartLine> lines) {
+    StringBuilder payload = new StringBuilder(VERSION)
+        .append('|')
+        .append(Instant.now().plusSeconds(ttlDays * 86_400L).getEpochSecond())
+        .append('|');
+    for (int i = 0; i < lines.size(); i++) {
+      GuestCartLine line = lines.get(i);
+      if (i > 0) {
+        payload.append('~');
+      }
+      payload.append(line.productId())
+          .append(':')
+          .append(line.variantId() != null ? line.variantId() : "")
+          .append(':')
+          .append(line.quantity());
+    }
+
+    byte[] body = payload.toString().getBytes(StandardCharsets.UTF_8);
+    String value = ENCODER.encodeToString(body) + "." + ENCODER.encodeToString(sign(body));
+    if (value.length() > maxBytes) {
+      return null;
+    }
+    return value;
+  }
+
+  /**
+   * Decode a cookie value. Tampered, expired or malformed values yield an empty
+   * cart rather than an error, exactly as if no cookie had been sent.
+   */
+  public List<GuestCartLine> decode(String value) {
+    if (value == null || value.isBlank() || value.length() > maxBytes) {
+      return new ArrayList<>();
+    }
+    try {
+      int dot = value.indexOf('.');
+      if (dot <= 0) {
+        return new ArrayList<>();
+      }
+      byte[] body = DECODER.decode(value.substring(0, dot));
+      byte[] signature = DECODER.decode(value.substring(dot + 1));
+      if (!MessageDigest.isEqual(sign(body), signature)) {
+        log.warn("Rejected guest cart cookie with invalid signature");
+        return new ArrayList<>();
+      }
+
+      String[] parts = new String(body, StandardCharsets.UTF_8).split("\\|", -1);
+      if (parts.length != 3 || !VERSION.equals(parts[0])) {
+        return new ArrayList<>();
+      }
+      if (Instant.now().getEpochSecond() > Long.parseLong(parts[1])) {
+        return new ArrayList<>();
+      }
+
+      List<GuestCartLine> lines = new ArrayList<>();
+      if (parts[2].isEmpty()) {
+        return lines;
+      }
+      for (String encodedLine : parts[2].split("~")) {
+        String[] fields = encodedLine.split(":", -1);
+        lines.add(new GuestCartLine(
+            Long.parseLong(fields[0]),
+            fields[1].isEmpty() ? null : UUID.fromString(fields[1]),
+            Integer.parseInt(fields[2])));
+      }
+      return lines;
+    } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+      log.warn("Rejected malformed guest cart cookie: {}", e.getMessage());
+      return new ArrayList<>();
+    }
+  }
+
+  /**
+   * Build the Set-Cookie header value carrying an encoded cart.
+   */
+  public ResponseCookie toCookie(String value) {
+    return baseCookie(value).maxAge(ttlDays * 86_400L).build();
+  }
+
+  /**
+   * Build a Set-Cookie header value that deletes the guest cart cookie.
+   */
+  public ResponseCookie expiredCookie() {
+    return baseCookie("").maxAge(0).build();
+  }
+
+  private ResponseCookie.ResponseCookieBuilder baseCookie(String value) {
+    return ResponseCookie.from(COOKIE_NAME, value)
+        .httpOnly(true)
+        .secure(secureCookie)
+        .sameSite("Lax")
+        .path("/api/v1/carts/guest");
+  }
+
+  private byte[] sign(byte[] body) {
+    try {
+      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(key);
+      return mac.doFinal(body);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Unable to sign guest cart cookie", e);
+    }
+  }
+
+  /**
+   * One line of a guest cart as carried in the cookie.
+   */
+  public record GuestCartLine(
+      Long productId,
+      UUID variantId,
+      int quantity
+  ) {
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.cart.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.xplaza.backend.cart.service.GuestCartCookieCodec.GuestCartLine;
+import com.xplaza.backend.catalog.domain.entity.Product;
+import com.xplaza.backend.catalog.domain.repository.ProductRepository;
+import com.xplaza.backend.inventory.service.InventoryService;
+
+/**
+ * Service for cookie-held guest carts. Every operation takes the current lines
+ * and returns the new lines; nothing here writes to the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class GuestCartService {
+
+  private final ProductRepository productRepository;
+  private final InventoryService inventoryService;
+  private final CartService cartService;
+
+  /**
+   * Add an item, merging with an existing line for the same product/variant.
+   */
+  public List<GuestCartLine> addItem(List<GuestCartLine> lines, Long productId, UUID variantId, int quantity) {
+    if (quantity <= 0) {
+      throw new IllegalArgumentException("Quantity must be positive");
+    }
+    if (!productRepository.existsById(productId)) {
+      throw new IllegalArgumentException("Product not found: " + productId);
+    }
+
+    int existingQuantity = lines.stream()
+        .filter(line -> matches(line, productId, variantId))
+        .mapToInt(GuestCartLine::quantity)
+        .sum();
+    int newTotal = existingQuantity + quantity;
+    checkStock(productId, variantId, newTotal);
+
+    List<GuestCartLine> updated = without(lines, productId, variantId);
+    updated.add(new GuestCartLine(productId, variantId, newTotal));
+    return updated;
+  }
+
+  /**
+   * Set the quantity of a line; a quantity of zero or less removes it.
+   */
+  public List<GuestCartLine> updateQuantity(List<GuestCartLine> lines, Long productId, UUID variantId,
+      int quantity) {
+    if (lines.stream().noneMatch(line -> matches(line, productId, variantId))) {
+      throw new IllegalArgumentException("Item not found in cart: " + productId);
+    }
+    List<GuestCartLine> updated = without(lines, productId, variantId);
+    if (quantity > 0) {
+      checkStock(productId, variantId, quantity);
+      updated.add(new GuestCartLine(productId, variantId, quantity));
+    }
+    return updated;
+  }
+
+  /**
+   * Remove a line.
+   */
+  public List<GuestCartLine> removeItem(List<GuestCartLine> lines, Long productId, UUID variantId) {
+    return without(lines, productId, variantId);
+  }
+
+  /**
+   * Price the lines against the catalog for display.
+   */
+  public GuestCartView view(List<GuestCartLine> lines) {
+    Map<Long, Product> products = productRepository.findAllById(
+        lines.stream().map(GuestCartLine::productId).distinct().toList())
+        .stream()
+        .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+
+    List<GuestCartItemView> items = new ArrayList<>();
+    for (GuestCartLine line : lines) {
+      Product product = products.get(line.productId());
+      if (product == null) {
+        continue;
+      }
+      BigDecimal unitPrice = cartService.resolveUnitPrice(product, line.variantId());
+      items.add(new GuestCartItemView(
+          line.productId(),
+          line.variantId(),
+          product.getProductName(),
+          line.quantity(),
+          unitPrice,
+          unitPrice.multiply(BigDecimal.valueOf(line.quantity()))));
+    }
+
+    return new GuestCartView(
+        items,
+        items.stream().mapToInt(GuestCartItemView::quantity).sum(),
+        items.stream().map(GuestCartItemView::lineTotal).reduce(BigDecimal.ZERO, BigDecimal::add));
+  }
+
+  private void checkStock(Long productId, UUID variantId, int quantity) {
+    int availableStock = variantId != null
+        ? inventoryService.getAvailableQuantityByVariant(variantId)
+        : inventoryService.getAvailableQuantity(productId);
+    if (availableStock < quantity) {
+      throw new IllegalStateException("Insufficient stock. Available: " + availableStock);
+    }
+  }
+
+  private static List<GuestCartLine> without(List<GuestCartLine> lines, Long productId, UUID variantId) {
+    List<GuestCartLine> result = new ArrayList<>(lines.size() + 1);
+    for (GuestCartLine line : lines) {
+      if (!matches(line, productId, variantId)) {
+        result.add(line);
+      }
+    }
+    return result;
+  }
+
+  private static boolean matches(GuestCartLine line, Long productId, UUID variantId) {
+    return line.productId().equals(productId)
+        && (variantId == null ? line.variantId() == null : variantId.equals(line.variantId()));
+  }
+
+  // ==================== DTOs ====================
+
+  /**
+   * Priced guest cart.
+   */
+  public record GuestCartView(
+      List<GuestCartItemView> items,
+      int totalItemCount,
+      BigDecimal subtotal
+  ) {
+  }
+
+  public record GuestCartItemView(
+      Long productId,
+      UUID variantId,
+      String productName,
+      int quantity,
+      BigDecimal unitPrice,
+      BigDecimal lineTotal
+  ) {
+  }
+}
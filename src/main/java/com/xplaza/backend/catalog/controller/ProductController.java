@@ -6,6 +6,7 @@
 package com.xplaza.backend.catalog.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
@@ -32,6 +33,7 @@ import com.xplaza.backend.catalog.mapper.ProductMapper;
 import com.xplaza.backend.catalog.service.ProductService;
 import com.xplaza.backend.common.util.ApiResponse;
 import com.xplaza.backend.common.util.ApiResponse.PageMeta;
+import com.xplaza.backend.inventory.service.StockAvailabilityService;
 
 /**
  * Product Controller - Clean REST API design.
@@ -50,6 +52,7 @@ public class ProductController {
 
   private final ProductService productService;
   private final ProductMapper productMapper;
+  private final StockAvailabilityService stockAvailabilityService;
 
   /**
    * GET /api/v1/products
@@ -97,6 +100,7 @@ public class ProductController {
     List<ProductResponse> dtos = productPage.getContent().stream()
         .map(productMapper::toResponse)
         .toList();
+    markInStock(dtos);
 
     PageMeta pageMeta = PageMeta.from(productPage);
 
@@ -115,6 +119,7 @@ public class ProductController {
 
     Product product = productService.listProduct(id);
     ProductResponse dto = productMapper.toResponse(product);
+    markInStock(List.of(dto));
 
     return ResponseEntity.ok(ApiResponse.ok(dto));
   }
@@ -205,4 +210,14 @@ public class ProductController {
     List<String> imageUrls = productService.uploadProductImages(id, variantId, files);
     return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.created(imageUrls));
   }
+
+  /**
+   * Set the in-stock badge for a page of products from one bulk availability
+   * lookup.
+   */
+  private void markInStock(List<ProductResponse> dtos) {
+    Map<Long, Integer> available = stockAvailabilityService.getProductAvailability(
+        dtos.stream().map(ProductResponse::getProductId).toList());
+    dtos.forEach(dto -> dto.setInStock(available.getOrDefault(dto.getProductId(), 0) > 0));
+  }
 }
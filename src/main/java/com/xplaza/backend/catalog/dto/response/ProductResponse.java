@@ -22,6 +22,7 @@ public class ProductResponse {
   private String productDescription;
   private Double productPrice;
   private Integer quantity;
+  private Boolean inStock;
   private Boolean isTrending;
   private Long shopId;
   private String shopName;
@@ -7,7 +7,10 @@ package com.xplaza.backend.catalog.service;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 import lombok.RequiredArgsConstructor;
@@ -29,6 +32,8 @@ import com.xplaza.backend.catalog.domain.repository.VariantImageRepository;
 import com.xplaza.backend.common.service.FileStorageService;
 import com.xplaza.backend.exception.ResourceNotFoundException;
 import com.xplaza.backend.exception.ValidationException;
+import com.xplaza.backend.outbox.domain.entity.OutboxEvent;
+import com.xplaza.backend.outbox.service.OutboxService;
 
 @Service
 @RequiredArgsConstructor
@@ -38,6 +43,7 @@ public class ProductService {
   private final ProductVariantRepository productVariantRepository;
   private final VariantImageRepository variantImageRepository;
   private final FileStorageService fileStorageService;
+  private final OutboxService outboxService;
 
   @Transactional
   public Product addProduct(Product product) {
@@ -46,9 +52,18 @@ public class ProductService {
 
   @Transactional
   public Product updateProduct(Product product) {
-    productRepository.findById(product.getProductId())
+    Double oldPrice = productRepository.findById(product.getProductId())
         .orElseThrow(
-            () -> new ResourceNotFoundException("Product not found with id: " + product.getProductId()));
+            () -> new ResourceNotFoundException("Product not found with id: " + product.getProductId()))
+        .getProductSellingPrice();
+    Double newPrice = product.getProductSellingPrice();
+    if (!Objects.equals(oldPrice, newPrice)) {
+      Map<String, Object> payload = new LinkedHashMap<>();
+      payload.put("productId", product.getProductId());
+      payload.put("oldPrice", oldPrice);
+      payload.put("newPrice", newPrice);
+      outboxService.publish("PRODUCT", product.getProductId(), OutboxEvent.EventType.PRICE_CHANGED, payload);
+    }
     return productRepository.save(product);
   }
 
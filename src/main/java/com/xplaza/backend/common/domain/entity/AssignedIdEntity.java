@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.common.domain.entity;
+
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Base of entities whose id is assigned before they are first saved.
+ *
+ * Spring Data treats an entity with a non-null id as existing, so save() would
+ * merge it and select the row before inserting. These entities instead count as
+ * new until they are persisted or loaded, so save() of a new one is a plain
+ * insert and saveAll() can be batched.
+ */
+@MappedSuperclass
+public abstract class AssignedIdEntity<ID> implements Persistable<ID> {
+
+  @Transient
+  private boolean persisted;
+
+  @Override
+  @JsonIgnore
+  public abstract ID getId();
+
+  @Override
+  @JsonIgnore
+  public boolean isNew() {
+    return !persisted;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markPersisted() {
+    persisted = true;
+  }
+}
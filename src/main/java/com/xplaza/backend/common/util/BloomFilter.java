@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.common.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bloom filter over strings.
+ *
+ * Sized for an expected number of entries and false-positive rate; each entry
+ * sets {@code k} bits derived from one 64-bit hash by double hashing. A miss
+ * means the string was never added, a hit only that it may have been. Adding is
+ * not thread-safe; build the filter first and publish it, after which
+ * concurrent reads are safe.
+ */
+public class BloomFilter {
+
+  private final long[] bits;
+  private final long bitCount;
+  private final int hashCount;
+
+  public BloomFilter(int expectedEntries, double falsePositiveRate) {
+    if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+    }
+    int entries = Math.max(1, expectedEntries);
+    long size = (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    this.bitCount = Math.max(Long.SIZE, (size + Long.SIZE - 1) / Long.SIZE * Long.SIZE);
+    this.bits = new long[(int) (bitCount / Long.SIZE)];
+    this.hashCount = Math.clamp(Math.round((double) bitCount / entries * Math.log(2)), 1, 16);
+  }
+
+  public void add(String value) {
+    long hash = hash(value);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashCount; i++) {
+      long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+      bits[(int) (bit >>> 6)] |= 1L << bit;
+    }
+  }
+
+  public boolean mightContain(String value) {
+    long hash = hash(value);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashCount; i++) {
+      long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+      if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public long bitCount() {
+    return bitCount;
+  }
+
+  /**
+   * FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer so both
+   * halves are usable.
+   */
+  private static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.common.util;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel for deadline-driven work.
+ *
+ * Level 0 has one slot per tick; each higher level has slots as wide as a full
+ * turn of the level below. An entry sits on the lowest level whose turn still
+ * contains its deadline and is cascaded down as time reaches its slot, so
+ * adding is O(1) and advancing costs O(ticks elapsed + entries due) regardless
+ * of how many entries are waiting. Entries for the next turn of the top level
+ * wait in an overflow list; anything further out is rejected and must be added
+ * again later.
+ *
+ * @param <T> the type of entry scheduled on the wheel
+ */
+public class TimingWheel<T> {
+
+  private static final int SLOT_BITS = 6;
+  private static final int SLOTS = 1 << SLOT_BITS;
+  private static final int MASK = SLOTS - 1;
+
+  private final long tickMillis;
+  private final List<List<Entry<T>>[]> levels = new ArrayList<>();
+  private final List<Entry<T>> overflow = new ArrayList<>();
+  private long currentTick;
+  private int size;
+
+  @SuppressWarnings("unchecked")
+  public TimingWheel(long tickMillis, int levelCount, Instant start) {
+    if (tickMillis <= 0 || levelCount <= 0 || levelCount * SLOT_BITS >= Long.SIZE - 1) {
+      throw new IllegalArgumentException("Invalid timing wheel geometry");
+    }
+    this.tickMillis = tickMillis;
+    for (int level = 0; level < levelCount; level++) {
+      List<Entry<T>>[] slots = new List[SLOTS];
+      for (int slot = 0; slot < SLOTS; slot++) {
+        slots[slot] = new ArrayList<>();
+      }
+      levels.add(slots);
+    }
+    this.currentTick = start.toEpochMilli() / tickMillis;
+  }
+
+  /**
+   * Furthest deadline the wheel can hold right now.
+   */
+  public synchronized Instant horizon() {
+    long span = 1L << (SLOT_BITS * levels.size());
+    long lastTick = (currentTick & ~(span - 1)) + 2 * span - 1;
+    return Instant.ofEpochMilli(lastTick * tickMillis);
+  }
+
+  /**
+   * Schedule an entry.
+   *
+   * @return false if the deadline lies beyond {@link #horizon()}
+   */
+  public synchronized boolean add(T value, Instant deadline) {
+    return place(new Entry<>(value, Math.max(deadline.toEpochMilli() / tickMillis, currentTick)));
+  }
+
+  /**
+   * Move the wheel forward to {@code now} and return every entry whose deadline
+   * has been reached.
+   */
+  public synchronized List<T> advance(Instant now) {
+    long targetTick = now.toEpochMilli() / tickMillis;
+    List<T> due = new ArrayList<>();
+    drain(levels.get(0)[(int) (currentTick & MASK)], due);
+    while (currentTick < targetTick) {
+      currentTick++;
+      cascade();
+      drain(levels.get(0)[(int) (currentTick & MASK)], due);
+    }
+    return due;
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+
+  private boolean place(Entry<T> entry) {
+    for (int level = 0; level < levels.size(); level++) {
+      int parentShift = SLOT_BITS * (level + 1);
+      if (entry.tick >>> parentShift == currentTick >>> parentShift) {
+        levels.get(level)[(int) ((entry.tick >>> (SLOT_BITS * level)) & MASK)].add(entry);
+        size++;
+        return true;
+      }
+    }
+    int topShift = SLOT_BITS * levels.size();
+    if (entry.tick >>> topShift == (currentTick >>> topShift) + 1) {
+      overflow.add(entry);
+      size++;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * When a level's turn starts over, redistribute the next slot of the level
+   * above; repeat upwards while higher turns also wrap, ending with the overflow
+   * list when the top level wraps.
+   */
+  private void cascade() {
+    for (int level = 1; level <= levels.size(); level++) {
+      int shift = SLOT_BITS * level;
+      if ((currentTick & ((1L << shift) - 1)) != 0) {
+        return;
+      }
+      List<Entry<T>> slot = level < levels.size()
+          ? levels.get(level)[(int) ((currentTick >>> shift) & MASK)]
+          : overflow;
+      List<Entry<T>> moved = new ArrayList<>(slot);
+      slot.clear();
+      size -= moved.size();
+      moved.forEach(this::place);
+    }
+  }
+
+  private void drain(List<Entry<T>> slot, List<T> due) {
+    for (Entry<T> entry : slot) {
+      due.add(entry.value);
+    }
+    size -= slot.size();
+    slot.clear();
+  }
+
+  private record Entry<T>(T value, long tick) {
+  }
+}
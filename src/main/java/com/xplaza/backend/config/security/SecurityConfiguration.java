@@ -21,6 +21,9 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.xplaza.backend.idempotency.filter.IdempotencyKeyFilter;
+import com.xplaza.backend.waitingroom.filter.WaitingRoomFilter;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfiguration {
@@ -44,22 +47,29 @@ public class SecurityConfiguration {
   }
 
   @Bean
-  public SecurityFilterChain defaultSecurityFilterChain(JwtRequestFilter filterApiRequest, HttpSecurity http)
+  public SecurityFilterChain defaultSecurityFilterChain(JwtRequestFilter filterApiRequest,
+      WaitingRoomFilter waitingRoomFilter, IdempotencyKeyFilter idempotencyKeyFilter, HttpSecurity http)
       throws Exception {
     return http.sessionManagement(
         session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .csrf(csrf -> csrf.disable())
         .authorizeHttpRequests(authorize -> authorize
+            .requestMatchers("/api/v1/carts/guest/merge/**")
+            .authenticated()
             .requestMatchers(
                 "/actuator/health",
                 "/api/v1/auth/**",
                 "/api/v1/customer/auth/**",
+                "/api/v1/carts/guest/**",
+                "/api/v1/waiting-room/**",
                 "/api/v1/webhooks/**",
                 "/v3/api-docs/**",
                 "/swagger-ui/**")
             .permitAll()
             .anyRequest().authenticated())
         .addFilterBefore(filterApiRequest, UsernamePasswordAuthenticationFilter.class)
+        .addFilterAfter(waitingRoomFilter, JwtRequestFilter.class)
+        .addFilterAfter(idempotencyKeyFilter, WaitingRoomFilter.class)
         .cors(cors -> cors.configurationSource(corsConfigurationSource()))
         .build();
   }
@@ -9,18 +9,24 @@ import java.util.List;
 import java.util.UUID;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.xplaza.backend.fulfillment.domain.entity.Carrier;
 import com.xplaza.backend.fulfillment.domain.entity.Return;
 import com.xplaza.backend.fulfillment.domain.entity.Shipment;
+import com.xplaza.backend.fulfillment.dto.response.OrderTracking;
 import com.xplaza.backend.fulfillment.service.FulfillmentService;
+import com.xplaza.backend.fulfillment.service.OrderTrackingService;
 
 /**
  * REST controller for fulfillment operations.
@@ -32,6 +38,7 @@ import com.xplaza.backend.fulfillment.service.FulfillmentService;
 public class FulfillmentController {
 
   private final FulfillmentService fulfillmentService;
+  private final OrderTrackingService orderTrackingService;
 
   // ==================== Shipment Operations ====================
 
@@ -120,6 +127,23 @@ public class FulfillmentController {
     return ResponseEntity.ok(fulfillmentService.getPendingShipments(warehouseId));
   }
 
+  // ==================== Order Tracking ====================
+
+  @Operation(summary = "Track an order", description = "Order status, shipments with their latest tracking events "
+      + "and returns. Send the returned ETag in If-None-Match to get 304 while nothing has changed")
+  @GetMapping("/orders/{orderId}/tracking")
+  public ResponseEntity<OrderTracking> trackOrder(
+      @PathVariable UUID orderId,
+      @Parameter(description = "Latest tracking events per shipment") @RequestParam(required = false) Integer events,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return orderTrackingService.getTracking(orderId, events, ifNoneMatch)
+        .map(view -> view.tracking() == null
+            ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(view.etag()).cacheControl(CacheControl.noCache())
+                .<OrderTracking>build()
+            : ResponseEntity.ok().eTag(view.etag()).cacheControl(CacheControl.noCache()).body(view.tracking()))
+        .orElse(ResponseEntity.notFound().build());
+  }
+
   // ==================== Return Operations ====================
 
   @Operation(summary = "Create return request")
@@ -18,6 +18,7 @@ import lombok.*;
 @Entity
 @Table(name = "shipment_tracking_events", indexes = {
     @Index(name = "idx_tracking_shipment", columnList = "shipment_id"),
+    @Index(name = "idx_tracking_shipment_time", columnList = "shipment_id, event_time"),
     @Index(name = "idx_tracking_time", columnList = "event_time")
 })
 @Getter
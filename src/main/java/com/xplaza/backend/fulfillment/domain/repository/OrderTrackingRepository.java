@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.fulfillment.domain.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.xplaza.backend.fulfillment.domain.entity.Shipment;
+import com.xplaza.backend.fulfillment.dto.response.OrderTrackingHeader;
+import com.xplaza.backend.fulfillment.dto.response.ReturnSummary;
+import com.xplaza.backend.fulfillment.dto.response.ShipmentSummary;
+import com.xplaza.backend.fulfillment.dto.response.TrackingEventSummary;
+
+/**
+ * Read-only projections behind the order tracking view.
+ */
+@Repository
+public interface OrderTrackingRepository extends org.springframework.data.repository.Repository<Shipment, UUID> {
+
+  @Query("SELECT new com.xplaza.backend.fulfillment.dto.response.OrderTrackingHeader(o.orderId, o.orderNumber, "
+      + "o.status, o.paymentStatus, o.estimatedDeliveryDate, o.shippedAt, o.deliveredAt, o.updatedAt, "
+      + "(SELECT COUNT(s1) FROM Shipment s1 WHERE s1.orderId = o.orderId), "
+      + "(SELECT MAX(s2.updatedAt) FROM Shipment s2 WHERE s2.orderId = o.orderId), "
+      + "(SELECT COUNT(e1) FROM ShipmentTrackingEvent e1 WHERE e1.shipment.orderId = o.orderId), "
+      + "(SELECT MAX(e2.createdAt) FROM ShipmentTrackingEvent e2 WHERE e2.shipment.orderId = o.orderId), "
+      + "(SELECT COUNT(r1) FROM Return r1 WHERE r1.orderId = o.orderId), "
+      + "(SELECT MAX(r2.updatedAt) FROM Return r2 WHERE r2.orderId = o.orderId)) "
+      + "FROM CustomerOrder o WHERE o.orderId = :orderId")
+  Optional<OrderTrackingHeader> findHeader(@Param("orderId") UUID orderId);
+
+  @Query("SELECT new com.xplaza.backend.fulfillment.dto.response.ShipmentSummary(s.shipmentId, s.status, "
+      + "s.shippingMethod, c.name, s.trackingNumber, s.trackingUrl, s.estimatedDeliveryDate, s.shippedAt, "
+      + "s.deliveredAt) FROM Shipment s LEFT JOIN s.carrier c WHERE s.orderId = :orderId "
+      + "ORDER BY s.createdAt, s.shipmentId")
+  List<ShipmentSummary> findShipments(@Param("orderId") UUID orderId);
+
+  /**
+   * The latest {@code limit} events of each shipment, newest first.
+   */
+  @Query("SELECT new com.xplaza.backend.fulfillment.dto.response.TrackingEventSummary(e.shipment.shipmentId, "
+      + "e.status, e.eventCode, e.description, e.location, e.eventTime) FROM ShipmentTrackingEvent e "
+      + "WHERE e.shipment.shipmentId IN :shipmentIds AND (SELECT COUNT(n) FROM ShipmentTrackingEvent n "
+      + "WHERE n.shipment = e.shipment AND (n.eventTime > e.eventTime "
+      + "OR (n.eventTime = e.eventTime AND n.eventId > e.eventId))) < :limit "
+      + "ORDER BY e.eventTime DESC, e.eventId DESC")
+  List<TrackingEventSummary> findLatestEvents(@Param("shipmentIds") Collection<UUID> shipmentIds,
+      @Param("limit") long limit);
+
+  @Query("SELECT new com.xplaza.backend.fulfillment.dto.response.ReturnSummary(r.returnId, r.rmaNumber, r.status, "
+      + "r.type, r.returnTrackingNumber, r.createdAt, r.receivedAt, r.completedAt) FROM Return r "
+      + "WHERE r.orderId = :orderId ORDER BY r.createdAt, r.returnId")
+  List<ReturnSummary> findReturns(@Param("orderId") UUID orderId);
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.fulfillment.dto.response;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import com.xplaza.backend.fulfillment.domain.entity.Shipment;
+import com.xplaza.backend.order.domain.entity.CustomerOrder;
+
+/**
+ * Where an order is: its status, its shipments with their latest tracking
+ * events, and its returns.
+ */
+public record OrderTracking(
+    UUID orderId,
+    String orderNumber,
+    CustomerOrder.OrderStatus status,
+    String paymentStatus,
+    LocalDate estimatedDeliveryDate,
+    Instant shippedAt,
+    Instant deliveredAt,
+    List<ShipmentTracking> shipments,
+    List<ReturnSummary> returns) {
+
+  /** A shipment with its latest tracking events, newest first. */
+  public record ShipmentTracking(
+      UUID shipmentId,
+      Shipment.ShipmentStatus status,
+      Shipment.ShippingMethod shippingMethod,
+      String carrierName,
+      String trackingNumber,
+      String trackingUrl,
+      Instant estimatedDeliveryDate,
+      Instant shippedAt,
+      Instant deliveredAt,
+      List<TrackingEventSummary> events) {
+
+    public static ShipmentTracking of(ShipmentSummary shipment, List<TrackingEventSummary> events) {
+      return new ShipmentTracking(shipment.shipmentId(), shipment.status(), shipment.shippingMethod(),
+          shipment.carrierName(), shipment.trackingNumber(), shipment.trackingUrl(),
+          shipment.estimatedDeliveryDate(), shipment.shippedAt(), shipment.deliveredAt(), events);
+    }
+  }
+}
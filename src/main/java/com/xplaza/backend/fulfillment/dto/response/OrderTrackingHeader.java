@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.fulfillment.dto.response;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.xplaza.backend.order.domain.entity.CustomerOrder;
+
+/**
+ * Status columns of an order, with change stamps of its shipments, tracking
+ * events and returns that version the tracking view.
+ */
+public record OrderTrackingHeader(
+    UUID orderId,
+    String orderNumber,
+    CustomerOrder.OrderStatus status,
+    String paymentStatus,
+    LocalDate estimatedDeliveryDate,
+    Instant shippedAt,
+    Instant deliveredAt,
+    Instant updatedAt,
+    Long shipmentCount,
+    Instant shipmentsUpdatedAt,
+    Long eventCount,
+    Instant lastEventAt,
+    Long returnCount,
+    Instant returnsUpdatedAt) {
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.fulfillment.dto.response;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.xplaza.backend.fulfillment.domain.entity.Return;
+
+/**
+ * Summary columns of a return, as tracked without loading the entity.
+ */
+public record ReturnSummary(
+    UUID returnId,
+    String rmaNumber,
+    Return.ReturnStatus status,
+    Return.ReturnType type,
+    String returnTrackingNumber,
+    Instant createdAt,
+    Instant receivedAt,
+    Instant completedAt) {
+}
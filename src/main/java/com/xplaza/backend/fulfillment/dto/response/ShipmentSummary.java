@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.fulfillment.dto.response;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.xplaza.backend.fulfillment.domain.entity.Shipment;
+
+/**
+ * Summary columns of a shipment, as tracked without loading the entity.
+ */
+public record ShipmentSummary(
+    UUID shipmentId,
+    Shipment.ShipmentStatus status,
+    Shipment.ShippingMethod shippingMethod,
+    String carrierName,
+    String trackingNumber,
+    String trackingUrl,
+    Instant estimatedDeliveryDate,
+    Instant shippedAt,
+    Instant deliveredAt) {
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.fulfillment.dto.response;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.xplaza.backend.fulfillment.domain.entity.Shipment;
+
+/**
+ * A shipment tracking event, without the raw carrier payload.
+ */
+public record TrackingEventSummary(
+    @JsonIgnore UUID shipmentId,
+    Shipment.ShipmentStatus status,
+    String eventCode,
+    String description,
+    String location,
+    Instant eventTime) {
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.fulfillment.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.xplaza.backend.fulfillment.domain.repository.OrderTrackingRepository;
+import com.xplaza.backend.fulfillment.dto.response.OrderTracking;
+import com.xplaza.backend.fulfillment.dto.response.OrderTrackingHeader;
+import com.xplaza.backend.fulfillment.dto.response.ShipmentSummary;
+import com.xplaza.backend.fulfillment.dto.response.TrackingEventSummary;
+
+/**
+ * Builds the "where is my order" view.
+ *
+ * One query reads the order's status columns together with change stamps of its
+ * shipments, tracking events and returns; the ETag is a hash of those, so a
+ * poll that matches it is answered without reading anything else. Otherwise
+ * shipments, the latest events of all shipments and returns are read with one
+ * projection query each.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OrderTrackingService {
+
+  private final OrderTrackingRepository trackingRepository;
+
+  @Value("${order.tracking.default-events:5}")
+  private int defaultEvents;
+
+  @Value("${order.tracking.max-events:20}")
+  private int maxEvents;
+
+  /**
+   * The tracking view of an order with its ETag, or only the ETag when it matches
+   * {@code ifNoneMatch}.
+   *
+   * @param events latest tracking events per shipment; null for the default
+   * @return empty if the order does not exist
+   */
+  public Optional<TrackingView> getTracking(UUID orderId, Integer events, String ifNoneMatch) {
+    int limit = events == null ? defaultEvents : Math.clamp(events, 1, maxEvents);
+    Optional<OrderTrackingHeader> found = trackingRepository.findHeader(orderId);
+    if (found.isEmpty()) {
+      return Optional.empty();
+    }
+    OrderTrackingHeader header = found.get();
+    String etag = etag(header, limit);
+    if (matches(ifNoneMatch, etag)) {
+      return Optional.of(new TrackingView(etag, null));
+    }
+
+    List<ShipmentSummary> shipments = header.shipmentCount() > 0 ? trackingRepository.findShipments(orderId)
+        : List.of();
+    Map<UUID, List<TrackingEventSummary>> eventsByShipment = new LinkedHashMap<>();
+    shipments.forEach(s -> eventsByShipment.put(s.shipmentId(), new ArrayList<>()));
+    if (header.eventCount() > 0 && !shipments.isEmpty()) {
+      for (TrackingEventSummary event : trackingRepository.findLatestEvents(eventsByShipment.keySet(), limit)) {
+        List<TrackingEventSummary> list = eventsByShipment.get(event.shipmentId());
+        // Events sharing a timestamp can push a shipment past the limit
+        if (list != null && list.size() < limit) {
+          list.add(event);
+        }
+      }
+    }
+
+    OrderTracking tracking = new OrderTracking(
+        header.orderId(),
+        header.orderNumber(),
+        header.status(),
+        header.paymentStatus(),
+        header.estimatedDeliveryDate(),
+        header.shippedAt(),
+        header.deliveredAt(),
+        shipments.stream()
+            .map(s -> OrderTracking.ShipmentTracking.of(s, eventsByShipment.get(s.shipmentId())))
+            .toList(),
+        header.returnCount() > 0 ? trackingRepository.findReturns(orderId) : List.of());
+    return Optional.of(new TrackingView(etag, tracking));
+  }
+
+  /**
+   * Strong ETag of a tracking view: changes whenever the order, one of its
+   * shipments or returns is updated, or a tracking event is added.
+   */
+  static String etag(OrderTrackingHeader header, int events) {
+    String version = String.join("|", String.valueOf(header.orderId()), String.valueOf(header.updatedAt()),
+        String.valueOf(header.shipmentCount()), String.valueOf(header.shipmentsUpdatedAt()),
+        String.valueOf(header.eventCount()), String.valueOf(header.lastEventAt()),
+        String.valueOf(header.returnCount()), String.valueOf(header.returnsUpdatedAt()), String.valueOf(events));
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(version.getBytes(StandardCharsets.UTF_8));
+      return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  /**
+   * Whether an If-None-Match header lists {@code etag}, compared weakly as RFC
+   * 9110 asks for GET.
+   */
+  static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals("*") || tag.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * A tracking view and its ETag; the view is null when the client's copy is
+   * current.
+   */
+  public record TrackingView(String etag, OrderTracking tracking) {
+  }
+}
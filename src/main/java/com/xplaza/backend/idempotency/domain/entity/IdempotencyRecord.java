@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.idempotency.domain.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+/**
+ * A request made with an {@code Idempotency-Key}: leased while the first
+ * attempt runs, then holding a snapshot of its response for retries to replay
+ * until it expires.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+    @Index(name = "idx_idempotency_expires", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+  /** SHA-256 of the caller and the client's key, hex encoded. */
+  @Id
+  @Column(name = "record_key", length = 64)
+  private String recordKey;
+
+  /**
+   * SHA-256 of method, path and body; a key reused for another request is
+   * rejected.
+   */
+  @Column(name = "request_hash", nullable = false, length = 64)
+  private String requestHash;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 20)
+  private RecordStatus status;
+
+  /**
+   * Until when the first attempt holds the key; a lapsed lease can be taken over.
+   */
+  @Column(name = "lease_until")
+  private Instant leaseUntil;
+
+  /**
+   * Drawn by the attempt holding the lease; only that attempt can complete or
+   * release the key, not one whose lease was taken over meanwhile.
+   */
+  @Column(name = "lease_token")
+  private UUID leaseToken;
+
+  @Column(name = "response_status")
+  private Integer responseStatus;
+
+  @Column(name = "content_type", length = 100)
+  private String contentType;
+
+  /** Gzipped response body. */
+  @Column(name = "response_body", columnDefinition = "BYTEA")
+  private byte[] responseBody;
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+
+  @Column(name = "expires_at", nullable = false)
+  private Instant expiresAt;
+
+  public enum RecordStatus {
+    /** First attempt still running */
+    IN_PROGRESS,
+    /** Response stored for replay */
+    COMPLETED
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.idempotency.domain.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.xplaza.backend.idempotency.domain.entity.IdempotencyRecord;
+
+/**
+ * Repository for IdempotencyRecord entity.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+  /**
+   * Lease a key whose previous attempt lost its lease or whose record expired.
+   * Runs in its own transaction when called outside one, as the caller's wait
+   * loop must not hold a transaction.
+   */
+  @Modifying
+  @Transactional
+  @Query("UPDATE IdempotencyRecord r SET r.status = 'IN_PROGRESS', r.requestHash = :requestHash, "
+      + "r.leaseUntil = :leaseUntil, r.leaseToken = :leaseToken, r.responseStatus = NULL, r.contentType = NULL, "
+      + "r.responseBody = NULL, r.createdAt = :now, r.expiresAt = :expiresAt WHERE r.recordKey = :recordKey "
+      + "AND ((r.status = 'IN_PROGRESS' AND r.leaseUntil < :now) OR r.expiresAt < :now)")
+  int takeOver(
+      @Param("recordKey") String recordKey,
+      @Param("requestHash") String requestHash,
+      @Param("leaseUntil") Instant leaseUntil,
+      @Param("leaseToken") UUID leaseToken,
+      @Param("expiresAt") Instant expiresAt,
+      @Param("now") Instant now);
+
+  /**
+   * Store the response, if the given attempt still holds the lease.
+   */
+  @Modifying
+  @Query("UPDATE IdempotencyRecord r SET r.status = 'COMPLETED', r.leaseUntil = NULL, r.leaseToken = NULL, "
+      + "r.responseStatus = :responseStatus, r.contentType = :contentType, r.responseBody = :responseBody, "
+      + "r.expiresAt = :expiresAt WHERE r.recordKey = :recordKey AND r.status = 'IN_PROGRESS' "
+      + "AND r.leaseToken = :leaseToken")
+  int complete(
+      @Param("recordKey") String recordKey,
+      @Param("leaseToken") UUID leaseToken,
+      @Param("responseStatus") int responseStatus,
+      @Param("contentType") String contentType,
+      @Param("responseBody") byte[] responseBody,
+      @Param("expiresAt") Instant expiresAt);
+
+  /**
+   * Drop the lease, if the given attempt still holds it.
+   */
+  @Modifying
+  @Query("DELETE FROM IdempotencyRecord r WHERE r.recordKey = :recordKey AND r.status = 'IN_PROGRESS' "
+      + "AND r.leaseToken = :leaseToken")
+  int release(@Param("recordKey") String recordKey, @Param("leaseToken") UUID leaseToken);
+
+  @Modifying
+  @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+  int deleteExpired(@Param("now") Instant now);
+}
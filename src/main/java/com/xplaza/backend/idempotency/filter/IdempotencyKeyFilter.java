@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.idempotency.filter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.Set;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xplaza.backend.common.util.ErrorResponse;
+import com.xplaza.backend.idempotency.domain.entity.IdempotencyRecord;
+import com.xplaza.backend.idempotency.service.IdempotencyService;
+import com.xplaza.backend.idempotency.service.IdempotencyService.Outcome;
+
+/**
+ * Makes mutating requests that carry an {@code Idempotency-Key} header safe to
+ * retry.
+ *
+ * The first request with a key runs and its response is stored; a retry with
+ * the same key and request gets the stored response back without running
+ * anything, marked {@code Idempotent-Replayed: true}. A duplicate arriving
+ * while the first is still running waits briefly for it and otherwise gets 409;
+ * a key reused for a different request gets 422. Server errors are not stored,
+ * so the client can retry them. Runs after JWT authentication, so keys are
+ * scoped to the caller; unauthenticated requests pass through untouched.
+ */
+@Component
+public class IdempotencyKeyFilter extends OncePerRequestFilter {
+
+  public static final String HEADER = "Idempotency-Key";
+  public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+  private static final int MAX_KEY_LENGTH = 255;
+  private static final Set<String> METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+  private final IdempotencyService idempotencyService;
+  private final ObjectMapper objectMapper;
+  private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+  @Value("${idempotency.paths:/api/v1/checkout/**,/api/v1/payments/**,/api/v1/customer-orders/**}")
+  private String[] paths;
+
+  @Value("${idempotency.wait-ms:3000}")
+  private long waitMs;
+
+  public IdempotencyKeyFilter(IdempotencyService idempotencyService, ObjectMapper objectMapper) {
+    this.idempotencyService = idempotencyService;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(@NotNull HttpServletRequest request) {
+    if (request.getHeader(HEADER) == null || !METHODS.contains(request.getMethod())) {
+      return true;
+    }
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    for (String pattern : paths) {
+      if (pathMatcher.match(pattern.trim(), path)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  protected void doFilterInternal(@NotNull HttpServletRequest request,
+      @NotNull HttpServletResponse response,
+      @NotNull FilterChain filterChain)
+      throws ServletException, IOException {
+    String caller = caller();
+    if (caller == null) {
+      // Unauthenticated: security rejects it further down the chain
+      filterChain.doFilter(request, response);
+      return;
+    }
+    String key = request.getHeader(HEADER).trim();
+    if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+      sendError(request, response, HttpStatus.BAD_REQUEST, "idempotency.key.invalid",
+          HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+      return;
+    }
+    byte[] body = request.getInputStream().readAllBytes();
+    String requestHash = IdempotencyService.hashRequest(request.getMethod(), request.getRequestURI(),
+        request.getQueryString(), body);
+    Outcome outcome = idempotencyService.begin(caller, key, requestHash);
+
+    switch (outcome.decision()) {
+    case PROCEED -> proceed(outcome, new CachedBodyRequest(request, body), response, filterChain);
+    case REPLAY -> replay(outcome.record(), response);
+    case MISMATCH -> sendError(request, response, HttpStatus.UNPROCESSABLE_ENTITY, "idempotency.key.reused",
+        HEADER + " was already used for a different request");
+    case IN_PROGRESS -> {
+      Optional<IdempotencyRecord> completed = idempotencyService.awaitCompletion(outcome.recordKey(), waitMs);
+      if (completed.isPresent()) {
+        replay(completed.get(), response);
+      } else {
+        response.setHeader("Retry-After", "1");
+        sendError(request, response, HttpStatus.CONFLICT, "idempotency.key.in_progress",
+            "A request with this " + HEADER + " is still being processed");
+      }
+    }
+    }
+  }
+
+  private void proceed(Outcome lease, HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+    try {
+      filterChain.doFilter(request, wrapper);
+    } catch (ServletException | IOException | RuntimeException e) {
+      idempotencyService.release(lease.recordKey(), lease.leaseToken());
+      throw e;
+    }
+    if (wrapper.getStatus() >= 500) {
+      idempotencyService.release(lease.recordKey(), lease.leaseToken());
+    } else {
+      idempotencyService.complete(lease.recordKey(), lease.leaseToken(), wrapper.getStatus(), wrapper.getContentType(),
+          wrapper.getContentAsByteArray());
+    }
+    wrapper.copyBodyToResponse();
+  }
+
+  private void replay(IdempotencyRecord record, HttpServletResponse response) throws IOException {
+    byte[] body = IdempotencyService.responseBody(record);
+    response.setStatus(record.getResponseStatus());
+    if (record.getContentType() != null) {
+      response.setContentType(record.getContentType());
+    }
+    response.setHeader(REPLAYED_HEADER, "true");
+    response.setContentLength(body.length);
+    response.getOutputStream().write(body);
+  }
+
+  private void sendError(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String code,
+      String message) throws IOException {
+    var error = new ErrorResponse.Error(code, message, request.getRequestURI());
+    response.setStatus(status.value());
+    response.setContentType("application/json");
+    response.getWriter().write(objectMapper.writeValueAsString(error));
+  }
+
+  private static String caller() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+  }
+
+  /** Request whose body was read up front to hash it, replayed to the handler. */
+  private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+
+    CachedBodyRequest(HttpServletRequest request, byte[] body) {
+      super(request);
+      this.body = body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      ByteArrayInputStream in = new ByteArrayInputStream(body);
+      return new ServletInputStream() {
+        @Override
+        public int read() {
+          return in.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+          return in.read(b, off, len);
+        }
+
+        @Override
+        public boolean isFinished() {
+          return in.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+          throw new UnsupportedOperationException();
+        }
+      };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+      Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding())
+          : StandardCharsets.UTF_8;
+      return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+  }
+}
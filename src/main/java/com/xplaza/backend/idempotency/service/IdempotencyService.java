@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.idempotency.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.xplaza.backend.idempotency.domain.entity.IdempotencyRecord;
+import com.xplaza.backend.idempotency.domain.entity.IdempotencyRecord.RecordStatus;
+import com.xplaza.backend.idempotency.domain.repository.IdempotencyRecordRepository;
+
+/**
+ * Store behind {@code Idempotency-Key} handling.
+ *
+ * The first request with a key inserts a record holding a short lease; the
+ * insert is auto-committed on its own so concurrent duplicates see it at once
+ * and the primary key decides which of them runs. When the request finishes its
+ * response is stored gzipped and replayed to retries until the record expires.
+ * A retry therefore costs one primary-key lookup. Each lease carries a token
+ * drawn by the attempt holding it, so an attempt that outlived its lease cannot
+ * complete or release the key for the attempt that took it over.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+
+  private static final long POLL_MS = 100;
+
+  private final IdempotencyRecordRepository recordRepository;
+  private final JdbcTemplate jdbcTemplate;
+
+  @Value("${idempotency.lease-seconds:60}")
+  private long leaseSeconds;
+
+  @Value("${idempotency.ttl-hours:24}")
+  private long ttlHours;
+
+  @Value("${spring.jpa.properties.hibernate.default_schema:}")
+  private String defaultSchema;
+
+  /**
+   * Start a request made with an idempotency key.
+   *
+   * @param caller      who is calling, so keys of different callers never meet
+   * @param key         the client's {@code Idempotency-Key}
+   * @param requestHash hash of the request, see {@link #hashRequest}
+   */
+  public Outcome begin(String caller, String key, String requestHash) {
+    String recordKey = sha256Hex((caller + "\n" + key).getBytes(StandardCharsets.UTF_8));
+    for (int attempt = 0; attempt < 2; attempt++) {
+      Optional<IdempotencyRecord> existing = recordRepository.findById(recordKey);
+      if (existing.isEmpty()) {
+        try {
+          UUID leaseToken = UUID.randomUUID();
+          insert(recordKey, requestHash, leaseToken);
+          return new Outcome(Decision.PROCEED, recordKey, leaseToken, null);
+        } catch (DuplicateKeyException e) {
+          // A concurrent duplicate inserted first; look again
+          continue;
+        }
+      }
+      return decide(existing.get(), requestHash);
+    }
+    return new Outcome(Decision.IN_PROGRESS, recordKey, null, null);
+  }
+
+  /**
+   * Store the response of a request that held the key.
+   *
+   * @param leaseToken the lease token returned by {@link #begin}
+   */
+  @Transactional
+  public void complete(String recordKey, UUID leaseToken, int status, String contentType, byte[] body) {
+    Instant expiresAt = Instant.now().plus(Duration.ofHours(ttlHours));
+    if (recordRepository.complete(recordKey, leaseToken, status, contentType, gzip(body), expiresAt) == 0) {
+      log.warn("Idempotency record {} lost its lease before completing", recordKey);
+    }
+  }
+
+  /**
+   * Drop the lease of a request that failed, so a retry runs it again.
+   */
+  @Transactional
+  public void release(String recordKey, UUID leaseToken) {
+    if (recordRepository.release(recordKey, leaseToken) == 0) {
+      log.warn("Idempotency record {} lost its lease before releasing", recordKey);
+    }
+  }
+
+  /**
+   * Wait up to {@code waitMs} for the request holding the key to finish.
+   *
+   * @return the completed record, or empty if it is still running
+   */
+  public Optional<IdempotencyRecord> awaitCompletion(String recordKey, long waitMs) {
+    long deadline = System.currentTimeMillis() + waitMs;
+    while (true) {
+      Optional<IdempotencyRecord> record = recordRepository.findById(recordKey)
+          .filter(r -> r.getStatus() == RecordStatus.COMPLETED);
+      if (record.isPresent() || System.currentTimeMillis() >= deadline) {
+        return record;
+      }
+      try {
+        Thread.sleep(POLL_MS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return Optional.empty();
+      }
+    }
+  }
+
+  /**
+   * Delete expired records.
+   */
+  @Scheduled(cron = "${idempotency.purge-cron:0 45 * * * *}")
+  @Transactional
+  public void purgeExpired() {
+    try {
+      int deleted = recordRepository.deleteExpired(Instant.now());
+      if (deleted > 0) {
+        log.info("Purged {} expired idempotency keys", deleted);
+      }
+    } catch (RuntimeException e) {
+      log.warn("Idempotency key purge failed", e);
+    }
+  }
+
+  /**
+   * Hash of the parts of a request that must match for a key to be replayed.
+   */
+  public static String hashRequest(String method, String path, String query, byte[] body) {
+    MessageDigest digest = sha256();
+    digest.update((method + " " + path + (query != null ? "?" + query : "") + "\n")
+        .getBytes(StandardCharsets.UTF_8));
+    digest.update(body);
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  /**
+   * Unzip a stored response body.
+   */
+  public static byte[] responseBody(IdempotencyRecord record) {
+    if (record.getResponseBody() == null) {
+      return new byte[0];
+    }
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(record.getResponseBody()))) {
+      return in.readAllBytes();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private Outcome decide(IdempotencyRecord record, String requestHash) {
+    Instant now = Instant.now();
+    boolean live = record.getExpiresAt().isAfter(now)
+        && (record.getStatus() == RecordStatus.COMPLETED || record.getLeaseUntil().isAfter(now));
+    if (live) {
+      if (!record.getRequestHash().equals(requestHash)) {
+        return new Outcome(Decision.MISMATCH, record.getRecordKey(), null, record);
+      }
+      return record.getStatus() == RecordStatus.COMPLETED
+          ? new Outcome(Decision.REPLAY, record.getRecordKey(), null, record)
+          : new Outcome(Decision.IN_PROGRESS, record.getRecordKey(), null, record);
+    }
+    // The last attempt died holding the lease, or the record expired
+    UUID leaseToken = UUID.randomUUID();
+    int taken = recordRepository.takeOver(record.getRecordKey(), requestHash, now.plusSeconds(leaseSeconds),
+        leaseToken, now.plus(Duration.ofHours(ttlHours)), now);
+    return taken == 1
+        ? new Outcome(Decision.PROCEED, record.getRecordKey(), leaseToken, null)
+        : new Outcome(Decision.IN_PROGRESS, record.getRecordKey(), null, null);
+  }
+
+  private void insert(String recordKey, String requestHash, UUID leaseToken) {
+    Instant now = Instant.now();
+    jdbcTemplate.update("INSERT INTO " + table("idempotency_keys")
+        + " (record_key, request_hash, status, lease_until, lease_token, created_at, expires_at)"
+        + " VALUES (?, ?, ?, ?, ?, ?, ?)",
+        recordKey, requestHash, RecordStatus.IN_PROGRESS.name(), Timestamp.from(now.plusSeconds(leaseSeconds)),
+        leaseToken, Timestamp.from(now), Timestamp.from(now.plus(Duration.ofHours(ttlHours))));
+  }
+
+  private String table(String name) {
+    return defaultSchema == null || defaultSchema.isBlank() ? name : defaultSchema + "." + name;
+  }
+
+  private static byte[] gzip(byte[] body) {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+      out.write(body);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return compressed.toByteArray();
+  }
+
+  private static String sha256Hex(byte[] bytes) {
+    return HexFormat.of().formatHex(sha256().digest(bytes));
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  /** What to do with a request carrying a key. */
+  public enum Decision {
+    /** Run it; this request holds the key */
+    PROCEED,
+    /** Replay the stored response */
+    REPLAY,
+    /** Another request with the key is still running */
+    IN_PROGRESS,
+    /** The key was used for a different request */
+    MISMATCH
+  }
+
+  /**
+   * Decision for a request, with the lease token if it proceeds and the record to
+   * replay if any.
+   */
+  public record Outcome(Decision decision, String recordKey, UUID leaseToken, IdempotencyRecord record) {
+  }
+}
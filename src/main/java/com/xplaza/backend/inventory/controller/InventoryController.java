@@ -5,20 +5,49 @@
 
 package com.xplaza.backend.inventory.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xplaza.backend.inventory.domain.entity.ArchivedInventoryMovement;
+import com.xplaza.backend.inventory.domain.entity.DemandForecast;
+import com.xplaza.backend.inventory.domain.entity.InventoryAlert;
 import com.xplaza.backend.inventory.domain.entity.InventoryItem;
+import com.xplaza.backend.inventory.domain.entity.InventoryMovement;
 import com.xplaza.backend.inventory.domain.entity.StockReservation;
 import com.xplaza.backend.inventory.domain.entity.Warehouse;
+import com.xplaza.backend.inventory.service.DemandForecastService;
+import com.xplaza.backend.inventory.service.InventoryAlertService;
+import com.xplaza.backend.inventory.service.InventoryMovementService;
+import com.xplaza.backend.inventory.service.InventoryReportService;
 import com.xplaza.backend.inventory.service.InventoryService;
+import com.xplaza.backend.inventory.service.InventorySyncService;
+import com.xplaza.backend.inventory.service.InventoryValuation;
+import com.xplaza.backend.inventory.service.StockAllocationService;
+import com.xplaza.backend.inventory.service.StockAllocator;
 
 /**
  * REST controller for inventory management operations.
@@ -29,7 +58,17 @@ import com.xplaza.backend.inventory.service.InventoryService;
 @Tag(name = "Inventory", description = "Inventory and stock management APIs")
 public class InventoryController {
 
+  private static final int MAX_BULK_AVAILABILITY_IDS = 1000;
+  private static final int MAX_SYNC_LINES = 200_000;
+
   private final InventoryService inventoryService;
+  private final StockAllocationService allocationService;
+  private final InventoryMovementService movementService;
+  private final InventoryAlertService alertService;
+  private final InventorySyncService syncService;
+  private final DemandForecastService forecastService;
+  private final InventoryReportService reportService;
+  private final ObjectMapper objectMapper;
 
   // ==================== Stock Queries ====================
 
@@ -45,6 +84,19 @@ public class InventoryController {
     return ResponseEntity.ok(inventoryService.getAvailableQuantityByVariant(variantId));
   }
 
+  @Operation(summary = "Get availability for many products and variants in one call")
+  @PostMapping("/availability")
+  public ResponseEntity<BulkAvailabilityResponse> getBulkAvailability(@RequestBody BulkAvailabilityRequest request) {
+    List<Long> productIds = request.productIds() != null ? request.productIds() : List.of();
+    List<UUID> variantIds = request.variantIds() != null ? request.variantIds() : List.of();
+    if (productIds.size() + variantIds.size() > MAX_BULK_AVAILABILITY_IDS) {
+      throw new IllegalArgumentException("At most " + MAX_BULK_AVAILABILITY_IDS + " ids per availability request");
+    }
+    return ResponseEntity.ok(new BulkAvailabilityResponse(
+        inventoryService.getAvailableQuantities(productIds),
+        inventoryService.getAvailableQuantitiesByVariant(variantIds)));
+  }
+
   @Operation(summary = "Check if product is in stock")
   @GetMapping("/products/{productId}/in-stock")
   public ResponseEntity<Boolean> isInStock(@PathVariable Long productId) {
@@ -94,6 +146,22 @@ public class InventoryController {
     return ResponseEntity.ok(reservation);
   }
 
+  @Operation(summary = "Preview how order lines would be split across warehouses")
+  @PostMapping("/allocations/plan")
+  public ResponseEntity<StockAllocator.Plan> planAllocation(@RequestBody AllocationRequest request) {
+    return ResponseEntity.ok(allocationService.plan(request.lines(), request.latitude(), request.longitude()));
+  }
+
+  @Operation(summary = "Split order lines across warehouses and reserve them")
+  @PostMapping("/allocations")
+  public ResponseEntity<List<StockReservation>> allocate(@RequestBody AllocationRequest request) {
+    if (request.orderId() == null) {
+      throw new IllegalArgumentException("orderId is required");
+    }
+    return ResponseEntity.ok(allocationService.allocateAndReserve(request.lines(), request.latitude(),
+        request.longitude(), request.orderId()));
+  }
+
   @Operation(summary = "Release stock reservation")
   @PostMapping("/reservations/{reservationId}/release")
   public ResponseEntity<Void> releaseReservation(@PathVariable UUID reservationId) {
@@ -108,6 +176,24 @@ public class InventoryController {
     return ResponseEntity.ok().build();
   }
 
+  @Operation(summary = "Get stock reservations for an order")
+  @GetMapping("/orders/{orderId}/reservations")
+  public ResponseEntity<List<StockReservation>> getOrderReservations(@PathVariable UUID orderId) {
+    return ResponseEntity.ok(inventoryService.getOrderReservations(orderId));
+  }
+
+  @Operation(summary = "Release all stock reservations for an order")
+  @PostMapping("/orders/{orderId}/reservations/release")
+  public ResponseEntity<Integer> releaseOrderReservations(@PathVariable UUID orderId) {
+    return ResponseEntity.ok(inventoryService.releaseOrderReservations(orderId));
+  }
+
+  @Operation(summary = "Fulfill all stock reservations for an order (ship order)")
+  @PostMapping("/orders/{orderId}/reservations/fulfill")
+  public ResponseEntity<Integer> fulfillOrderReservations(@PathVariable UUID orderId) {
+    return ResponseEntity.ok(inventoryService.fulfillOrderReservations(orderId));
+  }
+
   @Operation(summary = "Receive stock from supplier")
   @PostMapping("/receive")
   public ResponseEntity<InventoryItem> receiveStock(@RequestBody ReceiveStockRequest request) {
@@ -115,6 +201,7 @@ public class InventoryController {
         request.sku(),
         request.warehouseId(),
         request.quantity(),
+        request.unitCost(),
         request.userId());
     return ResponseEntity.ok(item);
   }
@@ -132,6 +219,54 @@ public class InventoryController {
     return ResponseEntity.ok(item);
   }
 
+  @Operation(summary = "Enable hot-SKU striping over N stock buckets")
+  @PostMapping("/{inventoryId}/striping")
+  public ResponseEntity<InventoryItem> enableStriping(
+      @PathVariable UUID inventoryId,
+      @RequestBody StripingRequest request) {
+    return ResponseEntity.ok(inventoryService.enableStriping(inventoryId, request.stripes()));
+  }
+
+  @Operation(summary = "Disable hot-SKU striping")
+  @DeleteMapping("/{inventoryId}/striping")
+  public ResponseEntity<InventoryItem> disableStriping(@PathVariable UUID inventoryId) {
+    return ResponseEntity.ok(inventoryService.disableStriping(inventoryId));
+  }
+
+  @Operation(summary = "Get stock movement history for an inventory item, newest first")
+  @GetMapping("/{inventoryId}/movements")
+  public ResponseEntity<Page<MovementResponse>> getMovements(
+      @PathVariable UUID inventoryId,
+      @RequestParam(defaultValue = "false") boolean archived,
+      @PageableDefault(size = 50) Pageable pageable) {
+    Page<MovementResponse> movements = archived
+        ? movementService.getArchivedHistory(inventoryId, pageable).map(MovementResponse::from)
+        : movementService.getHistory(inventoryId, pageable).map(MovementResponse::from);
+    return ResponseEntity.ok(movements);
+  }
+
+  @Operation(summary = "Apply a warehouse stock sync",
+      description = "Body is newline-delimited JSON, one {warehouseId, sku, count | delta} per line. "
+          + "Re-sending a batch id that was already applied changes nothing.")
+  @PostMapping(value = "/sync/{batchId}", consumes = { "application/x-ndjson", "application/json" })
+  public ResponseEntity<InventorySyncService.SyncResult> syncStock(
+      @PathVariable String batchId,
+      @RequestParam(required = false) Long userId,
+      InputStream body) throws IOException {
+    List<InventorySyncService.SyncLine> lines = new ArrayList<>();
+    try (MappingIterator<InventorySyncService.SyncLine> it = objectMapper
+        .readerFor(InventorySyncService.SyncLine.class)
+        .readValues(body)) {
+      while (it.hasNextValue()) {
+        if (lines.size() == MAX_SYNC_LINES) {
+          throw new IllegalArgumentException("At most " + MAX_SYNC_LINES + " lines per sync");
+        }
+        lines.add(it.nextValue());
+      }
+    }
+    return ResponseEntity.ok(syncService.sync(batchId, lines, userId));
+  }
+
   // ==================== Alerts ====================
 
   @Operation(summary = "Get items needing reorder")
@@ -146,6 +281,57 @@ public class InventoryController {
     return ResponseEntity.ok(inventoryService.getItemsBelowSafetyStock());
   }
 
+  @Operation(summary = "Get open stock alerts of a type, oldest first")
+  @GetMapping("/alerts")
+  public ResponseEntity<List<InventoryAlert>> getOpenAlerts(
+      @RequestParam(defaultValue = "REORDER") InventoryAlert.AlertType type) {
+    return ResponseEntity.ok(alertService.getOpenAlerts(type));
+  }
+
+  // ==================== Forecasts ====================
+
+  @Operation(summary = "Get reorder threshold suggestions awaiting approval")
+  @GetMapping("/forecasts")
+  public ResponseEntity<Page<DemandForecast>> getPendingForecasts(
+      @PageableDefault(size = 50, sort = "computedAt") Pageable pageable) {
+    return ResponseEntity.ok(forecastService.getPending(pageable));
+  }
+
+  @Operation(summary = "Apply a suggested reorder point and safety stock to its item")
+  @PostMapping("/forecasts/{inventoryId}/apply")
+  public ResponseEntity<DemandForecast> applyForecast(@PathVariable UUID inventoryId) {
+    return ResponseEntity.ok(forecastService.apply(inventoryId));
+  }
+
+  @Operation(summary = "Reject a suggested reorder point and safety stock")
+  @PostMapping("/forecasts/{inventoryId}/reject")
+  public ResponseEntity<DemandForecast> rejectForecast(@PathVariable UUID inventoryId) {
+    return ResponseEntity.ok(forecastService.reject(inventoryId));
+  }
+
+  @Operation(summary = "Recompute demand forecasts now")
+  @PostMapping("/forecasts/run")
+  public ResponseEntity<DemandForecastService.RunSummary> runForecasts() {
+    return ResponseEntity.ok(forecastService.run());
+  }
+
+  // ==================== Reports ====================
+
+  @Operation(summary = "Download stock valuation and ageing per warehouse and category as CSV")
+  @GetMapping(value = "/reports/valuation", produces = "text/csv")
+  public ResponseEntity<StreamingResponseBody> getValuationReport(
+      @RequestParam(defaultValue = "FIFO") InventoryValuation.Method method) {
+    StreamingResponseBody body = out -> {
+      Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+      reportService.writeValuationReport(method, writer);
+    };
+    return ResponseEntity.ok()
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"inventory-valuation-" + method.name().toLowerCase() + ".csv\"")
+        .contentType(MediaType.parseMediaType("text/csv"))
+        .body(body);
+  }
+
   // ==================== Warehouses ====================
 
   @Operation(summary = "Get active warehouses")
@@ -189,14 +375,69 @@ public class InventoryController {
       String sku,
       Long warehouseId,
       int quantity,
+      BigDecimal unitCost,
       Long userId
   ) {
   }
 
+  public record AllocationRequest(
+      List<StockAllocationService.OrderLine> lines,
+      BigDecimal latitude,
+      BigDecimal longitude,
+      UUID orderId
+  ) {
+  }
+
+  public record BulkAvailabilityRequest(
+      List<Long> productIds,
+      List<UUID> variantIds
+  ) {
+  }
+
+  public record StripingRequest(
+      int stripes
+  ) {
+  }
+
   public record AdjustStockRequest(
       int newQuantity,
       String reason,
       Long userId
   ) {
   }
+
+  // ==================== Response DTOs ====================
+
+  public record BulkAvailabilityResponse(
+      Map<Long, Integer> products,
+      Map<UUID, Integer> variants
+  ) {
+  }
+
+  public record MovementResponse(
+      UUID movementId,
+      InventoryMovement.MovementType type,
+      Integer quantity,
+      Integer quantityBefore,
+      Integer quantityAfter,
+      BigDecimal unitCost,
+      InventoryMovement.ReferenceType referenceType,
+      String referenceId,
+      String reason,
+      Long createdBy,
+      Instant createdAt
+  ) {
+
+    static MovementResponse from(InventoryMovement m) {
+      return new MovementResponse(m.getMovementId(), m.getType(), m.getQuantity(), m.getQuantityBefore(),
+          m.getQuantityAfter(), m.getUnitCost(), m.getReferenceType(), m.getReferenceId(), m.getReason(),
+          m.getCreatedBy(), m.getCreatedAt());
+    }
+
+    static MovementResponse from(ArchivedInventoryMovement m) {
+      return new MovementResponse(m.getMovementId(), m.getType(), m.getQuantity(), m.getQuantityBefore(),
+          m.getQuantityAfter(), m.getUnitCost(), m.getReferenceType(), m.getReferenceId(), m.getReason(),
+          m.getCreatedBy(), m.getCreatedAt());
+    }
+  }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.domain.entity;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+/**
+ * Inventory movement moved out of the live table once it aged past the
+ * retention window. Read-only; rows are copied in by the archiver with the same
+ * columns as {@link InventoryMovement}.
+ */
+@Entity
+@Table(name = "inventory_movements_archive", indexes = {
+    @Index(name = "idx_movement_archive_inventory_created", columnList = "inventory_id, created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedInventoryMovement {
+
+  @Id
+  @Column(name = "movement_id")
+  private UUID movementId;
+
+  @Column(name = "inventory_id", nullable = false)
+  private UUID inventoryId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "type", nullable = false, length = 30)
+  private InventoryMovement.MovementType type;
+
+  @Column(name = "quantity", nullable = false)
+  private Integer quantity;
+
+  @Column(name = "quantity_before", nullable = false)
+  private Integer quantityBefore;
+
+  @Column(name = "quantity_after", nullable = false)
+  private Integer quantityAfter;
+
+  @Column(name = "unit_cost", precision = 15, scale = 4)
+  private BigDecimal unitCost;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "reference_type", length = 30)
+  private InventoryMovement.ReferenceType referenceType;
+
+  @Column(name = "reference_id", length = 50)
+  private String referenceId;
+
+  @Column(name = "reason", columnDefinition = "TEXT")
+  private String reason;
+
+  @Column(name = "notes", columnDefinition = "TEXT")
+  private String notes;
+
+  @Column(name = "created_by")
+  private Long createdBy;
+
+  @Column(name = "created_at")
+  private Instant createdAt;
+}
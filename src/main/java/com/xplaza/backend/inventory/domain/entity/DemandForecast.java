@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.domain.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+import com.xplaza.backend.common.domain.entity.AssignedIdEntity;
+
+/**
+ * Latest demand forecast of an inventory item and the reorder point and safety
+ * stock it suggests, awaiting approval unless auto-applied.
+ */
+@Entity
+@Table(name = "inventory_demand_forecasts", indexes = {
+    @Index(name = "idx_demand_forecast_status", columnList = "status, computed_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DemandForecast extends AssignedIdEntity<UUID> {
+
+  @Id
+  @Column(name = "inventory_id")
+  private UUID inventoryId;
+
+  @Column(name = "daily_demand", nullable = false)
+  private Double dailyDemand;
+
+  @Column(name = "demand_std_dev", nullable = false)
+  private Double demandStdDev;
+
+  @Column(name = "days_observed", nullable = false)
+  private Integer daysObserved;
+
+  @Column(name = "lead_time_days", nullable = false)
+  private Integer leadTimeDays;
+
+  @Column(name = "service_level", nullable = false)
+  private Double serviceLevel;
+
+  @Column(name = "current_reorder_point")
+  private Integer currentReorderPoint;
+
+  @Column(name = "current_safety_stock")
+  private Integer currentSafetyStock;
+
+  @Column(name = "suggested_reorder_point", nullable = false)
+  private Integer suggestedReorderPoint;
+
+  @Column(name = "suggested_safety_stock", nullable = false)
+  private Integer suggestedSafetyStock;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 20)
+  @Builder.Default
+  private ForecastStatus status = ForecastStatus.PENDING;
+
+  @Column(name = "computed_at", nullable = false)
+  private Instant computedAt;
+
+  @Column(name = "decided_at")
+  private Instant decidedAt;
+
+  public enum ForecastStatus {
+    /** Suggestion differs from the item's thresholds and awaits a decision */
+    PENDING,
+    /** Suggestion written to the item */
+    APPLIED,
+    /** Suggestion declined */
+    REJECTED,
+    /** Suggestion already matches the item's thresholds */
+    UNCHANGED
+  }
+
+  /**
+   * Whether the suggestion differs from the thresholds the item had when it was
+   * computed.
+   */
+  public boolean differsFromCurrent() {
+    return !suggestedReorderPoint.equals(currentReorderPoint) || !suggestedSafetyStock.equals(currentSafetyStock);
+  }
+
+  @Override
+  public UUID getId() {
+    return inventoryId;
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.domain.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+/**
+ * Open stock threshold alert. A row exists for as long as the item stays at or
+ * below the threshold, so the table doubles as the indexed "needs reorder" and
+ * "low stock" sets.
+ */
+@Entity
+@Table(name = "inventory_alerts", indexes = {
+    @Index(name = "idx_inventory_alert_type_raised", columnList = "type, raised_at")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_inventory_alert_item_type", columnNames = { "inventory_id", "type" })
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryAlert {
+
+  @Id
+  @Column(name = "alert_id")
+  @Builder.Default
+  private UUID alertId = UUID.randomUUID();
+
+  @Column(name = "inventory_id", nullable = false)
+  private UUID inventoryId;
+
+  @Column(name = "product_id")
+  private Long productId;
+
+  @Column(name = "warehouse_id")
+  private Long warehouseId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "type", nullable = false, length = 20)
+  private AlertType type;
+
+  @Column(name = "available_quantity", nullable = false)
+  private Integer availableQuantity;
+
+  @Column(name = "threshold", nullable = false)
+  private Integer threshold;
+
+  @Column(name = "raised_at", nullable = false)
+  @Builder.Default
+  private Instant raisedAt = Instant.now();
+
+  public enum AlertType {
+    /** Available stock at or below the reorder point */
+    REORDER,
+    /** Available stock at or below the safety stock */
+    LOW_STOCK
+  }
+}
@@ -6,6 +6,7 @@
 package com.xplaza.backend.inventory.domain.entity;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -85,6 +86,14 @@ public class InventoryItem {
   @Column(name = "max_stock")
   private Integer maxStock;
 
+  /**
+   * Number of stock buckets when hot-SKU striping is enabled (null or 0 when
+   * disabled). While striped, free units live in {@link InventoryStockBucket}
+   * rows and are counted in {@code quantityReserved} here.
+   */
+  @Column(name = "stripe_count")
+  private Integer stripeCount;
+
   // Cost tracking
   @Column(name = "unit_cost", precision = 15, scale = 4)
   private BigDecimal unitCost;
@@ -127,11 +136,6 @@ public class InventoryItem {
   @Builder.Default
   private Instant updatedAt = Instant.now();
 
-  @OneToMany(mappedBy = "inventoryItem", fetch = FetchType.LAZY)
-  @OrderBy("createdAt DESC")
-  @Builder.Default
-  private List<InventoryMovement> movements = new ArrayList<>();
-
   @OneToMany(mappedBy = "inventoryItem", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
   @Builder.Default
   private List<StockReservation> reservations = new ArrayList<>();
@@ -211,6 +215,23 @@ public class InventoryItem {
     this.lastReceivedAt = Instant.now();
   }
 
+  /**
+   * Receive incoming stock bought at the given unit cost, folding it into the
+   * moving average cost.
+   */
+  public void receiveStock(int quantity, BigDecimal cost) {
+    if (cost != null) {
+      if (unitCost == null || quantityOnHand <= 0) {
+        unitCost = cost;
+      } else {
+        unitCost = unitCost.multiply(BigDecimal.valueOf(quantityOnHand))
+            .add(cost.multiply(BigDecimal.valueOf(quantity)))
+            .divide(BigDecimal.valueOf((long) quantityOnHand + quantity), 4, RoundingMode.HALF_UP);
+      }
+    }
+    receiveStock(quantity);
+  }
+
   /**
    * Adjust stock (for inventory counts).
    */
@@ -219,6 +240,13 @@ public class InventoryItem {
     this.lastCountedAt = Instant.now();
   }
 
+  /**
+   * Check if hot-SKU striping is enabled.
+   */
+  public boolean isStriped() {
+    return stripeCount != null && stripeCount > 0;
+  }
+
   /**
    * Calculate inventory value.
    */
@@ -5,6 +5,7 @@
 
 package com.xplaza.backend.inventory.domain.entity;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -12,12 +13,14 @@ import jakarta.persistence.*;
 
 import lombok.*;
 
+import com.xplaza.backend.common.domain.entity.AssignedIdEntity;
+
 /**
  * Inventory movement/transaction record.
  */
 @Entity
 @Table(name = "inventory_movements", indexes = {
-    @Index(name = "idx_movement_inventory", columnList = "inventory_id"),
+    @Index(name = "idx_movement_inventory_created", columnList = "inventory_id, created_at"),
     @Index(name = "idx_movement_type", columnList = "type"),
     @Index(name = "idx_movement_reference", columnList = "reference_type, reference_id"),
     @Index(name = "idx_movement_created", columnList = "created_at")
@@ -27,7 +30,7 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class InventoryMovement {
+public class InventoryMovement extends AssignedIdEntity<UUID> {
 
   @Id
   @Column(name = "movement_id")
@@ -51,6 +54,10 @@ public class InventoryMovement {
   @Column(name = "quantity_after", nullable = false)
   private Integer quantityAfter;
 
+  // Unit cost of inbound stock, for FIFO valuation
+  @Column(name = "unit_cost", precision = 15, scale = 4)
+  private BigDecimal unitCost;
+
   // Reference to source document
   @Enumerated(EnumType.STRING)
   @Column(name = "reference_type", length = 30)
@@ -112,8 +119,8 @@ public class InventoryMovement {
   /**
    * Create a receive movement.
    */
-  public static InventoryMovement createReceive(InventoryItem item, int quantity, String purchaseOrderId,
-      Long userId) {
+  public static InventoryMovement createReceive(InventoryItem item, int quantity, BigDecimal unitCost,
+      String purchaseOrderId, Long userId) {
     int before = item.getQuantityOnHand();
     return InventoryMovement.builder()
         .inventoryItem(item)
@@ -121,6 +128,7 @@ public class InventoryMovement {
         .quantity(quantity)
         .quantityBefore(before)
         .quantityAfter(before + quantity)
+        .unitCost(unitCost != null ? unitCost : item.getUnitCost())
         .referenceType(ReferenceType.PURCHASE_ORDER)
         .referenceId(purchaseOrderId)
         .createdBy(userId)
@@ -161,4 +169,9 @@ public class InventoryMovement {
         .createdBy(userId)
         .build();
   }
+
+  @Override
+  public UUID getId() {
+    return movementId;
+  }
 }
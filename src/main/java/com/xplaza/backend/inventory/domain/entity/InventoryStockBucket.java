@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.domain.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+/**
+ * Sub-bucket of free stock for a striped (hot) inventory item.
+ *
+ * When striping is enabled the item's free units are moved into N buckets and
+ * counted as reserved on the item row, so concurrent reservations contend on N
+ * bucket rows instead of the single item row.
+ */
+@Entity
+@Table(name = "inventory_stock_buckets", indexes = {
+    @Index(name = "idx_stock_bucket_inventory", columnList = "inventory_id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_stock_bucket_inventory_index", columnNames = { "inventory_id", "bucket_index" })
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryStockBucket {
+
+  @Id
+  @Column(name = "bucket_id")
+  @Builder.Default
+  private UUID bucketId = UUID.randomUUID();
+
+  @Column(name = "inventory_id", nullable = false)
+  private UUID inventoryId;
+
+  @Column(name = "bucket_index", nullable = false)
+  private Integer bucketIndex;
+
+  @Column(name = "quantity_available", nullable = false)
+  @Builder.Default
+  private Integer quantityAvailable = 0;
+
+  @Column(name = "updated_at")
+  @Builder.Default
+  private Instant updatedAt = Instant.now();
+
+  @PreUpdate
+  protected void onUpdate() {
+    this.updatedAt = Instant.now();
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.domain.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+/**
+ * One applied warehouse stock sync. Stands in for the per-SKU movement rows:
+ * the changed lines are kept as a single gzip-compressed record, and the
+ * client's batch id as primary key makes a repeated push a no-op.
+ */
+@Entity
+@Table(name = "inventory_sync_batches")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventorySyncBatch {
+
+  @Id
+  @Column(name = "batch_id", length = 100)
+  private String batchId;
+
+  @Column(name = "line_count", nullable = false)
+  private Integer lineCount;
+
+  @Column(name = "changed_count", nullable = false)
+  private Integer changedCount;
+
+  @Column(name = "unknown_count", nullable = false)
+  private Integer unknownCount;
+
+  /** Gzipped TSV of {@code warehouseId, sku, before, after} per changed line. */
+  @Column(name = "changes", columnDefinition = "BYTEA")
+  private byte[] changes;
+
+  @Column(name = "applied_by")
+  private Long appliedBy;
+
+  @Column(name = "applied_at", nullable = false)
+  @Builder.Default
+  private Instant appliedAt = Instant.now();
+}
@@ -13,6 +13,8 @@ import jakarta.persistence.*;
 
 import lombok.*;
 
+import com.xplaza.backend.common.domain.entity.AssignedIdEntity;
+
 /**
  * Stock reservation for orders.
  */
@@ -20,15 +22,18 @@ import lombok.*;
 @Table(name = "stock_reservations", indexes = {
     @Index(name = "idx_reservation_inventory", columnList = "inventory_id"),
     @Index(name = "idx_reservation_order", columnList = "order_id"),
+    @Index(name = "idx_reservation_order_status", columnList = "order_id, status"),
     @Index(name = "idx_reservation_status", columnList = "status"),
-    @Index(name = "idx_reservation_expires", columnList = "expires_at")
+    @Index(name = "idx_reservation_expires", columnList = "expires_at"),
+    @Index(name = "idx_reservation_status_expires", columnList = "status, expires_at"),
+    @Index(name = "idx_reservation_created", columnList = "created_at")
 })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class StockReservation {
+public class StockReservation extends AssignedIdEntity<UUID> {
 
   @Id
   @Column(name = "reservation_id")
@@ -48,6 +53,10 @@ public class StockReservation {
   @Column(name = "quantity", nullable = false)
   private Integer quantity;
 
+  /** Stock bucket the units were taken from when the item is striped */
+  @Column(name = "bucket_index")
+  private Integer bucketIndex;
+
   @Enumerated(EnumType.STRING)
   @Column(name = "status", nullable = false, length = 20)
   @Builder.Default
@@ -155,4 +164,9 @@ public class StockReservation {
     this.type = ReservationType.ORDER;
     this.expiresAt = Instant.now().plus(7, ChronoUnit.DAYS);
   }
+
+  @Override
+  public UUID getId() {
+    return reservationId;
+  }
 }
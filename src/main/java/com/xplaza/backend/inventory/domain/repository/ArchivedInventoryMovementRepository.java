@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.domain.repository;
+
+import java.util.UUID;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.xplaza.backend.inventory.domain.entity.ArchivedInventoryMovement;
+
+/**
+ * Repository for ArchivedInventoryMovement entity.
+ */
+@Repository
+public interface ArchivedInventoryMovementRepository extends JpaRepository<ArchivedInventoryMovement, UUID> {
+
+  Page<ArchivedInventoryMovement> findByInventoryIdOrderByCreatedAtDesc(UUID inventoryId, Pageable pageable);
+}
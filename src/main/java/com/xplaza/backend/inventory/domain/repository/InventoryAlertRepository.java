@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.domain.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.xplaza.backend.inventory.domain.entity.InventoryAlert;
+
+/**
+ * Repository for InventoryAlert entity.
+ */
+@Repository
+public interface InventoryAlertRepository extends JpaRepository<InventoryAlert, UUID> {
+
+  List<InventoryAlert> findByInventoryIdIn(Collection<UUID> inventoryIds);
+
+  List<InventoryAlert> findByTypeOrderByRaisedAtAsc(InventoryAlert.AlertType type);
+
+  @Query("SELECT a.inventoryId FROM InventoryAlert a WHERE a.type = :type")
+  List<UUID> findInventoryIdsByType(@Param("type") InventoryAlert.AlertType type);
+
+  @Modifying
+  @Query("DELETE FROM InventoryAlert a WHERE a.alertId IN :alertIds")
+  int deleteByIds(@Param("alertIds") Collection<UUID> alertIds);
+}
@@ -5,11 +5,17 @@
 
 package com.xplaza.backend.inventory.domain.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import jakarta.persistence.LockModeType;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -22,6 +28,69 @@ import com.xplaza.backend.inventory.domain.entity.InventoryItem;
 @Repository
 public interface InventoryItemRepository extends JpaRepository<InventoryItem, UUID> {
 
+  /** Available units of one product, from a grouped sum. */
+  interface ProductAvailable {
+    Long getProductId();
+
+    Long getAvailable();
+  }
+
+  /** Available units of one variant, from a grouped sum. */
+  interface VariantAvailable {
+    UUID getVariantId();
+
+    Long getAvailable();
+  }
+
+  /** Free units of one item at an active warehouse, for allocation. */
+  interface ItemStock {
+    UUID getInventoryId();
+
+    Long getProductId();
+
+    UUID getVariantId();
+
+    Long getWarehouseId();
+
+    Long getAvailable();
+  }
+
+  /** Available units and thresholds of one item. */
+  interface StockLevel {
+    UUID getInventoryId();
+
+    Long getProductId();
+
+    Long getWarehouseId();
+
+    Long getAvailable();
+
+    Integer getReorderPoint();
+
+    Integer getSafetyStock();
+  }
+
+  /** Current on-hand count of one item, for diffing a warehouse sync. */
+  interface SyncState {
+    UUID getInventoryId();
+
+    String getSku();
+
+    Long getProductId();
+
+    UUID getVariantId();
+
+    Integer getQuantityOnHand();
+
+    Integer getStripeCount();
+  }
+
+  /**
+   * Free units parked in striping buckets, which the item row counts as reserved.
+   */
+  String STRIPED_POOL = "COALESCE((SELECT SUM(b.quantityAvailable) FROM InventoryStockBucket b "
+      + "WHERE b.inventoryId = ii.inventoryId), 0)";
+
   List<InventoryItem> findByProductId(Long productId);
 
   List<InventoryItem> findByVariantId(UUID variantId);
@@ -41,13 +110,19 @@ public interface InventoryItemRepository extends JpaRepository<InventoryItem, UU
   @Query("SELECT ii FROM InventoryItem ii WHERE ii.warehouse.warehouseId = :warehouseId AND ii.status = 'ACTIVE'")
   List<InventoryItem> findByWarehouseId(@Param("warehouseId") Long warehouseId);
 
-  @Query("SELECT ii FROM InventoryItem ii WHERE (ii.quantityOnHand - ii.quantityReserved) <= ii.reorderPoint AND ii.status = 'ACTIVE'")
+  @Query("SELECT ii FROM InventoryItem ii "
+      + "WHERE (ii.quantityOnHand - ii.quantityReserved + " + STRIPED_POOL + ") <= ii.reorderPoint "
+      + "AND ii.status = 'ACTIVE'")
   List<InventoryItem> findItemsNeedingReorder();
 
-  @Query("SELECT ii FROM InventoryItem ii WHERE (ii.quantityOnHand - ii.quantityReserved) <= ii.safetyStock AND ii.status = 'ACTIVE'")
+  @Query("SELECT ii FROM InventoryItem ii "
+      + "WHERE (ii.quantityOnHand - ii.quantityReserved + " + STRIPED_POOL + ") <= ii.safetyStock "
+      + "AND ii.status = 'ACTIVE'")
   List<InventoryItem> findItemsBelowSafetyStock();
 
-  @Query("SELECT ii FROM InventoryItem ii WHERE ii.quantityOnHand - ii.quantityReserved > 0 AND ii.productId = :productId AND ii.status = 'ACTIVE'")
+  @Query("SELECT ii FROM InventoryItem ii "
+      + "WHERE (ii.quantityOnHand - ii.quantityReserved + " + STRIPED_POOL + ") > 0 "
+      + "AND ii.productId = :productId AND ii.status = 'ACTIVE'")
   List<InventoryItem> findAvailableInventoryByProductId(@Param("productId") Long productId);
 
   @Query("SELECT SUM(ii.quantityOnHand - ii.quantityReserved) FROM InventoryItem ii WHERE ii.productId = :productId AND ii.status = 'ACTIVE'")
@@ -55,4 +130,95 @@ public interface InventoryItemRepository extends JpaRepository<InventoryItem, UU
 
   @Query("SELECT SUM(ii.quantityOnHand - ii.quantityReserved) FROM InventoryItem ii WHERE ii.variantId = :variantId AND ii.status = 'ACTIVE'")
   Integer sumAvailableQuantityByVariantId(@Param("variantId") UUID variantId);
+
+  @Query("SELECT ii.productId AS productId, SUM(ii.quantityOnHand - ii.quantityReserved) AS available "
+      + "FROM InventoryItem ii WHERE ii.productId IN :productIds AND ii.status = 'ACTIVE' GROUP BY ii.productId")
+  List<ProductAvailable> sumAvailableByProductIds(@Param("productIds") Collection<Long> productIds);
+
+  @Query("SELECT ii.variantId AS variantId, SUM(ii.quantityOnHand - ii.quantityReserved) AS available "
+      + "FROM InventoryItem ii WHERE ii.variantId IN :variantIds AND ii.status = 'ACTIVE' GROUP BY ii.variantId")
+  List<VariantAvailable> sumAvailableByVariantIds(@Param("variantIds") Collection<UUID> variantIds);
+
+  @Query("SELECT ii.inventoryId AS inventoryId, ii.productId AS productId, ii.variantId AS variantId, "
+      + "ii.warehouse.warehouseId AS warehouseId, "
+      + "(ii.quantityOnHand - ii.quantityReserved + " + STRIPED_POOL + ") AS available "
+      + "FROM InventoryItem ii WHERE ii.productId IN :productIds "
+      + "AND ii.status = 'ACTIVE' AND ii.warehouse.isActive = true")
+  List<ItemStock> findStockByProductIds(@Param("productIds") Collection<Long> productIds);
+
+  @Query("SELECT ii.inventoryId AS inventoryId, ii.productId AS productId, ii.variantId AS variantId, "
+      + "ii.warehouse.warehouseId AS warehouseId, "
+      + "(ii.quantityOnHand - ii.quantityReserved + " + STRIPED_POOL + ") AS available "
+      + "FROM InventoryItem ii WHERE ii.variantId IN :variantIds "
+      + "AND ii.status = 'ACTIVE' AND ii.warehouse.isActive = true")
+  List<ItemStock> findStockByVariantIds(@Param("variantIds") Collection<UUID> variantIds);
+
+  @Query("SELECT ii.inventoryId AS inventoryId, ii.productId AS productId, ii.warehouse.warehouseId AS warehouseId, "
+      + "(ii.quantityOnHand - ii.quantityReserved + " + STRIPED_POOL + ") AS available, "
+      + "ii.reorderPoint AS reorderPoint, ii.safetyStock AS safetyStock "
+      + "FROM InventoryItem ii WHERE ii.inventoryId IN :inventoryIds AND ii.status = 'ACTIVE'")
+  List<StockLevel> findStockLevels(@Param("inventoryIds") Collection<UUID> inventoryIds);
+
+  @Query("SELECT ii.inventoryId FROM InventoryItem ii "
+      + "WHERE ((ii.quantityOnHand - ii.quantityReserved + " + STRIPED_POOL + ") <= ii.reorderPoint "
+      + "OR (ii.quantityOnHand - ii.quantityReserved + " + STRIPED_POOL + ") <= ii.safetyStock) "
+      + "AND ii.status = 'ACTIVE'")
+  List<UUID> findIdsAtOrBelowThreshold();
+
+  @Query("SELECT ii.inventoryId AS inventoryId, ii.sku AS sku, ii.productId AS productId, ii.variantId AS variantId, "
+      + "ii.quantityOnHand AS quantityOnHand, ii.stripeCount AS stripeCount "
+      + "FROM InventoryItem ii WHERE ii.warehouse.warehouseId = :warehouseId AND ii.sku IN :skus")
+  List<SyncState> findSyncStates(@Param("warehouseId") Long warehouseId, @Param("skus") Collection<String> skus);
+
+  @Modifying
+  @Query("UPDATE InventoryItem ii SET ii.reorderPoint = :reorderPoint, ii.safetyStock = :safetyStock, "
+      + "ii.updatedAt = :now WHERE ii.inventoryId = :inventoryId")
+  int updateThresholds(@Param("inventoryId") UUID inventoryId, @Param("reorderPoint") int reorderPoint,
+      @Param("safetyStock") int safetyStock, @Param("now") Instant now);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT ii FROM InventoryItem ii WHERE ii.inventoryId = :inventoryId")
+  Optional<InventoryItem> lockById(@Param("inventoryId") UUID inventoryId);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT ii FROM InventoryItem ii WHERE ii.sku = :sku AND ii.warehouse.warehouseId = :warehouseId")
+  Optional<InventoryItem> lockBySkuAndWarehouseId(
+      @Param("sku") String sku,
+      @Param("warehouseId") Long warehouseId);
+
+  /**
+   * Reserve units only if enough are available, as a single conditional update.
+   * Returns 0 when the item cannot cover the quantity.
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE InventoryItem ii SET ii.quantityReserved = ii.quantityReserved + :quantity, ii.updatedAt = :now "
+      + "WHERE ii.inventoryId = :inventoryId AND ii.status = 'ACTIVE' "
+      + "AND ii.quantityOnHand - ii.quantityReserved >= :quantity")
+  int tryReserve(
+      @Param("inventoryId") UUID inventoryId,
+      @Param("quantity") int quantity,
+      @Param("now") Instant now);
+
+  /**
+   * Release reserved units on an item without loading it.
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE InventoryItem ii SET ii.quantityReserved = CASE WHEN ii.quantityReserved > :quantity "
+      + "THEN ii.quantityReserved - :quantity ELSE 0 END, ii.updatedAt = :now WHERE ii.inventoryId = :inventoryId")
+  int releaseReserved(
+      @Param("inventoryId") UUID inventoryId,
+      @Param("quantity") int quantity,
+      @Param("now") Instant now);
+
+  /**
+   * Consume reserved units on shipment (decrease on-hand and reserved) without
+   * loading the item.
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE InventoryItem ii SET ii.quantityOnHand = ii.quantityOnHand - :quantity, "
+      + "ii.quantityReserved = ii.quantityReserved - :quantity, ii.updatedAt = :now WHERE ii.inventoryId = :inventoryId")
+  int fulfillReserved(
+      @Param("inventoryId") UUID inventoryId,
+      @Param("quantity") int quantity,
+      @Param("now") Instant now);
 }
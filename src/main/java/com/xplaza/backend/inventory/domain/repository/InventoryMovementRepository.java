@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.domain.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.xplaza.backend.inventory.domain.entity.InventoryMovement;
+
+/**
+ * Repository for InventoryMovement entity.
+ */
+@Repository
+public interface InventoryMovementRepository extends JpaRepository<InventoryMovement, UUID> {
+
+  @Query(value = "SELECT m FROM InventoryMovement m WHERE m.inventoryItem.inventoryId = :inventoryId "
+      + "ORDER BY m.createdAt DESC",
+      countQuery = "SELECT COUNT(m) FROM InventoryMovement m WHERE m.inventoryItem.inventoryId = :inventoryId")
+  Page<InventoryMovement> findHistory(@Param("inventoryId") UUID inventoryId, Pageable pageable);
+
+  @Query("SELECT m.movementId FROM InventoryMovement m WHERE m.createdAt < :cutoff ORDER BY m.createdAt")
+  List<UUID> findIdsCreatedBefore(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+  /**
+   * Copy movements into the archive table.
+   */
+  @Modifying(flushAutomatically = true)
+  @Query(value = "INSERT INTO inventory_movements_archive (movement_id, inventory_id, type, quantity, "
+      + "quantity_before, quantity_after, unit_cost, reference_type, reference_id, reason, notes, created_by, "
+      + "created_at) SELECT movement_id, inventory_id, type, quantity, quantity_before, quantity_after, unit_cost, "
+      + "reference_type, reference_id, reason, notes, created_by, created_at FROM inventory_movements "
+      + "WHERE movement_id IN (:ids)", nativeQuery = true)
+  int copyToArchive(@Param("ids") Collection<UUID> ids);
+
+  @Modifying
+  @Query("DELETE FROM InventoryMovement m WHERE m.movementId IN :ids")
+  int deleteByIds(@Param("ids") Collection<UUID> ids);
+}
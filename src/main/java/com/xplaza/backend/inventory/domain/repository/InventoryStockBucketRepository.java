@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.domain.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.xplaza.backend.inventory.domain.entity.InventoryStockBucket;
+import com.xplaza.backend.inventory.domain.repository.InventoryItemRepository.ProductAvailable;
+import com.xplaza.backend.inventory.domain.repository.InventoryItemRepository.VariantAvailable;
+
+/**
+ * Repository for InventoryStockBucket entity.
+ */
+@Repository
+public interface InventoryStockBucketRepository extends JpaRepository<InventoryStockBucket, UUID> {
+
+  List<InventoryStockBucket> findByInventoryIdOrderByBucketIndex(UUID inventoryId);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT b FROM InventoryStockBucket b WHERE b.inventoryId = :inventoryId ORDER BY b.bucketIndex")
+  List<InventoryStockBucket> lockByInventoryId(@Param("inventoryId") UUID inventoryId);
+
+  /**
+   * Take units from one bucket if it holds enough. Returns 0 when it does not.
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE InventoryStockBucket b SET b.quantityAvailable = b.quantityAvailable - :quantity, b.updatedAt = :now "
+      + "WHERE b.inventoryId = :inventoryId AND b.bucketIndex = :bucketIndex AND b.quantityAvailable >= :quantity")
+  int tryTake(
+      @Param("inventoryId") UUID inventoryId,
+      @Param("bucketIndex") int bucketIndex,
+      @Param("quantity") int quantity,
+      @Param("now") Instant now);
+
+  /**
+   * Return units to a bucket (released reservation or received stock).
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE InventoryStockBucket b SET b.quantityAvailable = b.quantityAvailable + :quantity, b.updatedAt = :now "
+      + "WHERE b.inventoryId = :inventoryId AND b.bucketIndex = :bucketIndex")
+  int giveBack(
+      @Param("inventoryId") UUID inventoryId,
+      @Param("bucketIndex") int bucketIndex,
+      @Param("quantity") int quantity,
+      @Param("now") Instant now);
+
+  @Query("SELECT COALESCE(SUM(b.quantityAvailable), 0) FROM InventoryStockBucket b WHERE b.inventoryId = :inventoryId")
+  int sumAvailableByInventoryId(@Param("inventoryId") UUID inventoryId);
+
+  @Query("SELECT COALESCE(SUM(b.quantityAvailable), 0) FROM InventoryStockBucket b, InventoryItem ii "
+      + "WHERE b.inventoryId = ii.inventoryId AND ii.productId = :productId AND ii.status = 'ACTIVE'")
+  int sumAvailableByProductId(@Param("productId") Long productId);
+
+  @Query("SELECT COALESCE(SUM(b.quantityAvailable), 0) FROM InventoryStockBucket b, InventoryItem ii "
+      + "WHERE b.inventoryId = ii.inventoryId AND ii.variantId = :variantId AND ii.status = 'ACTIVE'")
+  int sumAvailableByVariantId(@Param("variantId") UUID variantId);
+
+  @Query("SELECT ii.productId AS productId, SUM(b.quantityAvailable) AS available "
+      + "FROM InventoryStockBucket b, InventoryItem ii WHERE b.inventoryId = ii.inventoryId "
+      + "AND ii.productId IN :productIds AND ii.status = 'ACTIVE' GROUP BY ii.productId")
+  List<ProductAvailable> sumAvailableByProductIds(@Param("productIds") Collection<Long> productIds);
+
+  @Query("SELECT ii.variantId AS variantId, SUM(b.quantityAvailable) AS available "
+      + "FROM InventoryStockBucket b, InventoryItem ii WHERE b.inventoryId = ii.inventoryId "
+      + "AND ii.variantId IN :variantIds AND ii.status = 'ACTIVE' GROUP BY ii.variantId")
+  List<VariantAvailable> sumAvailableByVariantIds(@Param("variantIds") Collection<UUID> variantIds);
+
+  @Modifying(flushAutomatically = true)
+  @Query("DELETE FROM InventoryStockBucket b WHERE b.inventoryId = :inventoryId")
+  int deleteByInventoryId(@Param("inventoryId") UUID inventoryId);
+}
@@ -0,0 +1,18 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.domain.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.xplaza.backend.inventory.domain.entity.InventorySyncBatch;
+
+/**
+ * Repository for InventorySyncBatch entity.
+ */
+@Repository
+public interface InventorySyncBatchRepository extends JpaRepository<InventorySyncBatch, String> {
+}
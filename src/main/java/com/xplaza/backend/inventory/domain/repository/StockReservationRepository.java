@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.domain.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.xplaza.backend.inventory.domain.entity.StockReservation;
+import com.xplaza.backend.inventory.domain.entity.StockReservation.ReservationStatus;
+
+/**
+ * Repository for StockReservation entity. Reservations are looked up through
+ * the {@code order_id} index so per-order operations cost O(lines in the
+ * order).
+ */
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, UUID> {
+
+  /** Reservation id and deadline, as loaded into the expiry wheel. */
+  interface ExpiryDeadline {
+    UUID getId();
+
+    Instant getDeadline();
+  }
+
+  /** Units ordered from one item on one day. */
+  interface DailyDemand {
+    UUID getInventoryId();
+
+    LocalDate getDay();
+
+    Long getQuantity();
+  }
+
+  List<StockReservation> findByOrderId(UUID orderId);
+
+  /**
+   * Lock one reservation, so concurrent release and fulfill of it are serialized
+   * and only the first sees it open.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT r FROM StockReservation r WHERE r.reservationId = :reservationId")
+  Optional<StockReservation> lockById(@Param("reservationId") UUID reservationId);
+
+  /**
+   * Lock the order's reservations in the given status. Only this order's rows are
+   * locked, so concurrent release/fulfill of the same order is serialized without
+   * touching other orders.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT r FROM StockReservation r WHERE r.orderId = :orderId AND r.status = :status")
+  List<StockReservation> lockByOrderIdAndStatus(
+      @Param("orderId") UUID orderId,
+      @Param("status") ReservationStatus status);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT r FROM StockReservation r WHERE r.orderId IN :orderIds AND r.status = 'RESERVED'")
+  List<StockReservation> lockOpenByOrderIds(@Param("orderIds") Collection<UUID> orderIds);
+
+  /**
+   * Claim due cart reservations for expiry. Rows locked by another node are
+   * skipped ({@code SKIP LOCKED}) so nodes expire disjoint batches without
+   * waiting. Order reservations are released with their order, never by deadline.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query("SELECT r FROM StockReservation r WHERE r.status = 'RESERVED' AND r.type = 'CART' "
+      + "AND r.expiresAt <= :now ORDER BY r.expiresAt")
+  List<StockReservation> claimExpired(@Param("now") Instant now, Pageable pageable);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query("SELECT r FROM StockReservation r WHERE r.reservationId IN :ids AND r.status = 'RESERVED' "
+      + "AND r.type = 'CART' AND r.expiresAt <= :now")
+  List<StockReservation> claimExpiredByIds(@Param("ids") Collection<UUID> ids, @Param("now") Instant now);
+
+  /**
+   * Open cart reservations expiring up to {@code until}, for loading the expiry
+   * wheel: everything past the last loaded deadline plus anything created since
+   * the last load.
+   */
+  @Query("SELECT r.reservationId AS id, r.expiresAt AS deadline FROM StockReservation r "
+      + "WHERE r.status = 'RESERVED' AND r.type = 'CART' AND r.expiresAt <= :until "
+      + "AND (r.expiresAt > :loadedUntil OR r.createdAt >= :createdSince)")
+  List<ExpiryDeadline> findExpiryDeadlines(
+      @Param("loadedUntil") Instant loadedUntil,
+      @Param("until") Instant until,
+      @Param("createdSince") Instant createdSince);
+
+  @Modifying
+  @Query("UPDATE StockReservation r SET r.status = :status, r.releasedAt = :now, r.updatedAt = :now "
+      + "WHERE r.reservationId IN :ids AND r.status = 'RESERVED'")
+  int markReleased(
+      @Param("ids") Collection<UUID> ids,
+      @Param("status") ReservationStatus status,
+      @Param("now") Instant now);
+
+  @Modifying
+  @Query("UPDATE StockReservation r SET r.status = 'RELEASED', r.releasedAt = :now, r.updatedAt = :now "
+      + "WHERE r.orderId = :orderId AND r.status = 'RESERVED'")
+  int releaseByOrderId(@Param("orderId") UUID orderId, @Param("now") Instant now);
+
+  @Modifying
+  @Query("UPDATE StockReservation r SET r.status = 'FULFILLED', r.fulfilledAt = :now, r.updatedAt = :now "
+      + "WHERE r.orderId = :orderId AND r.status = 'RESERVED'")
+  int fulfillByOrderId(@Param("orderId") UUID orderId, @Param("now") Instant now);
+
+  @Modifying
+  @Query("UPDATE StockReservation r SET r.status = 'FULFILLED', r.fulfilledAt = :now, r.updatedAt = :now "
+      + "WHERE r.orderId IN :orderIds AND r.status = 'RESERVED'")
+  int fulfillByOrderIds(@Param("orderIds") Collection<UUID> orderIds, @Param("now") Instant now);
+
+  /**
+   * Daily order demand per item, ordered by item and day so it can be consumed
+   * one item at a time. Reservations that were released or expired do not count.
+   */
+  @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+  @Query("SELECT r.inventoryItem.inventoryId AS inventoryId, cast(r.createdAt as LocalDate) AS day, "
+      + "SUM(r.quantity) AS quantity FROM StockReservation r "
+      + "WHERE r.type = 'ORDER' AND r.status IN ('RESERVED', 'FULFILLED') "
+      + "AND r.createdAt >= :since AND r.createdAt < :until "
+      + "GROUP BY r.inventoryItem.inventoryId, cast(r.createdAt as LocalDate) "
+      + "ORDER BY r.inventoryItem.inventoryId, cast(r.createdAt as LocalDate)")
+  Stream<DailyDemand> streamDailyDemand(@Param("since") Instant since, @Param("until") Instant until);
+}
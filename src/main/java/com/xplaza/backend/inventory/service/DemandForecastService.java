@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.xplaza.backend.inventory.domain.entity.DemandForecast;
+import com.xplaza.backend.inventory.domain.entity.DemandForecast.ForecastStatus;
+import com.xplaza.backend.inventory.domain.repository.DemandForecastRepository;
+import com.xplaza.backend.inventory.domain.repository.InventoryItemRepository;
+import com.xplaza.backend.inventory.domain.repository.InventoryItemRepository.StockLevel;
+import com.xplaza.backend.inventory.domain.repository.StockReservationRepository;
+import com.xplaza.backend.inventory.domain.repository.StockReservationRepository.DailyDemand;
+
+/**
+ * Forecasts demand per inventory item and suggests reorder points and safety
+ * stock for a target service level.
+ *
+ * Daily demand is streamed from the database ordered by item, so only one
+ * item's series is in memory at a time; forecasts are written in batches and
+ * the persistence context is cleared after each. Suggestions that differ from
+ * the item's thresholds wait for approval, or are written straight to the item
+ * when auto-apply is on.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class DemandForecastService {
+
+  private static final int BATCH_SIZE = 500;
+
+  private final StockReservationRepository reservationRepository;
+  private final InventoryItemRepository inventoryRepository;
+  private final DemandForecastRepository forecastRepository;
+  private final StockThresholdDetector thresholdDetector;
+  private final EntityManager entityManager;
+
+  @Value("${inventory.forecast.enabled:true}")
+  private boolean enabled;
+
+  @Value("${inventory.forecast.history-days:180}")
+  private int historyDays;
+
+  @Value("${inventory.forecast.alpha:0.2}")
+  private double alpha;
+
+  @Value("${inventory.forecast.service-level:0.95}")
+  private double serviceLevel;
+
+  @Value("${inventory.forecast.lead-time-days:7}")
+  private int leadTimeDays;
+
+  @Value("${inventory.forecast.auto-apply:false}")
+  private boolean autoApply;
+
+  @Value("${inventory.forecast.min-days:14}")
+  private int minDays;
+
+  /**
+   * Nightly forecast run.
+   */
+  @Scheduled(cron = "${inventory.forecast.cron:0 0 2 * * *}")
+  public void scheduledRun() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      run();
+    } catch (RuntimeException e) {
+      log.warn("Demand forecast run failed", e);
+    }
+  }
+
+  /**
+   * Recompute the forecast of every item with order demand in the history window.
+   */
+  public RunSummary run() {
+    LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    Instant until = today.atStartOfDay(ZoneOffset.UTC).toInstant();
+    Instant since = until.minus(historyDays, ChronoUnit.DAYS);
+    long lastDay = today.toEpochDay() - 1;
+    long started = System.currentTimeMillis();
+
+    int items = 0;
+    int pending = 0;
+    int applied = 0;
+    List<Computed> batch = new ArrayList<>(BATCH_SIZE);
+    try (Stream<DailyDemand> rows = reservationRepository.streamDailyDemand(since, until)) {
+      Iterator<DailyDemand> it = rows.iterator();
+      UUID current = null;
+      DemandForecaster forecaster = null;
+      while (it.hasNext()) {
+        DailyDemand row = it.next();
+        if (!row.getInventoryId().equals(current)) {
+          if (current != null) {
+            batch.add(new Computed(current, forecaster.finish(lastDay)));
+          }
+          current = row.getInventoryId();
+          forecaster = new DemandForecaster(alpha);
+        }
+        forecaster.add(row.getDay().toEpochDay(), row.getQuantity());
+        if (batch.size() >= BATCH_SIZE) {
+          int[] counts = write(batch);
+          pending += counts[0];
+          applied += counts[1];
+          items += batch.size();
+          batch.clear();
+        }
+      }
+      if (current != null) {
+        batch.add(new Computed(current, forecaster.finish(lastDay)));
+      }
+    }
+    if (!batch.isEmpty()) {
+      int[] counts = write(batch);
+      pending += counts[0];
+      applied += counts[1];
+      items += batch.size();
+    }
+    log.info("Forecast demand for {} items in {} ms: {} pending, {} applied", items,
+        System.currentTimeMillis() - started, pending, applied);
+    return new RunSummary(items, pending, applied);
+  }
+
+  /**
+   * Pending suggestions, oldest first.
+   */
+  @Transactional(readOnly = true)
+  public Page<DemandForecast> getPending(Pageable pageable) {
+    return forecastRepository.findByStatus(ForecastStatus.PENDING, pageable);
+  }
+
+  /**
+   * Write a pending suggestion to its item.
+   */
+  public DemandForecast apply(UUID inventoryId) {
+    DemandForecast forecast = getPendingForecast(inventoryId);
+    if (inventoryRepository.updateThresholds(inventoryId, forecast.getSuggestedReorderPoint(),
+        forecast.getSuggestedSafetyStock(), Instant.now()) == 0) {
+      throw new IllegalArgumentException("Inventory item not found: " + inventoryId);
+    }
+    thresholdDetector.stockChanged(inventoryId);
+    forecast.setStatus(ForecastStatus.APPLIED);
+    forecast.setDecidedAt(Instant.now());
+    return forecastRepository.save(forecast);
+  }
+
+  /**
+   * Decline a pending suggestion; it is not raised again until the suggestion
+   * changes.
+   */
+  public DemandForecast reject(UUID inventoryId) {
+    DemandForecast forecast = getPendingForecast(inventoryId);
+    forecast.setStatus(ForecastStatus.REJECTED);
+    forecast.setDecidedAt(Instant.now());
+    return forecastRepository.save(forecast);
+  }
+
+  private DemandForecast getPendingForecast(UUID inventoryId) {
+    DemandForecast forecast = forecastRepository.findById(inventoryId)
+        .orElseThrow(() -> new IllegalArgumentException("No forecast for inventory item: " + inventoryId));
+    if (forecast.getStatus() != ForecastStatus.PENDING) {
+      throw new IllegalStateException("Forecast is not pending: " + forecast.getStatus());
+    }
+    return forecast;
+  }
+
+  /**
+   * Store one batch of forecasts; existing ones are updated in place. Returns the
+   * number left pending and the number applied.
+   */
+  private int[] write(List<Computed> batch) {
+    List<UUID> ids = batch.stream().map(Computed::inventoryId).toList();
+    Map<UUID, StockLevel> levels = inventoryRepository.findStockLevels(ids).stream()
+        .collect(Collectors.toMap(StockLevel::getInventoryId, Function.identity()));
+    Map<UUID, DemandForecast> existing = forecastRepository.findAllById(ids).stream()
+        .collect(Collectors.toMap(DemandForecast::getInventoryId, Function.identity()));
+
+    Instant now = Instant.now();
+    int pending = 0;
+    int applied = 0;
+    for (Computed computed : batch) {
+      StockLevel level = levels.get(computed.inventoryId());
+      if (level == null) {
+        // Item was deactivated or removed
+        continue;
+      }
+      DemandForecaster.Estimate estimate = computed.estimate();
+      int safetyStock = DemandForecaster.safetyStock(estimate, leadTimeDays, serviceLevel);
+      int reorderPoint = DemandForecaster.reorderPoint(estimate, leadTimeDays, safetyStock);
+
+      DemandForecast forecast = existing.get(computed.inventoryId());
+      boolean wasRejected = forecast != null && forecast.getStatus() == ForecastStatus.REJECTED
+          && forecast.getSuggestedReorderPoint() == reorderPoint
+          && forecast.getSuggestedSafetyStock() == safetyStock;
+      if (forecast == null) {
+        forecast = DemandForecast.builder().inventoryId(computed.inventoryId()).build();
+        forecastRepository.save(forecast);
+      }
+      forecast.setDailyDemand(estimate.dailyDemand());
+      forecast.setDemandStdDev(estimate.stdDev());
+      forecast.setDaysObserved((int) estimate.days());
+      forecast.setLeadTimeDays(leadTimeDays);
+      forecast.setServiceLevel(serviceLevel);
+      forecast.setCurrentReorderPoint(level.getReorderPoint());
+      forecast.setCurrentSafetyStock(level.getSafetyStock());
+      forecast.setSuggestedReorderPoint(reorderPoint);
+      forecast.setSuggestedSafetyStock(safetyStock);
+      forecast.setComputedAt(now);
+
+      if (!forecast.differsFromCurrent()) {
+        forecast.setStatus(ForecastStatus.UNCHANGED);
+      } else if (wasRejected) {
+        forecast.setStatus(ForecastStatus.REJECTED);
+      } else if (autoApply && estimate.days() >= minDays) {
+        inventoryRepository.updateThresholds(computed.inventoryId(), reorderPoint, safetyStock, now);
+        thresholdDetector.stockChanged(computed.inventoryId());
+        forecast.setStatus(ForecastStatus.APPLIED);
+        forecast.setDecidedAt(now);
+        applied++;
+      } else {
+        forecast.setStatus(ForecastStatus.PENDING);
+        forecast.setDecidedAt(null);
+        pending++;
+      }
+    }
+    entityManager.flush();
+    entityManager.clear();
+    return new int[] { pending, applied };
+  }
+
+  private record Computed(UUID inventoryId, DemandForecaster.Estimate estimate) {
+  }
+
+  /** Outcome of a forecast run. */
+  public record RunSummary(int items, int pending, int applied) {
+  }
+}
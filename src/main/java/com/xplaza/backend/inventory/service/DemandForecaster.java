@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.service;
+
+/**
+ * Demand rate and variability of one SKU by exponential smoothing over daily
+ * buckets, and the reorder point and safety stock they imply.
+ *
+ * Days are fed in order; days without demand count as zero. Smoothing starts at
+ * the first day with demand, so a SKU launched mid-window is not dragged down
+ * by the days before it existed. Only the running level and variance are kept,
+ * so memory does not grow with history.
+ */
+public class DemandForecaster {
+
+  private final double alpha;
+  private long startDay = Long.MIN_VALUE;
+  private long lastDay;
+  private double level;
+  private double variance;
+
+  public DemandForecaster(double alpha) {
+    if (alpha <= 0 || alpha > 1) {
+      throw new IllegalArgumentException("Smoothing factor must be in (0, 1]");
+    }
+    this.alpha = alpha;
+  }
+
+  /**
+   * Record the demand of a day; days must not go backwards.
+   *
+   * @param day      day number, e.g. epoch day
+   * @param quantity units demanded that day
+   */
+  public void add(long day, double quantity) {
+    if (startDay == Long.MIN_VALUE) {
+      startDay = day;
+      lastDay = day;
+      level = quantity;
+      return;
+    }
+    fillTo(day - 1);
+    observe(quantity);
+    lastDay = day;
+  }
+
+  /**
+   * Close the series at the given day, counting the days since the last demand as
+   * zero.
+   */
+  public Estimate finish(long endDay) {
+    if (startDay == Long.MIN_VALUE) {
+      return new Estimate(0, 0, 0);
+    }
+    fillTo(endDay);
+    return new Estimate(level, Math.sqrt(variance), lastDay - startDay + 1);
+  }
+
+  private void fillTo(long day) {
+    while (lastDay < day) {
+      observe(0);
+      lastDay++;
+    }
+  }
+
+  private void observe(double quantity) {
+    double error = quantity - level;
+    level += alpha * error;
+    variance = (1 - alpha) * variance + alpha * error * error;
+  }
+
+  /**
+   * Suggested safety stock: service-level z-score times the demand deviation over
+   * the lead time.
+   */
+  public static int safetyStock(Estimate estimate, int leadTimeDays, double serviceLevel) {
+    return (int) Math.ceil(zScore(serviceLevel) * estimate.stdDev() * Math.sqrt(leadTimeDays));
+  }
+
+  /**
+   * Suggested reorder point: expected demand over the lead time plus safety
+   * stock.
+   */
+  public static int reorderPoint(Estimate estimate, int leadTimeDays, int safetyStock) {
+    return (int) Math.ceil(estimate.dailyDemand() * leadTimeDays) + safetyStock;
+  }
+
+  /**
+   * Inverse of the standard normal CDF (Acklam's rational approximation, relative
+   * error below 1.2e-9).
+   */
+  static double zScore(double p) {
+    if (p <= 0 || p >= 1) {
+      throw new IllegalArgumentException("Service level must be between 0 and 1");
+    }
+    double[] a = { -3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+        1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00 };
+    double[] b = { -5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+        6.680131188771972e+01, -1.328068155288572e+01 };
+    double[] c = { -7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+        -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00 };
+    double[] d = { 7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+        3.754408661907416e+00 };
+    double low = 0.02425;
+    if (p < low) {
+      double q = Math.sqrt(-2 * Math.log(p));
+      return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+          / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+    }
+    if (p > 1 - low) {
+      return -zScore(1 - p);
+    }
+    double q = p - 0.5;
+    double r = q * q;
+    return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+        / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+  }
+
+  /**
+   * Smoothed daily demand, its standard deviation, and the number of days
+   * observed.
+   */
+  public record Estimate(double dailyDemand, double stdDev, long days) {
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.xplaza.backend.inventory.domain.entity.InventoryAlert;
+import com.xplaza.backend.inventory.domain.entity.InventoryAlert.AlertType;
+import com.xplaza.backend.inventory.domain.repository.InventoryAlertRepository;
+import com.xplaza.backend.inventory.domain.repository.InventoryItemRepository;
+import com.xplaza.backend.inventory.domain.repository.InventoryItemRepository.StockLevel;
+
+/**
+ * Keeps the open reorder and low-stock alerts in line with current stock.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class InventoryAlertService {
+
+  private final InventoryAlertRepository alertRepository;
+  private final InventoryItemRepository inventoryRepository;
+
+  /**
+   * Re-check the given items against their thresholds: raise an alert for each
+   * threshold an item has dropped to, and clear alerts for items that recovered
+   * or are no longer active.
+   *
+   * @return number of alerts raised
+   */
+  public int evaluate(Collection<UUID> inventoryIds) {
+    Map<UUID, StockLevel> levels = new HashMap<>();
+    inventoryRepository.findStockLevels(inventoryIds).forEach(level -> levels.put(level.getInventoryId(), level));
+    Map<AlertKey, InventoryAlert> open = new HashMap<>();
+    alertRepository.findByInventoryIdIn(inventoryIds)
+        .forEach(alert -> open.put(new AlertKey(alert.getInventoryId(), alert.getType()), alert));
+
+    List<InventoryAlert> raised = new ArrayList<>();
+    Set<AlertKey> holding = new HashSet<>();
+    for (StockLevel level : levels.values()) {
+      int available = level.getAvailable().intValue();
+      check(level, AlertType.REORDER, available, level.getReorderPoint(), open, raised, holding);
+      check(level, AlertType.LOW_STOCK, available, level.getSafetyStock(), open, raised, holding);
+    }
+    List<UUID> cleared = open.entrySet().stream()
+        .filter(e -> !holding.contains(e.getKey()))
+        .map(e -> e.getValue().getAlertId())
+        .toList();
+
+    if (!cleared.isEmpty()) {
+      alertRepository.deleteByIds(cleared);
+    }
+    if (!raised.isEmpty()) {
+      alertRepository.saveAll(raised);
+      raised.forEach(alert -> log.info("{} alert for inventory {} (product {}, warehouse {}): {} available, threshold {}",
+          alert.getType(), alert.getInventoryId(), alert.getProductId(), alert.getWarehouseId(),
+          alert.getAvailableQuantity(), alert.getThreshold()));
+    }
+    return raised.size();
+  }
+
+  /**
+   * Get open alerts of a type, oldest first.
+   */
+  @Transactional(readOnly = true)
+  public List<InventoryAlert> getOpenAlerts(AlertType type) {
+    return alertRepository.findByTypeOrderByRaisedAtAsc(type);
+  }
+
+  /**
+   * Get the ids of items with an open alert of a type.
+   */
+  @Transactional(readOnly = true)
+  public List<UUID> getFlaggedInventoryIds(AlertType type) {
+    return alertRepository.findInventoryIdsByType(type);
+  }
+
+  /**
+   * Get the ids of every item whose alerts may be out of date: those at or below
+   * a threshold by a full scan, plus those currently flagged.
+   */
+  @Transactional(readOnly = true)
+  public Set<UUID> getReconciliationCandidates() {
+    Set<UUID> ids = new HashSet<>(inventoryRepository.findIdsAtOrBelowThreshold());
+    for (AlertType type : AlertType.values()) {
+      ids.addAll(alertRepository.findInventoryIdsByType(type));
+    }
+    return ids;
+  }
+
+  private static void check(StockLevel level, AlertType type, int available, Integer threshold,
+      Map<AlertKey, InventoryAlert> open, List<InventoryAlert> raised, Set<AlertKey> holding) {
+    if (threshold == null || available > threshold) {
+      return;
+    }
+    AlertKey key = new AlertKey(level.getInventoryId(), type);
+    holding.add(key);
+    if (!open.containsKey(key)) {
+      raised.add(InventoryAlert.builder()
+          .inventoryId(level.getInventoryId())
+          .productId(level.getProductId())
+          .warehouseId(level.getWarehouseId())
+          .type(type)
+          .availableQuantity(available)
+          .threshold(threshold)
+          .build());
+    }
+  }
+
+  private record AlertKey(UUID inventoryId, AlertType type) {
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves inventory movements older than the retention window, whole months at a
+ * time, into the archive table. Each batch commits on its own so the live table
+ * is never locked for long.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryMovementArchiver {
+
+  private final InventoryMovementService movementService;
+
+  @Value("${inventory.movements.archive-enabled:true}")
+  private boolean enabled;
+
+  @Value("${inventory.movements.retention-months:12}")
+  private int retentionMonths;
+
+  @Value("${inventory.movements.archive-batch-size:5000}")
+  private int batchSize;
+
+  /**
+   * Archive every movement older than {@code retention-months} months, counted
+   * from the first day of the current month.
+   */
+  @Scheduled(cron = "${inventory.movements.archive-cron:0 30 3 1 * *}")
+  public void archive() {
+    if (!enabled) {
+      return;
+    }
+    Instant cutoff = LocalDate.now(ZoneOffset.UTC)
+        .withDayOfMonth(1)
+        .minusMonths(retentionMonths)
+        .atStartOfDay(ZoneOffset.UTC)
+        .toInstant();
+    int total = 0;
+    try {
+      int count;
+      do {
+        count = movementService.archiveBatch(cutoff, batchSize);
+        total += count;
+      } while (count >= batchSize);
+    } catch (RuntimeException e) {
+      log.warn("Inventory movement archival stopped after {} rows, resuming next run", total, e);
+      return;
+    }
+    if (total > 0) {
+      log.info("Archived {} inventory movements created before {}", total, cutoff);
+    }
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.xplaza.backend.inventory.domain.entity.ArchivedInventoryMovement;
+import com.xplaza.backend.inventory.domain.entity.InventoryMovement;
+import com.xplaza.backend.inventory.domain.repository.ArchivedInventoryMovementRepository;
+import com.xplaza.backend.inventory.domain.repository.InventoryMovementRepository;
+
+/**
+ * Append-only writer and reader for the inventory movement ledger.
+ *
+ * Movements are persisted directly instead of through the item's collection, so
+ * recording one costs a single (batched) insert however long the item's history
+ * is. Movements older than the retention window are moved to an archive table.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class InventoryMovementService {
+
+  private final InventoryMovementRepository movementRepository;
+  private final ArchivedInventoryMovementRepository archiveRepository;
+
+  /**
+   * Record a movement.
+   */
+  public InventoryMovement append(InventoryMovement movement) {
+    movementRepository.save(movement);
+    return movement;
+  }
+
+  /**
+   * Record many movements; Hibernate sends them as batched inserts on flush.
+   */
+  public void appendAll(List<InventoryMovement> movements) {
+    movementRepository.saveAll(movements);
+  }
+
+  /**
+   * Get an item's movements, newest first.
+   */
+  @Transactional(readOnly = true)
+  public Page<InventoryMovement> getHistory(UUID inventoryId, Pageable pageable) {
+    return movementRepository.findHistory(inventoryId, pageable);
+  }
+
+  /**
+   * Get an item's archived movements, newest first.
+   */
+  @Transactional(readOnly = true)
+  public Page<ArchivedInventoryMovement> getArchivedHistory(UUID inventoryId, Pageable pageable) {
+    return archiveRepository.findByInventoryIdOrderByCreatedAtDesc(inventoryId, pageable);
+  }
+
+  /**
+   * Move up to {@code limit} of the oldest movements created before the cutoff
+   * into the archive.
+   *
+   * @return number of movements archived
+   */
+  public int archiveBatch(Instant cutoff, int limit) {
+    List<UUID> ids = movementRepository.findIdsCreatedBefore(cutoff, PageRequest.of(0, limit));
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    movementRepository.copyToArchive(ids);
+    int archived = movementRepository.deleteByIds(ids);
+    log.debug("Archived {} inventory movements created before {}", archived, cutoff);
+    return archived;
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes the inventory valuation and stock ageing report as CSV, one row per
+ * warehouse and category.
+ *
+ * Items and their inbound movements are read through a single forward-only,
+ * read-only cursor ordered by warehouse, category and item, and folded into the
+ * current group's {@link InventoryValuation}, which is written out as soon as
+ * the group changes. Nothing is loaded into the persistence context and memory
+ * stays the same however many items a warehouse holds.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class InventoryReportService {
+
+  private static final int FETCH_SIZE = 1000;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Value("${spring.jpa.properties.hibernate.default_schema:}")
+  private String defaultSchema;
+
+  /**
+   * Write the valuation and ageing of all stock on hand.
+   */
+  public void writeValuationReport(InventoryValuation.Method method, Writer out) {
+    Instant asOf = Instant.now();
+    String sql = "SELECT i.inventory_id, i.warehouse_id, w.code AS warehouse_code, c.category_id, "
+        + "c.category_name, i.quantity_on_hand, i.unit_cost, i.created_at, "
+        + "m.quantity AS layer_quantity, m.unit_cost AS layer_cost, m.created_at AS layer_at "
+        + "FROM " + table("inventory_items") + " i "
+        + "JOIN " + table("warehouses") + " w ON w.warehouse_id = i.warehouse_id "
+        + "LEFT JOIN " + table("products") + " p ON p.product_id = i.product_id "
+        + "LEFT JOIN " + table("categories") + " c ON c.category_id = p.fk_category_id "
+        + "LEFT JOIN " + table("inventory_movements") + " m ON m.inventory_id = i.inventory_id "
+        + "AND m.type IN ('RECEIVE', 'RETURN', 'TRANSFER_IN') AND m.quantity > 0 "
+        + "WHERE i.quantity_on_hand > 0 "
+        + "ORDER BY i.warehouse_id, c.category_id, i.inventory_id, m.created_at DESC";
+
+    ReportWriter writer = new ReportWriter(method, asOf, out);
+    writer.header();
+    jdbcTemplate.query(con -> {
+      PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+      ps.setFetchSize(FETCH_SIZE);
+      return ps;
+    }, writer);
+    writer.finish();
+    log.info("Wrote {} inventory valuation report: {} groups", method, writer.groups);
+  }
+
+  private String table(String name) {
+    return defaultSchema == null || defaultSchema.isBlank() ? name : defaultSchema + "." + name;
+  }
+
+  /**
+   * Folds cursor rows into per-group valuations and writes each group as it
+   * closes.
+   */
+  private static final class ReportWriter implements RowCallbackHandler {
+
+    private final InventoryValuation.Method method;
+    private final Instant asOf;
+    private final Writer out;
+
+    private InventoryValuation valuation;
+    private Long warehouseId;
+    private String warehouseCode;
+    private Long categoryId;
+    private String categoryName;
+    private UUID inventoryId;
+    private int groups;
+
+    ReportWriter(InventoryValuation.Method method, Instant asOf, Writer out) {
+      this.method = method;
+      this.asOf = asOf;
+      this.out = out;
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+      long rowWarehouse = rs.getLong("warehouse_id");
+      Long rowCategory = rs.getObject("category_id", Long.class);
+      if (valuation == null || rowWarehouse != warehouseId || !Objects.equals(rowCategory, categoryId)) {
+        flush();
+        valuation = new InventoryValuation(method, asOf);
+        warehouseId = rowWarehouse;
+        warehouseCode = rs.getString("warehouse_code");
+        categoryId = rowCategory;
+        categoryName = rs.getString("category_name");
+        inventoryId = null;
+      }
+      UUID rowItem = rs.getObject("inventory_id", UUID.class);
+      if (!rowItem.equals(inventoryId)) {
+        inventoryId = rowItem;
+        valuation.startItem(rs.getInt("quantity_on_hand"), rs.getBigDecimal("unit_cost"),
+            instant(rs.getTimestamp("created_at")));
+      }
+      int layerQuantity = rs.getInt("layer_quantity");
+      if (!rs.wasNull()) {
+        valuation.addLayer(layerQuantity, rs.getBigDecimal("layer_cost"), instant(rs.getTimestamp("layer_at")));
+      }
+    }
+
+    void header() {
+      StringBuilder line = new StringBuilder(
+          "warehouse_id,warehouse_code,category_id,category_name,method,items,units,value");
+      int from = 0;
+      for (int days : InventoryValuation.BUCKET_DAYS) {
+        String bucket = from + "_" + days;
+        line.append(",units_").append(bucket).append(",value_").append(bucket);
+        from = days + 1;
+      }
+      line.append(",units_over_").append(from - 1).append(",value_over_").append(from - 1);
+      write(line);
+    }
+
+    void finish() {
+      flush();
+      try {
+        out.flush();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private void flush() {
+      if (valuation == null) {
+        return;
+      }
+      valuation.finishItem();
+      StringBuilder line = new StringBuilder()
+          .append(warehouseId).append(',')
+          .append(csv(warehouseCode)).append(',')
+          .append(categoryId != null ? categoryId : "").append(',')
+          .append(csv(categoryName)).append(',')
+          .append(method).append(',')
+          .append(valuation.items()).append(',')
+          .append(valuation.units()).append(',')
+          .append(money(valuation.value()));
+      for (int b = 0; b <= InventoryValuation.BUCKET_DAYS.length; b++) {
+        line.append(',').append(valuation.bucketUnits(b)).append(',').append(money(valuation.bucketValue(b)));
+      }
+      write(line);
+      groups++;
+      valuation = null;
+    }
+
+    private void write(CharSequence line) {
+      try {
+        out.append(line).append('\n');
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private static Instant instant(Timestamp timestamp) {
+      return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    private static String money(BigDecimal amount) {
+      return amount.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    private static String csv(String value) {
+      if (value == null) {
+        return "";
+      }
+      if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+        return value;
+      }
+      return '"' + value.replace("\"", "\"\"") + '"';
+    }
+  }
+}
@@ -5,25 +5,51 @@
 
 package com.xplaza.backend.inventory.service;
 
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.xplaza.backend.inventory.domain.entity.InventoryAlert;
 import com.xplaza.backend.inventory.domain.entity.InventoryItem;
 import com.xplaza.backend.inventory.domain.entity.InventoryMovement;
+import com.xplaza.backend.inventory.domain.entity.InventoryStockBucket;
 import com.xplaza.backend.inventory.domain.entity.StockReservation;
 import com.xplaza.backend.inventory.domain.entity.Warehouse;
 import com.xplaza.backend.inventory.domain.repository.InventoryItemRepository;
+import com.xplaza.backend.inventory.domain.repository.InventoryStockBucketRepository;
+import com.xplaza.backend.inventory.domain.repository.StockReservationRepository;
+import com.xplaza.backend.inventory.domain.repository.StockReservationRepository.ExpiryDeadline;
 import com.xplaza.backend.inventory.domain.repository.WarehouseRepository;
+import com.xplaza.backend.outbox.domain.entity.OutboxEvent;
+import com.xplaza.backend.outbox.service.OutboxService;
 
 /**
  * Service for inventory management operations.
+ *
+ * Reservations never read-check-write the item in Java: they are a single
+ * conditional UPDATE whose affected-row count decides success. Hot SKUs can opt
+ * into striping, where free units are spread over N bucket rows and a
+ * reservation takes from one bucket, so buyers contend on N rows instead of
+ * one.
  */
 @Service
 @RequiredArgsConstructor
@@ -33,14 +59,24 @@ public class InventoryService {
 
   private final InventoryItemRepository inventoryRepository;
   private final WarehouseRepository warehouseRepository;
+  private final StockReservationRepository reservationRepository;
+  private final InventoryStockBucketRepository bucketRepository;
+  private final StockAvailabilityService availabilityService;
+  private final InventoryMovementService movementService;
+  private final InventoryAlertService alertService;
+  private final StockThresholdDetector thresholdDetector;
+  private final JdbcTemplate jdbcTemplate;
+  private final OutboxService outboxService;
+
+  @Value("${spring.jpa.properties.hibernate.default_schema:}")
+  private String defaultSchema;
 
   /**
    * Get available quantity for a product across all warehouses.
    */
   @Transactional(readOnly = true)
   public int getAvailableQuantity(Long productId) {
-    Integer total = inventoryRepository.sumAvailableQuantityByProductId(productId);
-    return total != null ? total : 0;
+    return availabilityService.getProductAvailability(productId);
   }
 
   /**
@@ -48,8 +84,23 @@ public class InventoryService {
    */
   @Transactional(readOnly = true)
   public int getAvailableQuantityByVariant(UUID variantId) {
-    Integer total = inventoryRepository.sumAvailableQuantityByVariantId(variantId);
-    return total != null ? total : 0;
+    return availabilityService.getVariantAvailability(variantId);
+  }
+
+  /**
+   * Get available quantities for many products in one call.
+   */
+  @Transactional(readOnly = true)
+  public Map<Long, Integer> getAvailableQuantities(Collection<Long> productIds) {
+    return availabilityService.getProductAvailability(productIds);
+  }
+
+  /**
+   * Get available quantities for many variants in one call.
+   */
+  @Transactional(readOnly = true)
+  public Map<UUID, Integer> getAvailableQuantitiesByVariant(Collection<UUID> variantIds) {
+    return availabilityService.getVariantAvailability(variantIds);
   }
 
   /**
@@ -84,21 +135,11 @@ public class InventoryService {
               "Inventory not found for product: " + productId + " at warehouse: " + warehouseId));
     }
 
-    if (!item.reserve(quantity)) {
+    StockReservation reservation = tryReserve(item, quantity, orderId, cartId);
+    if (reservation == null) {
       throw new IllegalStateException("Insufficient stock for product: " + productId);
     }
 
-    StockReservation reservation = StockReservation.builder()
-        .inventoryItem(item)
-        .orderId(orderId)
-        .cartId(cartId)
-        .quantity(quantity)
-        .type(orderId != null ? StockReservation.ReservationType.ORDER : StockReservation.ReservationType.CART)
-        .build();
-
-    item.getReservations().add(reservation);
-    inventoryRepository.save(item);
-
     log.info("Reserved {} units of product {} at warehouse {}", quantity, productId, warehouseId);
     return reservation;
   }
@@ -115,8 +156,11 @@ public class InventoryService {
     }
 
     for (InventoryItem item : items) {
-      if (item.getAvailableQuantity() >= quantity) {
-        return reserveStock(productId, variantId, item.getWarehouse().getWarehouseId(), quantity, orderId, null);
+      StockReservation reservation = tryReserve(item, quantity, orderId, null);
+      if (reservation != null) {
+        log.info("Reserved {} units of product {} at warehouse {}", quantity, productId,
+            item.getWarehouse().getWarehouseId());
+        return reservation;
       }
     }
 
@@ -124,66 +168,260 @@ public class InventoryService {
   }
 
   /**
-   * Release a reservation.
+   * Reserve every pick of an allocation plan, or none of them. Picks on unstriped
+   * items are reserved with one JDBC batch of conditional updates, in inventory
+   * id order so concurrent checkouts lock rows in the same order, and their
+   * reservations are inserted in one batch. When a pick can no longer be covered,
+   * the picks already taken are put back.
+   *
+   * @return the reservations, or null when the plan went stale
    */
-  public void releaseReservation(UUID reservationId) {
-    // Find reservation and release
-    List<InventoryItem> items = inventoryRepository.findAll();
-    for (InventoryItem item : items) {
-      Optional<StockReservation> reservation = item.getReservations().stream()
-          .filter(r -> r.getReservationId().equals(reservationId))
-          .findFirst();
-
-      if (reservation.isPresent()) {
-        StockReservation res = reservation.get();
-        item.releaseReservation(res.getQuantity());
-        res.release();
-        inventoryRepository.save(item);
-        log.info("Released reservation: {}", reservationId);
-        return;
+  public List<StockReservation> reservePicks(List<StockAllocator.Pick> picks, UUID orderId) {
+    Map<UUID, InventoryItem> items = inventoryRepository.findAllById(picks.stream()
+        .map(StockAllocator.Pick::inventoryId)
+        .collect(Collectors.toSet())).stream()
+        .collect(Collectors.toMap(InventoryItem::getInventoryId, item -> item));
+    List<StockAllocator.Pick> ordered = picks.stream()
+        .sorted(Comparator.comparing(StockAllocator.Pick::inventoryId))
+        .toList();
+    if (ordered.stream().anyMatch(p -> items.get(p.inventoryId()) == null)) {
+      return null;
+    }
+
+    Instant now = Instant.now();
+    Timestamp at = Timestamp.from(now);
+    List<StockAllocator.Pick> plain = ordered.stream()
+        .filter(p -> !items.get(p.inventoryId()).isStriped())
+        .toList();
+    int[] counts = plain.isEmpty() ? new int[0]
+        : jdbcTemplate.batchUpdate("UPDATE " + table("inventory_items")
+            + " SET quantity_reserved = quantity_reserved + ?, updated_at = ? WHERE inventory_id = ? "
+            + "AND status = 'ACTIVE' AND quantity_on_hand - quantity_reserved >= ?",
+            plain.stream()
+                .map(p -> new Object[] { p.quantity(), at, p.inventoryId(), p.quantity() })
+                .toList());
+
+    List<StockReservation> reserved = new ArrayList<>(picks.size());
+    boolean stale = false;
+    for (int i = 0; i < plain.size(); i++) {
+      if (counts[i] == 0) {
+        stale = true;
+      } else {
+        reserved.add(newReservation(items.get(plain.get(i).inventoryId()), plain.get(i).quantity(), null,
+            orderId, null));
+      }
+    }
+    for (StockAllocator.Pick pick : ordered) {
+      InventoryItem item = items.get(pick.inventoryId());
+      if (stale || !item.isStriped()) {
+        continue;
+      }
+      Integer bucketIndex = takeFromBuckets(item, pick.quantity(), now);
+      if (bucketIndex == null) {
+        stale = true;
+      } else {
+        reserved.add(newReservation(item, pick.quantity(), bucketIndex, orderId, null));
       }
     }
-    throw new IllegalArgumentException("Reservation not found: " + reservationId);
+
+    if (stale) {
+      List<Object[]> release = new ArrayList<>();
+      for (StockReservation r : reserved) {
+        if (r.getBucketIndex() != null) {
+          returnToStock(r.getInventoryItem(), r.getBucketIndex(), r.getQuantity(), now);
+        } else {
+          release.add(new Object[] { r.getQuantity(), r.getQuantity(), at, r.getInventoryItem().getInventoryId() });
+        }
+      }
+      if (!release.isEmpty()) {
+        jdbcTemplate.batchUpdate("UPDATE " + table("inventory_items")
+            + " SET quantity_reserved = CASE WHEN quantity_reserved > ? THEN quantity_reserved - ? ELSE 0 END, "
+            + "updated_at = ? WHERE inventory_id = ?", release);
+      }
+      return null;
+    }
+
+    for (StockReservation reservation : reserved) {
+      stockChanged(reservation.getInventoryItem());
+    }
+    reservationRepository.saveAll(reserved);
+    return reserved;
+  }
+
+  /**
+   * Release a reservation.
+   */
+  public void releaseReservation(UUID reservationId) {
+    StockReservation reservation = getReservedOrThrow(reservationId);
+    returnToStock(reservation.getInventoryItem(), reservation.getBucketIndex(), reservation.getQuantity(),
+        Instant.now());
+    reservation.release();
+    reservationRepository.save(reservation);
+    log.info("Released reservation: {}", reservationId);
   }
 
   /**
    * Fulfill reserved stock (when order is shipped).
    */
   public void fulfillReservation(UUID reservationId) {
-    List<InventoryItem> items = inventoryRepository.findAll();
-    for (InventoryItem item : items) {
-      Optional<StockReservation> reservation = item.getReservations().stream()
-          .filter(r -> r.getReservationId().equals(reservationId))
-          .findFirst();
+    StockReservation reservation = getReservedOrThrow(reservationId);
+    inventoryRepository.fulfillReserved(reservation.getInventoryItem().getInventoryId(), reservation.getQuantity(),
+        Instant.now());
+    reservation.fulfill();
+    reservationRepository.save(reservation);
+    log.info("Fulfilled reservation: {}", reservationId);
+  }
 
-      if (reservation.isPresent()) {
-        StockReservation res = reservation.get();
-        item.fulfill(res.getQuantity());
-        res.fulfill();
-        inventoryRepository.save(item);
+  /**
+   * Get all reservations held for an order.
+   */
+  @Transactional(readOnly = true)
+  public List<StockReservation> getOrderReservations(UUID orderId) {
+    return reservationRepository.findByOrderId(orderId);
+  }
 
-        log.info("Fulfilled reservation: {}", reservationId);
-        return;
-      }
+  /**
+   * Release every open reservation of an order (order cancelled).
+   *
+   * @return number of reservations released
+   */
+  public int releaseOrderReservations(UUID orderId) {
+    List<StockReservation> reservations = reservationRepository.lockByOrderIdAndStatus(orderId,
+        StockReservation.ReservationStatus.RESERVED);
+    if (reservations.isEmpty()) {
+      return 0;
+    }
+
+    Instant now = Instant.now();
+    returnGroupedToStock(reservations, now);
+    int released = reservationRepository.releaseByOrderId(orderId, now);
+
+    log.info("Released {} reservations for order {}", released, orderId);
+    return released;
+  }
+
+  /**
+   * Release the open reservations of many orders at once (bulk cancellation).
+   *
+   * @return number of reservations released
+   */
+  public int releaseOrdersReservations(Collection<UUID> orderIds) {
+    if (orderIds.isEmpty()) {
+      return 0;
+    }
+    return releaseClaimed(reservationRepository.lockOpenByOrderIds(orderIds),
+        StockReservation.ReservationStatus.RELEASED);
+  }
+
+  /**
+   * Expire the given cart reservations if they are still open and due. Rows
+   * another node is already expiring are skipped; order reservations are left to
+   * their order's cancellation.
+   *
+   * @return number of reservations expired
+   */
+  public int expireReservations(Collection<UUID> reservationIds) {
+    if (reservationIds.isEmpty()) {
+      return 0;
     }
-    throw new IllegalArgumentException("Reservation not found: " + reservationId);
+    return releaseClaimed(reservationRepository.claimExpiredByIds(reservationIds, Instant.now()),
+        StockReservation.ReservationStatus.EXPIRED);
+  }
+
+  /**
+   * Expire up to {@code limit} due cart reservations found through the index on
+   * {@code expires_at}.
+   *
+   * @return number of reservations expired
+   */
+  public int expireDueReservations(int limit) {
+    return releaseClaimed(reservationRepository.claimExpired(Instant.now(), PageRequest.of(0, limit)),
+        StockReservation.ReservationStatus.EXPIRED);
+  }
+
+  /**
+   * Get deadlines of open reservations for the expiry wheel.
+   */
+  @Transactional(readOnly = true)
+  public List<ExpiryDeadline> getExpiryDeadlines(Instant loadedUntil, Instant until, Instant createdSince) {
+    return reservationRepository.findExpiryDeadlines(loadedUntil, until, createdSince);
+  }
+
+  /**
+   * Fulfill every open reservation of an order (order shipped).
+   *
+   * @return number of reservations fulfilled
+   */
+  public int fulfillOrderReservations(UUID orderId) {
+    List<StockReservation> reservations = reservationRepository.lockByOrderIdAndStatus(orderId,
+        StockReservation.ReservationStatus.RESERVED);
+    if (reservations.isEmpty()) {
+      return 0;
+    }
+
+    Instant now = Instant.now();
+    reservedQuantityByItem(reservations)
+        .forEach((inventoryId, quantity) -> inventoryRepository.fulfillReserved(inventoryId, quantity, now));
+    int fulfilled = reservationRepository.fulfillByOrderId(orderId, now);
+
+    log.info("Fulfilled {} reservations for order {}", fulfilled, orderId);
+    return fulfilled;
+  }
+
+  /**
+   * Fulfill the open reservations of many orders at once (bulk shipping). Each
+   * item is decremented once for all of its reservations.
+   *
+   * @return number of reservations fulfilled
+   */
+  public int fulfillOrdersReservations(Collection<UUID> orderIds) {
+    if (orderIds.isEmpty()) {
+      return 0;
+    }
+    List<StockReservation> reservations = reservationRepository.lockOpenByOrderIds(orderIds);
+    if (reservations.isEmpty()) {
+      return 0;
+    }
+
+    Instant now = Instant.now();
+    reservedQuantityByItem(reservations)
+        .forEach((inventoryId, quantity) -> inventoryRepository.fulfillReserved(inventoryId, quantity, now));
+    int fulfilled = reservationRepository.fulfillByOrderIds(orderIds, now);
+
+    log.info("Fulfilled {} reservations for {} orders", fulfilled, orderIds.size());
+    return fulfilled;
   }
 
   /**
    * Receive stock from supplier.
    */
   public InventoryItem receiveStock(String sku, Long warehouseId, int quantity, Long userId) {
-    InventoryItem item = inventoryRepository.findBySku(sku)
-        .filter(i -> i.getWarehouse().getWarehouseId().equals(warehouseId))
+    return receiveStock(sku, warehouseId, quantity, null, userId);
+  }
+
+  /**
+   * Receive stock bought at a unit cost; the cost is recorded with the receipt
+   * and folded into the item's moving average cost. A null cost keeps the item's
+   * current cost.
+   */
+  public InventoryItem receiveStock(String sku, Long warehouseId, int quantity, BigDecimal unitCost,
+      Long userId) {
+    // Row lock so the entity write cannot overwrite concurrent conditional
+    // reservations
+    InventoryItem item = inventoryRepository.lockBySkuAndWarehouseId(sku, warehouseId)
         .orElseThrow(() -> new IllegalArgumentException("Inventory not found for SKU: " + sku));
 
     // Create movement record
-    InventoryMovement movement = InventoryMovement.createReceive(item, quantity, null, userId);
-    item.getMovements().add(movement);
+    movementService.append(InventoryMovement.createReceive(item, quantity, unitCost, null, userId));
 
     // Update stock
-    item.receiveStock(quantity);
+    item.receiveStock(quantity, unitCost);
+    if (item.isStriped()) {
+      redistribute(item, item.getStripeCount());
+    }
     item = inventoryRepository.save(item);
+    stockChanged(item);
+    publishStockChanged(item);
 
     log.info("Received {} units of SKU {} at warehouse {}", quantity, sku, warehouseId);
     return item;
@@ -193,27 +431,61 @@ public class InventoryService {
    * Adjust stock (for inventory counts).
    */
   public InventoryItem adjustStock(UUID inventoryId, int newQuantity, String reason, Long userId) {
-    InventoryItem item = inventoryRepository.findById(inventoryId)
+    InventoryItem item = inventoryRepository.lockById(inventoryId)
         .orElseThrow(() -> new IllegalArgumentException("Inventory not found: " + inventoryId));
 
     // Create movement record
-    InventoryMovement movement = InventoryMovement.createAdjustment(item, newQuantity, reason, userId);
-    item.getMovements().add(movement);
+    movementService.append(InventoryMovement.createAdjustment(item, newQuantity, reason, userId));
 
     // Adjust stock
     item.adjustStock(newQuantity);
+    if (item.isStriped()) {
+      redistribute(item, item.getStripeCount());
+    }
     item = inventoryRepository.save(item);
+    stockChanged(item);
+    publishStockChanged(item);
 
     log.info("Adjusted stock for inventory {}: new quantity = {}", inventoryId, newQuantity);
     return item;
   }
 
+  /**
+   * Enable (or resize) hot-SKU striping: spread the item's free units over the
+   * given number of buckets.
+   */
+  public InventoryItem enableStriping(UUID inventoryId, int stripes) {
+    if (stripes < 2) {
+      throw new IllegalArgumentException("Striping needs at least 2 buckets");
+    }
+    InventoryItem item = inventoryRepository.lockById(inventoryId)
+        .orElseThrow(() -> new IllegalArgumentException("Inventory not found: " + inventoryId));
+    redistribute(item, stripes);
+    item = inventoryRepository.save(item);
+    log.info("Striped inventory {} over {} buckets", inventoryId, stripes);
+    return item;
+  }
+
+  /**
+   * Disable striping: fold the bucket units back into the item row.
+   */
+  public InventoryItem disableStriping(UUID inventoryId) {
+    InventoryItem item = inventoryRepository.lockById(inventoryId)
+        .orElseThrow(() -> new IllegalArgumentException("Inventory not found: " + inventoryId));
+    if (item.isStriped()) {
+      redistribute(item, 0);
+      item = inventoryRepository.save(item);
+      log.info("Disabled striping for inventory {}", inventoryId);
+    }
+    return item;
+  }
+
   /**
    * Get items that need reordering.
    */
   @Transactional(readOnly = true)
   public List<InventoryItem> getItemsNeedingReorder() {
-    return inventoryRepository.findItemsNeedingReorder();
+    return inventoryRepository.findAllById(alertService.getFlaggedInventoryIds(InventoryAlert.AlertType.REORDER));
   }
 
   /**
@@ -221,7 +493,7 @@ public class InventoryService {
    */
   @Transactional(readOnly = true)
   public List<InventoryItem> getItemsBelowSafetyStock() {
-    return inventoryRepository.findItemsBelowSafetyStock();
+    return inventoryRepository.findAllById(alertService.getFlaggedInventoryIds(InventoryAlert.AlertType.LOW_STOCK));
   }
 
   /**
@@ -274,7 +546,203 @@ public class InventoryService {
         .build();
 
     item = inventoryRepository.save(item);
+    stockChanged(item);
     log.info("Created inventory item for SKU {} at warehouse {}", sku, warehouseId);
     return item;
   }
+
+  // Private helpers
+
+  /**
+   * Reserve units on one item with a conditional update. Returns null when the
+   * item cannot cover the quantity.
+   */
+  private StockReservation tryReserve(InventoryItem item, int quantity, UUID orderId, UUID cartId) {
+    Instant now = Instant.now();
+    Integer bucketIndex = null;
+    if (item.isStriped()) {
+      bucketIndex = takeFromBuckets(item, quantity, now);
+      if (bucketIndex == null) {
+        return null;
+      }
+    } else if (inventoryRepository.tryReserve(item.getInventoryId(), quantity, now) == 0) {
+      return null;
+    }
+
+    stockChanged(item);
+    return reservationRepository.save(newReservation(item, quantity, bucketIndex, orderId, cartId));
+  }
+
+  /**
+   * Record an operator stock change (receipt or count) in the outbox.
+   * Reservations are not published: they are frequent and already reflected in
+   * availability.
+   */
+  private void publishStockChanged(InventoryItem item) {
+    Map<String, Object> payload = new LinkedHashMap<>();
+    payload.put("inventoryId", item.getInventoryId());
+    payload.put("productId", item.getProductId());
+    payload.put("variantId", item.getVariantId());
+    payload.put("warehouseId", item.getWarehouse() != null ? item.getWarehouse().getWarehouseId() : null);
+    payload.put("sku", item.getSku());
+    payload.put("quantityOnHand", item.getQuantityOnHand());
+    outboxService.publish("INVENTORY", item.getInventoryId(), OutboxEvent.EventType.STOCK_CHANGED, payload);
+  }
+
+  private String table(String name) {
+    return defaultSchema == null || defaultSchema.isBlank() ? name : defaultSchema + "." + name;
+  }
+
+  private StockReservation newReservation(InventoryItem item, int quantity, Integer bucketIndex, UUID orderId,
+      UUID cartId) {
+    return StockReservation.builder()
+        .inventoryItem(item)
+        .orderId(orderId)
+        .cartId(cartId)
+        .quantity(quantity)
+        .bucketIndex(bucketIndex)
+        .type(orderId != null ? StockReservation.ReservationType.ORDER : StockReservation.ReservationType.CART)
+        .build();
+  }
+
+  /**
+   * Take units from a striped item. Buckets are tried from a random start so
+   * concurrent buyers land on different rows; only when no single bucket covers
+   * the quantity are all buckets locked and drained together.
+   *
+   * @return the bucket index recorded on the reservation, or null when the
+   *         buckets cannot cover the quantity
+   */
+  private Integer takeFromBuckets(InventoryItem item, int quantity, Instant now) {
+    UUID inventoryId = item.getInventoryId();
+    int stripes = item.getStripeCount();
+    int start = ThreadLocalRandom.current().nextInt(stripes);
+    for (int i = 0; i < stripes; i++) {
+      int index = (start + i) % stripes;
+      if (bucketRepository.tryTake(inventoryId, index, quantity, now) > 0) {
+        return index;
+      }
+    }
+
+    List<InventoryStockBucket> buckets = bucketRepository.lockByInventoryId(inventoryId);
+    if (buckets.stream().mapToInt(InventoryStockBucket::getQuantityAvailable).sum() < quantity) {
+      return null;
+    }
+    int remaining = quantity;
+    List<int[]> taken = new ArrayList<>();
+    for (InventoryStockBucket bucket : buckets) {
+      int take = Math.min(remaining, bucket.getQuantityAvailable());
+      if (take > 0 && bucketRepository.tryTake(inventoryId, bucket.getBucketIndex(), take, now) > 0) {
+        taken.add(new int[] { bucket.getBucketIndex(), take });
+        remaining -= take;
+      }
+      if (remaining == 0) {
+        return buckets.get(0).getBucketIndex();
+      }
+    }
+    taken.forEach(t -> bucketRepository.giveBack(inventoryId, t[0], t[1], now));
+    return null;
+  }
+
+  /**
+   * Release a claimed batch of reservations: one stock update per item/bucket and
+   * one status update for the whole batch.
+   */
+  private int releaseClaimed(List<StockReservation> reservations, StockReservation.ReservationStatus status) {
+    if (reservations.isEmpty()) {
+      return 0;
+    }
+    // Load the batch's items in one query instead of one proxy fetch each
+    inventoryRepository.findAllById(reservations.stream()
+        .map(r -> r.getInventoryItem().getInventoryId())
+        .collect(Collectors.toSet()));
+
+    Instant now = Instant.now();
+    returnGroupedToStock(reservations, now);
+    int released = reservationRepository.markReleased(
+        reservations.stream().map(StockReservation::getReservationId).toList(), status, now);
+    log.info("Marked {} reservations {}", released, status);
+    return released;
+  }
+
+  private void returnGroupedToStock(List<StockReservation> reservations, Instant now) {
+    reservations.stream()
+        .collect(Collectors.groupingBy(r -> new StockSlot(r.getInventoryItem(), r.getBucketIndex()),
+            Collectors.summingInt(StockReservation::getQuantity)))
+        .forEach((slot, quantity) -> returnToStock(slot.item(), slot.bucketIndex(), quantity, now));
+  }
+
+  /**
+   * Return released units to where the item currently keeps free stock: a bucket
+   * when striped, otherwise the item row.
+   */
+  private void returnToStock(InventoryItem item, Integer bucketIndex, int quantity, Instant now) {
+    stockChanged(item);
+    if (item.isStriped()) {
+      int index = bucketIndex != null && bucketIndex < item.getStripeCount() ? bucketIndex : 0;
+      if (bucketRepository.giveBack(item.getInventoryId(), index, quantity, now) > 0) {
+        return;
+      }
+    }
+    inventoryRepository.releaseReserved(item.getInventoryId(), quantity, now);
+  }
+
+  /**
+   * Rebuild the buckets of a row-locked item from its current free stock. Units
+   * held by open reservations stay reserved; {@code stripes == 0} turns striping
+   * off.
+   */
+  private void redistribute(InventoryItem item, int stripes) {
+    UUID inventoryId = item.getInventoryId();
+    int pooled = bucketRepository.lockByInventoryId(inventoryId).stream()
+        .mapToInt(InventoryStockBucket::getQuantityAvailable)
+        .sum();
+    bucketRepository.deleteByInventoryId(inventoryId);
+
+    int held = item.getQuantityReserved() - pooled;
+    int free = stripes > 0 ? Math.max(0, item.getQuantityOnHand() - held) : 0;
+    List<InventoryStockBucket> buckets = new ArrayList<>();
+    for (int i = 0; i < stripes; i++) {
+      buckets.add(InventoryStockBucket.builder()
+          .inventoryId(inventoryId)
+          .bucketIndex(i)
+          .quantityAvailable(free / stripes + (i < free % stripes ? 1 : 0))
+          .build());
+    }
+    bucketRepository.saveAll(buckets);
+
+    item.setQuantityReserved(held + free);
+    item.setStripeCount(stripes > 0 ? stripes : null);
+  }
+
+  /**
+   * Drop cached availability and queue a threshold check for an item whose stock
+   * changed.
+   */
+  private void stockChanged(InventoryItem item) {
+    availabilityService.invalidate(item.getProductId(), item.getVariantId());
+    thresholdDetector.stockChanged(item.getInventoryId());
+  }
+
+  /**
+   * Lock a reservation and check it is still open, so a concurrent release or
+   * fulfill of the same reservation fails instead of moving the stock twice.
+   */
+  private StockReservation getReservedOrThrow(UUID reservationId) {
+    StockReservation reservation = reservationRepository.lockById(reservationId)
+        .orElseThrow(() -> new IllegalArgumentException("Reservation not found: " + reservationId));
+    if (reservation.getStatus() != StockReservation.ReservationStatus.RESERVED) {
+      throw new IllegalStateException("Reservation is not open. Current status: " + reservation.getStatus());
+    }
+    return reservation;
+  }
+
+  private record StockSlot(InventoryItem item, Integer bucketIndex) {
+  }
+
+  private static Map<UUID, Integer> reservedQuantityByItem(List<StockReservation> reservations) {
+    return reservations.stream()
+        .collect(Collectors.groupingBy(r -> r.getInventoryItem().getInventoryId(),
+            Collectors.summingInt(StockReservation::getQuantity)));
+  }
 }
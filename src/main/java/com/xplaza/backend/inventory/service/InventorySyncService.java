@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.xplaza.backend.inventory.domain.entity.InventorySyncBatch;
+import com.xplaza.backend.inventory.domain.repository.InventoryItemRepository;
+import com.xplaza.backend.inventory.domain.repository.InventoryItemRepository.SyncState;
+import com.xplaza.backend.inventory.domain.repository.InventorySyncBatchRepository;
+
+/**
+ * Applies bulk stock counts pushed by warehouse management systems.
+ *
+ * Current on-hand values are read per warehouse in chunks of SKUs, diffed in
+ * memory, and only changed rows are written, as JDBC batch updates touching
+ * nothing but {@code quantity_on_hand}, so concurrent reservations are not
+ * overwritten. Instead of one movement per SKU the sync stores one compressed
+ * batch record, keyed by the client's batch id so a retried push is not applied
+ * twice. Striped items go through {@link InventoryService#adjustStock} so their
+ * buckets are rebuilt.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class InventorySyncService {
+
+  private static final int CHUNK = 1000;
+  private static final int MAX_REPORTED_UNKNOWN = 100;
+
+  private final InventoryItemRepository inventoryRepository;
+  private final InventorySyncBatchRepository batchRepository;
+  private final InventoryService inventoryService;
+  private final StockAvailabilityService availabilityService;
+  private final StockThresholdDetector thresholdDetector;
+  private final JdbcTemplate jdbcTemplate;
+
+  @Value("${spring.jpa.properties.hibernate.default_schema:}")
+  private String defaultSchema;
+
+  /**
+   * Apply a sync batch, or return the recorded outcome if the batch id was
+   * already applied.
+   */
+  public SyncResult sync(String batchId, List<SyncLine> lines, Long userId) {
+    if (batchId == null || batchId.isBlank() || batchId.length() > 100) {
+      throw new IllegalArgumentException("A batch id of at most 100 characters is required");
+    }
+    InventorySyncBatch applied = batchRepository.findById(batchId).orElse(null);
+    if (applied != null) {
+      log.info("Inventory sync {} already applied, skipping", batchId);
+      return new SyncResult(batchId, applied.getLineCount(), applied.getChangedCount(), applied.getUnknownCount(),
+          List.of(), true);
+    }
+
+    // Last line wins when a push repeats a (warehouse, SKU)
+    Map<Long, Map<String, SyncLine>> byWarehouse = new LinkedHashMap<>();
+    for (SyncLine line : lines) {
+      line.validate();
+      byWarehouse.computeIfAbsent(line.warehouseId(), w -> new LinkedHashMap<>()).put(line.sku(), line);
+    }
+
+    Instant now = Instant.now();
+    List<Object[]> counts = new ArrayList<>();
+    List<Object[]> deltas = new ArrayList<>();
+    List<String> unknown = new ArrayList<>();
+    int unknownCount = 0;
+    int changed = 0;
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (Writer changes = new OutputStreamWriter(new GZIPOutputStream(compressed), StandardCharsets.UTF_8)) {
+      for (Map.Entry<Long, Map<String, SyncLine>> entry : byWarehouse.entrySet()) {
+        Long warehouseId = entry.getKey();
+        List<String> skus = new ArrayList<>(entry.getValue().keySet());
+        for (int from = 0; from < skus.size(); from += CHUNK) {
+          List<String> chunk = skus.subList(from, Math.min(skus.size(), from + CHUNK));
+          Map<String, SyncState> current = new HashMap<>();
+          inventoryRepository.findSyncStates(warehouseId, chunk).forEach(s -> current.put(s.getSku(), s));
+
+          for (String sku : chunk) {
+            SyncState state = current.get(sku);
+            if (state == null) {
+              if (unknown.size() < MAX_REPORTED_UNKNOWN) {
+                unknown.add(warehouseId + "/" + sku);
+              }
+              unknownCount++;
+              continue;
+            }
+            SyncLine line = entry.getValue().get(sku);
+            int before = state.getQuantityOnHand();
+            int after = line.applyTo(before);
+            if (after == before) {
+              continue;
+            }
+            changes.write(warehouseId + "\t" + sku + "\t" + before + "\t" + after + "\n");
+            changed++;
+            if (state.getStripeCount() != null && state.getStripeCount() > 0) {
+              inventoryService.adjustStock(state.getInventoryId(), after, "WMS sync " + batchId, userId);
+            } else {
+              // Deltas are applied in SQL so a change landing after our read is not lost
+              if (line.count() != null) {
+                counts.add(new Object[] { after, Timestamp.from(now), state.getInventoryId() });
+              } else {
+                deltas.add(new Object[] { line.delta(), Timestamp.from(now), state.getInventoryId() });
+              }
+              availabilityService.invalidate(state.getProductId(), state.getVariantId());
+              thresholdDetector.stockChanged(state.getInventoryId());
+            }
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    batchUpdate("UPDATE " + table("inventory_items")
+        + " SET quantity_on_hand = ?, updated_at = ? WHERE inventory_id = ?", counts);
+    batchUpdate("UPDATE " + table("inventory_items")
+        + " SET quantity_on_hand = GREATEST(quantity_on_hand + ?, 0), updated_at = ? WHERE inventory_id = ?", deltas);
+
+    batchRepository.save(InventorySyncBatch.builder()
+        .batchId(batchId)
+        .lineCount(lines.size())
+        .changedCount(changed)
+        .unknownCount(unknownCount)
+        .changes(compressed.toByteArray())
+        .appliedBy(userId)
+        .appliedAt(now)
+        .build());
+    log.info("Applied inventory sync {}: {} lines, {} changed, {} unknown", batchId, lines.size(), changed,
+        unknownCount);
+    return new SyncResult(batchId, lines.size(), changed, unknownCount, unknown, false);
+  }
+
+  private void batchUpdate(String sql, List<Object[]> rows) {
+    for (int from = 0; from < rows.size(); from += CHUNK) {
+      jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + CHUNK)));
+    }
+  }
+
+  private String table(String name) {
+    return defaultSchema == null || defaultSchema.isBlank() ? name : defaultSchema + "." + name;
+  }
+
+  /** One count from the WMS: either an absolute on-hand count or a delta. */
+  public record SyncLine(Long warehouseId, String sku, Integer count, Integer delta) {
+
+    void validate() {
+      if (warehouseId == null || sku == null || sku.isBlank()) {
+        throw new IllegalArgumentException("Every sync line needs a warehouseId and sku");
+      }
+      if ((count == null) == (delta == null)) {
+        throw new IllegalArgumentException("Sync line for " + sku + " must have exactly one of count or delta");
+      }
+      if (count != null && count < 0) {
+        throw new IllegalArgumentException("Negative count for " + sku);
+      }
+    }
+
+    int applyTo(int onHand) {
+      return count != null ? count : Math.max(0, onHand + delta);
+    }
+  }
+
+  /**
+   * Outcome of a sync; {@code unknownLines} lists at most 100 of the unmatched
+   * lines.
+   */
+  public record SyncResult(String batchId, int lines, int changed, int unknown, List<String> unknownLines,
+      boolean replayed) {
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Values the on-hand stock of a group of items and splits it into age buckets.
+ *
+ * Items are fed one at a time with their inbound layers newest first. Stock is
+ * assumed to leave first in, first out, so the units still on hand are the most
+ * recent receipts; units not covered by any recorded receipt (opening stock,
+ * count corrections, receipts already archived) are aged from the item's
+ * creation. Only running totals are kept, so memory does not depend on how many
+ * items or layers are fed.
+ */
+public class InventoryValuation {
+
+  /** Upper bounds, in days, of every bucket but the last. */
+  public static final int[] BUCKET_DAYS = { 30, 60, 90, 180, 365 };
+
+  private final Method method;
+  private final Instant asOf;
+
+  private long items;
+  private long units;
+  private BigDecimal value = BigDecimal.ZERO;
+  private final long[] bucketUnits = new long[BUCKET_DAYS.length + 1];
+  private final BigDecimal[] bucketValue = new BigDecimal[BUCKET_DAYS.length + 1];
+
+  private int remaining;
+  private BigDecimal itemCost;
+  private Instant itemCreatedAt;
+
+  public InventoryValuation(Method method, Instant asOf) {
+    this.method = method;
+    this.asOf = asOf;
+    Arrays.fill(bucketValue, BigDecimal.ZERO);
+  }
+
+  /**
+   * Start an item.
+   *
+   * @param onHand    units on hand
+   * @param unitCost  the item's weighted-average unit cost, or null if unknown
+   * @param createdAt when the item was created
+   */
+  public void startItem(int onHand, BigDecimal unitCost, Instant createdAt) {
+    finishItem();
+    if (onHand <= 0) {
+      return;
+    }
+    items++;
+    remaining = onHand;
+    itemCost = unitCost != null ? unitCost : BigDecimal.ZERO;
+    itemCreatedAt = createdAt != null ? createdAt : asOf;
+  }
+
+  /**
+   * Feed one inbound layer of the current item; layers must come newest first.
+   *
+   * @param quantity   units received
+   * @param unitCost   cost recorded with the receipt, or null to use the item's
+   * @param receivedAt when the units arrived
+   */
+  public void addLayer(int quantity, BigDecimal unitCost, Instant receivedAt) {
+    if (remaining <= 0 || quantity <= 0) {
+      return;
+    }
+    int take = Math.min(remaining, quantity);
+    BigDecimal cost = method == Method.FIFO && unitCost != null ? unitCost : itemCost;
+    add(take, cost, receivedAt);
+    remaining -= take;
+  }
+
+  /**
+   * Close the current item, aging any units its layers did not cover from its
+   * creation.
+   */
+  public void finishItem() {
+    if (remaining > 0) {
+      add(remaining, itemCost, itemCreatedAt);
+      remaining = 0;
+    }
+  }
+
+  private void add(int quantity, BigDecimal unitCost, Instant since) {
+    BigDecimal amount = unitCost.multiply(BigDecimal.valueOf(quantity));
+    int bucket = bucket(Duration.between(since, asOf).toDays());
+    units += quantity;
+    value = value.add(amount);
+    bucketUnits[bucket] += quantity;
+    bucketValue[bucket] = bucketValue[bucket].add(amount);
+  }
+
+  static int bucket(long ageDays) {
+    for (int i = 0; i < BUCKET_DAYS.length; i++) {
+      if (ageDays <= BUCKET_DAYS[i]) {
+        return i;
+      }
+    }
+    return BUCKET_DAYS.length;
+  }
+
+  public long items() {
+    return items;
+  }
+
+  public long units() {
+    return units;
+  }
+
+  public BigDecimal value() {
+    return value;
+  }
+
+  public long bucketUnits(int bucket) {
+    return bucketUnits[bucket];
+  }
+
+  public BigDecimal bucketValue(int bucket) {
+    return bucketValue[bucket];
+  }
+
+  public enum Method {
+    /** Units on hand valued at the cost of the receipts they came from */
+    FIFO,
+    /** Units on hand valued at the item's moving average cost */
+    WEIGHTED_AVERAGE
+  }
+}
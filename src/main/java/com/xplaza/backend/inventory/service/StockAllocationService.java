@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.xplaza.backend.inventory.domain.entity.StockReservation;
+import com.xplaza.backend.inventory.domain.entity.Warehouse;
+import com.xplaza.backend.inventory.domain.repository.InventoryItemRepository;
+import com.xplaza.backend.inventory.domain.repository.InventoryItemRepository.ItemStock;
+import com.xplaza.backend.inventory.domain.repository.WarehouseRepository;
+
+/**
+ * Allocates order lines across warehouses and reserves the result.
+ *
+ * Active warehouses are cached and refreshed periodically; the stock of an
+ * order's SKUs is read with one query per key type. The split itself is
+ * computed in memory by {@link StockAllocator}. A plan is reserved all or
+ * nothing; if stock moved in between, the order is re-planned from fresh stock
+ * a few times before giving up.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class StockAllocationService {
+
+  private static final int MAX_ATTEMPTS = 3;
+
+  private final InventoryItemRepository inventoryRepository;
+  private final WarehouseRepository warehouseRepository;
+  private final InventoryService inventoryService;
+
+  @Value("${inventory.allocation.shipment-cost:10}")
+  private double shipmentCost;
+
+  @Value("${inventory.allocation.cost-per-km:0.05}")
+  private double costPerKm;
+
+  @Value("${inventory.allocation.unknown-distance-km:1000}")
+  private double unknownDistanceKm;
+
+  private StockAllocator allocator;
+  private volatile Map<Long, Warehouse> warehouses;
+
+  @PostConstruct
+  void init() {
+    allocator = new StockAllocator(shipmentCost, costPerKm);
+  }
+
+  /**
+   * Compute the cheapest split for the lines without reserving anything.
+   */
+  @Transactional(readOnly = true)
+  public StockAllocator.Plan plan(List<OrderLine> lines, BigDecimal latitude, BigDecimal longitude) {
+    return tryPlan(lines, latitude, longitude)
+        .orElseThrow(() -> new IllegalStateException("Insufficient stock to allocate order"));
+  }
+
+  /**
+   * Allocate the lines across warehouses and reserve them for an order.
+   */
+  public List<StockReservation> allocateAndReserve(List<OrderLine> lines, BigDecimal latitude,
+      BigDecimal longitude, UUID orderId) {
+    for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+      StockAllocator.Plan plan = plan(lines, latitude, longitude);
+      List<StockReservation> reservations = inventoryService.reservePicks(plan.picks(), orderId);
+      if (reservations != null) {
+        log.info("Allocated order {} to {} warehouse(s) {}", orderId, plan.shipments(), plan.warehouseIds());
+        return reservations;
+      }
+      log.debug("Allocation for order {} went stale, re-planning (attempt {})", orderId, attempt);
+    }
+    throw new IllegalStateException("Stock changed while allocating order: " + orderId);
+  }
+
+  /**
+   * Reload the active warehouses.
+   */
+  @Scheduled(fixedDelayString = "${inventory.allocation.warehouse-refresh-ms:60000}")
+  public void refreshWarehouses() {
+    try {
+      warehouses = loadWarehouses();
+    } catch (RuntimeException e) {
+      log.warn("Warehouse refresh failed", e);
+    }
+  }
+
+  private Optional<StockAllocator.Plan> tryPlan(List<OrderLine> lines, BigDecimal latitude, BigDecimal longitude) {
+    int[] quantities = lines.stream().mapToInt(OrderLine::quantity).toArray();
+    List<StockAllocator.Stock> stock = loadStock(lines);
+
+    Map<Long, Warehouse> sites = warehouses != null ? warehouses : (warehouses = loadWarehouses());
+    Map<Long, Double> distanceKm = new HashMap<>();
+    for (StockAllocator.Stock s : stock) {
+      distanceKm.computeIfAbsent(s.warehouseId(), id -> distanceTo(sites.get(id), latitude, longitude));
+    }
+    return allocator.allocate(quantities, stock, distanceKm);
+  }
+
+  /**
+   * Free stock per item for the lines' SKUs, tagged with the line each item can
+   * serve.
+   */
+  private List<StockAllocator.Stock> loadStock(List<OrderLine> lines) {
+    List<Long> productIds = lines.stream()
+        .filter(l -> l.variantId() == null)
+        .map(OrderLine::productId)
+        .distinct()
+        .toList();
+    List<UUID> variantIds = lines.stream()
+        .map(OrderLine::variantId)
+        .filter(Objects::nonNull)
+        .distinct()
+        .toList();
+    Map<Long, List<ItemStock>> byProduct = productIds.isEmpty() ? Map.of()
+        : inventoryRepository.findStockByProductIds(productIds).stream()
+            .collect(Collectors.groupingBy(ItemStock::getProductId));
+    Map<UUID, List<ItemStock>> byVariant = variantIds.isEmpty() ? Map.of()
+        : inventoryRepository.findStockByVariantIds(variantIds).stream()
+            .collect(Collectors.groupingBy(ItemStock::getVariantId));
+
+    List<StockAllocator.Stock> stock = new ArrayList<>();
+    for (int line = 0; line < lines.size(); line++) {
+      OrderLine l = lines.get(line);
+      List<ItemStock> rows = l.variantId() != null
+          ? byVariant.getOrDefault(l.variantId(), List.of())
+          : byProduct.getOrDefault(l.productId(), List.of());
+      for (ItemStock row : rows) {
+        stock.add(new StockAllocator.Stock(line, row.getInventoryId(), row.getWarehouseId(),
+            row.getAvailable().intValue()));
+      }
+    }
+    return stock;
+  }
+
+  private double distanceTo(Warehouse warehouse, BigDecimal latitude, BigDecimal longitude) {
+    if (latitude == null || longitude == null) {
+      // No customer location: only the shipment count matters
+      return 0;
+    }
+    double km = warehouse != null ? warehouse.calculateDistanceKm(latitude, longitude) : Double.MAX_VALUE;
+    return km == Double.MAX_VALUE ? unknownDistanceKm : km;
+  }
+
+  private Map<Long, Warehouse> loadWarehouses() {
+    return warehouseRepository.findByIsActiveTrue().stream()
+        .collect(Collectors.toMap(Warehouse::getWarehouseId, Function.identity()));
+  }
+
+  /** A quantity of one product or variant to allocate. */
+  public record OrderLine(Long productId, UUID variantId, int quantity) {
+  }
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Splits order lines across warehouses at minimal cost.
+ *
+ * The cost of a plan is a fixed charge per shipment plus a per-km charge for
+ * each warehouse's distance to the customer, so one far warehouse can beat two
+ * near ones and vice versa. Subsets of the nearest warehouses holding stock are
+ * searched exactly by size, stopping once no larger subset can be cheaper; if
+ * none of those subsets covers the order, the nearest warehouses are added
+ * greedily until it is covered. Each line is then filled from the nearest
+ * warehouse in the chosen set. Works purely in memory on a stock snapshot.
+ *
+ * Lines that can draw on the same inventory item, such as a product line and a
+ * line for one of its variants, are also planned as one combined demand against
+ * their items counted once, so a shared item's stock is not promised to both
+ * lines. Within such a group the line with the fewest items to choose from is
+ * filled first.
+ */
+public class StockAllocator {
+
+  /** Warehouses searched exactly (2^12 subsets at most). */
+  static final int EXACT_LIMIT = 12;
+
+  private final double shipmentCost;
+  private final double costPerKm;
+
+  public StockAllocator(double shipmentCost, double costPerKm) {
+    this.shipmentCost = shipmentCost;
+    this.costPerKm = costPerKm;
+  }
+
+  /**
+   * Allocate every line from the given stock.
+   *
+   * @param quantities units wanted per line
+   * @param stock      free units per item, each tagged with the line it can serve
+   * @param distanceKm distance of each warehouse to the customer
+   * @return the cheapest plan found, an empty plan when nothing is wanted, or
+   *         empty when the stock cannot cover the order
+   */
+  public Optional<Plan> allocate(int[] quantities, List<Stock> stock, Map<Long, Double> distanceKm) {
+    if (Arrays.stream(quantities).allMatch(quantity -> quantity <= 0)) {
+      return Optional.of(new Plan(List.of(), List.of(), 0));
+    }
+    int lines = quantities.length;
+    int[] groupOf = groupLines(lines, stock);
+    int groups = Arrays.stream(groupOf).max().orElse(-1) + 1;
+    // Each line must be covered by its own items and each group by its items
+    // counted once
+    int[] demand = new int[lines + groups];
+    for (int line = 0; line < lines; line++) {
+      demand[line] = Math.max(0, quantities[line]);
+      demand[lines + groupOf[line]] += demand[line];
+    }
+
+    List<Long> warehouses = stock.stream()
+        .filter(s -> s.available() > 0)
+        .map(Stock::warehouseId)
+        .distinct()
+        .sorted(Comparator.comparingDouble((Long id) -> distanceKm.getOrDefault(id, 0.0)).thenComparing(id -> id))
+        .toList();
+    int count = warehouses.size();
+    Map<Long, Integer> indexOf = new HashMap<>();
+    double[] distance = new double[count];
+    for (int w = 0; w < count; w++) {
+      indexOf.put(warehouses.get(w), w);
+      distance[w] = distanceKm.getOrDefault(warehouses.get(w), 0.0);
+    }
+
+    int[][] available = new int[demand.length][count];
+    long[] total = new long[demand.length];
+    Set<UUID> counted = new HashSet<>();
+    for (Stock s : stock) {
+      if (s.available() > 0) {
+        int w = indexOf.get(s.warehouseId());
+        available[s.line()][w] += s.available();
+        total[s.line()] += s.available();
+        if (counted.add(s.inventoryId())) {
+          available[lines + groupOf[s.line()]][w] += s.available();
+          total[lines + groupOf[s.line()]] += s.available();
+        }
+      }
+    }
+    for (int row = 0; row < demand.length; row++) {
+      if (total[row] < demand[row]) {
+        return Optional.empty();
+      }
+    }
+
+    int[] chosen = cheapestSubset(demand, available, distance, Math.min(count, EXACT_LIMIT));
+    if (chosen == null) {
+      chosen = nearestCovering(demand, available, count);
+    }
+    return assign(quantities, stock, warehouses, indexOf, distance, chosen);
+  }
+
+  /**
+   * Group lines that share an inventory item.
+   *
+   * @return the group of each line, numbered from 0
+   */
+  private static int[] groupLines(int lines, List<Stock> stock) {
+    int[] parent = new int[lines];
+    for (int line = 0; line < lines; line++) {
+      parent[line] = line;
+    }
+    Map<UUID, Integer> lineOf = new HashMap<>();
+    for (Stock s : stock) {
+      Integer other = lineOf.putIfAbsent(s.inventoryId(), s.line());
+      if (other != null) {
+        parent[root(parent, s.line())] = root(parent, other);
+      }
+    }
+    int[] groupOf = new int[lines];
+    Map<Integer, Integer> numbers = new HashMap<>();
+    for (int line = 0; line < lines; line++) {
+      groupOf[line] = numbers.computeIfAbsent(root(parent, line), key -> numbers.size());
+    }
+    return groupOf;
+  }
+
+  private static int root(int[] parent, int line) {
+    while (parent[line] != line) {
+      line = parent[line];
+    }
+    return line;
+  }
+
+  /**
+   * Exact search over the first {@code limit} warehouses, by increasing subset
+   * size.
+   *
+   * @return warehouse indexes of the cheapest covering subset, or null
+   */
+  private int[] cheapestSubset(int[] demand, int[][] available, double[] distance, int limit) {
+    int bestMask = 0;
+    double bestCost = Double.MAX_VALUE;
+    double nearest = 0;
+    for (int size = 1; size <= limit; size++) {
+      // Warehouses are sorted by distance: the cheapest any subset of this size
+      nearest += distance[size - 1];
+      if (size * shipmentCost + nearest * costPerKm >= bestCost) {
+        break;
+      }
+      int mask = (1 << size) - 1;
+      while (mask < 1 << limit) {
+        double cost = cost(mask, distance);
+        if (cost < bestCost && covers(mask, demand, available)) {
+          bestCost = cost;
+          bestMask = mask;
+        }
+        // Next mask with the same number of bits (Gosper's hack)
+        int lowest = mask & -mask;
+        int ripple = mask + lowest;
+        mask = (((ripple ^ mask) >>> 2) / lowest) | ripple;
+      }
+    }
+    if (bestMask == 0) {
+      return null;
+    }
+    int[] chosen = new int[Integer.bitCount(bestMask)];
+    for (int w = 0, i = 0; w < limit; w++) {
+      if ((bestMask & (1 << w)) != 0) {
+        chosen[i++] = w;
+      }
+    }
+    return chosen;
+  }
+
+  /**
+   * Add warehouses nearest first until every demand is covered.
+   */
+  private static int[] nearestCovering(int[] demand, int[][] available, int count) {
+    long[] covered = new long[demand.length];
+    for (int w = 0; w < count; w++) {
+      boolean done = true;
+      for (int row = 0; row < demand.length; row++) {
+        covered[row] += available[row][w];
+        done &= covered[row] >= demand[row];
+      }
+      if (done) {
+        int[] chosen = new int[w + 1];
+        for (int i = 0; i <= w; i++) {
+          chosen[i] = i;
+        }
+        return chosen;
+      }
+    }
+    throw new IllegalStateException("Stock totals cover the order but no warehouse set does");
+  }
+
+  private Optional<Plan> assign(int[] quantities, List<Stock> stock, List<Long> warehouses,
+      Map<Long, Integer> indexOf, double[] distance, int[] chosen) {
+    Map<Integer, List<Stock>> stockByWarehouse = new HashMap<>();
+    for (Stock s : stock) {
+      if (s.available() > 0) {
+        stockByWarehouse.computeIfAbsent(indexOf.get(s.warehouseId()), w -> new ArrayList<>()).add(s);
+      }
+    }
+
+    // An item can serve two lines: a product line and a variant's line
+    Map<Integer, Set<UUID>> itemsOf = new HashMap<>();
+    stock.forEach(s -> itemsOf.computeIfAbsent(s.line(), line -> new HashSet<>()).add(s.inventoryId()));
+    List<Integer> order = IntStream.range(0, quantities.length).boxed()
+        .sorted(Comparator.comparingInt(line -> itemsOf.getOrDefault(line, Set.of()).size()))
+        .toList();
+    Map<UUID, Integer> taken = new HashMap<>();
+    Set<Integer> used = new TreeSet<>();
+    List<Pick> picks = new ArrayList<>();
+    for (int line : order) {
+      int remaining = Math.max(0, quantities[line]);
+      for (int w : chosen) {
+        for (Stock s : stockByWarehouse.getOrDefault(w, List.of())) {
+          if (remaining == 0) {
+            break;
+          }
+          if (s.line() != line) {
+            continue;
+          }
+          int take = Math.min(remaining, s.available() - taken.getOrDefault(s.inventoryId(), 0));
+          if (take > 0) {
+            picks.add(new Pick(line, s.inventoryId(), s.warehouseId(), take));
+            taken.merge(s.inventoryId(), take, Integer::sum);
+            used.add(w);
+            remaining -= take;
+          }
+        }
+      }
+      if (remaining > 0) {
+        return Optional.empty();
+      }
+    }
+
+    double cost = 0;
+    for (int w : used) {
+      cost += shipmentCost + distance[w] * costPerKm;
+    }
+    return Optional.of(new Plan(picks, used.stream().map(warehouses::get).toList(), cost));
+  }
+
+  private double cost(int mask, double[] distance) {
+    double km = 0;
+    for (int bits = mask; bits != 0; bits &= bits - 1) {
+      km += distance[Integer.numberOfTrailingZeros(bits)];
+    }
+    return Integer.bitCount(mask) * shipmentCost + km * costPerKm;
+  }
+
+  private static boolean covers(int mask, int[] demand, int[][] available) {
+    for (int row = 0; row < demand.length; row++) {
+      int units = 0;
+      for (int bits = mask; bits != 0 && units < demand[row]; bits &= bits - 1) {
+        units += available[row][Integer.numberOfTrailingZeros(bits)];
+      }
+      if (units < demand[row]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Free units of one inventory item that can serve a line. */
+  public record Stock(int line, UUID inventoryId, Long warehouseId, int available) {
+  }
+
+  /** Units of a line taken from one inventory item. */
+  public record Pick(int line, UUID inventoryId, Long warehouseId, int quantity) {
+  }
+
+  /**
+   * An allocation: what to take where, the shipping warehouses and the plan's
+   * cost.
+   */
+  public record Plan(List<Pick> picks, List<Long> warehouseIds, double cost) {
+
+    public int shipments() {
+      return warehouseIds.size();
+    }
+  }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.xplaza.backend.inventory.domain.repository.InventoryItemRepository;
+import com.xplaza.backend.inventory.domain.repository.InventoryStockBucketRepository;
+
+/**
+ * In-memory available-quantity totals per product and per variant.
+ *
+ * Totals are loaded on first use (in bulk for many ids), dropped after any
+ * committed stock change on this node and reloaded by a periodic reconciliation
+ * pass, which also bounds staleness for changes made on other nodes. The pass
+ * first evicts entries not read within the idle time and, past the size cap,
+ * the least recently read ones, so only ids that are still being read are
+ * reloaded. Each entry carries a version so a load that raced with an
+ * invalidation or an eviction never caches the old total. The totals are for
+ * display and cart checks; reservations still decide on the database row.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockAvailabilityService {
+
+  /** Ids per grouped SUM query. */
+  private static final int LOAD_CHUNK = 500;
+
+  private final InventoryItemRepository inventoryRepository;
+  private final InventoryStockBucketRepository bucketRepository;
+
+  private final VersionedTotals<Long> productTotals = new VersionedTotals<>(this::loadProducts);
+  private final VersionedTotals<UUID> variantTotals = new VersionedTotals<>(this::loadVariants);
+
+  @Value("${inventory.availability.max-entries:100000}")
+  private int maxEntries;
+
+  @Value("${inventory.availability.idle-ms:600000}")
+  private long idleMs;
+
+  /**
+   * Get available quantity for a product across all warehouses.
+   */
+  public int getProductAvailability(Long productId) {
+    return productTotals.getAll(List.of(productId), maxEntries).getOrDefault(productId, 0);
+  }
+
+  /**
+   * Get available quantity for a variant across all warehouses.
+   */
+  public int getVariantAvailability(UUID variantId) {
+    return variantTotals.getAll(List.of(variantId), maxEntries).getOrDefault(variantId, 0);
+  }
+
+  /**
+   * Get available quantities for many products; uncached ids cost one grouped
+   * query per chunk, not one per product.
+   */
+  public Map<Long, Integer> getProductAvailability(Collection<Long> productIds) {
+    return productTotals.getAll(productIds, maxEntries);
+  }
+
+  /**
+   * Get available quantities for many variants.
+   */
+  public Map<UUID, Integer> getVariantAvailability(Collection<UUID> variantIds) {
+    return variantTotals.getAll(variantIds, maxEntries);
+  }
+
+  /**
+   * Drop the cached totals of a product (and variant) once the current
+   * transaction commits, or immediately when there is none.
+   */
+  public void invalidate(Long productId, UUID variantId) {
+    Runnable evict = () -> {
+      if (productId != null) {
+        productTotals.invalidate(productId);
+      }
+      if (variantId != null) {
+        variantTotals.invalidate(variantId);
+      }
+    };
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          evict.run();
+        }
+      });
+    } else {
+      evict.run();
+    }
+  }
+
+  /**
+   * Evict idle totals and reload the rest from the database.
+   */
+  @Scheduled(fixedDelayString = "${inventory.availability.reconcile-ms:30000}")
+  public void reconcile() {
+    long idleBefore = System.currentTimeMillis() - idleMs;
+    try {
+      productTotals.evict(idleBefore, maxEntries);
+      variantTotals.evict(idleBefore, maxEntries);
+      productTotals.reload();
+      variantTotals.reload();
+    } catch (RuntimeException e) {
+      log.warn("Stock availability reconciliation failed", e);
+    }
+  }
+
+  private Map<Long, Integer> loadProducts(Collection<Long> productIds) {
+    Map<Long, Integer> totals = zeroTotals(productIds);
+    for (List<Long> chunk : chunks(productIds)) {
+      inventoryRepository.sumAvailableByProductIds(chunk)
+          .forEach(row -> totals.merge(row.getProductId(), row.getAvailable().intValue(), Integer::sum));
+      bucketRepository.sumAvailableByProductIds(chunk)
+          .forEach(row -> totals.merge(row.getProductId(), row.getAvailable().intValue(), Integer::sum));
+    }
+    return totals;
+  }
+
+  private Map<UUID, Integer> loadVariants(Collection<UUID> variantIds) {
+    Map<UUID, Integer> totals = zeroTotals(variantIds);
+    for (List<UUID> chunk : chunks(variantIds)) {
+      inventoryRepository.sumAvailableByVariantIds(chunk)
+          .forEach(row -> totals.merge(row.getVariantId(), row.getAvailable().intValue(), Integer::sum));
+      bucketRepository.sumAvailableByVariantIds(chunk)
+          .forEach(row -> totals.merge(row.getVariantId(), row.getAvailable().intValue(), Integer::sum));
+    }
+    return totals;
+  }
+
+  private static <K> Map<K, Integer> zeroTotals(Collection<K> keys) {
+    Map<K, Integer> totals = new HashMap<>();
+    keys.forEach(key -> totals.put(key, 0));
+    return totals;
+  }
+
+  private static <K> List<List<K>> chunks(Collection<K> keys) {
+    List<K> all = new ArrayList<>(keys);
+    List<List<K>> chunks = new ArrayList<>();
+    for (int from = 0; from < all.size(); from += LOAD_CHUNK) {
+      chunks.add(all.subList(from, Math.min(all.size(), from + LOAD_CHUNK)));
+    }
+    return chunks;
+  }
+
+  /**
+   * Cached totals keyed by id. Versions come from one sequence: an invalidation
+   * gives the entry a new version and clears its value, and a load only stores
+   * its result if the version it started from is still current. An entry absent
+   * when the load started is only stored if nothing was evicted since, as the
+   * eviction may have dropped a newer version.
+   */
+  private static final class VersionedTotals<K> {
+
+    private final ConcurrentHashMap<K, Slot> slots = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile long evictedAt;
+    private final Function<Collection<K>, Map<K, Integer>> loader;
+
+    VersionedTotals(Function<Collection<K>, Map<K, Integer>> loader) {
+      this.loader = loader;
+    }
+
+    Map<K, Integer> getAll(Collection<K> keys, int maxEntries) {
+      long now = System.currentTimeMillis();
+      Map<K, Integer> result = new HashMap<>();
+      List<K> missing = new ArrayList<>();
+      for (K key : new LinkedHashSet<>(keys)) {
+        Slot slot = slots.get(key);
+        if (slot != null) {
+          slot.readAt = now;
+        }
+        if (slot != null && slot.available != null) {
+          result.put(key, slot.available);
+        } else {
+          missing.add(key);
+        }
+      }
+      if (!missing.isEmpty()) {
+        result.putAll(load(missing, now));
+        if (slots.size() > maxEntries) {
+          // Trim below the cap so a full cache is not sorted on every miss
+          evict(Long.MIN_VALUE, maxEntries - maxEntries / 10);
+        }
+      }
+      return result;
+    }
+
+    void invalidate(K key) {
+      long version = sequence.incrementAndGet();
+      slots.compute(key, (k, current) -> new Slot(null, version,
+          current != null ? current.readAt : System.currentTimeMillis()));
+    }
+
+    /**
+     * Drop entries last read before the given time, then the least recently read
+     * ones until at most the given number remain.
+     */
+    void evict(long idleBefore, int keep) {
+      evictedAt = sequence.incrementAndGet();
+      slots.forEach((key, slot) -> {
+        if (slot.readAt < idleBefore) {
+          slots.remove(key, slot);
+        }
+      });
+      int excess = slots.size() - keep;
+      if (excess > 0) {
+        slots.entrySet().stream()
+            .sorted(Comparator.comparingLong(entry -> entry.getValue().readAt))
+            .limit(excess)
+            .toList()
+            .forEach(entry -> slots.remove(entry.getKey(), entry.getValue()));
+      }
+    }
+
+    void reload() {
+      List<K> keys = new ArrayList<>(slots.keySet());
+      if (!keys.isEmpty()) {
+        load(keys, null);
+      }
+    }
+
+    /**
+     * Load and store totals. A read passes its time as readAt; a reload passes null
+     * and keeps each entry's last read time, so reloading never keeps an entry
+     * alive.
+     */
+    private Map<K, Integer> load(Collection<K> keys, Long readAt) {
+      long started = sequence.get();
+      Map<K, Long> versions = new HashMap<>();
+      keys.forEach(key -> versions.put(key, versionOf(slots.get(key))));
+      Map<K, Integer> loaded = loader.apply(keys);
+      loaded.forEach((key, available) -> slots.compute(key, (k, current) -> {
+        long version = versions.get(k);
+        if (current == null) {
+          return version == 0L && readAt != null && evictedAt <= started
+              ? new Slot(available, version, readAt)
+              : null;
+        }
+        return current.version == version
+            ? new Slot(available, version, readAt != null ? readAt : current.readAt)
+            : current;
+      }));
+      return loaded;
+    }
+
+    private static long versionOf(Slot slot) {
+      return slot != null ? slot.version : 0L;
+    }
+  }
+
+  /**
+   * A cached total, or a null total after an invalidation, with the time it was
+   * last read.
+   */
+  private static final class Slot {
+
+    private final Integer available;
+    private final long version;
+    private volatile long readAt;
+
+    Slot(Integer available, long version, long readAt) {
+      this.available = available;
+      this.version = version;
+      this.readAt = readAt;
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Detects items crossing their reorder point or safety stock as stock changes.
+ *
+ * Every committed stock change marks its item dirty; a short-interval drain
+ * re-checks only the dirty items (one query by primary key per batch) and
+ * raises or clears their alerts. A rare full reconciliation re-queues anything
+ * the events missed, such as changes made by other nodes that crashed before
+ * draining.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockThresholdDetector {
+
+  private final InventoryAlertService alertService;
+
+  @Value("${inventory.alerts.enabled:true}")
+  private boolean enabled;
+
+  @Value("${inventory.alerts.batch-size:500}")
+  private int batchSize;
+
+  private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Mark an item for re-checking once the current transaction commits.
+   */
+  public void stockChanged(UUID inventoryId) {
+    if (inventoryId == null) {
+      return;
+    }
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          dirty.add(inventoryId);
+        }
+      });
+    } else {
+      dirty.add(inventoryId);
+    }
+  }
+
+  /**
+   * Re-check every item changed since the last drain.
+   */
+  @Scheduled(fixedDelayString = "${inventory.alerts.drain-ms:2000}")
+  public void drain() {
+    if (!enabled || dirty.isEmpty()) {
+      return;
+    }
+    List<UUID> ids = new ArrayList<>(dirty);
+    dirty.removeAll(ids);
+    for (int from = 0; from < ids.size(); from += batchSize) {
+      List<UUID> batch = ids.subList(from, Math.min(ids.size(), from + batchSize));
+      try {
+        alertService.evaluate(batch);
+      } catch (RuntimeException e) {
+        // Typically another node raised the same alert first; re-check next drain
+        log.warn("Stock alert check of {} items failed, retrying", batch.size(), e);
+        dirty.addAll(batch);
+      }
+    }
+  }
+
+  /**
+   * Queue every item that is at a threshold or currently flagged.
+   */
+  @Scheduled(fixedDelayString = "${inventory.alerts.reconcile-ms:21600000}",
+      initialDelayString = "${inventory.alerts.reconcile-initial-delay-ms:60000}")
+  public void reconcile() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      Set<UUID> candidates = alertService.getReconciliationCandidates();
+      dirty.addAll(candidates);
+      log.debug("Stock alert reconciliation queued {} items", candidates.size());
+    } catch (RuntimeException e) {
+      log.warn("Stock alert reconciliation failed", e);
+    }
+  }
+}
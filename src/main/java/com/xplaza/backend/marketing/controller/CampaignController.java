@@ -55,6 +55,12 @@ public class CampaignController {
         .orElse(ResponseEntity.notFound().build());
   }
 
+  @Operation(summary = "Get redemption counts of a campaign")
+  @GetMapping("/{campaignId}/redemptions")
+  public ResponseEntity<CampaignService.RedemptionStats> getRedemptions(@PathVariable Long campaignId) {
+    return ResponseEntity.ok(campaignService.getRedemptionStats(campaignId));
+  }
+
   @Operation(summary = "Get campaign by code")
   @GetMapping("/code/{code}")
   public ResponseEntity<Campaign> getCampaignByCode(@PathVariable String code) {
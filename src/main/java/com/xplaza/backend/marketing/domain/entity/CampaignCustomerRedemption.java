@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.marketing.domain.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+/**
+ * How many times a customer has redeemed a campaign. Incremented only while
+ * below the campaign's per-customer limit.
+ */
+@Entity
+@Table(name = "campaign_customer_redemptions", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_customer_redemption_campaign_customer", columnNames = { "campaign_id",
+        "customer_id" })
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CampaignCustomerRedemption {
+
+  @Id
+  @Column(name = "id")
+  @Builder.Default
+  private UUID id = UUID.randomUUID();
+
+  @Column(name = "campaign_id", nullable = false)
+  private Long campaignId;
+
+  @Column(name = "customer_id", nullable = false)
+  private Long customerId;
+
+  @Column(name = "redeemed", nullable = false)
+  @Builder.Default
+  private Integer redeemed = 0;
+
+  @Column(name = "updated_at")
+  @Builder.Default
+  private Instant updatedAt = Instant.now();
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.marketing.domain.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+/**
+ * Ledger entry of one campaign redemption. Records the shard and customer
+ * counters it incremented, so cancelling the order gives back exactly those.
+ */
+@Entity
+@Table(name = "campaign_redemptions", indexes = {
+    @Index(name = "idx_campaign_redemptions_order", columnList = "order_id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_campaign_redemptions_campaign_order", columnNames = { "campaign_id", "order_id" })
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CampaignRedemption {
+
+  @Id
+  @Column(name = "redemption_id")
+  @Builder.Default
+  private UUID redemptionId = UUID.randomUUID();
+
+  @Column(name = "campaign_id", nullable = false)
+  private Long campaignId;
+
+  @Column(name = "customer_id")
+  private Long customerId;
+
+  @Column(name = "order_id")
+  private UUID orderId;
+
+  @Column(name = "shard_index", nullable = false)
+  private Integer shardIndex;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 20)
+  @Builder.Default
+  private RedemptionStatus status = RedemptionStatus.REDEEMED;
+
+  @Column(name = "redeemed_at", nullable = false)
+  @Builder.Default
+  private Instant redeemedAt = Instant.now();
+
+  @Column(name = "released_at")
+  private Instant releasedAt;
+
+  public enum RedemptionStatus {
+    /** Counted against the limits */
+    REDEEMED,
+    /** Given back, e.g. the order was cancelled */
+    RELEASED
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.marketing.domain.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+/**
+ * One of N counter rows of a campaign's redemptions.
+ *
+ * The campaign's remaining uses are split over the shards and a redemption
+ * takes one from a single shard, so concurrent checkouts contend on N rows
+ * instead of the campaign row. The redemption count is the sum over shards.
+ */
+@Entity
+@Table(name = "campaign_redemption_shards", indexes = {
+    @Index(name = "idx_redemption_shard_campaign", columnList = "campaign_id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_redemption_shard_campaign_index", columnNames = { "campaign_id", "shard_index" })
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CampaignRedemptionShard {
+
+  @Id
+  @Column(name = "shard_id")
+  @Builder.Default
+  private UUID shardId = UUID.randomUUID();
+
+  @Column(name = "campaign_id", nullable = false)
+  private Long campaignId;
+
+  @Column(name = "shard_index", nullable = false)
+  private Integer shardIndex;
+
+  @Column(name = "redeemed", nullable = false)
+  @Builder.Default
+  private Integer redeemed = 0;
+
+  /** Uses left in this shard; null when the campaign has no total limit */
+  @Column(name = "remaining")
+  private Integer remaining;
+
+  @Column(name = "updated_at")
+  @Builder.Default
+  private Instant updatedAt = Instant.now();
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.marketing.domain.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.xplaza.backend.marketing.domain.entity.CampaignCustomerRedemption;
+
+/**
+ * Repository for CampaignCustomerRedemption entity.
+ */
+@Repository
+public interface CampaignCustomerRedemptionRepository extends JpaRepository<CampaignCustomerRedemption, UUID> {
+
+  @Query("SELECT c.redeemed FROM CampaignCustomerRedemption c "
+      + "WHERE c.campaignId = :campaignId AND c.customerId = :customerId")
+  Optional<Integer> findRedeemed(@Param("campaignId") Long campaignId, @Param("customerId") Long customerId);
+
+  /**
+   * Count one redemption for a customer while below {@code limit}. Returns 0 when
+   * the customer is at the limit or has no row yet.
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE CampaignCustomerRedemption c SET c.redeemed = c.redeemed + 1, c.updatedAt = :now "
+      + "WHERE c.campaignId = :campaignId AND c.customerId = :customerId AND c.redeemed < :limit")
+  int tryRedeem(
+      @Param("campaignId") Long campaignId,
+      @Param("customerId") Long customerId,
+      @Param("limit") int limit,
+      @Param("now") Instant now);
+
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE CampaignCustomerRedemption c SET c.redeemed = c.redeemed - 1, c.updatedAt = :now "
+      + "WHERE c.campaignId = :campaignId AND c.customerId = :customerId AND c.redeemed > 0")
+  int giveBack(
+      @Param("campaignId") Long campaignId,
+      @Param("customerId") Long customerId,
+      @Param("now") Instant now);
+}
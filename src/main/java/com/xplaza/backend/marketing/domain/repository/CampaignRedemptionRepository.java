@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.marketing.domain.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import jakarta.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.xplaza.backend.marketing.domain.entity.CampaignRedemption;
+
+/**
+ * Repository for CampaignRedemption entity.
+ */
+@Repository
+public interface CampaignRedemptionRepository extends JpaRepository<CampaignRedemption, UUID> {
+
+  Optional<CampaignRedemption> findByCampaignIdAndOrderId(Long campaignId, UUID orderId);
+
+  /**
+   * Redemptions of the given orders that still count, locked so a redemption is
+   * given back once however many cancellations race.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT r FROM CampaignRedemption r WHERE r.orderId IN :orderIds AND r.status = 'REDEEMED'")
+  List<CampaignRedemption> lockRedeemedByOrderIds(@Param("orderIds") Collection<UUID> orderIds);
+
+  long countByCampaignIdAndStatus(Long campaignId, CampaignRedemption.RedemptionStatus status);
+}
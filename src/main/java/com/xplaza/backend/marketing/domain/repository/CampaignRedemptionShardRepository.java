@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.marketing.domain.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.xplaza.backend.marketing.domain.entity.CampaignRedemptionShard;
+
+/**
+ * Repository for CampaignRedemptionShard entity.
+ */
+@Repository
+public interface CampaignRedemptionShardRepository extends JpaRepository<CampaignRedemptionShard, UUID> {
+
+  long countByCampaignId(Long campaignId);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT s FROM CampaignRedemptionShard s WHERE s.campaignId = :campaignId ORDER BY s.shardIndex")
+  List<CampaignRedemptionShard> lockByCampaignId(@Param("campaignId") Long campaignId);
+
+  /**
+   * Count one redemption on a shard if it has uses left. Returns 0 when it does
+   * not.
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE CampaignRedemptionShard s SET s.redeemed = s.redeemed + 1, s.remaining = s.remaining - 1, "
+      + "s.updatedAt = :now WHERE s.campaignId = :campaignId AND s.shardIndex = :shardIndex "
+      + "AND (s.remaining IS NULL OR s.remaining > 0)")
+  int tryRedeem(
+      @Param("campaignId") Long campaignId,
+      @Param("shardIndex") int shardIndex,
+      @Param("now") Instant now);
+
+  /**
+   * Give a redemption back to a shard.
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE CampaignRedemptionShard s SET s.redeemed = s.redeemed - 1, s.remaining = s.remaining + 1, "
+      + "s.updatedAt = :now WHERE s.campaignId = :campaignId AND s.shardIndex = :shardIndex AND s.redeemed > 0")
+  int giveBack(
+      @Param("campaignId") Long campaignId,
+      @Param("shardIndex") int shardIndex,
+      @Param("now") Instant now);
+
+  @Query("SELECT COALESCE(SUM(s.redeemed), 0) FROM CampaignRedemptionShard s WHERE s.campaignId = :campaignId")
+  long sumRedeemedByCampaignId(@Param("campaignId") Long campaignId);
+}
@@ -24,6 +24,13 @@ import com.xplaza.backend.marketing.domain.entity.Campaign;
 @Repository
 public interface CampaignRepository extends JpaRepository<Campaign, Long> {
 
+  /** Code of one campaign. */
+  interface CampaignCode {
+    Long getCampaignId();
+
+    String getCode();
+  }
+
   Optional<Campaign> findByCode(String code);
 
   @Query("SELECT c FROM Campaign c WHERE c.status = 'ACTIVE' AND c.startDate <= :now AND c.endDate >= :now")
@@ -47,4 +54,7 @@ public interface CampaignRepository extends JpaRepository<Campaign, Long> {
   List<Campaign> findActiveCampaignsForProduct(@Param("productId") Long productId, @Param("now") Instant now);
 
   boolean existsByCode(String code);
+
+  @Query("SELECT c.campaignId AS campaignId, c.code AS code FROM Campaign c")
+  List<CampaignCode> findAllCodes();
 }
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.marketing.service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.xplaza.backend.marketing.domain.entity.Campaign;
+import com.xplaza.backend.marketing.domain.entity.CampaignRedemption;
+import com.xplaza.backend.marketing.domain.entity.CampaignRedemptionShard;
+import com.xplaza.backend.marketing.domain.repository.CampaignCustomerRedemptionRepository;
+import com.xplaza.backend.marketing.domain.repository.CampaignRedemptionRepository;
+import com.xplaza.backend.marketing.domain.repository.CampaignRedemptionShardRepository;
+import com.xplaza.backend.marketing.domain.repository.CampaignRepository;
+
+/**
+ * Counts campaign redemptions against the total and per-customer limits.
+ *
+ * Remaining uses are spread over {@code campaign.redemption.shards} counter
+ * rows per campaign; a redemption takes one with a conditional update on a
+ * shard picked at random, trying the others only when it is used up, so the
+ * total limit holds without a read-modify-write of the campaign row.
+ * Per-customer counts are one row per customer and campaign, incremented only
+ * below the limit. Each redemption is written to a ledger with the shard it
+ * took from, so cancelling the order gives back exactly what was taken, once.
+ * Totals are sums over the shards, cached briefly for coupon validation.
+ *
+ * Missing shard and customer rows are created with INSERT ... ON CONFLICT DO
+ * NOTHING in the caller's transaction, which waits for a concurrent creator
+ * instead of failing the transaction on PostgreSQL.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class CampaignRedemptionService {
+
+  private final CampaignRepository campaignRepository;
+  private final CampaignRedemptionShardRepository shardRepository;
+  private final CampaignCustomerRedemptionRepository customerRepository;
+  private final CampaignRedemptionRepository redemptionRepository;
+  private final JdbcTemplate jdbcTemplate;
+
+  @Value("${campaign.redemption.shards:8}")
+  private int shards;
+
+  @Value("${campaign.redemption.cache-ms:2000}")
+  private long cacheMillis;
+
+  @Value("${spring.jpa.properties.hibernate.default_schema:}")
+  private String defaultSchema;
+
+  private final Map<Long, CachedCount> counts = new ConcurrentHashMap<>();
+
+  /**
+   * Redeem a campaign, for an order when {@code orderId} is given. Redeeming it
+   * again for the same order returns the existing redemption.
+   *
+   * @param customerId the customer, or null to skip the per-customer limit
+   * @throws IllegalStateException when a limit is reached
+   */
+  public CampaignRedemption redeem(Long campaignId, Long customerId, UUID orderId) {
+    Campaign campaign = campaignRepository.findById(campaignId)
+        .orElseThrow(() -> new IllegalArgumentException("Campaign not found: " + campaignId));
+    CampaignRedemption redemption = orderId != null
+        ? redemptionRepository.findByCampaignIdAndOrderId(campaignId, orderId).orElse(null)
+        : null;
+    if (redemption != null && redemption.getStatus() == CampaignRedemption.RedemptionStatus.REDEEMED) {
+      return redemption;
+    }
+    Instant now = Instant.now();
+    if (customerId != null && !takeCustomerUse(campaign, customerId, now)) {
+      throw new IllegalStateException("Customer has reached usage limit for this campaign");
+    }
+    Integer shardIndex = takeShardUse(campaign, now);
+    if (shardIndex == null) {
+      throw new IllegalStateException("Campaign usage limit reached");
+    }
+    counts.remove(campaignId);
+    if (redemption == null) {
+      redemption = CampaignRedemption.builder().campaignId(campaignId).orderId(orderId).build();
+    }
+    redemption.setCustomerId(customerId);
+    redemption.setShardIndex(shardIndex);
+    redemption.setStatus(CampaignRedemption.RedemptionStatus.REDEEMED);
+    redemption.setRedeemedAt(now);
+    redemption.setReleasedAt(null);
+    return redemptionRepository.save(redemption);
+  }
+
+  /**
+   * Give back the redemptions of the given orders. Redemptions already given back
+   * are skipped.
+   *
+   * @return number of redemptions given back
+   */
+  public int releaseForOrders(Collection<UUID> orderIds) {
+    if (orderIds.isEmpty()) {
+      return 0;
+    }
+    List<CampaignRedemption> redemptions = redemptionRepository.lockRedeemedByOrderIds(orderIds);
+    Instant now = Instant.now();
+    for (CampaignRedemption redemption : redemptions) {
+      Long campaignId = redemption.getCampaignId();
+      shardRepository.giveBack(campaignId, redemption.getShardIndex(), now);
+      if (redemption.getCustomerId() != null) {
+        customerRepository.giveBack(campaignId, redemption.getCustomerId(), now);
+      }
+      redemption.setStatus(CampaignRedemption.RedemptionStatus.RELEASED);
+      redemption.setReleasedAt(now);
+      counts.remove(campaignId);
+    }
+    if (!redemptions.isEmpty()) {
+      log.info("Released {} campaign redemptions of {} orders", redemptions.size(), orderIds.size());
+    }
+    return redemptions.size();
+  }
+
+  /**
+   * Redemptions of a campaign that still count. The sum is cached, so it can
+   * trail concurrent redemptions by up to {@code campaign.redemption.cache-ms};
+   * {@link #redeem} enforces the limit exactly.
+   */
+  @Transactional(readOnly = true)
+  public long getRedemptions(Campaign campaign) {
+    long now = System.currentTimeMillis();
+    CachedCount cached = counts.get(campaign.getCampaignId());
+    if (cached != null && now < cached.expiresAt()) {
+      return cached.count();
+    }
+    long count = shardRepository.countByCampaignId(campaign.getCampaignId()) > 0
+        ? shardRepository.sumRedeemedByCampaignId(campaign.getCampaignId())
+        : campaign.getCurrentUses() != null ? campaign.getCurrentUses() : 0;
+    counts.put(campaign.getCampaignId(), new CachedCount(count, now + cacheMillis));
+    return count;
+  }
+
+  /**
+   * Redemptions of a campaign by one customer that still count.
+   */
+  @Transactional(readOnly = true)
+  public int getCustomerRedemptions(Long campaignId, Long customerId) {
+    return customerRepository.findRedeemed(campaignId, customerId).orElse(0);
+  }
+
+  /**
+   * Create the shards of a campaign if it has none yet.
+   */
+  public void initialize(Campaign campaign) {
+    ensureShards(campaign);
+  }
+
+  /**
+   * Spread what is left of a changed total limit over the campaign's shards,
+   * updating them in place. The uses each shard has counted stay on it, so giving
+   * one back still finds it.
+   */
+  public void resize(Campaign campaign) {
+    List<CampaignRedemptionShard> current = shardRepository.lockByCampaignId(campaign.getCampaignId());
+    if (current.isEmpty()) {
+      return;
+    }
+    int redeemed = current.stream().mapToInt(CampaignRedemptionShard::getRedeemed).sum();
+    Integer limit = campaign.getTotalUsesLimit();
+    int left = limit != null ? Math.max(0, limit - redeemed) : 0;
+    Instant now = Instant.now();
+    for (int i = 0; i < current.size(); i++) {
+      CampaignRedemptionShard shard = current.get(i);
+      shard.setRemaining(limit != null ? share(left, current.size(), i) : null);
+      shard.setUpdatedAt(now);
+    }
+    counts.remove(campaign.getCampaignId());
+    log.info("Resized redemption shards of campaign {} to limit {}", campaign.getCode(),
+        campaign.getTotalUsesLimit());
+  }
+
+  private boolean takeCustomerUse(Campaign campaign, Long customerId, Instant now) {
+    Long campaignId = campaign.getCampaignId();
+    int limit = campaign.getPerCustomerLimit() != null ? campaign.getPerCustomerLimit() : Integer.MAX_VALUE;
+    if (customerRepository.tryRedeem(campaignId, customerId, limit, now) > 0) {
+      return true;
+    }
+    if (customerRepository.findRedeemed(campaignId, customerId).isPresent()) {
+      return false;
+    }
+    jdbcTemplate.update("INSERT INTO " + table("campaign_customer_redemptions")
+        + " (id, campaign_id, customer_id, redeemed, updated_at) VALUES (?, ?, ?, 0, ?) ON CONFLICT DO NOTHING",
+        UUID.randomUUID(), campaignId, customerId, Timestamp.from(now));
+    return customerRepository.tryRedeem(campaignId, customerId, limit, now) > 0;
+  }
+
+  /**
+   * Take one use from a shard, starting at a random one so concurrent redemptions
+   * land on different rows.
+   *
+   * @return the shard index, or null when every shard is used up
+   */
+  private Integer takeShardUse(Campaign campaign, Instant now) {
+    int count = ensureShards(campaign);
+    int start = ThreadLocalRandom.current().nextInt(count);
+    for (int i = 0; i < count; i++) {
+      int index = (start + i) % count;
+      if (shardRepository.tryRedeem(campaign.getCampaignId(), index, now) > 0) {
+        return index;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return number of shards of the campaign
+   */
+  private int ensureShards(Campaign campaign) {
+    Long campaignId = campaign.getCampaignId();
+    long existing = shardRepository.countByCampaignId(campaignId);
+    if (existing > 0) {
+      return (int) existing;
+    }
+    int seeded = campaign.getCurrentUses() != null ? campaign.getCurrentUses() : 0;
+    List<CampaignRedemptionShard> created = newShards(campaign, seeded);
+    Timestamp now = Timestamp.from(Instant.now());
+    jdbcTemplate.batchUpdate("INSERT INTO " + table("campaign_redemption_shards")
+        + " (shard_id, campaign_id, shard_index, redeemed, remaining, updated_at) VALUES (?, ?, ?, ?, ?, ?)"
+        + " ON CONFLICT DO NOTHING", created.stream()
+            .map(shard -> new Object[] { shard.getShardId(), campaignId, shard.getShardIndex(), shard.getRedeemed(),
+                shard.getRemaining(), now })
+            .toList());
+    log.info("Created redemption shards for campaign {}", campaign.getCode());
+    return created.size();
+  }
+
+  /**
+   * Shards holding the uses left after {@code redeemed}, which is counted on
+   * shard 0. Small limits get fewer shards so none starts empty.
+   */
+  private List<CampaignRedemptionShard> newShards(Campaign campaign, int redeemed) {
+    Integer limit = campaign.getTotalUsesLimit();
+    int left = limit != null ? Math.max(0, limit - redeemed) : 0;
+    int count = limit != null ? Math.clamp(left, 1, Math.max(1, shards)) : Math.max(1, shards);
+    List<CampaignRedemptionShard> result = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      result.add(CampaignRedemptionShard.builder()
+          .campaignId(campaign.getCampaignId())
+          .shardIndex(i)
+          .redeemed(i == 0 ? redeemed : 0)
+          .remaining(limit != null ? share(left, count, i) : null)
+          .build());
+    }
+    return result;
+  }
+
+  /**
+   * Shard {@code index}'s part of {@code total} split evenly over {@code count}.
+   */
+  private static int share(int total, int count, int index) {
+    return total / count + (index < total % count ? 1 : 0);
+  }
+
+  private String table(String name) {
+    return defaultSchema == null || defaultSchema.isBlank() ? name : defaultSchema + "." + name;
+  }
+
+  private record CachedCount(long count, long expiresAt) {
+  }
+}
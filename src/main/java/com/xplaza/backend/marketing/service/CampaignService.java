@@ -31,6 +31,8 @@ import com.xplaza.backend.marketing.domain.repository.CampaignRepository;
 public class CampaignService {
 
   private final CampaignRepository campaignRepository;
+  private final CampaignRedemptionService redemptionService;
+  private final CouponCodeIndex codeIndex;
 
   /**
    * Create a new campaign.
@@ -41,6 +43,7 @@ public class CampaignService {
     }
     campaign.setStatus(Campaign.CampaignStatus.DRAFT);
     campaign = campaignRepository.save(campaign);
+    codeIndex.refreshAfterCommit();
     log.info("Created campaign: {}", campaign.getCode());
     return campaign;
   }
@@ -64,6 +67,8 @@ public class CampaignService {
       existing.setMaxDiscount(updates.getMaxDiscount());
     if (updates.getMinPurchase() != null)
       existing.setMinPurchase(updates.getMinPurchase());
+    boolean limitChanged = updates.getTotalUsesLimit() != null
+        && !updates.getTotalUsesLimit().equals(existing.getTotalUsesLimit());
     if (updates.getTotalUsesLimit() != null)
       existing.setTotalUsesLimit(updates.getTotalUsesLimit());
     if (updates.getPerCustomerLimit() != null)
@@ -79,6 +84,9 @@ public class CampaignService {
     if (updates.getDisplayPriority() != null)
       existing.setDisplayPriority(updates.getDisplayPriority());
 
+    if (limitChanged) {
+      redemptionService.resize(existing);
+    }
     return campaignRepository.save(existing);
   }
 
@@ -95,7 +103,7 @@ public class CampaignService {
    */
   @Transactional(readOnly = true)
   public Optional<Campaign> getCampaignByCode(String code) {
-    return campaignRepository.findByCode(code);
+    return findByCode(code);
   }
 
   /**
@@ -144,6 +152,7 @@ public class CampaignService {
 
     campaign.activate();
     campaign = campaignRepository.save(campaign);
+    redemptionService.initialize(campaign);
     log.info("Activated campaign: {}", campaign.getCode());
     return campaign;
   }
@@ -209,36 +218,49 @@ public class CampaignService {
    */
   @Transactional(readOnly = true)
   public BigDecimal validateCoupon(String code, BigDecimal subtotal, int customerUseCount) {
-    Campaign campaign = campaignRepository.findByCode(code)
+    Campaign campaign = findByCode(code)
         .orElseThrow(() -> new IllegalArgumentException("Campaign not found: " + code));
+    return checkAndCalculate(campaign, subtotal, customerUseCount);
+  }
 
-    if (!campaign.isActive()) {
-      throw new IllegalStateException("Campaign is not active");
-    }
-
-    if (!campaign.hasAvailableUses()) {
-      throw new IllegalStateException("Campaign usage limit reached");
-    }
-
-    if (!campaign.canCustomerUse(customerUseCount)) {
-      throw new IllegalStateException("Customer has reached usage limit for this campaign");
-    }
-
-    return campaign.calculateDiscount(subtotal);
+  /**
+   * Validate coupon for a customer, counting the customer's redemptions, and
+   * calculate discount without recording usage.
+   */
+  @Transactional(readOnly = true)
+  public BigDecimal validateCouponForCustomer(String code, BigDecimal subtotal, Long customerId) {
+    Campaign campaign = findByCode(code)
+        .orElseThrow(() -> new IllegalArgumentException("Campaign not found: " + code));
+    int customerUseCount = customerId != null
+        ? redemptionService.getCustomerRedemptions(campaign.getCampaignId(), customerId)
+        : 0;
+    return checkAndCalculate(campaign, subtotal, customerUseCount);
   }
 
   /**
-   * Record usage of a campaign.
+   * Record usage of a campaign that is not tied to an order.
    */
   public void recordUsage(String code) {
-    Campaign campaign = campaignRepository.findByCode(code)
+    Campaign campaign = findByCode(code)
         .orElseThrow(() -> new IllegalArgumentException("Campaign not found: " + code));
 
-    campaign.recordUse();
-    campaignRepository.save(campaign);
+    redemptionService.redeem(campaign.getCampaignId(), null, null);
     log.info("Recorded usage for campaign: {}", code);
   }
 
+  /**
+   * Redemption counts of a campaign.
+   */
+  @Transactional(readOnly = true)
+  public RedemptionStats getRedemptionStats(Long campaignId) {
+    Campaign campaign = getCampaignOrThrow(campaignId);
+    long redeemed = redemptionService.getRedemptions(campaign);
+    Long remaining = campaign.getTotalUsesLimit() != null
+        ? Math.max(0, campaign.getTotalUsesLimit() - redeemed)
+        : null;
+    return new RedemptionStats(campaignId, redeemed, campaign.getTotalUsesLimit(), remaining);
+  }
+
   /**
    * Scheduled job to activate campaigns.
    */
@@ -265,8 +287,43 @@ public class CampaignService {
     return toEnd.size();
   }
 
+  /**
+   * The usage check is against the cached redemption count; redeeming enforces
+   * the limits exactly.
+   */
+  private BigDecimal checkAndCalculate(Campaign campaign, BigDecimal subtotal, int customerUseCount) {
+    if (!campaign.isActive()) {
+      throw new IllegalStateException("Campaign is not active");
+    }
+
+    if (campaign.getTotalUsesLimit() != null
+        && redemptionService.getRedemptions(campaign) >= campaign.getTotalUsesLimit()) {
+      throw new IllegalStateException("Campaign usage limit reached");
+    }
+
+    if (!campaign.canCustomerUse(customerUseCount)) {
+      throw new IllegalStateException("Customer has reached usage limit for this campaign");
+    }
+
+    return campaign.calculateDiscount(subtotal);
+  }
+
+  /**
+   * Codes unknown to the index are rejected without a query.
+   */
+  private Optional<Campaign> findByCode(String code) {
+    return codeIndex.findCampaignId(code).flatMap(campaignRepository::findById);
+  }
+
   private Campaign getCampaignOrThrow(Long campaignId) {
     return campaignRepository.findById(campaignId)
         .orElseThrow(() -> new IllegalArgumentException("Campaign not found: " + campaignId));
   }
+
+  /**
+   * Redemptions of a campaign against its total limit; null limit means
+   * unlimited.
+   */
+  public record RedemptionStats(Long campaignId, long redeemed, Integer limit, Long remaining) {
+  }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.marketing.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.xplaza.backend.common.util.BloomFilter;
+import com.xplaza.backend.marketing.domain.repository.CampaignRepository;
+import com.xplaza.backend.marketing.domain.repository.CampaignRepository.CampaignCode;
+import com.xplaza.backend.promotion.repository.CouponRepository;
+import com.xplaza.backend.promotion.repository.CouponRepository.CouponCode;
+
+/**
+ * In-memory index of every campaign and coupon code.
+ *
+ * A Bloom filter rejects codes that do not exist without a lookup, and an
+ * immutable map gives the id behind a code that does, so guessed codes never
+ * reach the database. The index is built on first use, rebuilt after a
+ * committed write that adds or removes a code on this node, and periodically to
+ * pick up writes on other nodes; until then such a code reads as unknown. Codes
+ * match exactly, as the repository lookups did.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CouponCodeIndex {
+
+  private final CampaignRepository campaignRepository;
+  private final CouponRepository couponRepository;
+
+  @Value("${campaign.code-index.false-positive-rate:0.01}")
+  private double falsePositiveRate;
+
+  private volatile Snapshot snapshot;
+
+  /**
+   * Id of the campaign with this code; empty if there is none.
+   */
+  public Optional<Long> findCampaignId(String code) {
+    if (code == null) {
+      return Optional.empty();
+    }
+    Snapshot current = snapshot();
+    return current.filter().mightContain(code) ? Optional.ofNullable(current.campaigns().get(code))
+        : Optional.empty();
+  }
+
+  /**
+   * Id of the coupon with this code; empty if there is none.
+   */
+  public Optional<Long> findCouponId(String code) {
+    if (code == null) {
+      return Optional.empty();
+    }
+    Snapshot current = snapshot();
+    return current.filter().mightContain(code) ? Optional.ofNullable(current.coupons().get(code))
+        : Optional.empty();
+  }
+
+  /**
+   * Rebuild the index once the current transaction commits, or immediately when
+   * there is none.
+   */
+  public void refreshAfterCommit() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          rebuild();
+        }
+      });
+    } else {
+      rebuild();
+    }
+  }
+
+  /**
+   * Rebuild the index from the database.
+   */
+  @Scheduled(fixedDelayString = "${campaign.code-index.refresh-ms:60000}")
+  public void refresh() {
+    try {
+      rebuild();
+    } catch (RuntimeException e) {
+      log.warn("Coupon code index refresh failed, keeping the previous index", e);
+    }
+  }
+
+  private Snapshot snapshot() {
+    Snapshot current = snapshot;
+    if (current == null) {
+      synchronized (this) {
+        current = snapshot;
+        if (current == null) {
+          current = rebuild();
+        }
+      }
+    }
+    return current;
+  }
+
+  /**
+   * Serialised, so a rebuild that started after a commit is always the one
+   * published last.
+   */
+  private synchronized Snapshot rebuild() {
+    List<CampaignCode> campaignCodes = campaignRepository.findAllCodes();
+    List<CouponCode> couponCodes = couponRepository.findAllCodes();
+    BloomFilter filter = new BloomFilter(campaignCodes.size() + couponCodes.size(), falsePositiveRate);
+    Map<String, Long> campaigns = new HashMap<>();
+    for (CampaignCode row : campaignCodes) {
+      if (row.getCode() != null) {
+        filter.add(row.getCode());
+        campaigns.put(row.getCode(), row.getCampaignId());
+      }
+    }
+    Map<String, Long> coupons = new HashMap<>();
+    for (CouponCode row : couponCodes) {
+      if (row.getCouponCode() != null) {
+        filter.add(row.getCouponCode());
+        coupons.put(row.getCouponCode(), row.getCouponId());
+      }
+    }
+    Snapshot built = new Snapshot(filter, Map.copyOf(campaigns), Map.copyOf(coupons));
+    snapshot = built;
+    log.debug("Indexed {} campaign and {} coupon codes", campaigns.size(), coupons.size());
+    return built;
+  }
+
+  private record Snapshot(BloomFilter filter, Map<String, Long> campaigns, Map<String, Long> coupons) {
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.notification.service;
+
+import java.util.Set;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xplaza.backend.notification.domain.entity.Notification;
+import com.xplaza.backend.outbox.domain.entity.OutboxEvent;
+import com.xplaza.backend.outbox.service.OutboxEventHandler;
+
+/**
+ * Notifies customers of order events delivered through the outbox.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderNotificationHandler implements OutboxEventHandler {
+
+  private final NotificationService notificationService;
+  private final ObjectMapper objectMapper;
+
+  @Override
+  public Set<OutboxEvent.EventType> eventTypes() {
+    return Set.of(OutboxEvent.EventType.ORDER_PLACED, OutboxEvent.EventType.ORDER_PAID,
+        OutboxEvent.EventType.ORDER_CANCELLED, OutboxEvent.EventType.ORDER_SHIPPED);
+  }
+
+  @Override
+  public void handle(OutboxEvent event) {
+    JsonNode payload;
+    try {
+      payload = objectMapper.readTree(event.getPayload());
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Malformed payload of outbox event " + event.getEventId(), e);
+    }
+    if (!payload.hasNonNull("customerId")) {
+      return;
+    }
+    Long customerId = payload.get("customerId").asLong();
+    String orderNumber = payload.path("orderNumber").asText();
+
+    switch (event.getEventType()) {
+    case ORDER_PLACED -> notificationService.createOrderNotification(customerId,
+        Notification.NotificationType.ORDER_PLACED, "Order Placed",
+        "Your order " + orderNumber + " has been placed successfully.", event.getAggregateId());
+    case ORDER_PAID -> notificationService.createOrderNotification(customerId,
+        Notification.NotificationType.ORDER_CONFIRMED, "Order Confirmed",
+        "Payment for your order " + orderNumber + " was received.", event.getAggregateId());
+    case ORDER_CANCELLED -> notificationService.createOrderNotification(customerId,
+        Notification.NotificationType.ORDER_CANCELLED, "Order Cancelled",
+        "Your order " + orderNumber + " has been cancelled.", event.getAggregateId());
+    case ORDER_SHIPPED -> notificationService.createOrderNotification(customerId,
+        Notification.NotificationType.ORDER_SHIPPED, "Order Shipped",
+        "Your order " + orderNumber + " is on its way.", event.getAggregateId());
+    default -> {
+    }
+    }
+  }
+}
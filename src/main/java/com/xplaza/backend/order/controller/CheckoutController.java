@@ -51,6 +51,15 @@ public class CheckoutController {
         .orElse(ResponseEntity.notFound().build());
   }
 
+  @Operation(summary = "Update checkout", description = "Sets any subset of the checkout steps in one request")
+  @PatchMapping("/{checkoutId}")
+  public ResponseEntity<CheckoutSession> updateCheckout(
+      @Parameter(description = "Checkout session ID") @PathVariable UUID checkoutId,
+      @RequestBody CheckoutService.CheckoutUpdate update) {
+    CheckoutSession checkout = checkoutService.updateCheckout(checkoutId, update);
+    return ResponseEntity.ok(checkout);
+  }
+
   @Operation(summary = "Set shipping address")
   @PutMapping("/{checkoutId}/shipping-address")
   public ResponseEntity<CheckoutSession> setShippingAddress(
@@ -5,6 +5,7 @@
 
 package com.xplaza.backend.order.controller;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -13,14 +14,19 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.xplaza.backend.order.domain.entity.CustomerOrder;
+import com.xplaza.backend.order.domain.entity.ShopOrder;
+import com.xplaza.backend.order.dto.response.OrderListPage;
+import com.xplaza.backend.order.dto.response.OrderSummary;
+import com.xplaza.backend.order.dto.response.ShopOrderSummary;
 import com.xplaza.backend.order.service.CustomerOrderService;
+import com.xplaza.backend.order.service.OrderArchiveService;
+import com.xplaza.backend.order.service.OrderBulkTransitionService;
+import com.xplaza.backend.order.service.OrderListingService;
+import com.xplaza.backend.order.service.ShopOrderService;
 
 /**
  * REST controller for new order operations with UUID-based orders.
@@ -32,12 +38,17 @@ import com.xplaza.backend.order.service.CustomerOrderService;
 public class CustomerOrderController {
 
   private final CustomerOrderService customerOrderService;
+  private final ShopOrderService shopOrderService;
+  private final OrderListingService orderListingService;
+  private final OrderBulkTransitionService bulkTransitionService;
+  private final OrderArchiveService orderArchiveService;
 
-  @Operation(summary = "Get order by ID")
+  @Operation(summary = "Get order by ID", description = "Falls back to the archive for orders moved to cold storage")
   @GetMapping("/{orderId}")
   public ResponseEntity<CustomerOrder> getOrder(
       @Parameter(description = "Order ID") @PathVariable UUID orderId) {
     return customerOrderService.getOrderWithDetails(orderId)
+        .or(() -> orderArchiveService.findArchived(orderId))
         .map(ResponseEntity::ok)
         .orElse(ResponseEntity.notFound().build());
   }
@@ -51,55 +62,74 @@ public class CustomerOrderController {
         .orElse(ResponseEntity.notFound().build());
   }
 
-  @Operation(summary = "Get customer orders")
-  @GetMapping("/customer/{customerId}")
-  public ResponseEntity<List<CustomerOrder>> getCustomerOrders(
-      @Parameter(description = "Customer ID") @PathVariable Long customerId) {
-    List<CustomerOrder> orders = customerOrderService.getCustomerOrders(customerId);
-    return ResponseEntity.ok(orders);
-  }
-
-  @Operation(summary = "Get customer orders (paginated)")
-  @GetMapping("/customer/{customerId}/paged")
-  public ResponseEntity<Page<CustomerOrder>> getCustomerOrdersPaged(
+  @Operation(summary = "Get customer orders", description = "Keyset-paged summaries, newest first; pass the "
+      + "returned nextCursor to get the following page")
+  @GetMapping({ "/customer/{customerId}", "/customer/{customerId}/paged" })
+  public ResponseEntity<OrderListPage<OrderSummary>> getCustomerOrders(
       @Parameter(description = "Customer ID") @PathVariable Long customerId,
-      @PageableDefault(size = 10) Pageable pageable) {
-    Page<CustomerOrder> orders = customerOrderService.getCustomerOrders(customerId, pageable);
-    return ResponseEntity.ok(orders);
-  }
-
-  @Operation(summary = "Get shop orders")
-  @GetMapping("/shop/{shopId}")
-  public ResponseEntity<List<CustomerOrder>> getShopOrders(
-      @Parameter(description = "Shop ID") @PathVariable Long shopId) {
-    List<CustomerOrder> orders = customerOrderService.getShopOrders(shopId);
-    return ResponseEntity.ok(orders);
+      @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int limit,
+      @Parameter(description = "Include line items") @RequestParam(defaultValue = "false") boolean items) {
+    return ResponseEntity.ok(orderListingService.getCustomerOrders(customerId, cursor, limit, items));
   }
 
-  @Operation(summary = "Get shop orders (paginated)")
-  @GetMapping("/shop/{shopId}/paged")
-  public ResponseEntity<Page<CustomerOrder>> getShopOrdersPaged(
+  @Operation(summary = "Get shop orders", description = "Keyset-paged sub-order summaries, newest first")
+  @GetMapping({ "/shop/{shopId}", "/shop/{shopId}/paged" })
+  public ResponseEntity<OrderListPage<ShopOrderSummary>> getShopOrders(
       @Parameter(description = "Shop ID") @PathVariable Long shopId,
-      @PageableDefault(size = 10) Pageable pageable) {
-    Page<CustomerOrder> orders = customerOrderService.getShopOrders(shopId, pageable);
-    return ResponseEntity.ok(orders);
+      @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int limit,
+      @Parameter(description = "Include line items") @RequestParam(defaultValue = "false") boolean items) {
+    return ResponseEntity.ok(orderListingService.getShopOrders(shopId, null, cursor, limit, items));
   }
 
-  @Operation(summary = "Get orders by status")
+  @Operation(summary = "Get orders by status", description = "Keyset-paged summaries, newest first")
   @GetMapping("/status/{status}")
-  public ResponseEntity<List<CustomerOrder>> getOrdersByStatus(
-      @Parameter(description = "Order status") @PathVariable CustomerOrder.OrderStatus status) {
-    List<CustomerOrder> orders = customerOrderService.getOrdersByStatus(status);
-    return ResponseEntity.ok(orders);
-  }
-
-  @Operation(summary = "Get shop orders by status")
+  public ResponseEntity<OrderListPage<OrderSummary>> getOrdersByStatus(
+      @Parameter(description = "Order status") @PathVariable CustomerOrder.OrderStatus status,
+      @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int limit,
+      @Parameter(description = "Include line items") @RequestParam(defaultValue = "false") boolean items) {
+    return ResponseEntity.ok(orderListingService.getOrdersByStatus(status, cursor, limit, items));
+  }
+
+  @Operation(summary = "Get orders created in a date range", description = "Keyset-paged summaries of orders "
+      + "created from start (inclusive) to end (exclusive), newest first")
+  @GetMapping("/created")
+  public ResponseEntity<OrderListPage<OrderSummary>> getOrdersCreatedBetween(
+      @RequestParam Instant start,
+      @RequestParam Instant end,
+      @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int limit,
+      @Parameter(description = "Include line items") @RequestParam(defaultValue = "false") boolean items) {
+    return ResponseEntity.ok(orderListingService.getOrdersCreatedBetween(start, end, cursor, limit, items));
+  }
+
+  @Operation(summary = "Get shop orders by status", description = "Keyset-paged sub-order summaries, newest first")
   @GetMapping("/shop/{shopId}/status/{status}")
-  public ResponseEntity<List<CustomerOrder>> getShopOrdersByStatus(
+  public ResponseEntity<OrderListPage<ShopOrderSummary>> getShopOrdersByStatus(
       @PathVariable Long shopId,
-      @PathVariable CustomerOrder.OrderStatus status) {
-    List<CustomerOrder> orders = customerOrderService.getShopOrdersByStatus(shopId, status);
-    return ResponseEntity.ok(orders);
+      @PathVariable CustomerOrder.OrderStatus status,
+      @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int limit,
+      @Parameter(description = "Include line items") @RequestParam(defaultValue = "false") boolean items) {
+    return ResponseEntity.ok(orderListingService.getShopOrders(shopId, status, cursor, limit, items));
+  }
+
+  @Operation(summary = "Get the per-shop sub-orders of an order")
+  @GetMapping("/{orderId}/shop-orders")
+  public ResponseEntity<List<ShopOrder>> getSubOrders(@PathVariable UUID orderId) {
+    return ResponseEntity.ok(shopOrderService.getSubOrders(orderId));
+  }
+
+  @Operation(summary = "Move many orders to a fulfillment status",
+      description = "Supports PROCESSING, SHIPPED, OUT_FOR_DELIVERY and DELIVERED. Orders that cannot make the "
+          + "move are listed in failures; the others are moved.")
+  @PostMapping("/bulk-status")
+  public ResponseEntity<OrderBulkTransitionService.BulkTransitionResult> bulkTransition(
+      @RequestBody BulkStatusRequest request) {
+    return ResponseEntity.ok(bulkTransitionService.transition(request.orderIds(), request.status(),
+        request.reason(), request.changedBy() != null ? request.changedBy() : "system"));
   }
 
   @Operation(summary = "Confirm order (payment received)")
@@ -184,4 +214,13 @@ public class CustomerOrderController {
     long count = customerOrderService.countCustomerOrders(customerId);
     return ResponseEntity.ok(count);
   }
+
+  // Request DTOs
+  public record BulkStatusRequest(
+      List<UUID> orderIds,
+      CustomerOrder.OrderStatus status,
+      String reason,
+      String changedBy
+  ) {
+  }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.controller;
+
+import java.time.YearMonth;
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.xplaza.backend.order.domain.entity.OrderInvoice.InvoiceStatus;
+import com.xplaza.backend.order.service.InvoiceMonthEndRunner;
+import com.xplaza.backend.order.service.InvoiceMonthEndRunner.MonthEndStatus;
+import com.xplaza.backend.order.service.InvoiceService;
+import com.xplaza.backend.order.service.InvoiceService.InvoiceDownload;
+
+/**
+ * REST controller for order invoices.
+ */
+@RestController
+@RequestMapping("/api/v1/invoices")
+@RequiredArgsConstructor
+@Tag(name = "Invoices", description = "Order invoice PDF APIs")
+public class InvoiceController {
+
+  private final InvoiceService invoiceService;
+  private final InvoiceMonthEndRunner monthEndRunner;
+
+  @Operation(summary = "Get an order's invoice", description = "202 while the PDF is being rendered")
+  @GetMapping("/orders/{orderId}")
+  public ResponseEntity<InvoiceDownload> getInvoice(
+      @Parameter(description = "Order ID") @PathVariable UUID orderId) {
+    InvoiceDownload invoice = invoiceService.getInvoice(orderId);
+    if (invoice.status() == InvoiceStatus.PENDING) {
+      return ResponseEntity.status(HttpStatus.ACCEPTED).header("Retry-After", "2").body(invoice);
+    }
+    return ResponseEntity.ok(invoice);
+  }
+
+  @Operation(summary = "Render a month's invoices in the background")
+  @PostMapping("/month-end")
+  public ResponseEntity<MonthEndStatus> startMonthEnd(
+      @Parameter(description = "Month, e.g. 2026-09") @RequestParam YearMonth month) {
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(monthEndRunner.start(month));
+  }
+
+  @Operation(summary = "Progress of the current or last month-end run")
+  @GetMapping("/month-end")
+  public ResponseEntity<MonthEndStatus> getMonthEnd() {
+    MonthEndStatus status = monthEndRunner.status();
+    return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+  }
+}
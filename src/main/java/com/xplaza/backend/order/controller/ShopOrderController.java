@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.controller;
+
+import java.util.List;
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.xplaza.backend.order.domain.entity.CustomerOrderItem;
+import com.xplaza.backend.order.domain.entity.ShopOrder;
+import com.xplaza.backend.order.service.ShopOrderService;
+
+/**
+ * REST controller for shops' sub-orders and their fulfillment.
+ */
+@RestController
+@RequestMapping("/api/v1/shop-orders")
+@RequiredArgsConstructor
+@Tag(name = "Shop Orders", description = "Per-shop sub-order fulfillment APIs")
+public class ShopOrderController {
+
+  private final ShopOrderService shopOrderService;
+
+  @Operation(summary = "Get sub-order by ID")
+  @GetMapping("/{shopOrderId}")
+  public ResponseEntity<ShopOrder> getShopOrder(
+      @Parameter(description = "Sub-order ID") @PathVariable UUID shopOrderId) {
+    return ResponseEntity.ok(shopOrderService.getShopOrder(shopOrderId));
+  }
+
+  @Operation(summary = "Get sub-order items")
+  @GetMapping("/{shopOrderId}/items")
+  public ResponseEntity<List<CustomerOrderItem>> getItems(
+      @Parameter(description = "Sub-order ID") @PathVariable UUID shopOrderId) {
+    return ResponseEntity.ok(shopOrderService.getItems(shopOrderId));
+  }
+
+  @Operation(summary = "Start processing sub-order")
+  @PostMapping("/{shopOrderId}/process")
+  public ResponseEntity<ShopOrder> startProcessing(
+      @PathVariable UUID shopOrderId,
+      @RequestParam(defaultValue = "system") String processedBy) {
+    return ResponseEntity.ok(shopOrderService.startProcessing(shopOrderId, processedBy));
+  }
+
+  @Operation(summary = "Mark sub-order as shipped")
+  @PostMapping("/{shopOrderId}/ship")
+  public ResponseEntity<ShopOrder> markShipped(
+      @PathVariable UUID shopOrderId,
+      @RequestParam String carrier,
+      @RequestParam String trackingNumber,
+      @RequestParam(defaultValue = "system") String shippedBy) {
+    return ResponseEntity.ok(shopOrderService.markShipped(shopOrderId, carrier, trackingNumber, shippedBy));
+  }
+
+  @Operation(summary = "Mark sub-order as delivered")
+  @PostMapping("/{shopOrderId}/deliver")
+  public ResponseEntity<ShopOrder> markDelivered(
+      @PathVariable UUID shopOrderId,
+      @RequestParam(defaultValue = "system") String deliveredBy) {
+    return ResponseEntity.ok(shopOrderService.markDelivered(shopOrderId, deliveredBy));
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.domain.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+/**
+ * Where a closed order went when it was moved to cold storage. The order and
+ * its items, history, payments and fulfillment rows are one gzip member of a
+ * monthly NDJSON object; this row locates that member so the order can still be
+ * read by id.
+ */
+@Entity
+@Table(name = "archived_orders", indexes = {
+    @Index(name = "idx_archived_orders_customer", columnList = "customer_id, created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedOrder {
+
+  @Id
+  @Column(name = "order_id")
+  private UUID orderId;
+
+  @Column(name = "order_number", nullable = false, length = 50)
+  private String orderNumber;
+
+  @Column(name = "customer_id", nullable = false)
+  private Long customerId;
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+
+  @Column(name = "object_key", nullable = false, length = 255)
+  private String objectKey;
+
+  /** Byte offset of the order's gzip member in the object */
+  @Column(name = "member_offset", nullable = false)
+  private Long memberOffset;
+
+  /** Compressed length of the member */
+  @Column(name = "member_length", nullable = false)
+  private Integer memberLength;
+
+  @Column(name = "archived_at", nullable = false)
+  private Instant archivedAt;
+}
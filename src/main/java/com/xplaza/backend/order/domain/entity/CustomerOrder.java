@@ -17,6 +17,8 @@ import jakarta.persistence.*;
 
 import lombok.*;
 
+import com.xplaza.backend.common.domain.entity.AssignedIdEntity;
+
 /**
  * CustomerOrder represents a confirmed purchase from a customer.
  *
@@ -27,16 +29,18 @@ import lombok.*;
 @Entity
 @Table(name = "customer_orders", indexes = {
     @Index(name = "idx_cust_orders_customer", columnList = "customer_id"),
+    @Index(name = "idx_cust_orders_customer_created", columnList = "customer_id, created_at, order_id"),
     @Index(name = "idx_cust_orders_shop", columnList = "shop_id"),
     @Index(name = "idx_cust_orders_status", columnList = "status"),
-    @Index(name = "idx_cust_orders_created", columnList = "created_at")
+    @Index(name = "idx_cust_orders_created", columnList = "created_at"),
+    @Index(name = "idx_cust_orders_status_created", columnList = "status, created_at")
 })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class CustomerOrder {
+public class CustomerOrder extends AssignedIdEntity<UUID> {
 
   @Id
   @Column(name = "order_id")
@@ -52,7 +56,11 @@ public class CustomerOrder {
   @Column(name = "customer_id", nullable = false)
   private Long customerId;
 
-  @Column(name = "shop_id", nullable = false)
+  /**
+   * Shop the order buys from, or null when it spans several shops; each shop's
+   * part is then a {@link ShopOrder}.
+   */
+  @Column(name = "shop_id")
   private Long shopId;
 
   /**
@@ -321,4 +329,9 @@ public class CustomerOrder {
     sb.append("\n").append(shippingCountryCode);
     return sb.toString();
   }
+
+  @Override
+  public UUID getId() {
+    return orderId;
+  }
 }
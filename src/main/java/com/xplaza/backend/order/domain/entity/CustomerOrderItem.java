@@ -23,7 +23,8 @@ import lombok.*;
 @Entity
 @Table(name = "customer_order_items", indexes = {
     @Index(name = "idx_cust_order_items_order", columnList = "order_id"),
-    @Index(name = "idx_cust_order_items_product", columnList = "product_id")
+    @Index(name = "idx_cust_order_items_product", columnList = "product_id"),
+    @Index(name = "idx_cust_order_items_shop_order", columnList = "shop_order_id")
 })
 @Getter
 @Setter
@@ -52,6 +53,12 @@ public class CustomerOrderItem {
   @Column(name = "shop_id", nullable = false)
   private Long shopId;
 
+  /**
+   * The shop's sub-order this item belongs to.
+   */
+  @Column(name = "shop_order_id")
+  private UUID shopOrderId;
+
   // Snapshot of product details at time of order
   @Column(name = "product_name", nullable = false, length = 255)
   private String productName;
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.domain.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+import com.xplaza.backend.common.domain.entity.AssignedIdEntity;
+
+/**
+ * Invoice PDF of an order. The row is written when the invoice is asked for and
+ * updated by the background renderer once the PDF is in object storage.
+ */
+@Entity
+@Table(name = "order_invoices", indexes = {
+    @Index(name = "idx_order_invoices_status", columnList = "status, requested_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderInvoice extends AssignedIdEntity<UUID> {
+
+  @Id
+  @Column(name = "order_id")
+  private UUID orderId;
+
+  @Column(name = "invoice_number", nullable = false, unique = true, length = 60)
+  private String invoiceNumber;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 20)
+  @Builder.Default
+  private InvoiceStatus status = InvoiceStatus.PENDING;
+
+  @Column(name = "object_key", length = 255)
+  private String objectKey;
+
+  @Column(name = "size_bytes")
+  private Long sizeBytes;
+
+  @Column(name = "attempts", nullable = false)
+  @Builder.Default
+  private Integer attempts = 0;
+
+  @Column(name = "failure_reason", length = 500)
+  private String failureReason;
+
+  @Column(name = "requested_at", nullable = false)
+  @Builder.Default
+  private Instant requestedAt = Instant.now();
+
+  @Column(name = "rendered_at")
+  private Instant renderedAt;
+
+  public enum InvoiceStatus {
+    /** Waiting for the renderer */
+    PENDING,
+    /** PDF stored */
+    RENDERED,
+    /** Rendering gave up after repeated errors */
+    FAILED
+  }
+
+  @Override
+  public UUID getId() {
+    return orderId;
+  }
+}
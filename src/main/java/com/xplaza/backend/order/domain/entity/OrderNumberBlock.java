@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.domain.entity;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+/**
+ * High-water mark of a number series handed out in blocks. Each node reserves a
+ * block by moving {@code nextValue} forward and then numbers from it in memory.
+ */
+@Entity
+@Table(name = "order_number_blocks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderNumberBlock {
+
+  @Id
+  @Column(name = "name", length = 30)
+  private String name;
+
+  /** First value not yet reserved by any node. */
+  @Column(name = "next_value", nullable = false)
+  private Long nextValue;
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.domain.entity;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+import com.xplaza.backend.common.domain.entity.AssignedIdEntity;
+
+/**
+ * One shop's part of a customer order.
+ *
+ * Checkout splits a cart into a parent {@link CustomerOrder} and one sub-order
+ * per shop, each with its share of the totals and its own fulfillment status,
+ * so a vendor sees and ships only its own part. The parent is paid and
+ * cancelled as a whole; sub-orders follow it.
+ */
+@Entity
+@Table(name = "shop_orders", indexes = {
+    @Index(name = "idx_shop_orders_order", columnList = "order_id"),
+    @Index(name = "idx_shop_orders_shop_created", columnList = "shop_id, created_at"),
+    @Index(name = "idx_shop_orders_shop_status", columnList = "shop_id, status, created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShopOrder extends AssignedIdEntity<UUID> {
+
+  @Id
+  @Column(name = "shop_order_id")
+  @Builder.Default
+  private UUID shopOrderId = UUID.randomUUID();
+
+  /** Parent order. */
+  @Column(name = "order_id", nullable = false)
+  private UUID orderId;
+
+  /**
+   * Parent order number with the shop's position appended, e.g.
+   * ORD-20260101-000042-2.
+   */
+  @Column(name = "sub_order_number", nullable = false, unique = true, length = 60)
+  private String subOrderNumber;
+
+  @Column(name = "shop_id", nullable = false)
+  private Long shopId;
+
+  @Column(name = "customer_id", nullable = false)
+  private Long customerId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 30)
+  @Builder.Default
+  private CustomerOrder.OrderStatus status = CustomerOrder.OrderStatus.PENDING;
+
+  @Column(name = "item_count", nullable = false)
+  private Integer itemCount;
+
+  // This shop's share of the order totals
+  @Column(name = "subtotal", nullable = false, precision = 15, scale = 2)
+  private BigDecimal subtotal;
+
+  @Column(name = "discount_amount", precision = 15, scale = 2)
+  @Builder.Default
+  private BigDecimal discountAmount = BigDecimal.ZERO;
+
+  @Column(name = "shipping_cost", precision = 15, scale = 2)
+  @Builder.Default
+  private BigDecimal shippingCost = BigDecimal.ZERO;
+
+  @Column(name = "tax_amount", precision = 15, scale = 2)
+  @Builder.Default
+  private BigDecimal taxAmount = BigDecimal.ZERO;
+
+  @Column(name = "grand_total", nullable = false, precision = 15, scale = 2)
+  private BigDecimal grandTotal;
+
+  @Column(name = "currency", length = 3)
+  @Builder.Default
+  private String currency = "USD";
+
+  // Fulfillment
+  @Column(name = "carrier", length = 100)
+  private String carrier;
+
+  @Column(name = "tracking_number", length = 100)
+  private String trackingNumber;
+
+  @Column(name = "shipped_at")
+  private Instant shippedAt;
+
+  @Column(name = "delivered_at")
+  private Instant deliveredAt;
+
+  @Column(name = "cancelled_at")
+  private Instant cancelledAt;
+
+  @Column(name = "created_at")
+  @Builder.Default
+  private Instant createdAt = Instant.now();
+
+  @Column(name = "updated_at")
+  @Builder.Default
+  private Instant updatedAt = Instant.now();
+
+  @PreUpdate
+  protected void onUpdate() {
+    this.updatedAt = Instant.now();
+  }
+
+  /**
+   * Check if the sub-order is still open (not delivered, cancelled or returned).
+   */
+  public boolean isOpen() {
+    return switch (status) {
+    case DELIVERED, CANCELLED, RETURNED, PARTIALLY_RETURNED -> false;
+    default -> true;
+    };
+  }
+
+  @Override
+  public UUID getId() {
+    return shopOrderId;
+  }
+}
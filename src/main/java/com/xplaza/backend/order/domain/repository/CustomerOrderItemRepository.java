@@ -5,6 +5,7 @@
 
 package com.xplaza.backend.order.domain.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,6 +18,7 @@ import org.springframework.stereotype.Repository;
 
 import com.xplaza.backend.dashboard.dto.TopProduct;
 import com.xplaza.backend.order.domain.entity.CustomerOrderItem;
+import com.xplaza.backend.order.dto.response.OrderLineSummary;
 
 /**
  * Repository for Customer OrderItem entity (UUID-based).
@@ -26,6 +28,20 @@ public interface CustomerOrderItemRepository extends JpaRepository<CustomerOrder
 
   List<CustomerOrderItem> findByOrderOrderId(UUID orderId);
 
+  List<CustomerOrderItem> findByShopOrderId(UUID shopOrderId);
+
+  @Query("SELECT new com.xplaza.backend.order.dto.response.OrderLineSummary(oi.orderItemId, oi.order.orderId, "
+      + "oi.shopOrderId, oi.productId, oi.variantId, oi.productName, oi.variantName, oi.sku, oi.quantity, "
+      + "oi.unitPrice, oi.totalPrice, oi.status) FROM CustomerOrderItem oi "
+      + "WHERE oi.order.orderId IN :orderIds ORDER BY oi.createdAt, oi.orderItemId")
+  List<OrderLineSummary> findLinesByOrderIds(@Param("orderIds") Collection<UUID> orderIds);
+
+  @Query("SELECT new com.xplaza.backend.order.dto.response.OrderLineSummary(oi.orderItemId, oi.order.orderId, "
+      + "oi.shopOrderId, oi.productId, oi.variantId, oi.productName, oi.variantName, oi.sku, oi.quantity, "
+      + "oi.unitPrice, oi.totalPrice, oi.status) FROM CustomerOrderItem oi "
+      + "WHERE oi.shopOrderId IN :shopOrderIds ORDER BY oi.createdAt, oi.orderItemId")
+  List<OrderLineSummary> findLinesByShopOrderIds(@Param("shopOrderIds") Collection<UUID> shopOrderIds);
+
   @Query("SELECT oi FROM CustomerOrderItem oi WHERE oi.order.orderId = :orderId AND oi.productId = :productId")
   List<CustomerOrderItem> findByOrderIdAndProductId(
       @Param("orderId") UUID orderId,
@@ -40,6 +56,18 @@ public interface CustomerOrderItemRepository extends JpaRepository<CustomerOrder
   @Query("UPDATE CustomerOrderItem oi SET oi.status = :status WHERE oi.order.orderId = :orderId")
   int updateStatusForOrder(@Param("orderId") UUID orderId, @Param("status") CustomerOrderItem.ItemStatus status);
 
+  @Modifying
+  @Query("UPDATE CustomerOrderItem oi SET oi.status = :status WHERE oi.order.orderId IN :orderIds")
+  int updateStatusForOrders(
+      @Param("orderIds") Collection<UUID> orderIds,
+      @Param("status") CustomerOrderItem.ItemStatus status);
+
+  @Modifying
+  @Query("UPDATE CustomerOrderItem oi SET oi.status = :status WHERE oi.shopOrderId = :shopOrderId")
+  int updateStatusForShopOrder(
+      @Param("shopOrderId") UUID shopOrderId,
+      @Param("status") CustomerOrderItem.ItemStatus status);
+
   @Query("SELECT SUM(oi.quantity) FROM CustomerOrderItem oi WHERE oi.productId = :productId AND oi.order.status IN ('CONFIRMED', 'PROCESSING', 'SHIPPED', 'DELIVERED')")
   Long countTotalSoldByProductId(@Param("productId") Long productId);
 
@@ -8,21 +8,28 @@ package com.xplaza.backend.order.domain.repository;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.xplaza.backend.dashboard.dto.RevenueData;
 import com.xplaza.backend.dashboard.dto.TopCustomer;
 import com.xplaza.backend.order.domain.entity.CustomerOrder;
+import com.xplaza.backend.order.dto.response.OrderSummary;
 
 /**
  * Repository for Customer Order entity (UUID-based).
@@ -30,6 +37,13 @@ import com.xplaza.backend.order.domain.entity.CustomerOrder;
 @Repository
 public interface CustomerOrderRepository extends JpaRepository<CustomerOrder, UUID> {
 
+  /** Pending order id and creation time, as loaded into the expiry wheel. */
+  interface PendingOrderCreation {
+    UUID getId();
+
+    Instant getCreatedAt();
+  }
+
   Optional<CustomerOrder> findByOrderNumber(String orderNumber);
 
   @Query("SELECT o FROM CustomerOrder o LEFT JOIN FETCH o.items WHERE o.orderId = :orderId")
@@ -50,7 +64,43 @@ public interface CustomerOrderRepository extends JpaRepository<CustomerOrder, UU
 
   Page<CustomerOrder> findByStatus(CustomerOrder.OrderStatus status, Pageable pageable);
 
-  long countByCouponCode(String couponCode);
+  /**
+   * Summaries of a customer's orders created before the cursor, newest first.
+   * Ties on creation time are broken by id so no row is skipped or repeated.
+   */
+  @Query("SELECT new com.xplaza.backend.order.dto.response.OrderSummary(o.orderId, o.orderNumber, o.customerId, "
+      + "o.shopId, o.status, o.paymentStatus, o.grandTotal, o.currency, o.createdAt) FROM CustomerOrder o "
+      + "WHERE o.customerId = :customerId "
+      + "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.orderId < :orderId)) "
+      + "ORDER BY o.createdAt DESC, o.orderId DESC")
+  List<OrderSummary> findSummariesByCustomer(
+      @Param("customerId") Long customerId,
+      @Param("createdAt") Instant createdAt,
+      @Param("orderId") UUID orderId,
+      Pageable pageable);
+
+  @Query("SELECT new com.xplaza.backend.order.dto.response.OrderSummary(o.orderId, o.orderNumber, o.customerId, "
+      + "o.shopId, o.status, o.paymentStatus, o.grandTotal, o.currency, o.createdAt) FROM CustomerOrder o "
+      + "WHERE o.status = :status "
+      + "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.orderId < :orderId)) "
+      + "ORDER BY o.createdAt DESC, o.orderId DESC")
+  List<OrderSummary> findSummariesByStatus(
+      @Param("status") CustomerOrder.OrderStatus status,
+      @Param("createdAt") Instant createdAt,
+      @Param("orderId") UUID orderId,
+      Pageable pageable);
+
+  @Query("SELECT new com.xplaza.backend.order.dto.response.OrderSummary(o.orderId, o.orderNumber, o.customerId, "
+      + "o.shopId, o.status, o.paymentStatus, o.grandTotal, o.currency, o.createdAt) FROM CustomerOrder o "
+      + "WHERE o.createdAt >= :from AND o.createdAt < :to "
+      + "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.orderId < :orderId)) "
+      + "ORDER BY o.createdAt DESC, o.orderId DESC")
+  List<OrderSummary> findSummariesCreatedBetween(
+      @Param("from") Instant from,
+      @Param("to") Instant to,
+      @Param("createdAt") Instant createdAt,
+      @Param("orderId") UUID orderId,
+      Pageable pageable);
 
   @Query("SELECT o FROM CustomerOrder o WHERE o.customerId = :customerId AND o.status = :status")
   List<CustomerOrder> findByCustomerIdAndStatus(
@@ -108,14 +158,43 @@ public interface CustomerOrderRepository extends JpaRepository<CustomerOrder, UU
   @Query("SELECT o FROM CustomerOrder o WHERE o.status = 'PENDING' AND o.createdAt < :cutoff")
   List<CustomerOrder> findStalePendingOrders(@Param("cutoff") Instant cutoff);
 
+  /**
+   * Lock an order row until the transaction ends, to serialise changes that are
+   * decided from the order's sub-orders.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT o FROM CustomerOrder o WHERE o.orderId = :orderId")
+  Optional<CustomerOrder> lockById(@Param("orderId") UUID orderId);
+
+  /**
+   * Claim unpaid pending orders created before the cutoff. Rows locked by another
+   * node are skipped ({@code SKIP LOCKED}).
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query("SELECT o FROM CustomerOrder o WHERE o.status = 'PENDING' AND o.createdAt < :cutoff "
+      + "AND (o.paymentStatus IS NULL OR o.paymentStatus <> 'PAID') ORDER BY o.createdAt")
+  List<CustomerOrder> claimStalePendingOrders(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query("SELECT o FROM CustomerOrder o WHERE o.orderId IN :orderIds AND o.status = 'PENDING' "
+      + "AND o.createdAt < :cutoff AND (o.paymentStatus IS NULL OR o.paymentStatus <> 'PAID')")
+  List<CustomerOrder> claimStalePendingOrdersByIds(
+      @Param("orderIds") Collection<UUID> orderIds,
+      @Param("cutoff") Instant cutoff);
+
+  @Query("SELECT o.orderId AS id, o.createdAt AS createdAt FROM CustomerOrder o "
+      + "WHERE o.status = 'PENDING' AND o.createdAt > :since AND o.createdAt <= :until")
+  List<PendingOrderCreation> findPendingOrderCreations(
+      @Param("since") Instant since,
+      @Param("until") Instant until);
+
   @Query("SELECT o FROM CustomerOrder o WHERE o.paymentStatus = 'PENDING' AND o.createdAt < :cutoff")
   List<CustomerOrder> findOrdersWithPendingPayment(@Param("cutoff") Instant cutoff);
 
   boolean existsByOrderNumber(String orderNumber);
 
-  @Query(value = "SELECT nextval('order_number_seq')", nativeQuery = true)
-  Long getNextOrderSequence();
-
   @Query("SELECT COUNT(o) FROM CustomerOrder o WHERE o.status = :status")
   long countByStatus(@Param("status") CustomerOrder.OrderStatus status);
 
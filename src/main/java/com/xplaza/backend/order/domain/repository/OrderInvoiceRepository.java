@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.domain.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.xplaza.backend.order.domain.entity.CustomerOrder;
+import com.xplaza.backend.order.domain.entity.OrderInvoice;
+
+@Repository
+public interface OrderInvoiceRepository extends JpaRepository<OrderInvoice, UUID> {
+
+  @Query("SELECT i.orderId FROM OrderInvoice i WHERE i.status = 'PENDING' AND i.requestedAt < :before "
+      + "ORDER BY i.requestedAt")
+  List<UUID> findPendingIds(@Param("before") Instant before, Pageable pageable);
+
+  @Query("SELECT o.orderId FROM CustomerOrder o WHERE o.createdAt >= :from AND o.createdAt < :to "
+      + "AND o.status NOT IN :excluded AND o.orderId > :after "
+      + "AND NOT EXISTS (SELECT 1 FROM OrderInvoice i WHERE i.orderId = o.orderId) ORDER BY o.orderId")
+  List<UUID> findOrderIdsWithoutInvoice(
+      @Param("from") Instant from,
+      @Param("to") Instant to,
+      @Param("excluded") Collection<CustomerOrder.OrderStatus> excluded,
+      @Param("after") UUID after,
+      Pageable pageable);
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.domain.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.xplaza.backend.order.domain.entity.CustomerOrder;
+import com.xplaza.backend.order.domain.entity.ShopOrder;
+import com.xplaza.backend.order.dto.response.ShopOrderSummary;
+
+/**
+ * Repository for per-shop sub-orders.
+ */
+@Repository
+public interface ShopOrderRepository extends JpaRepository<ShopOrder, UUID> {
+
+  List<ShopOrder> findByOrderIdOrderBySubOrderNumber(UUID orderId);
+
+  /**
+   * Summaries of a shop's sub-orders created before the cursor, newest first.
+   */
+  @Query("SELECT new com.xplaza.backend.order.dto.response.ShopOrderSummary(s.shopOrderId, s.orderId, "
+      + "s.subOrderNumber, s.shopId, s.customerId, s.status, s.itemCount, s.grandTotal, s.currency, s.createdAt) "
+      + "FROM ShopOrder s WHERE s.shopId = :shopId "
+      + "AND (s.createdAt < :createdAt OR (s.createdAt = :createdAt AND s.shopOrderId < :shopOrderId)) "
+      + "ORDER BY s.createdAt DESC, s.shopOrderId DESC")
+  List<ShopOrderSummary> findSummariesByShop(
+      @Param("shopId") Long shopId,
+      @Param("createdAt") Instant createdAt,
+      @Param("shopOrderId") UUID shopOrderId,
+      Pageable pageable);
+
+  @Query("SELECT new com.xplaza.backend.order.dto.response.ShopOrderSummary(s.shopOrderId, s.orderId, "
+      + "s.subOrderNumber, s.shopId, s.customerId, s.status, s.itemCount, s.grandTotal, s.currency, s.createdAt) "
+      + "FROM ShopOrder s WHERE s.shopId = :shopId AND s.status = :status "
+      + "AND (s.createdAt < :createdAt OR (s.createdAt = :createdAt AND s.shopOrderId < :shopOrderId)) "
+      + "ORDER BY s.createdAt DESC, s.shopOrderId DESC")
+  List<ShopOrderSummary> findSummariesByShopAndStatus(
+      @Param("shopId") Long shopId,
+      @Param("status") CustomerOrder.OrderStatus status,
+      @Param("createdAt") Instant createdAt,
+      @Param("shopOrderId") UUID shopOrderId,
+      Pageable pageable);
+
+  @Query("SELECT s.orderId FROM ShopOrder s WHERE s.shopOrderId = :shopOrderId")
+  Optional<UUID> findOrderIdById(@Param("shopOrderId") UUID shopOrderId);
+
+  @Query("SELECT s.status FROM ShopOrder s WHERE s.orderId = :orderId")
+  List<CustomerOrder.OrderStatus> findStatusesByOrderId(@Param("orderId") UUID orderId);
+
+  @Query("SELECT SUM(s.grandTotal) FROM ShopOrder s WHERE s.shopId = :shopId AND s.status = 'DELIVERED' "
+      + "AND s.createdAt BETWEEN :start AND :end")
+  BigDecimal calculateShopRevenue(
+      @Param("shopId") Long shopId,
+      @Param("start") Instant start,
+      @Param("end") Instant end);
+
+  /**
+   * Move the sub-orders of the given orders that are in one of the {@code from}
+   * statuses to {@code to}.
+   */
+  @Modifying
+  @Query("UPDATE ShopOrder s SET s.status = :to, s.updatedAt = :now "
+      + "WHERE s.orderId IN :orderIds AND s.status IN :from")
+  int transitionForOrders(
+      @Param("orderIds") Collection<UUID> orderIds,
+      @Param("from") Collection<CustomerOrder.OrderStatus> from,
+      @Param("to") CustomerOrder.OrderStatus to,
+      @Param("now") Instant now);
+}
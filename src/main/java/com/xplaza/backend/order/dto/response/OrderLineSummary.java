@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.dto.response;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import com.xplaza.backend.order.domain.entity.CustomerOrderItem;
+
+/**
+ * Line item of a listed order or sub-order.
+ */
+public record OrderLineSummary(
+    UUID orderItemId,
+    UUID orderId,
+    UUID shopOrderId,
+    Long productId,
+    UUID variantId,
+    String productName,
+    String variantName,
+    String sku,
+    Integer quantity,
+    BigDecimal unitPrice,
+    BigDecimal totalPrice,
+    CustomerOrderItem.ItemStatus status) {
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.dto.response;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One page of an order listing.
+ *
+ * @param orders     the page, newest first
+ * @param items      line items keyed by order or sub-order id, only when
+ *                   requested
+ * @param nextCursor cursor of the following page, or null on the last page
+ */
+public record OrderListPage<T>(List<T> orders, Map<UUID, List<OrderLineSummary>> items, String nextCursor) {
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.dto.response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import com.xplaza.backend.order.domain.entity.CustomerOrder;
+
+/**
+ * Summary columns of an order, as listed without loading the entity.
+ */
+public record OrderSummary(
+    UUID orderId,
+    String orderNumber,
+    Long customerId,
+    Long shopId,
+    CustomerOrder.OrderStatus status,
+    String paymentStatus,
+    BigDecimal grandTotal,
+    String currency,
+    Instant createdAt) {
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.dto.response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import com.xplaza.backend.order.domain.entity.CustomerOrder;
+
+/**
+ * Summary columns of a shop's sub-order, as listed without loading the entity.
+ */
+public record ShopOrderSummary(
+    UUID shopOrderId,
+    UUID orderId,
+    String subOrderNumber,
+    Long shopId,
+    Long customerId,
+    CustomerOrder.OrderStatus status,
+    Integer itemCount,
+    BigDecimal grandTotal,
+    String currency,
+    Instant createdAt) {
+}
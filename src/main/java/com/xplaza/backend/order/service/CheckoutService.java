@@ -9,6 +9,8 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.xplaza.backend.cart.domain.entity.Cart;
 import com.xplaza.backend.cart.domain.repository.CartRepository;
+import com.xplaza.backend.marketing.service.CampaignRedemptionService;
 import com.xplaza.backend.marketing.service.CampaignService;
 import com.xplaza.backend.order.domain.entity.CheckoutSession;
 import com.xplaza.backend.order.domain.entity.CustomerOrder;
@@ -38,6 +41,7 @@ public class CheckoutService {
   private final CartRepository cartRepository;
   private final CustomerOrderService customerOrderService;
   private final CampaignService campaignService;
+  private final CampaignRedemptionService redemptionService;
 
   /**
    * Start a new checkout session for a cart.
@@ -151,20 +155,7 @@ public class CheckoutService {
    */
   public CheckoutSession applyCoupon(UUID checkoutId, String couponCode) {
     CheckoutSession checkout = getActiveCheckout(checkoutId);
-
-    // Validate coupon and calculate discount
-    long usageCount = customerOrderService.countOrdersByCouponCode(couponCode);
-    BigDecimal discountAmount = campaignService.validateCoupon(couponCode, checkout.getSubtotal(), (int) usageCount);
-
-    // Get campaign ID
-    Long campaignId = campaignService.getCampaignByCode(couponCode)
-        .map(c -> c.getCampaignId())
-        .orElseThrow(() -> new IllegalArgumentException("Campaign not found: " + couponCode));
-
-    checkout.setCouponId(campaignId);
-    checkout.setCouponCode(couponCode);
-    checkout.setCouponDiscountAmount(discountAmount);
-    checkout.setDiscountAmount(checkout.getDiscountAmount().add(discountAmount));
+    attachCoupon(checkout, couponCode, validateCoupon(checkout, couponCode));
     checkout.calculateGrandTotal();
     return checkoutSessionRepository.save(checkout);
   }
@@ -174,12 +165,110 @@ public class CheckoutService {
    */
   public CheckoutSession removeCoupon(UUID checkoutId) {
     CheckoutSession checkout = getActiveCheckout(checkoutId);
-    if (checkout.getCouponDiscountAmount() != null) {
-      checkout.setDiscountAmount(checkout.getDiscountAmount().subtract(checkout.getCouponDiscountAmount()));
+    detachCoupon(checkout);
+    checkout.calculateGrandTotal();
+    return checkoutSessionRepository.save(checkout);
+  }
+
+  /**
+   * Apply any subset of the checkout steps in one go.
+   *
+   * Every given field is validated before anything changes, and all problems are
+   * reported together. Steps are applied in the order the step endpoints run
+   * (shipping, delivery, billing, payment, coupon, notes), then totals are
+   * recomputed and the session saved once. A blank coupon code removes the
+   * applied coupon; a new one replaces it.
+   */
+  public CheckoutSession updateCheckout(UUID checkoutId, CheckoutUpdate update) {
+    if (update == null || update.isEmpty()) {
+      throw new IllegalArgumentException("No checkout fields given");
+    }
+    CheckoutSession checkout = getActiveCheckout(checkoutId);
+
+    List<String> errors = new ArrayList<>();
+    boolean shippingMethod = update.shippingMethodId() != null || update.shippingMethodName() != null
+        || update.shippingCost() != null;
+    if (shippingMethod && (update.shippingMethodId() == null || update.shippingMethodName() == null
+        || update.shippingCost() == null)) {
+      errors.add("Shipping method needs shippingMethodId, shippingMethodName and shippingCost together");
+    }
+    if (update.shippingCost() != null && update.shippingCost().signum() < 0) {
+      errors.add("Shipping cost must not be negative");
+    }
+    boolean delivery = update.deliveryDate() != null || update.deliverySlotStart() != null
+        || update.deliverySlotEnd() != null || update.deliveryInstructions() != null;
+    if (delivery) {
+      if (update.deliveryDate() == null) {
+        errors.add("Delivery schedule needs deliveryDate");
+      } else if (update.deliveryDate().isBefore(LocalDate.now())) {
+        errors.add("Delivery date must not be in the past");
+      }
+      if ((update.deliverySlotStart() == null) != (update.deliverySlotEnd() == null)) {
+        errors.add("Delivery slot needs both deliverySlotStart and deliverySlotEnd");
+      } else if (update.deliverySlotStart() != null && !update.deliverySlotStart().isBefore(update.deliverySlotEnd())) {
+        errors.add("Delivery slot must start before it ends");
+      }
+    }
+    boolean billing = update.billingAddressId() != null || update.billingSameAsShipping() != null;
+    if (billing && Boolean.FALSE.equals(update.billingSameAsShipping()) && update.billingAddressId() == null) {
+      errors.add("Billing address is required when it differs from shipping");
+    }
+    boolean payment = update.paymentMethodId() != null || update.paymentMethodType() != null;
+    if (payment && (update.paymentMethodId() == null || update.paymentMethodType() == null
+        || update.paymentMethodType().isBlank())) {
+      errors.add("Payment method needs paymentMethodId and paymentMethodType together");
+    }
+    String couponCode = update.couponCode() == null || update.couponCode().isBlank() ? null
+        : update.couponCode().trim();
+    BigDecimal couponDiscount = null;
+    if (couponCode != null && !couponCode.equals(checkout.getCouponCode())) {
+      try {
+        couponDiscount = validateCoupon(checkout, couponCode);
+      } catch (IllegalArgumentException | IllegalStateException e) {
+        errors.add(e.getMessage());
+      }
+    }
+    if (!errors.isEmpty()) {
+      throw new IllegalArgumentException(String.join("; ", errors));
+    }
+
+    if (update.shippingAddressId() != null) {
+      checkout.setShippingAddressId(update.shippingAddressId());
+      checkout.setShippingCompleted(true);
+      checkout.setCurrentStep("PAYMENT");
+      checkout.setStatus(CheckoutSession.CheckoutStatus.SHIPPING_SELECTED);
+    }
+    if (shippingMethod) {
+      checkout.setShippingMethodId(update.shippingMethodId());
+      checkout.setShippingMethodName(update.shippingMethodName());
+      checkout.setShippingCost(update.shippingCost());
+    }
+    if (delivery) {
+      checkout.setRequestedDeliveryDate(update.deliveryDate());
+      checkout.setDeliverySlotStart(update.deliverySlotStart());
+      checkout.setDeliverySlotEnd(update.deliverySlotEnd());
+      checkout.setDeliveryInstructions(update.deliveryInstructions());
+    }
+    if (billing) {
+      checkout.setBillingAddressId(update.billingAddressId());
+      checkout.setBillingSameAsShipping(Boolean.TRUE.equals(update.billingSameAsShipping()));
+    }
+    if (payment) {
+      checkout.setPaymentMethodId(update.paymentMethodId());
+      checkout.setPaymentMethodType(update.paymentMethodType());
+      checkout.setPaymentCompleted(true);
+      checkout.setCurrentStep("REVIEW");
+      checkout.setStatus(CheckoutSession.CheckoutStatus.PAYMENT_SELECTED);
+    }
+    if (update.couponCode() != null && couponCode == null) {
+      detachCoupon(checkout);
+    } else if (couponDiscount != null) {
+      detachCoupon(checkout);
+      attachCoupon(checkout, couponCode, couponDiscount);
+    }
+    if (update.customerNotes() != null) {
+      checkout.setCustomerNotes(update.customerNotes());
     }
-    checkout.setCouponId(null);
-    checkout.setCouponCode(null);
-    checkout.setCouponDiscountAmount(null);
     checkout.calculateGrandTotal();
     return checkoutSessionRepository.save(checkout);
   }
@@ -207,13 +296,9 @@ public class CheckoutService {
     // Create the order
     CustomerOrder order = customerOrderService.createOrderFromCheckout(checkout);
 
-    // Record campaign usage if coupon was applied
-    if (checkout.getCouponCode() != null) {
-      try {
-        campaignService.recordUsage(checkout.getCouponCode());
-      } catch (Exception e) {
-        log.error("Failed to record campaign usage for order {}: {}", order.getOrderNumber(), e.getMessage());
-      }
+    // Redeem the coupon with the order; fails if a limit was reached meanwhile
+    if (checkout.getCouponId() != null) {
+      redemptionService.redeem(checkout.getCouponId(), order.getCustomerId(), order.getOrderId());
     }
 
     // Mark checkout as completed
@@ -248,6 +333,30 @@ public class CheckoutService {
 
   // Private helpers
 
+  private BigDecimal validateCoupon(CheckoutSession checkout, String couponCode) {
+    return campaignService.validateCouponForCustomer(couponCode, checkout.getSubtotal(), checkout.getCustomerId());
+  }
+
+  private void attachCoupon(CheckoutSession checkout, String couponCode, BigDecimal discountAmount) {
+    Long campaignId = campaignService.getCampaignByCode(couponCode)
+        .map(c -> c.getCampaignId())
+        .orElseThrow(() -> new IllegalArgumentException("Campaign not found: " + couponCode));
+
+    checkout.setCouponId(campaignId);
+    checkout.setCouponCode(couponCode);
+    checkout.setCouponDiscountAmount(discountAmount);
+    checkout.setDiscountAmount(checkout.getDiscountAmount().add(discountAmount));
+  }
+
+  private void detachCoupon(CheckoutSession checkout) {
+    if (checkout.getCouponDiscountAmount() != null) {
+      checkout.setDiscountAmount(checkout.getDiscountAmount().subtract(checkout.getCouponDiscountAmount()));
+    }
+    checkout.setCouponId(null);
+    checkout.setCouponCode(null);
+    checkout.setCouponDiscountAmount(null);
+  }
+
   private CheckoutSession getActiveCheckout(UUID checkoutId) {
     CheckoutSession checkout = checkoutSessionRepository.findById(checkoutId)
         .orElseThrow(() -> new IllegalArgumentException("Checkout not found: " + checkoutId));
@@ -268,4 +377,34 @@ public class CheckoutService {
 
     return checkout;
   }
+
+  /**
+   * Checkout fields to change in one request; null fields are left as they are.
+   * Shipping method, delivery schedule, billing and payment fields each replace
+   * their whole step.
+   */
+  public record CheckoutUpdate(
+      Long shippingAddressId,
+      Long shippingMethodId,
+      String shippingMethodName,
+      BigDecimal shippingCost,
+      LocalDate deliveryDate,
+      LocalTime deliverySlotStart,
+      LocalTime deliverySlotEnd,
+      String deliveryInstructions,
+      Long billingAddressId,
+      Boolean billingSameAsShipping,
+      Long paymentMethodId,
+      String paymentMethodType,
+      String couponCode,
+      String customerNotes
+  ) {
+
+    boolean isEmpty() {
+      return shippingAddressId == null && shippingMethodId == null && shippingMethodName == null
+          && shippingCost == null && deliveryDate == null && deliverySlotStart == null && deliverySlotEnd == null
+          && deliveryInstructions == null && billingAddressId == null && billingSameAsShipping == null
+          && paymentMethodId == null && paymentMethodType == null && couponCode == null && customerNotes == null;
+    }
+  }
 }
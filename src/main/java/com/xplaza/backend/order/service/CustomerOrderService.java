@@ -8,31 +8,41 @@ package com.xplaza.backend.order.service;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
 import java.util.UUID;
 
+import jakarta.persistence.EntityManager;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.xplaza.backend.cart.domain.entity.Cart;
 import com.xplaza.backend.cart.domain.entity.CartItem;
 import com.xplaza.backend.cart.domain.repository.CartRepository;
+import com.xplaza.backend.customer.domain.entity.CustomerAddress;
+import com.xplaza.backend.customer.domain.repository.CustomerAddressRepository;
 import com.xplaza.backend.inventory.service.InventoryService;
-import com.xplaza.backend.notification.domain.entity.Notification;
-import com.xplaza.backend.notification.service.NotificationService;
+import com.xplaza.backend.inventory.service.StockAllocationService;
+import com.xplaza.backend.marketing.service.CampaignRedemptionService;
 import com.xplaza.backend.order.domain.entity.CheckoutSession;
 import com.xplaza.backend.order.domain.entity.CustomerOrder;
 import com.xplaza.backend.order.domain.entity.CustomerOrderItem;
+import com.xplaza.backend.order.domain.entity.ShopOrder;
 import com.xplaza.backend.order.domain.repository.CustomerOrderItemRepository;
 import com.xplaza.backend.order.domain.repository.CustomerOrderRepository;
+import com.xplaza.backend.order.domain.repository.CustomerOrderRepository.PendingOrderCreation;
+import com.xplaza.backend.order.domain.repository.ShopOrderRepository;
+import com.xplaza.backend.outbox.domain.entity.OutboxEvent;
+import com.xplaza.backend.outbox.service.OutboxService;
 import com.xplaza.backend.payment.domain.entity.Refund;
 import com.xplaza.backend.payment.service.PaymentService;
 
@@ -47,31 +57,48 @@ public class CustomerOrderService {
 
   private final CustomerOrderRepository orderRepository;
   private final CustomerOrderItemRepository orderItemRepository;
+  private final ShopOrderRepository shopOrderRepository;
   private final CartRepository cartRepository;
   private final PaymentService paymentService;
-  private final NotificationService notificationService;
   private final InventoryService inventoryService;
-
-  private static final DateTimeFormatter ORDER_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
-  private static final Random RANDOM = new Random();
+  private final StockAllocationService allocationService;
+  private final CustomerAddressRepository addressRepository;
+  private final OutboxService outboxService;
+  private final CampaignRedemptionService redemptionService;
+  private final OrderNumberGenerator orderNumberGenerator;
+  private final EntityManager entityManager;
 
   /**
    * Create an order from a checkout session.
+   *
+   * The cart, shipping address and stock are read up front; the order, one
+   * sub-order per shop and the items are inserted as one batch; stock is reserved
+   * last, in one batched conditional update, so inventory rows stay locked only
+   * for the commit that follows.
    */
   public CustomerOrder createOrderFromCheckout(CheckoutSession checkout) {
-    // Get the cart
+    // Get the cart and its items in one query
     Cart cart = cartRepository.findByIdWithItems(checkout.getCartId())
         .orElseThrow(() -> new IllegalArgumentException("Cart not found: " + checkout.getCartId()));
 
     if (cart.isEmpty()) {
       throw new IllegalStateException("Cannot create order from empty cart");
     }
-
-    // Generate order number
-    String orderNumber = generateOrderNumber();
-
-    // Determine shop ID from first item (multi-shop orders need different handling)
-    Long shopId = cart.getActiveItems().get(0).getShopId();
+    Optional<CustomerAddress> shipTo = checkout.getShippingAddressId() != null
+        ? addressRepository.findById(checkout.getShippingAddressId())
+        : Optional.empty();
+
+    // Generate order number, from this node's block of numbers
+    String orderNumber = orderNumberGenerator.next();
+
+    // Split the totals across the shops in the cart
+    List<OrderSplitter.Share> shares = OrderSplitter.split(
+        cart.getActiveItems().stream()
+            .map(i -> new OrderSplitter.Line(i.getShopId(), i.getLineTotal()))
+            .toList(),
+        new OrderSplitter.Totals(checkout.getSubtotal(), checkout.getDiscountAmount(), checkout.getShippingCost(),
+            checkout.getTaxAmount(), checkout.getGrandTotal()));
+    Long shopId = shares.size() == 1 ? shares.get(0).shopId() : null;
 
     // Create the order
     CustomerOrder order = CustomerOrder.builder()
@@ -102,17 +129,33 @@ public class CustomerOrderService {
         .placedAt(Instant.now())
         .build();
 
+    // One sub-order per shop, numbered after the parent
+    Map<Long, ShopOrder> shopOrders = new LinkedHashMap<>();
+    for (OrderSplitter.Share share : shares) {
+      shopOrders.put(share.shopId(), ShopOrder.builder()
+          .orderId(order.getOrderId())
+          .subOrderNumber(orderNumber + "-" + (shopOrders.size() + 1))
+          .shopId(share.shopId())
+          .customerId(order.getCustomerId())
+          .itemCount(share.itemCount())
+          .subtotal(share.subtotal())
+          .discountAmount(share.discount())
+          .shippingCost(share.shipping())
+          .taxAmount(share.tax())
+          .grandTotal(share.grandTotal())
+          .currency(order.getCurrency())
+          .createdAt(order.getCreatedAt())
+          .build());
+    }
+
     // Copy cart items to order items
     for (CartItem cartItem : cart.getActiveItems()) {
-      // Reserve stock
-      inventoryService.reserveStockAnyWarehouse(cartItem.getProductId(), cartItem.getVariantId(),
-          cartItem.getQuantity(), order.getOrderId());
-
       CustomerOrderItem orderItem = CustomerOrderItem.builder()
           .order(order)
           .productId(cartItem.getProductId())
           .variantId(cartItem.getVariantId())
           .shopId(cartItem.getShopId())
+          .shopOrderId(shopOrders.get(cartItem.getShopId()).getShopOrderId())
           .productName(cartItem.getProductName() != null ? cartItem.getProductName()
               : "Product " + cartItem.getProductId())
           .quantity(cartItem.getQuantity())
@@ -126,27 +169,31 @@ public class CustomerOrderService {
     // Record initial status
     order.changeStatus(CustomerOrder.OrderStatus.PENDING, "Order created", "system");
 
-    CustomerOrder savedOrder = orderRepository.save(order);
+    orderRepository.save(order);
+    shopOrderRepository.saveAll(shopOrders.values());
 
     // Mark cart as converted
     cart.markConverted();
     cartRepository.save(cart);
 
-    log.info("Created order {} from cart {}", savedOrder.getOrderNumber(), cart.getId());
-
-    // Send notification
-    try {
-      notificationService.createOrderNotification(
-          savedOrder.getCustomerId(),
-          Notification.NotificationType.ORDER_PLACED,
-          "Order Placed",
-          "Your order " + savedOrder.getOrderNumber() + " has been placed successfully.",
-          savedOrder.getOrderId().toString());
-    } catch (Exception e) {
-      log.error("Failed to send order notification: {}", e.getMessage());
-    }
+    // Notifications and other side effects run after commit, from the outbox
+    publishEvent(order, OutboxEvent.EventType.ORDER_PLACED);
+
+    // Write everything else first, then take the inventory row locks last
+    entityManager.flush();
+
+    // Reserve stock, split across warehouses nearest the shipping address
+    allocationService.allocateAndReserve(
+        cart.getActiveItems().stream()
+            .map(i -> new StockAllocationService.OrderLine(i.getProductId(), i.getVariantId(), i.getQuantity()))
+            .toList(),
+        shipTo.map(CustomerAddress::getLatitude).orElse(null),
+        shipTo.map(CustomerAddress::getLongitude).orElse(null),
+        order.getOrderId());
+
+    log.info("Created order {} for {} shops from cart {}", order.getOrderNumber(), shopOrders.size(), cart.getId());
 
-    return savedOrder;
+    return order;
   }
 
   /**
@@ -181,59 +228,6 @@ public class CustomerOrderService {
     return orderRepository.findByOrderNumber(orderNumber);
   }
 
-  /**
-   * Get orders for a customer.
-   */
-  @Transactional(readOnly = true)
-  public List<CustomerOrder> getCustomerOrders(Long customerId) {
-    return orderRepository.findByCustomerIdOrderByCreatedAtDesc(customerId);
-  }
-
-  /**
-   * Get orders for a customer (paginated).
-   */
-  @Transactional(readOnly = true)
-  public Page<CustomerOrder> getCustomerOrders(Long customerId, Pageable pageable) {
-    return orderRepository.findByCustomerId(customerId, pageable);
-  }
-
-  /**
-   * Get orders for a shop.
-   */
-  @Transactional(readOnly = true)
-  public List<CustomerOrder> getShopOrders(Long shopId) {
-    return orderRepository.findByShopIdOrderByCreatedAtDesc(shopId);
-  }
-
-  /**
-   * Get orders for a shop (paginated).
-   */
-  @Transactional(readOnly = true)
-  public Page<CustomerOrder> getShopOrders(Long shopId, Pageable pageable) {
-    return orderRepository.findByShopId(shopId, pageable);
-  }
-
-  /**
-   * Get orders by status.
-   */
-  @Transactional(readOnly = true)
-  public List<CustomerOrder> getOrdersByStatus(CustomerOrder.OrderStatus status) {
-    return orderRepository.findByStatus(status);
-  }
-
-  @Transactional(readOnly = true)
-  public long countOrdersByCouponCode(String couponCode) {
-    return orderRepository.countByCouponCode(couponCode);
-  }
-
-  /**
-   * Get shop orders by status.
-   */
-  @Transactional(readOnly = true)
-  public List<CustomerOrder> getShopOrdersByStatus(Long shopId, CustomerOrder.OrderStatus status) {
-    return orderRepository.findByShopIdAndStatus(shopId, status);
-  }
-
   /**
    * Confirm an order (payment received).
    */
@@ -247,6 +241,8 @@ public class CustomerOrderService {
     order.setPaymentTransactionId(paymentTransactionId);
     order.setPaymentStatus("PAID");
     order.changeStatus(CustomerOrder.OrderStatus.CONFIRMED, "Payment confirmed", "system");
+    cascadeToShopOrders(List.of(orderId), CustomerOrder.OrderStatus.CONFIRMED, CustomerOrder.OrderStatus.PENDING);
+    publishEvent(order, OutboxEvent.EventType.ORDER_PAID);
 
     CustomerOrder saved = orderRepository.save(order);
     log.info("Confirmed order: {}", order.getOrderNumber());
@@ -284,6 +280,12 @@ public class CustomerOrderService {
     // Update estimated delivery (add 3-5 business days)
     order.setEstimatedDeliveryDate(LocalDate.now().plusDays(5));
 
+    // Consume reserved stock
+    inventoryService.fulfillOrderReservations(orderId);
+    cascadeToShopOrders(List.of(orderId), CustomerOrder.OrderStatus.SHIPPED, CustomerOrder.OrderStatus.PENDING,
+        CustomerOrder.OrderStatus.CONFIRMED, CustomerOrder.OrderStatus.PROCESSING);
+    publishEvent(order, OutboxEvent.EventType.ORDER_SHIPPED);
+
     return orderRepository.save(order);
   }
 
@@ -299,6 +301,8 @@ public class CustomerOrderService {
 
     order.changeStatus(CustomerOrder.OrderStatus.OUT_FOR_DELIVERY, "Out for delivery", updatedBy);
     order.setEstimatedDeliveryDate(LocalDate.now());
+    cascadeToShopOrders(List.of(orderId), CustomerOrder.OrderStatus.OUT_FOR_DELIVERY,
+        CustomerOrder.OrderStatus.SHIPPED);
 
     return orderRepository.save(order);
   }
@@ -319,6 +323,9 @@ public class CustomerOrderService {
 
     // Update all items to delivered
     orderItemRepository.updateStatusForOrder(orderId, CustomerOrderItem.ItemStatus.DELIVERED);
+    cascadeToShopOrders(List.of(orderId), CustomerOrder.OrderStatus.DELIVERED, CustomerOrder.OrderStatus.PENDING,
+        CustomerOrder.OrderStatus.CONFIRMED, CustomerOrder.OrderStatus.PROCESSING, CustomerOrder.OrderStatus.SHIPPED,
+        CustomerOrder.OrderStatus.OUT_FOR_DELIVERY);
 
     return orderRepository.save(order);
   }
@@ -339,6 +346,13 @@ public class CustomerOrderService {
     // Update all items to cancelled
     orderItemRepository.updateStatusForOrder(orderId, CustomerOrderItem.ItemStatus.CANCELLED);
 
+    // Return reserved stock and coupon uses
+    inventoryService.releaseOrderReservations(orderId);
+    redemptionService.releaseForOrders(List.of(orderId));
+    cascadeToShopOrders(List.of(orderId), CustomerOrder.OrderStatus.CANCELLED, CustomerOrder.OrderStatus.PENDING,
+        CustomerOrder.OrderStatus.CONFIRMED);
+    publishEvent(order, OutboxEvent.EventType.ORDER_CANCELLED);
+
     CustomerOrder saved = orderRepository.save(order);
     log.info("Cancelled order: {} - Reason: {}", order.getOrderNumber(), reason);
 
@@ -358,6 +372,36 @@ public class CustomerOrderService {
     return saved;
   }
 
+  /**
+   * Cancel the given pending orders if they are still unpaid and older than the
+   * cutoff. Orders another node is already cancelling are skipped.
+   *
+   * @return number of orders cancelled
+   */
+  public int cancelStalePendingOrders(Collection<UUID> orderIds, Instant cutoff) {
+    if (orderIds.isEmpty()) {
+      return 0;
+    }
+    return cancelClaimed(orderRepository.claimStalePendingOrdersByIds(orderIds, cutoff));
+  }
+
+  /**
+   * Cancel up to {@code limit} unpaid pending orders created before the cutoff.
+   *
+   * @return number of orders cancelled
+   */
+  public int cancelStalePendingOrders(Instant cutoff, int limit) {
+    return cancelClaimed(orderRepository.claimStalePendingOrders(cutoff, PageRequest.of(0, limit)));
+  }
+
+  /**
+   * Get creation times of pending orders for the expiry wheel.
+   */
+  @Transactional(readOnly = true)
+  public List<PendingOrderCreation> getPendingOrderCreations(Instant since, Instant until) {
+    return orderRepository.findPendingOrderCreations(since, until);
+  }
+
   /**
    * Request return for an order.
    */
@@ -398,6 +442,52 @@ public class CustomerOrderService {
     return orderRepository.save(order);
   }
 
+  /**
+   * Advance an order once its shops' sub-orders have: to processing when any shop
+   * starts, to shipped when every open sub-order has shipped, and to delivered
+   * when all have been delivered. Cancelled sub-orders are ignored. The order row
+   * is locked first, so concurrent sub-order changes roll up one after the other
+   * and each sees the others' statuses.
+   */
+  public CustomerOrder rollUpShopOrders(UUID orderId, String changedBy) {
+    CustomerOrder order = lockOrder(orderId);
+    List<CustomerOrder.OrderStatus> statuses = shopOrderRepository.findStatusesByOrderId(orderId).stream()
+        .filter(s -> s != CustomerOrder.OrderStatus.CANCELLED)
+        .toList();
+    if (statuses.isEmpty()) {
+      return order;
+    }
+    CustomerOrder.OrderStatus least = statuses.stream().min(Comparator.naturalOrder()).orElseThrow();
+    CustomerOrder.OrderStatus most = statuses.stream().max(Comparator.naturalOrder()).orElseThrow();
+
+    if (order.getStatus() == CustomerOrder.OrderStatus.CONFIRMED
+        && most.compareTo(CustomerOrder.OrderStatus.PROCESSING) >= 0) {
+      order.changeStatus(CustomerOrder.OrderStatus.PROCESSING, "Shop started processing", changedBy);
+    }
+    if (order.getStatus() == CustomerOrder.OrderStatus.PROCESSING
+        && least.compareTo(CustomerOrder.OrderStatus.SHIPPED) >= 0) {
+      order.changeStatus(CustomerOrder.OrderStatus.SHIPPED, "All shops shipped", changedBy);
+      order.setEstimatedDeliveryDate(LocalDate.now().plusDays(5));
+      inventoryService.fulfillOrderReservations(orderId);
+      publishEvent(order, OutboxEvent.EventType.ORDER_SHIPPED);
+    }
+    if ((order.getStatus() == CustomerOrder.OrderStatus.SHIPPED
+        || order.getStatus() == CustomerOrder.OrderStatus.OUT_FOR_DELIVERY)
+        && least == CustomerOrder.OrderStatus.DELIVERED && most == CustomerOrder.OrderStatus.DELIVERED) {
+      order.changeStatus(CustomerOrder.OrderStatus.DELIVERED, "All shops delivered", changedBy);
+      order.setActualDeliveryDate(LocalDate.now());
+    }
+    return orderRepository.save(order);
+  }
+
+  /**
+   * Lock an order row for the rest of the current transaction.
+   */
+  public CustomerOrder lockOrder(UUID orderId) {
+    return orderRepository.lockById(orderId)
+        .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+  }
+
   /**
    * Calculate customer lifetime value.
    */
@@ -412,7 +502,7 @@ public class CustomerOrderService {
    */
   @Transactional(readOnly = true)
   public BigDecimal getShopRevenue(Long shopId, Instant start, Instant end) {
-    BigDecimal total = orderRepository.calculateShopRevenue(shopId, start, end);
+    BigDecimal total = shopOrderRepository.calculateShopRevenue(shopId, start, end);
     return total != null ? total : BigDecimal.ZERO;
   }
 
@@ -431,11 +521,49 @@ public class CustomerOrderService {
         .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
   }
 
-  private String generateOrderNumber() {
-    String date = LocalDate.now().format(ORDER_DATE_FORMAT);
-    Long sequence = orderRepository.getNextOrderSequence();
-    // Format sequence as 6-digit number with leading zeros
-    String seqStr = String.format("%06d", sequence);
-    return "ORD-" + date + "-" + seqStr;
+  /**
+   * Cancel a claimed batch of stale orders in one transaction: items and stock
+   * reservations are updated set-based for the whole batch.
+   */
+  private int cancelClaimed(List<CustomerOrder> orders) {
+    if (orders.isEmpty()) {
+      return 0;
+    }
+    String reason = "Payment not completed in time";
+    for (CustomerOrder order : orders) {
+      order.changeStatus(CustomerOrder.OrderStatus.CANCELLED, reason, "system");
+      order.setCancellationReason(reason);
+      publishEvent(order, OutboxEvent.EventType.ORDER_CANCELLED);
+    }
+    List<UUID> orderIds = orders.stream().map(CustomerOrder::getOrderId).toList();
+    orderItemRepository.updateStatusForOrders(orderIds, CustomerOrderItem.ItemStatus.CANCELLED);
+    inventoryService.releaseOrdersReservations(orderIds);
+    redemptionService.releaseForOrders(orderIds);
+    cascadeToShopOrders(orderIds, CustomerOrder.OrderStatus.CANCELLED, CustomerOrder.OrderStatus.PENDING);
+    orderRepository.saveAll(orders);
+
+    log.info("Cancelled {} stale pending orders", orders.size());
+    return orders.size();
+  }
+
+  /**
+   * Move the orders' sub-orders that are still in one of the {@code from}
+   * statuses along with their parent, in one update.
+   */
+  private void cascadeToShopOrders(List<UUID> orderIds, CustomerOrder.OrderStatus to,
+      CustomerOrder.OrderStatus... from) {
+    shopOrderRepository.transitionForOrders(orderIds, List.of(from), to, Instant.now());
+  }
+
+  private void publishEvent(CustomerOrder order, OutboxEvent.EventType type) {
+    Map<String, Object> payload = new LinkedHashMap<>();
+    payload.put("orderId", order.getOrderId());
+    payload.put("orderNumber", order.getOrderNumber());
+    payload.put("customerId", order.getCustomerId());
+    payload.put("shopId", order.getShopId());
+    payload.put("status", order.getStatus());
+    payload.put("grandTotal", order.getGrandTotal());
+    payload.put("currency", order.getCurrency());
+    outboxService.publish("ORDER", order.getOrderId(), type, payload);
   }
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.service;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Renders the invoices of a whole month in the background.
+ *
+ * Orders are paged by id, a page of pending invoices is recorded at a time, and
+ * at most {@code invoice.month-end.parallelism} of them are with the renderer
+ * at once, so memory stays bounded however many orders the month has and
+ * on-demand invoices keep the rest of the render pool. One run at a time per
+ * node.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InvoiceMonthEndRunner {
+
+  private final InvoiceService invoiceService;
+  private final InvoiceRenderer renderer;
+
+  @Value("${invoice.month-end.enabled:true}")
+  private boolean enabled;
+
+  @Value("${invoice.month-end.parallelism:4}")
+  private int parallelism;
+
+  @Value("${invoice.month-end.page-size:200}")
+  private int pageSize;
+
+  private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "invoice-month-end");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private final AtomicReference<Run> current = new AtomicReference<>();
+
+  @PreDestroy
+  void stop() {
+    runner.shutdownNow();
+  }
+
+  /**
+   * Render last month's invoices.
+   */
+  @Scheduled(cron = "${invoice.month-end.cron:0 0 3 1 * *}")
+  public void runForLastMonth() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      start(YearMonth.now(ZoneOffset.UTC).minusMonths(1));
+    } catch (IllegalStateException e) {
+      log.warn("Month-end invoicing not started: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Start rendering every invoice of {@code month} that does not exist yet.
+   */
+  public MonthEndStatus start(YearMonth month) {
+    if (month == null || !month.isBefore(YearMonth.now(ZoneOffset.UTC).plusMonths(1))) {
+      throw new IllegalArgumentException("Month must not be in the future");
+    }
+    Run run = new Run(month, Instant.now());
+    Run previous = current.get();
+    if ((previous != null && previous.finishedAt == null) || !current.compareAndSet(previous, run)) {
+      throw new IllegalStateException("Month-end invoicing is already running");
+    }
+    runner.execute(() -> execute(run));
+    return run.status();
+  }
+
+  /**
+   * The current or last run, if any.
+   */
+  public MonthEndStatus status() {
+    Run run = current.get();
+    return run != null ? run.status() : null;
+  }
+
+  private void execute(Run run) {
+    Semaphore permits = new Semaphore(parallelism);
+    try {
+      UUID after = null;
+      List<UUID> page;
+      do {
+        page = invoiceService.findOrdersWithoutInvoice(run.month, after, pageSize);
+        if (page.isEmpty()) {
+          break;
+        }
+        after = page.get(page.size() - 1);
+        for (UUID orderId : invoiceService.createPendingInvoices(page)) {
+          permits.acquire();
+          run.queued.incrementAndGet();
+          // Busy pool or already queued: leave it to the pending sweep
+          if (!renderer.submit(orderId, () -> {
+            run.completed.incrementAndGet();
+            permits.release();
+          })) {
+            run.deferred.incrementAndGet();
+            permits.release();
+          }
+        }
+      } while (page.size() == pageSize);
+      permits.acquire(parallelism);
+      log.info("Month-end invoicing for {} queued {} invoices, {} deferred", run.month, run.queued.get(),
+          run.deferred.get());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      log.warn("Month-end invoicing for {} stopped after {} invoices", run.month, run.queued.get(), e);
+      run.error = e.getMessage();
+    } finally {
+      run.finishedAt = Instant.now();
+    }
+  }
+
+  private static final class Run {
+    private final YearMonth month;
+    private final Instant startedAt;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger deferred = new AtomicInteger();
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    Run(YearMonth month, Instant startedAt) {
+      this.month = month;
+      this.startedAt = startedAt;
+    }
+
+    MonthEndStatus status() {
+      return new MonthEndStatus(month, startedAt, finishedAt, queued.get(), completed.get(), deferred.get(), error);
+    }
+  }
+
+  /**
+   * Progress of a month-end run. Deferred invoices are pending and rendered by
+   * the periodic sweep.
+   */
+  public record MonthEndStatus(
+      YearMonth month,
+      Instant startedAt,
+      Instant finishedAt,
+      int queued,
+      int completed,
+      int deferred,
+      String error
+  ) {
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import com.xplaza.backend.order.domain.entity.CustomerOrder;
+import com.xplaza.backend.order.domain.entity.OrderInvoice;
+import com.xplaza.backend.order.domain.entity.OrderInvoice.InvoiceStatus;
+import com.xplaza.backend.order.domain.repository.CustomerOrderRepository;
+import com.xplaza.backend.order.domain.repository.OrderInvoiceRepository;
+
+/**
+ * Renders invoice PDFs off the request threads.
+ *
+ * A fixed pool with a bounded queue takes invoices by order id. Each render
+ * fills the {@code invoice} Thymeleaf template (the engine the emails use)
+ * inside a read-only transaction, lays it out to PDF outside of it, stores the
+ * PDF and marks the invoice rendered. When the queue is full the invoice stays
+ * pending and the periodic sweep in {@link InvoiceService} queues it again.
+ */
+@Component
+@Slf4j
+public class InvoiceRenderer {
+
+  private final CustomerOrderRepository orderRepository;
+  private final OrderInvoiceRepository invoiceRepository;
+  private final InvoiceStore invoiceStore;
+  private final TemplateEngine templateEngine;
+  private final TransactionTemplate transaction;
+
+  /** Render threads; 0 uses half the cores */
+  @Value("${invoice.renderer.threads:0}")
+  private int threads;
+
+  @Value("${invoice.renderer.queue-capacity:1000}")
+  private int queueCapacity;
+
+  @Value("${invoice.renderer.max-attempts:3}")
+  private int maxAttempts;
+
+  private final Set<UUID> queued = ConcurrentHashMap.newKeySet();
+  private ThreadPoolExecutor executor;
+
+  public InvoiceRenderer(CustomerOrderRepository orderRepository, OrderInvoiceRepository invoiceRepository,
+      InvoiceStore invoiceStore, TemplateEngine templateEngine, PlatformTransactionManager transactionManager) {
+    this.orderRepository = orderRepository;
+    this.invoiceRepository = invoiceRepository;
+    this.invoiceStore = invoiceStore;
+    this.templateEngine = templateEngine;
+    this.transaction = new TransactionTemplate(transactionManager);
+  }
+
+  @PostConstruct
+  void start() {
+    int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    AtomicInteger count = new AtomicInteger();
+    executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+        runnable -> {
+          Thread thread = new Thread(runnable, "invoice-renderer-" + count.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  @PreDestroy
+  void stop() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Queue an invoice for rendering; {@code onDone} runs once it is finished
+   * either way.
+   *
+   * @return false if the queue is full, or the invoice is already queued
+   */
+  public boolean submit(UUID orderId, Runnable onDone) {
+    if (!queued.add(orderId)) {
+      return false;
+    }
+    try {
+      executor.execute(() -> {
+        try {
+          render(orderId);
+        } finally {
+          queued.remove(orderId);
+          if (onDone != null) {
+            onDone.run();
+          }
+        }
+      });
+      return true;
+    } catch (RejectedExecutionException e) {
+      queued.remove(orderId);
+      return false;
+    }
+  }
+
+  private void render(UUID orderId) {
+    try {
+      Page page = transaction.execute(status -> {
+        OrderInvoice invoice = invoiceRepository.findById(orderId).orElse(null);
+        if (invoice == null || invoice.getStatus() != InvoiceStatus.PENDING) {
+          return null;
+        }
+        CustomerOrder order = orderRepository.findByIdWithItems(orderId)
+            .orElseThrow(() -> new IllegalStateException("Order not found: " + orderId));
+        Context context = new Context(Locale.ROOT);
+        context.setVariable("invoiceNumber", invoice.getInvoiceNumber());
+        context.setVariable("order", order);
+        context.setVariable("items", order.getItems());
+        context.setVariable("issuedOn", LocalDate.now(ZoneOffset.UTC));
+        LocalDate created = order.getCreatedAt().atZone(ZoneOffset.UTC).toLocalDate();
+        String key = String.format("invoices/%d/%02d/%s.pdf", created.getYear(), created.getMonthValue(),
+            invoice.getInvoiceNumber());
+        return new Page(key, templateEngine.process("invoice", context));
+      });
+      if (page == null) {
+        return;
+      }
+      byte[] pdf = toPdf(page.html());
+      invoiceStore.put(page.key(), pdf);
+      transaction.executeWithoutResult(status -> invoiceRepository.findById(orderId).ifPresent(invoice -> {
+        invoice.setStatus(InvoiceStatus.RENDERED);
+        invoice.setObjectKey(page.key());
+        invoice.setSizeBytes((long) pdf.length);
+        invoice.setRenderedAt(Instant.now());
+        invoice.setFailureReason(null);
+      }));
+    } catch (RuntimeException e) {
+      log.warn("Rendering invoice for order {} failed", orderId, e);
+      String reason = e.getMessage() != null && e.getMessage().length() > 500 ? e.getMessage().substring(0, 500)
+          : e.getMessage();
+      transaction.executeWithoutResult(status -> invoiceRepository.findById(orderId).ifPresent(invoice -> {
+        invoice.setAttempts(invoice.getAttempts() + 1);
+        invoice.setFailureReason(reason);
+        if (invoice.getAttempts() >= maxAttempts) {
+          invoice.setStatus(InvoiceStatus.FAILED);
+        }
+      }));
+    }
+  }
+
+  private static byte[] toPdf(String html) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+    try {
+      PdfRendererBuilder builder = new PdfRendererBuilder();
+      builder.useFastMode();
+      builder.withHtmlContent(html, null);
+      builder.toStream(out);
+      builder.run();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private record Page(String key, String html) {
+  }
+}
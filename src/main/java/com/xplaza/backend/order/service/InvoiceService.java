@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.xplaza.backend.order.domain.entity.CustomerOrder;
+import com.xplaza.backend.order.domain.entity.CustomerOrder.OrderStatus;
+import com.xplaza.backend.order.domain.entity.OrderInvoice;
+import com.xplaza.backend.order.domain.entity.OrderInvoice.InvoiceStatus;
+import com.xplaza.backend.order.domain.repository.CustomerOrderRepository;
+import com.xplaza.backend.order.domain.repository.OrderInvoiceRepository;
+
+/**
+ * Invoices of orders.
+ *
+ * Asking for an invoice never renders it on the request thread: the first
+ * request records it as pending and hands it to the {@link InvoiceRenderer}
+ * once the transaction commits; later requests get a signed download URL, which
+ * is cached and reused until half its lifetime has passed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class InvoiceService {
+
+  /** Orders that have no invoice */
+  static final Set<OrderStatus> NOT_INVOICED = EnumSet.of(OrderStatus.PENDING, OrderStatus.CANCELLED);
+
+  private static final UUID FIRST_ID = new UUID(0, 0);
+
+  private final CustomerOrderRepository orderRepository;
+  private final OrderInvoiceRepository invoiceRepository;
+  private final InvoiceRenderer renderer;
+  private final InvoiceStore invoiceStore;
+
+  @Value("${invoice.url-ttl-minutes:60}")
+  private long urlTtlMinutes;
+
+  @Value("${invoice.url-cache-size:10000}")
+  private int urlCacheSize;
+
+  private final Map<UUID, SignedUrl> urls = new ConcurrentHashMap<>();
+
+  /**
+   * An order's invoice: the download URL once rendered, otherwise its status. A
+   * missing invoice is queued; a failed one is queued again.
+   */
+  public InvoiceDownload getInvoice(UUID orderId) {
+    OrderInvoice invoice = invoiceRepository.findById(orderId).orElse(null);
+    if (invoice == null) {
+      CustomerOrder order = orderRepository.findById(orderId)
+          .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+      if (NOT_INVOICED.contains(order.getStatus())) {
+        throw new IllegalStateException("Order " + order.getOrderNumber() + " is " + order.getStatus()
+            + " and has no invoice");
+      }
+      invoice = invoiceRepository.save(newInvoice(order));
+      submitAfterCommit(orderId);
+    } else if (invoice.getStatus() == InvoiceStatus.FAILED) {
+      invoice.setStatus(InvoiceStatus.PENDING);
+      invoice.setAttempts(0);
+      invoice.setRequestedAt(Instant.now());
+      submitAfterCommit(orderId);
+    }
+    if (invoice.getStatus() != InvoiceStatus.RENDERED) {
+      return new InvoiceDownload(orderId, invoice.getInvoiceNumber(), invoice.getStatus(), null, null,
+          invoice.getFailureReason());
+    }
+    SignedUrl url = signedUrl(invoice);
+    return new InvoiceDownload(orderId, invoice.getInvoiceNumber(), invoice.getStatus(), url.url(), url.expiresAt(),
+        null);
+  }
+
+  /**
+   * Up to {@code limit} ids of orders created in {@code month} (UTC) that have no
+   * invoice yet, after {@code after} in id order.
+   */
+  @Transactional(readOnly = true)
+  public List<UUID> findOrdersWithoutInvoice(YearMonth month, UUID after, int limit) {
+    Instant from = month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    Instant to = month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    return invoiceRepository.findOrderIdsWithoutInvoice(from, to, NOT_INVOICED, after != null ? after : FIRST_ID,
+        Pageable.ofSize(limit));
+  }
+
+  /**
+   * Record pending invoices for the given orders, skipping those that have one.
+   * The caller submits them to the renderer.
+   *
+   * @return ids of the orders now pending an invoice
+   */
+  public List<UUID> createPendingInvoices(List<UUID> orderIds) {
+    Set<UUID> existing = new HashSet<>();
+    invoiceRepository.findAllById(orderIds).forEach(invoice -> existing.add(invoice.getOrderId()));
+    List<OrderInvoice> invoices = new ArrayList<>(orderIds.size());
+    for (CustomerOrder order : orderRepository.findAllById(orderIds)) {
+      if (!NOT_INVOICED.contains(order.getStatus()) && !existing.contains(order.getOrderId())) {
+        invoices.add(newInvoice(order));
+      }
+    }
+    return invoiceRepository.saveAll(invoices).stream().map(OrderInvoice::getOrderId).toList();
+  }
+
+  /**
+   * Queue invoices left pending for a minute or more, e.g. because the render
+   * queue was full or the node restarted.
+   */
+  @Scheduled(fixedDelayString = "${invoice.sweep-ms:60000}")
+  @Transactional(readOnly = true)
+  public void resubmitPending() {
+    List<UUID> pending = invoiceRepository.findPendingIds(Instant.now().minusSeconds(60), Pageable.ofSize(500));
+    int submitted = 0;
+    for (UUID orderId : pending) {
+      if (renderer.submit(orderId, null)) {
+        submitted++;
+      }
+    }
+    if (submitted > 0) {
+      log.info("Queued {} pending invoices", submitted);
+    }
+  }
+
+  private SignedUrl signedUrl(OrderInvoice invoice) {
+    Instant now = Instant.now();
+    SignedUrl cached = urls.get(invoice.getOrderId());
+    if (cached != null && now.isBefore(cached.refreshAt())) {
+      return cached;
+    }
+    Duration ttl = Duration.ofMinutes(urlTtlMinutes);
+    SignedUrl url = new SignedUrl(invoiceStore.signedUrl(invoice.getObjectKey(), ttl), now.plus(ttl),
+        now.plus(ttl.dividedBy(2)));
+    if (urls.size() >= urlCacheSize) {
+      urls.values().removeIf(u -> !now.isBefore(u.refreshAt()));
+      if (urls.size() >= urlCacheSize) {
+        urls.clear();
+      }
+    }
+    urls.put(invoice.getOrderId(), url);
+    return url;
+  }
+
+  private void submitAfterCommit(UUID orderId) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          renderer.submit(orderId, null);
+        }
+      });
+    } else {
+      renderer.submit(orderId, null);
+    }
+  }
+
+  private static OrderInvoice newInvoice(CustomerOrder order) {
+    return OrderInvoice.builder()
+        .orderId(order.getOrderId())
+        .invoiceNumber("INV-" + order.getOrderNumber())
+        .build();
+  }
+
+  private record SignedUrl(String url, Instant expiresAt, Instant refreshAt) {
+  }
+
+  /** An invoice's status, with a download URL once rendered. */
+  public record InvoiceDownload(
+      UUID orderId,
+      String invoiceNumber,
+      InvoiceStatus status,
+      String url,
+      Instant urlExpiresAt,
+      String failureReason
+  ) {
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.service;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+
+import io.minio.BucketExistsArgs;
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.http.Method;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.xplaza.backend.exception.FileStorageException;
+
+/**
+ * Object storage for invoice PDFs.
+ */
+@Component
+public class InvoiceStore {
+
+  private final MinioClient minioClient;
+
+  @Value("${invoice.bucket:xplaza-invoices}")
+  private String bucket;
+
+  private volatile boolean bucketReady;
+
+  public InvoiceStore(MinioClient minioClient) {
+    this.minioClient = minioClient;
+  }
+
+  /**
+   * Write an invoice PDF.
+   */
+  public void put(String key, byte[] pdf) {
+    try {
+      ensureBucket();
+      minioClient.putObject(PutObjectArgs.builder()
+          .bucket(bucket)
+          .object(key)
+          .stream(new ByteArrayInputStream(pdf), pdf.length, -1)
+          .contentType("application/pdf")
+          .build());
+    } catch (Exception e) {
+      throw new FileStorageException("Error writing invoice " + key, e);
+    }
+  }
+
+  /**
+   * A signed download URL for an invoice, valid for {@code ttl}.
+   */
+  public String signedUrl(String key, Duration ttl) {
+    try {
+      return minioClient.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+          .method(Method.GET)
+          .bucket(bucket)
+          .object(key)
+          .expiry((int) ttl.toSeconds())
+          .build());
+    } catch (Exception e) {
+      throw new FileStorageException("Error signing invoice URL " + key, e);
+    }
+  }
+
+  private void ensureBucket() throws Exception {
+    if (bucketReady) {
+      return;
+    }
+    if (!minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucket).build())) {
+      minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucket).build());
+    }
+    bucketReady = true;
+  }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.xplaza.backend.order.domain.entity.ArchivedOrder;
+import com.xplaza.backend.order.domain.entity.CustomerOrder;
+import com.xplaza.backend.order.domain.entity.CustomerOrderItem;
+import com.xplaza.backend.order.domain.entity.OrderStatusHistory;
+import com.xplaza.backend.order.domain.repository.ArchivedOrderRepository;
+
+/**
+ * Moves closed orders out of the hot tables into object storage.
+ *
+ * Each order becomes one NDJSON document holding its row and its related rows
+ * (items, status history, sub-orders, payments, refunds, shipments and returns,
+ * with their own items and tracking events), each cut to an explicit list of
+ * columns so no payment, risk or device data is kept. Documents are written as
+ * one gzip member each, concatenated into one object per creation month and
+ * batch, so the object is an ordinary gzipped NDJSON file and a single order
+ * can still be fetched with a ranged read. The object is written first; the
+ * index rows and the deletes of the hot rows commit together afterwards.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class OrderArchiveService {
+
+  private static final int IN_CHUNK = 1000;
+
+  private static final List<String> CLOSED_STATUSES = List.of("DELIVERED", "CANCELLED", "RETURNED",
+      "PARTIALLY_RETURNED");
+
+  /** Columns of the order row kept in the archive; the same as a live order. */
+  private static final String ORDER_COLUMNS = "order_id, order_number, customer_id, shop_id, cart_id, status, "
+      + "subtotal, discount_amount, shipping_cost, tax_amount, grand_total, currency, shipping_address_id, "
+      + "shipping_first_name, shipping_last_name, shipping_phone, shipping_address_line1, shipping_address_line2, "
+      + "shipping_city, shipping_state, shipping_postal_code, shipping_country_code, shipping_instructions, "
+      + "billing_address_id, billing_same_as_shipping, requested_delivery_date, delivery_slot_start, "
+      + "delivery_slot_end, estimated_delivery_date, actual_delivery_date, payment_type_id, payment_method, "
+      + "payment_status, payment_transaction_id, coupon_id, coupon_code, coupon_discount_amount, customer_notes, "
+      + "internal_notes, placed_at, confirmed_at, shipped_at, delivered_at, cancelled_at, cancellation_reason, "
+      + "created_at, updated_at";
+
+  /**
+   * Rows archived with an order; children are keyed by their parent's id. Only
+   * the listed columns are kept: payments drop the card holder, billing, risk,
+   * device and gateway response columns, and tracking events the raw carrier
+   * payload.
+   */
+  private static final List<Part> PARTS = List.of(
+      new Part("items", "customer_order_items", "order_id", "order_item_id",
+          "order_item_id, order_id, product_id, variant_id, shop_id, shop_order_id, product_name, variant_name, "
+          + "sku, product_image_url, category_name, quantity, unit_price, cost_price, discount_amount, tax_amount, "
+          + "total_price, status, quantity_shipped, quantity_returned, quantity_refunded, notes, created_at, "
+          + "updated_at"),
+      new Part("statusHistory", "customer_order_status_history", "order_id", "history_id",
+          "history_id, order_id, previous_status, new_status, reason, changed_by, changed_at"),
+      new Part("shopOrders", "shop_orders", "order_id", "shop_order_id",
+          "shop_order_id, order_id, sub_order_number, shop_id, customer_id, status, item_count, subtotal, "
+          + "discount_amount, shipping_cost, tax_amount, grand_total, currency, carrier, tracking_number, "
+          + "shipped_at, delivered_at, cancelled_at, created_at, updated_at"),
+      new Part("payments", "payment_transactions", "order_id", "transaction_id",
+          "transaction_id, order_id, customer_id, type, status, amount, currency, gateway, gateway_transaction_id, "
+          + "payment_method_type, card_brand, card_last4, parent_transaction_id, processed_at, created_at, updated_at"),
+      new Part("refunds", "refunds", "order_id", "refund_id",
+          "refund_id, order_id, transaction_id, status, type, items_amount, shipping_amount, tax_amount, "
+          + "total_amount, currency, reason, reason_detail, requested_by, requested_by_type, approved_by, "
+          + "gateway_refund_id, approved_at, processed_at, created_at, updated_at",
+          new Part("items", "refund_items", "refund_id", "refund_item_id",
+              "refund_item_id, refund_id, order_item_id, product_id, variant_id, product_name, quantity, "
+              + "unit_price, amount, condition_at_return, notes, created_at")),
+      new Part("shipments", "shipments", "order_id", "shipment_id",
+          "shipment_id, order_id, carrier_id, warehouse_id, tracking_number, tracking_url, status, "
+          + "shipping_method, shipping_cost, insurance_cost, currency, weight, weight_unit, length, width, height, "
+          + "dimension_unit, recipient_name, recipient_phone, address_line1, address_line2, city, state, "
+          + "postal_code, country_code, delivery_instructions, signature_required, insured, estimated_delivery_date, "
+          + "shipped_at, delivered_at, created_at, updated_at",
+          new Part("items", "shipment_items", "shipment_id", "shipment_item_id",
+              "shipment_item_id, shipment_id, order_item_id, product_id, variant_id, sku, product_name, quantity, "
+              + "weight, weight_unit, bin_location, serial_numbers, created_at"),
+          new Part("trackingEvents", "shipment_tracking_events", "shipment_id", "event_id",
+              "event_id, shipment_id, event_code, status, description, location, city, state, country_code, "
+              + "postal_code, event_time, carrier_timestamp, created_at")),
+      new Part("returns", "returns", "order_id", "return_id",
+          "return_id, rma_number, order_id, customer_id, status, type, reason, reason_detail, resolution, "
+          + "return_label_url, return_tracking_number, return_carrier, return_address_line1, return_address_line2, "
+          + "return_city, return_state, return_postal_code, return_country_code, approved_by, customer_notes, "
+          + "exchange_order_id, store_credit_code, expires_at, shipped_at, received_at, inspected_at, completed_at, "
+          + "created_at, updated_at",
+          new Part("items", "return_items", "return_id", "return_item_id",
+              "return_item_id, return_id, order_item_id, product_id, variant_id, product_name, quantity, "
+              + "unit_price, total_price, received_condition, inspection_result, inspection_notes, "
+              + "exchange_product_id, exchange_variant_id, created_at")));
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+  private final OrderArchiveStore archiveStore;
+  private final ArchivedOrderRepository archivedOrderRepository;
+
+  /** Reads archived rows, keyed by column name, into entities. */
+  private ObjectMapper rowMapper;
+
+  @Value("${spring.jpa.properties.hibernate.default_schema:}")
+  private String defaultSchema;
+
+  /**
+   * Archive up to {@code limit} orders closed before the cutoff, oldest first.
+   * Orders with a refund still open are left in place.
+   *
+   * @return number of orders archived
+   */
+  public int archiveBatch(Instant cutoff, int limit) {
+    List<Map<String, Object>> orders = new ArrayList<>();
+    jdbcTemplate.query("SELECT " + ORDER_COLUMNS + " FROM " + table("customer_orders") + " o WHERE o.status IN ("
+        + placeholders(CLOSED_STATUSES.size()) + ") AND COALESCE(o.delivered_at, o.cancelled_at, o.updated_at) < ? "
+        + "AND NOT EXISTS (SELECT 1 FROM " + table("refunds") + " r WHERE r.order_id = o.order_id "
+        + "AND r.status IN ('PENDING', 'APPROVED', 'PROCESSING')) "
+        + "ORDER BY o.created_at LIMIT " + limit + " FOR UPDATE", rs -> {
+          orders.add(row(rs));
+        }, args(CLOSED_STATUSES, Timestamp.from(cutoff)));
+    if (orders.isEmpty()) {
+      return 0;
+    }
+    List<Object> orderIds = orders.stream().map(o -> o.get("order_id")).toList();
+
+    Map<Object, Map<String, List<Map<String, Object>>>> related = new LinkedHashMap<>();
+    for (Part part : PARTS) {
+      load(part, orderIds).forEach((orderId, rows) -> related
+          .computeIfAbsent(orderId, id -> new LinkedHashMap<>()).put(part.name(), rows));
+    }
+
+    // One object per creation month
+    Map<YearMonth, List<Map<String, Object>>> byMonth = new TreeMap<>();
+    for (Map<String, Object> order : orders) {
+      Instant createdAt = (Instant) order.get("created_at");
+      byMonth.computeIfAbsent(YearMonth.from(createdAt.atZone(ZoneOffset.UTC)), m -> new ArrayList<>()).add(order);
+    }
+    Instant now = Instant.now();
+    List<Object[]> index = new ArrayList<>(orders.size());
+    for (Map.Entry<YearMonth, List<Map<String, Object>>> month : byMonth.entrySet()) {
+      List<Map<String, Object>> monthOrders = month.getValue();
+      String key = String.format("orders/%d/%02d/%d-%s.ndjson.gz", month.getKey().getYear(),
+          month.getKey().getMonthValue(), now.toEpochMilli(), monthOrders.get(0).get("order_id"));
+      ByteArrayOutputStream content = new ByteArrayOutputStream();
+      for (Map<String, Object> order : monthOrders) {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("order", order);
+        document.putAll(related.getOrDefault(order.get("order_id"), Map.of()));
+        long offset = content.size();
+        writeMember(content, document);
+        index.add(new Object[] { order.get("order_id"), order.get("order_number"), order.get("customer_id"),
+            Timestamp.from((Instant) order.get("created_at")), key, offset, content.size() - (int) offset,
+            Timestamp.from(now) });
+      }
+      archiveStore.put(key, content.toByteArray());
+    }
+
+    jdbcTemplate.batchUpdate("INSERT INTO " + table("archived_orders")
+        + " (order_id, order_number, customer_id, created_at, object_key, member_offset, member_length, archived_at)"
+        + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)", index);
+    // Reverse order: refunds, shipments and returns may point at items and payments
+    for (Part part : PARTS.reversed()) {
+      delete(part, orderIds);
+    }
+    // Reviews outlive the order; they keep their verified purchase flag
+    inChunks(orderIds, (chunk, in) -> jdbcTemplate.update("UPDATE " + table("reviews")
+        + " SET order_id = NULL WHERE order_id IN (" + in + ")", chunk.toArray()));
+    inChunks(orderIds, (chunk, in) -> jdbcTemplate.update("DELETE FROM " + table("customer_orders")
+        + " WHERE order_id IN (" + in + ")", chunk.toArray()));
+
+    log.info("Archived {} orders closed before {} into {} objects", orders.size(), cutoff, byMonth.size());
+    return orders.size();
+  }
+
+  @PostConstruct
+  void init() {
+    rowMapper = objectMapper.copy()
+        .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+  }
+
+  /**
+   * Read an archived order by id, with its items and status history, in the same
+   * shape as a live order. The other archived rows stay in the archive.
+   */
+  @Transactional(readOnly = true)
+  public Optional<CustomerOrder> findArchived(UUID orderId) {
+    return archivedOrderRepository.findById(orderId).map(this::read);
+  }
+
+  private CustomerOrder read(ArchivedOrder archived) {
+    byte[] member = archiveStore.read(archived.getObjectKey(), archived.getMemberOffset(),
+        archived.getMemberLength());
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(member))) {
+      JsonNode document = objectMapper.readTree(in);
+      CustomerOrder order = rowMapper.treeToValue(document.get("order"), CustomerOrder.class);
+      order.setItems(new ArrayList<>());
+      for (JsonNode row : document.path("items")) {
+        CustomerOrderItem item = rowMapper.treeToValue(row, CustomerOrderItem.class);
+        item.setOrder(order);
+        order.getItems().add(item);
+      }
+      order.setStatusHistory(new ArrayList<>());
+      for (JsonNode row : document.path("statusHistory")) {
+        OrderStatusHistory history = rowMapper.treeToValue(row, OrderStatusHistory.class);
+        history.setOrder(order);
+        order.getStatusHistory().add(history);
+      }
+      return order;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Rows of a part for the given parent ids, grouped by parent id, each with its
+   * own child parts nested under their names.
+   */
+  private Map<Object, List<Map<String, Object>>> load(Part part, List<Object> parentIds) {
+    List<Map<String, Object>> rows = new ArrayList<>();
+    inChunks(parentIds, (chunk, in) -> jdbcTemplate.query("SELECT " + part.columns() + " FROM " + table(part.table())
+        + " WHERE " + part.parentColumn() + " IN (" + in + ")", rs -> {
+          rows.add(row(rs));
+        }, chunk.toArray()));
+    if (!rows.isEmpty()) {
+      List<Object> ids = rows.stream().map(r -> r.get(part.idColumn())).toList();
+      for (Part child : part.children()) {
+        Map<Object, List<Map<String, Object>>> children = load(child, ids);
+        for (Map<String, Object> row : rows) {
+          row.put(child.name(), children.getOrDefault(row.get(part.idColumn()), List.of()));
+        }
+      }
+    }
+    Map<Object, List<Map<String, Object>>> grouped = new LinkedHashMap<>();
+    for (Map<String, Object> row : rows) {
+      grouped.computeIfAbsent(row.get(part.parentColumn()), id -> new ArrayList<>()).add(row);
+    }
+    return grouped;
+  }
+
+  /**
+   * Delete a part's rows for the given parent ids, children first.
+   */
+  private void delete(Part part, List<Object> parentIds) {
+    if (part.children().length > 0) {
+      List<Object> ids = new ArrayList<>();
+      inChunks(parentIds, (chunk, in) -> ids.addAll(jdbcTemplate.queryForList("SELECT " + part.idColumn()
+          + " FROM " + table(part.table()) + " WHERE " + part.parentColumn() + " IN (" + in + ")", Object.class,
+          chunk.toArray())));
+      if (!ids.isEmpty()) {
+        for (Part child : part.children()) {
+          delete(child, ids);
+        }
+      }
+    }
+    inChunks(parentIds, (chunk, in) -> jdbcTemplate.update("DELETE FROM " + table(part.table()) + " WHERE "
+        + part.parentColumn() + " IN (" + in + ")", chunk.toArray()));
+  }
+
+  private void writeMember(ByteArrayOutputStream content, Map<String, Object> document) {
+    try {
+      // finish(), not close(): the next member goes into the same stream
+      GZIPOutputStream gzip = new GZIPOutputStream(content);
+      gzip.write(objectMapper.writeValueAsBytes(document));
+      gzip.write('\n');
+      gzip.finish();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Column values by lower-case column name; timestamps become instants so they
+   * keep their full precision in the JSON, and dates and times their java.time
+   * types.
+   */
+  private static Map<String, Object> row(ResultSet rs) throws SQLException {
+    ResultSetMetaData meta = rs.getMetaData();
+    Map<String, Object> row = new LinkedHashMap<>();
+    for (int i = 1; i <= meta.getColumnCount(); i++) {
+      Object value = rs.getObject(i);
+      row.put(meta.getColumnLabel(i).toLowerCase(Locale.ROOT), switch (value) {
+        case Timestamp timestamp -> timestamp.toInstant();
+        case Date date -> date.toLocalDate();
+        case Time time -> time.toLocalTime();
+        case null, default -> value;
+      });
+    }
+    return row;
+  }
+
+  private void inChunks(List<Object> ids, ChunkAction action) {
+    for (int from = 0; from < ids.size(); from += IN_CHUNK) {
+      List<Object> chunk = ids.subList(from, Math.min(ids.size(), from + IN_CHUNK));
+      action.run(chunk, placeholders(chunk.size()));
+    }
+  }
+
+  private static Object[] args(Collection<?> values, Object last) {
+    List<Object> args = new ArrayList<>(values);
+    args.add(last);
+    return args.toArray();
+  }
+
+  private static String placeholders(int count) {
+    return String.join(", ", Collections.nCopies(count, "?"));
+  }
+
+  private String table(String name) {
+    return defaultSchema == null || defaultSchema.isBlank() ? name : defaultSchema + "." + name;
+  }
+
+  private record Part(String name, String table, String parentColumn, String idColumn, String columns,
+      Part... children) {
+  }
+
+  @FunctionalInterface
+  private interface ChunkAction {
+    void run(List<Object> chunk, String placeholders);
+  }
+}
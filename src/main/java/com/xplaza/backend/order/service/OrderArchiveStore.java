@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import io.minio.BucketExistsArgs;
+import io.minio.GetObjectArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.xplaza.backend.exception.FileStorageException;
+
+/**
+ * Object storage for order archive files.
+ */
+@Component
+public class OrderArchiveStore {
+
+  private final MinioClient minioClient;
+
+  @Value("${order.archive.bucket:xplaza-order-archive}")
+  private String bucket;
+
+  private volatile boolean bucketReady;
+
+  public OrderArchiveStore(MinioClient minioClient) {
+    this.minioClient = minioClient;
+  }
+
+  /**
+   * Write an archive object.
+   */
+  public void put(String key, byte[] content) {
+    try {
+      ensureBucket();
+      minioClient.putObject(PutObjectArgs.builder()
+          .bucket(bucket)
+          .object(key)
+          .stream(new ByteArrayInputStream(content), content.length, -1)
+          .contentType("application/gzip")
+          .build());
+    } catch (Exception e) {
+      throw new FileStorageException("Error writing order archive " + key, e);
+    }
+  }
+
+  /**
+   * Read {@code length} bytes of an archive object from {@code offset}.
+   */
+  public byte[] read(String key, long offset, long length) {
+    try (InputStream in = minioClient.getObject(GetObjectArgs.builder()
+        .bucket(bucket)
+        .object(key)
+        .offset(offset)
+        .length(length)
+        .build())) {
+      return in.readAllBytes();
+    } catch (Exception e) {
+      throw new FileStorageException("Error reading order archive " + key, e);
+    }
+  }
+
+  private void ensureBucket() throws Exception {
+    if (bucketReady) {
+      return;
+    }
+    if (!minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucket).build())) {
+      minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucket).build());
+    }
+    bucketReady = true;
+  }
+}
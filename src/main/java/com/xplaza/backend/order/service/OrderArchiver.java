@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves orders closed longer than the retention window to cold storage. Each
+ * batch commits on its own so the order tables are never locked for long.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderArchiver {
+
+  private final OrderArchiveService archiveService;
+
+  @Value("${order.archive.enabled:true}")
+  private boolean enabled;
+
+  @Value("${order.archive.retention-days:365}")
+  private int retentionDays;
+
+  @Value("${order.archive.batch-size:500}")
+  private int batchSize;
+
+  /**
+   * Archive every order closed more than {@code retention-days} ago.
+   */
+  @Scheduled(cron = "${order.archive.cron:0 45 3 * * *}")
+  public void archive() {
+    if (!enabled) {
+      return;
+    }
+    Instant cutoff = Instant.now().minus(Duration.ofDays(retentionDays));
+    int total = 0;
+    try {
+      int count;
+      do {
+        count = archiveService.archiveBatch(cutoff, batchSize);
+        total += count;
+      } while (count >= batchSize);
+    } catch (RuntimeException e) {
+      log.warn("Order archival stopped after {} orders, resuming next run", total, e);
+      return;
+    }
+    if (total > 0) {
+      log.info("Archived {} orders closed before {}", total, cutoff);
+    }
+  }
+}
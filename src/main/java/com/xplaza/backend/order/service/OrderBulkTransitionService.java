@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.service;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.xplaza.backend.inventory.service.InventoryService;
+import com.xplaza.backend.order.domain.entity.CustomerOrder.OrderStatus;
+import com.xplaza.backend.order.domain.entity.CustomerOrderItem;
+import com.xplaza.backend.order.domain.repository.CustomerOrderItemRepository;
+import com.xplaza.backend.order.domain.repository.ShopOrderRepository;
+import com.xplaza.backend.outbox.domain.entity.OutboxEvent;
+import com.xplaza.backend.outbox.service.OutboxService;
+
+/**
+ * Moves many orders through a fulfillment step at once.
+ *
+ * The orders are read and locked with one query per chunk of ids, checked
+ * against the allowed transitions, and the ones that may move are updated
+ * set-based; their status history rows are written as one JDBC batch and their
+ * outbox events are flushed in Hibernate's insert batches. Side effects the
+ * single-order methods of {@link CustomerOrderService} have (sub-orders, items,
+ * stock) are applied once for the whole set. Orders that cannot move are
+ * reported back instead of failing the rest.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class OrderBulkTransitionService {
+
+  private static final int CHUNK = 500;
+
+  /** Statuses each bulk target may be reached from. */
+  private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+  static {
+    TRANSITIONS.put(OrderStatus.PROCESSING, EnumSet.of(OrderStatus.CONFIRMED));
+    TRANSITIONS.put(OrderStatus.SHIPPED, EnumSet.of(OrderStatus.PROCESSING));
+    TRANSITIONS.put(OrderStatus.OUT_FOR_DELIVERY, EnumSet.of(OrderStatus.SHIPPED));
+    TRANSITIONS.put(OrderStatus.DELIVERED, EnumSet.of(OrderStatus.SHIPPED, OrderStatus.OUT_FOR_DELIVERY));
+  }
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ShopOrderRepository shopOrderRepository;
+  private final CustomerOrderItemRepository orderItemRepository;
+  private final InventoryService inventoryService;
+  private final OutboxService outboxService;
+
+  @Value("${order.bulk.max-orders:1000}")
+  private int maxOrders;
+
+  @Value("${spring.jpa.properties.hibernate.default_schema:}")
+  private String defaultSchema;
+
+  /**
+   * Move the given orders to {@code target}.
+   */
+  public BulkTransitionResult transition(Collection<UUID> orderIds, OrderStatus target, String reason,
+      String changedBy) {
+    Set<OrderStatus> from = TRANSITIONS.get(target);
+    if (from == null) {
+      throw new IllegalArgumentException("Bulk transition to " + target + " is not supported; allowed: "
+          + TRANSITIONS.keySet());
+    }
+    Set<UUID> ids = orderIds == null ? Set.of() : new LinkedHashSet<>(orderIds);
+    ids.remove(null);
+    if (ids.isEmpty() || ids.size() > maxOrders) {
+      throw new IllegalArgumentException("Between 1 and " + maxOrders + " order ids are required");
+    }
+    if (reason != null && reason.length() > 500) {
+      throw new IllegalArgumentException("Reason must be at most 500 characters");
+    }
+
+    Map<UUID, LockedOrder> orders = lock(new ArrayList<>(ids));
+    List<LockedOrder> moving = new ArrayList<>(orders.size());
+    List<Failure> failures = new ArrayList<>();
+    for (UUID id : ids) {
+      LockedOrder order = orders.get(id);
+      if (order == null) {
+        failures.add(new Failure(id, "Order not found"));
+      } else if (!from.contains(order.status())) {
+        failures.add(new Failure(id, "Order cannot move from " + order.status() + " to " + target));
+      } else {
+        moving.add(order);
+      }
+    }
+
+    if (!moving.isEmpty()) {
+      apply(moving, target, from, reason != null ? reason : defaultReason(target), changedBy);
+    }
+    log.info("Bulk moved {} of {} orders to {} ({} failed)", moving.size(), ids.size(), target, failures.size());
+    return new BulkTransitionResult(target, ids.size(), moving.size(), failures);
+  }
+
+  private void apply(List<LockedOrder> orders, OrderStatus target, Set<OrderStatus> from, String reason,
+      String changedBy) {
+    Instant now = Instant.now();
+    LocalDate today = LocalDate.now();
+    List<UUID> ids = orders.stream().map(LockedOrder::orderId).toList();
+
+    StringBuilder set = new StringBuilder("status = ?, updated_at = ?");
+    List<Object> setArgs = new ArrayList<>(List.of(target.name(), Timestamp.from(now)));
+    switch (target) {
+    case SHIPPED -> {
+      set.append(", shipped_at = ?, estimated_delivery_date = ?");
+      setArgs.addAll(List.of(Timestamp.from(now), Date.valueOf(today.plusDays(5))));
+    }
+    case OUT_FOR_DELIVERY -> {
+      set.append(", estimated_delivery_date = ?");
+      setArgs.add(Date.valueOf(today));
+    }
+    case DELIVERED -> {
+      set.append(", delivered_at = ?, actual_delivery_date = ?");
+      setArgs.addAll(List.of(Timestamp.from(now), Date.valueOf(today)));
+    }
+    default -> {
+    }
+    }
+    for (List<UUID> chunk : chunks(ids)) {
+      List<Object> args = new ArrayList<>(setArgs);
+      args.addAll(chunk);
+      from.forEach(status -> args.add(status.name()));
+      jdbcTemplate.update("UPDATE " + table("customer_orders") + " SET " + set
+          + " WHERE order_id IN (" + placeholders(chunk.size()) + ") AND status IN ("
+          + placeholders(from.size()) + ")", args.toArray());
+    }
+
+    List<Object[]> history = new ArrayList<>(orders.size());
+    for (LockedOrder order : orders) {
+      history.add(new Object[] { UUID.randomUUID(), order.orderId(), order.status().name(), target.name(), reason,
+          changedBy, Timestamp.from(now) });
+    }
+    jdbcTemplate.batchUpdate("INSERT INTO " + table("customer_order_status_history")
+        + " (history_id, order_id, previous_status, new_status, reason, changed_by, changed_at)"
+        + " VALUES (?, ?, ?, ?, ?, ?, ?)", history);
+
+    // Same side effects as the single-order steps, once for the whole set
+    switch (target) {
+    case SHIPPED -> {
+      inventoryService.fulfillOrdersReservations(ids);
+      shopOrderRepository.transitionForOrders(ids, List.of(OrderStatus.PENDING, OrderStatus.CONFIRMED,
+          OrderStatus.PROCESSING), OrderStatus.SHIPPED, now);
+      orders.forEach(this::publishShipped);
+    }
+    case OUT_FOR_DELIVERY -> shopOrderRepository.transitionForOrders(ids, List.of(OrderStatus.SHIPPED),
+        OrderStatus.OUT_FOR_DELIVERY, now);
+    case DELIVERED -> {
+      orderItemRepository.updateStatusForOrders(ids, CustomerOrderItem.ItemStatus.DELIVERED);
+      shopOrderRepository.transitionForOrders(ids, List.of(OrderStatus.PENDING, OrderStatus.CONFIRMED,
+          OrderStatus.PROCESSING, OrderStatus.SHIPPED, OrderStatus.OUT_FOR_DELIVERY), OrderStatus.DELIVERED, now);
+    }
+    default -> {
+    }
+    }
+  }
+
+  /**
+   * Read and row-lock the orders, one query per chunk of ids.
+   */
+  private Map<UUID, LockedOrder> lock(List<UUID> ids) {
+    Map<UUID, LockedOrder> orders = new LinkedHashMap<>();
+    for (List<UUID> chunk : chunks(ids)) {
+      jdbcTemplate.query("SELECT order_id, order_number, customer_id, shop_id, status, grand_total, currency FROM "
+          + table("customer_orders") + " WHERE order_id IN (" + placeholders(chunk.size()) + ") FOR UPDATE",
+          rs -> {
+            UUID id = rs.getObject("order_id", UUID.class);
+            orders.put(id, new LockedOrder(id, rs.getString("order_number"), rs.getObject("customer_id", Long.class),
+                rs.getObject("shop_id", Long.class), OrderStatus.valueOf(rs.getString("status")),
+                rs.getBigDecimal("grand_total"), rs.getString("currency")));
+          }, chunk.toArray());
+    }
+    return orders;
+  }
+
+  private void publishShipped(LockedOrder order) {
+    Map<String, Object> payload = new LinkedHashMap<>();
+    payload.put("orderId", order.orderId());
+    payload.put("orderNumber", order.orderNumber());
+    payload.put("customerId", order.customerId());
+    payload.put("shopId", order.shopId());
+    payload.put("status", OrderStatus.SHIPPED);
+    payload.put("grandTotal", order.grandTotal());
+    payload.put("currency", order.currency());
+    outboxService.publish("ORDER", order.orderId(), OutboxEvent.EventType.ORDER_SHIPPED, payload);
+  }
+
+  private static String defaultReason(OrderStatus target) {
+    return switch (target) {
+    case PROCESSING -> "Started processing";
+    case SHIPPED -> "Shipped";
+    case OUT_FOR_DELIVERY -> "Out for delivery";
+    case DELIVERED -> "Delivered";
+    default -> "Bulk status change";
+    };
+  }
+
+  private static List<List<UUID>> chunks(List<UUID> ids) {
+    if (ids.size() <= CHUNK) {
+      return Collections.singletonList(ids);
+    }
+    List<List<UUID>> chunks = new ArrayList<>();
+    for (int from = 0; from < ids.size(); from += CHUNK) {
+      chunks.add(ids.subList(from, Math.min(ids.size(), from + CHUNK)));
+    }
+    return chunks;
+  }
+
+  private static String placeholders(int count) {
+    return String.join(", ", Collections.nCopies(count, "?"));
+  }
+
+  private String table(String name) {
+    return defaultSchema == null || defaultSchema.isBlank() ? name : defaultSchema + "." + name;
+  }
+
+  private record LockedOrder(UUID orderId, String orderNumber, Long customerId, Long shopId, OrderStatus status,
+      BigDecimal grandTotal, String currency) {
+  }
+
+  /** An order that was left as it was, and why. */
+  public record Failure(UUID orderId, String reason) {
+  }
+
+  /** Outcome of a bulk transition. */
+  public record BulkTransitionResult(OrderStatus target, int requested, int transitioned, List<Failure> failures) {
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in an order listing: the creation time and id of the last row
+ * returned. Handed to clients as an opaque URL-safe string.
+ */
+public record OrderCursor(Instant createdAt, UUID id) {
+
+  /** Position before the newest row, used when no cursor is given. */
+  static final OrderCursor START = new OrderCursor(Instant.parse("9999-12-31T00:00:00Z"), new UUID(-1L, -1L));
+
+  public String encode() {
+    String raw = createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Parse a cursor from a previous page, or the start position if none is given.
+   */
+  public static OrderCursor decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return START;
+    }
+    try {
+      String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+      if (parts.length != 3) {
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+      }
+      return new OrderCursor(Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])),
+          UUID.fromString(parts[2]));
+    } catch (IllegalArgumentException | DateTimeException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+    }
+  }
+}
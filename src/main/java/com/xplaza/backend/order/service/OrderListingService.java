@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.service;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.xplaza.backend.order.domain.entity.CustomerOrder;
+import com.xplaza.backend.order.domain.repository.CustomerOrderItemRepository;
+import com.xplaza.backend.order.domain.repository.CustomerOrderRepository;
+import com.xplaza.backend.order.domain.repository.ShopOrderRepository;
+import com.xplaza.backend.order.dto.response.OrderLineSummary;
+import com.xplaza.backend.order.dto.response.OrderListPage;
+import com.xplaza.backend.order.dto.response.OrderSummary;
+import com.xplaza.backend.order.dto.response.ShopOrderSummary;
+
+/**
+ * Lists orders and sub-orders a page at a time.
+ *
+ * Pages are read with keyset cursors on (created_at, id), so deep pages cost
+ * the same as the first and no count query runs. Rows are summary projections;
+ * when asked for, the line items of a page are fetched in one extra query. Page
+ * size is capped, so every response is bounded.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OrderListingService {
+
+  private final CustomerOrderRepository orderRepository;
+  private final ShopOrderRepository shopOrderRepository;
+  private final CustomerOrderItemRepository orderItemRepository;
+
+  @Value("${order.listing.max-page-size:100}")
+  private int maxPageSize;
+
+  /**
+   * A customer's orders, newest first.
+   */
+  public OrderListPage<OrderSummary> getCustomerOrders(Long customerId, String cursor, int limit, boolean items) {
+    OrderCursor from = OrderCursor.decode(cursor);
+    int size = pageSize(limit);
+    return orderPage(orderRepository.findSummariesByCustomer(customerId, from.createdAt(), from.id(),
+        Pageable.ofSize(size + 1)), size, items);
+  }
+
+  /**
+   * Orders in a status, newest first.
+   */
+  public OrderListPage<OrderSummary> getOrdersByStatus(CustomerOrder.OrderStatus status, String cursor, int limit,
+      boolean items) {
+    OrderCursor from = OrderCursor.decode(cursor);
+    int size = pageSize(limit);
+    return orderPage(orderRepository.findSummariesByStatus(status, from.createdAt(), from.id(),
+        Pageable.ofSize(size + 1)), size, items);
+  }
+
+  /**
+   * Orders created in {@code [start, end)}, newest first.
+   */
+  public OrderListPage<OrderSummary> getOrdersCreatedBetween(Instant start, Instant end, String cursor, int limit,
+      boolean items) {
+    if (start == null || end == null || !start.isBefore(end)) {
+      throw new IllegalArgumentException("Date range start must be before its end");
+    }
+    OrderCursor from = OrderCursor.decode(cursor);
+    int size = pageSize(limit);
+    return orderPage(orderRepository.findSummariesCreatedBetween(start, end, from.createdAt(), from.id(),
+        Pageable.ofSize(size + 1)), size, items);
+  }
+
+  /**
+   * A shop's sub-orders, optionally in one status, newest first.
+   */
+  public OrderListPage<ShopOrderSummary> getShopOrders(Long shopId, CustomerOrder.OrderStatus status, String cursor,
+      int limit, boolean items) {
+    OrderCursor from = OrderCursor.decode(cursor);
+    int size = pageSize(limit);
+    Pageable pageable = Pageable.ofSize(size + 1);
+    List<ShopOrderSummary> rows = status == null
+        ? shopOrderRepository.findSummariesByShop(shopId, from.createdAt(), from.id(), pageable)
+        : shopOrderRepository.findSummariesByShopAndStatus(shopId, status, from.createdAt(), from.id(), pageable);
+
+    List<ShopOrderSummary> page = rows.size() > size ? rows.subList(0, size) : rows;
+    String next = null;
+    if (rows.size() > size) {
+      ShopOrderSummary last = page.get(size - 1);
+      next = new OrderCursor(last.createdAt(), last.shopOrderId()).encode();
+    }
+    Map<UUID, List<OrderLineSummary>> lines = null;
+    if (items && !page.isEmpty()) {
+      lines = group(orderItemRepository.findLinesByShopOrderIds(page.stream().map(ShopOrderSummary::shopOrderId)
+          .toList()), OrderLineSummary::shopOrderId);
+    }
+    return new OrderListPage<>(page, lines, next);
+  }
+
+  private OrderListPage<OrderSummary> orderPage(List<OrderSummary> rows, int size, boolean items) {
+    List<OrderSummary> page = rows.size() > size ? rows.subList(0, size) : rows;
+    String next = null;
+    if (rows.size() > size) {
+      OrderSummary last = page.get(size - 1);
+      next = new OrderCursor(last.createdAt(), last.orderId()).encode();
+    }
+    Map<UUID, List<OrderLineSummary>> lines = null;
+    if (items && !page.isEmpty()) {
+      lines = group(orderItemRepository.findLinesByOrderIds(page.stream().map(OrderSummary::orderId).toList()),
+          OrderLineSummary::orderId);
+    }
+    return new OrderListPage<>(page, lines, next);
+  }
+
+  private int pageSize(int limit) {
+    if (limit < 1) {
+      throw new IllegalArgumentException("Page limit must be positive");
+    }
+    return Math.min(limit, maxPageSize);
+  }
+
+  private static Map<UUID, List<OrderLineSummary>> group(List<OrderLineSummary> lines,
+      Function<OrderLineSummary, UUID> key) {
+    return lines.stream().collect(Collectors.groupingBy(key, LinkedHashMap::new, Collectors.toList()));
+  }
+}
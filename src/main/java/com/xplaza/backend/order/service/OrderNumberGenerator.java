@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hands out order numbers of the form {@code ORD-YYYYMMDD-NNNNNN}.
+ *
+ * The numeric part comes from one series shared by all nodes, reserved in
+ * blocks (hi-lo): a node moves the series' high-water mark forward by a block
+ * in a short transaction of its own, then numbers from the block in memory
+ * without locks or round trips until it runs out. Blocks never overlap, so
+ * numbers are unique across nodes; the date prefix makes them sort by day, and
+ * within a day by when each block was reserved. Numbers left in a block when a
+ * node stops are skipped. Plain SQL on one row, so it behaves the same on H2
+ * and PostgreSQL.
+ */
+@Component
+@Slf4j
+public class OrderNumberGenerator {
+
+  static final String SERIES = "ORDER";
+
+  private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+  private static final int MIN_DIGITS = 6;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate reserveTransaction;
+
+  @Value("${order.number.block-size:100}")
+  private int blockSize;
+
+  @Value("${spring.jpa.properties.hibernate.default_schema:}")
+  private String defaultSchema;
+
+  private final AtomicReference<Block> block = new AtomicReference<>(new Block(0, 0));
+  private final AtomicReference<Prefix> prefix = new AtomicReference<>(new Prefix(null, null));
+
+  public OrderNumberGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.reserveTransaction = new TransactionTemplate(transactionManager);
+    this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  /**
+   * Next order number.
+   */
+  public String next() {
+    return format(LocalDate.now(), nextValue());
+  }
+
+  /**
+   * Next value of the series; reserves a new block when the current one is used
+   * up.
+   */
+  long nextValue() {
+    while (true) {
+      Block current = block.get();
+      long value = current.next().getAndIncrement();
+      if (value < current.end()) {
+        return value;
+      }
+      synchronized (this) {
+        // Only the first thread to find the block used up reserves the next one
+        if (block.get() == current) {
+          block.set(reserve());
+        }
+      }
+    }
+  }
+
+  String format(LocalDate date, long value) {
+    Prefix cached = prefix.get();
+    if (!date.equals(cached.date())) {
+      cached = new Prefix(date, "ORD-" + date.format(DATE_FORMAT) + "-");
+      prefix.set(cached);
+    }
+    String digits = Long.toString(value);
+    StringBuilder number = new StringBuilder(cached.text().length() + Math.max(MIN_DIGITS, digits.length()))
+        .append(cached.text());
+    for (int i = digits.length(); i < MIN_DIGITS; i++) {
+      number.append('0');
+    }
+    return number.append(digits).toString();
+  }
+
+  private Block reserve() {
+    int size = Math.max(1, blockSize);
+    Long start;
+    try {
+      start = reserveTransaction.execute(status -> reserveBlock(size));
+    } catch (DuplicateKeyException e) {
+      // Another node created the series first; it exists now
+      start = reserveTransaction.execute(status -> reserveBlock(size));
+    }
+    log.debug("Reserved order numbers {} to {}", start, start + size - 1);
+    return new Block(start, start + size);
+  }
+
+  /**
+   * Move the high-water mark forward by one block and return the block's first
+   * value. The update locks the row until commit, so nodes reserving at the same
+   * time get consecutive blocks.
+   */
+  private long reserveBlock(int size) {
+    int updated = jdbcTemplate.update("UPDATE " + table("order_number_blocks")
+        + " SET next_value = next_value + ? WHERE name = ?", size, SERIES);
+    if (updated == 0) {
+      long first = seed();
+      jdbcTemplate.update("INSERT INTO " + table("order_number_blocks") + " (name, next_value) VALUES (?, ?)",
+          SERIES, first + size);
+      return first;
+    }
+    Long next = jdbcTemplate.queryForObject("SELECT next_value FROM " + table("order_number_blocks")
+        + " WHERE name = ?", Long.class, SERIES);
+    return next - size;
+  }
+
+  /**
+   * First value of a new series: after the highest order number already issued.
+   */
+  private long seed() {
+    Long highest = jdbcTemplate.queryForObject("SELECT MAX(CAST(SUBSTRING(order_number FROM 14) AS BIGINT)) FROM "
+        + table("customer_orders") + " WHERE order_number LIKE 'ORD-________-%'", Long.class);
+    return highest != null ? highest + 1 : 1;
+  }
+
+  private String table(String name) {
+    return defaultSchema == null || defaultSchema.isBlank() ? name : defaultSchema + "." + name;
+  }
+
+  /** Values {@code [next, end)} reserved by this node. */
+  private record Block(AtomicLong next, long end) {
+
+    Block(long start, long end) {
+      this(new AtomicLong(start), end);
+    }
+  }
+
+  private record Prefix(LocalDate date, String text) {
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits the totals of a marketplace order across the shops it buys from.
+ *
+ * Every amount of the order (subtotal, discount, shipping, tax and grand total)
+ * is prorated by each shop's share of the line totals, rounded down to the
+ * cent, and the last shop takes what is left, so the shops' shares of every
+ * amount add up exactly to the order's. Shops keep the order in which they
+ * first appear.
+ */
+public class OrderSplitter {
+
+  private OrderSplitter() {
+  }
+
+  /**
+   * Split the order totals over the shops of its lines.
+   */
+  public static List<Share> split(List<Line> lines, Totals totals) {
+    Map<Long, BigDecimal> weights = new LinkedHashMap<>();
+    Map<Long, Integer> lineCounts = new LinkedHashMap<>();
+    for (Line line : lines) {
+      BigDecimal total = line.lineTotal() != null ? line.lineTotal() : BigDecimal.ZERO;
+      weights.merge(line.shopId(), total, BigDecimal::add);
+      lineCounts.merge(line.shopId(), 1, Integer::sum);
+    }
+    List<BigDecimal> shopWeights = new ArrayList<>(weights.values());
+    List<BigDecimal> subtotals = prorate(totals.subtotal(), shopWeights);
+    List<BigDecimal> discounts = prorate(totals.discount(), shopWeights);
+    List<BigDecimal> shipping = prorate(totals.shipping(), shopWeights);
+    List<BigDecimal> taxes = prorate(totals.tax(), shopWeights);
+    List<BigDecimal> grandTotals = prorate(totals.grandTotal(), shopWeights);
+
+    List<Share> shares = new ArrayList<>(weights.size());
+    int i = 0;
+    for (Long shopId : weights.keySet()) {
+      shares.add(new Share(shopId, lineCounts.get(shopId), subtotals.get(i), discounts.get(i), shipping.get(i),
+          taxes.get(i), grandTotals.get(i)));
+      i++;
+    }
+    return shares;
+  }
+
+  /**
+   * Prorate an amount by the given weights; shares are rounded down to the cent
+   * and the last one takes the remainder. Zero weights split it evenly.
+   */
+  static List<BigDecimal> prorate(BigDecimal amount, List<BigDecimal> weights) {
+    BigDecimal value = amount != null ? amount : BigDecimal.ZERO;
+    BigDecimal totalWeight = weights.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    boolean even = totalWeight.signum() == 0;
+    List<BigDecimal> shares = new ArrayList<>(weights.size());
+    BigDecimal allocated = BigDecimal.ZERO;
+    for (int i = 0; i < weights.size(); i++) {
+      BigDecimal share;
+      if (i == weights.size() - 1) {
+        share = value.subtract(allocated);
+      } else if (even) {
+        share = value.divide(BigDecimal.valueOf(weights.size()), 2, RoundingMode.DOWN);
+      } else {
+        share = value.multiply(weights.get(i)).divide(totalWeight, 2, RoundingMode.DOWN);
+      }
+      shares.add(share.setScale(2, RoundingMode.HALF_UP));
+      allocated = allocated.add(share);
+    }
+    return shares;
+  }
+
+  /** One order line: the shop selling it and its total. */
+  public record Line(Long shopId, BigDecimal lineTotal) {
+  }
+
+  /** Totals of the whole order. */
+  public record Totals(BigDecimal subtotal, BigDecimal discount, BigDecimal shipping, BigDecimal tax,
+      BigDecimal grandTotal) {
+  }
+
+  /** One shop's part of the order. */
+  public record Share(Long shopId, int itemCount, BigDecimal subtotal, BigDecimal discount, BigDecimal shipping,
+      BigDecimal tax, BigDecimal grandTotal) {
+  }
+}
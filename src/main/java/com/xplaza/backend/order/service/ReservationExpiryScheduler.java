@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntSupplier;
+import java.util.function.ToIntFunction;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.xplaza.backend.common.util.TimingWheel;
+import com.xplaza.backend.inventory.domain.repository.StockReservationRepository.ExpiryDeadline;
+import com.xplaza.backend.inventory.service.InventoryService;
+import com.xplaza.backend.order.domain.repository.CustomerOrderRepository.PendingOrderCreation;
+
+/**
+ * Expires stock reservations and abandoned pending orders on time.
+ *
+ * Upcoming deadlines are kept in a {@link TimingWheel}, filled at startup from
+ * the indexes on {@code expires_at} and {@code created_at} and then
+ * periodically (new rows from any node are picked up by creation time). Each
+ * tick hands the due ids to the services in batches; the services claim rows
+ * with {@code SKIP LOCKED}, so several nodes can run this without
+ * double-releasing. A sweep after every refill expires anything already overdue
+ * that no wheel held.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationExpiryScheduler {
+
+  private static final int WHEEL_LEVELS = 4;
+  private static final Duration LOAD_SKEW = Duration.ofSeconds(5);
+
+  private final InventoryService inventoryService;
+  private final CustomerOrderService orderService;
+
+  @Value("${expiry.enabled:true}")
+  private boolean enabled;
+
+  @Value("${expiry.tick-ms:1000}")
+  private long tickMillis;
+
+  @Value("${expiry.horizon-minutes:60}")
+  private long horizonMinutes;
+
+  @Value("${expiry.batch-size:500}")
+  private int batchSize;
+
+  @Value("${expiry.pending-order-ttl-minutes:60}")
+  private long pendingOrderTtlMinutes;
+
+  private TimingWheel<ExpiryTask> wheel;
+  private Instant reservationsLoadedUntil;
+  private Instant ordersLoadedUntil;
+  private Instant lastLoadAt;
+
+  @PostConstruct
+  void init() {
+    Instant now = Instant.now();
+    wheel = new TimingWheel<>(tickMillis, WHEEL_LEVELS, now);
+    // Anything due before startup is left to the sweep
+    reservationsLoadedUntil = now;
+    ordersLoadedUntil = now.minus(pendingOrderTtl());
+    lastLoadAt = now;
+  }
+
+  /**
+   * Fire due deadlines.
+   */
+  @Scheduled(fixedDelayString = "${expiry.tick-ms:1000}")
+  public void tick() {
+    if (!enabled) {
+      return;
+    }
+    List<ExpiryTask> due = wheel.advance(Instant.now());
+    if (due.isEmpty()) {
+      return;
+    }
+    Instant cutoff = Instant.now().minus(pendingOrderTtl());
+    inBatches(idsOf(due, TaskType.PENDING_ORDER), ids -> orderService.cancelStalePendingOrders(ids, cutoff));
+    inBatches(idsOf(due, TaskType.RESERVATION), inventoryService::expireReservations);
+  }
+
+  /**
+   * Load deadlines that entered the horizon or were created since the last load,
+   * then sweep anything already overdue. Runs once right after startup.
+   */
+  @Scheduled(fixedDelayString = "${expiry.refill-ms:60000}")
+  public void refill() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      Instant now = Instant.now();
+      Instant until = min(now.plus(Duration.ofMinutes(horizonMinutes)), wheel.horizon());
+      Instant createdSince = lastLoadAt.minus(LOAD_SKEW);
+
+      List<ExpiryDeadline> reservations = inventoryService.getExpiryDeadlines(reservationsLoadedUntil, until,
+          createdSince);
+      for (ExpiryDeadline deadline : reservations) {
+        wheel.add(new ExpiryTask(TaskType.RESERVATION, deadline.getId()), deadline.getDeadline());
+      }
+      reservationsLoadedUntil = until;
+
+      Instant ordersUntil = min(now, until.minus(pendingOrderTtl()));
+      List<PendingOrderCreation> orders = orderService.getPendingOrderCreations(ordersLoadedUntil.minus(LOAD_SKEW),
+          ordersUntil);
+      for (PendingOrderCreation order : orders) {
+        wheel.add(new ExpiryTask(TaskType.PENDING_ORDER, order.getId()), order.getCreatedAt().plus(pendingOrderTtl()));
+      }
+      ordersLoadedUntil = ordersUntil;
+      lastLoadAt = now;
+      log.debug("Expiry wheel loaded {} reservations and {} pending orders, holding {}", reservations.size(),
+          orders.size(), wheel.size());
+
+      sweep();
+    } catch (RuntimeException e) {
+      log.warn("Expiry refill failed, retrying on next run", e);
+    }
+  }
+
+  private void sweep() {
+    Instant cutoff = Instant.now().minus(pendingOrderTtl());
+    int orders = drain(() -> orderService.cancelStalePendingOrders(cutoff, batchSize));
+    int reservations = drain(() -> inventoryService.expireDueReservations(batchSize));
+    if (orders + reservations > 0) {
+      log.info("Expiry sweep cancelled {} pending orders and expired {} reservations", orders, reservations);
+    }
+  }
+
+  private int drain(IntSupplier batch) {
+    int total = 0;
+    int count;
+    do {
+      count = batch.getAsInt();
+      total += count;
+    } while (count >= batchSize);
+    return total;
+  }
+
+  private void inBatches(List<UUID> ids, ToIntFunction<Collection<UUID>> action) {
+    for (int from = 0; from < ids.size(); from += batchSize) {
+      List<UUID> batch = ids.subList(from, Math.min(ids.size(), from + batchSize));
+      try {
+        action.applyAsInt(batch);
+      } catch (RuntimeException e) {
+        // The sweep picks these up on the next refill
+        log.warn("Expiry batch of {} failed", batch.size(), e);
+      }
+    }
+  }
+
+  private static List<UUID> idsOf(List<ExpiryTask> tasks, TaskType type) {
+    return tasks.stream().filter(t -> t.type() == type).map(ExpiryTask::id).distinct().toList();
+  }
+
+  private Duration pendingOrderTtl() {
+    return Duration.ofMinutes(pendingOrderTtlMinutes);
+  }
+
+  private static Instant min(Instant a, Instant b) {
+    return a.isBefore(b) ? a : b;
+  }
+
+  private enum TaskType {
+    RESERVATION, PENDING_ORDER
+  }
+
+  private record ExpiryTask(TaskType type, UUID id) {
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.xplaza.backend.order.domain.entity.CustomerOrder;
+import com.xplaza.backend.order.domain.entity.CustomerOrderItem;
+import com.xplaza.backend.order.domain.entity.ShopOrder;
+import com.xplaza.backend.order.domain.repository.CustomerOrderItemRepository;
+import com.xplaza.backend.order.domain.repository.ShopOrderRepository;
+
+/**
+ * Service for shops' sub-orders and their per-shop fulfillment. Each step is
+ * rolled up to the parent order.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ShopOrderService {
+
+  private final ShopOrderRepository shopOrderRepository;
+  private final CustomerOrderItemRepository orderItemRepository;
+  private final CustomerOrderService customerOrderService;
+
+  /**
+   * Get a sub-order by ID.
+   */
+  @Transactional(readOnly = true)
+  public ShopOrder getShopOrder(UUID shopOrderId) {
+    return getShopOrderOrThrow(shopOrderId);
+  }
+
+  /**
+   * Get the items of a sub-order.
+   */
+  @Transactional(readOnly = true)
+  public List<CustomerOrderItem> getItems(UUID shopOrderId) {
+    return orderItemRepository.findByShopOrderId(shopOrderId);
+  }
+
+  /**
+   * Get the sub-orders of an order.
+   */
+  @Transactional(readOnly = true)
+  public List<ShopOrder> getSubOrders(UUID orderId) {
+    return shopOrderRepository.findByOrderIdOrderBySubOrderNumber(orderId);
+  }
+
+  /**
+   * Start processing a sub-order.
+   */
+  public ShopOrder startProcessing(UUID shopOrderId, String processedBy) {
+    ShopOrder shopOrder = lockForUpdate(shopOrderId);
+    requireStatus(shopOrder, CustomerOrder.OrderStatus.CONFIRMED, "processed");
+
+    shopOrder.setStatus(CustomerOrder.OrderStatus.PROCESSING);
+    orderItemRepository.updateStatusForShopOrder(shopOrderId, CustomerOrderItem.ItemStatus.PROCESSING);
+    return rollUp(shopOrder, processedBy);
+  }
+
+  /**
+   * Mark a sub-order as shipped.
+   */
+  public ShopOrder markShipped(UUID shopOrderId, String carrier, String trackingNumber, String shippedBy) {
+    ShopOrder shopOrder = lockForUpdate(shopOrderId);
+    requireStatus(shopOrder, CustomerOrder.OrderStatus.PROCESSING, "shipped");
+
+    shopOrder.setStatus(CustomerOrder.OrderStatus.SHIPPED);
+    shopOrder.setCarrier(carrier);
+    shopOrder.setTrackingNumber(trackingNumber);
+    shopOrder.setShippedAt(Instant.now());
+    orderItemRepository.updateStatusForShopOrder(shopOrderId, CustomerOrderItem.ItemStatus.SHIPPED);
+    return rollUp(shopOrder, shippedBy);
+  }
+
+  /**
+   * Mark a sub-order as delivered.
+   */
+  public ShopOrder markDelivered(UUID shopOrderId, String deliveredBy) {
+    ShopOrder shopOrder = lockForUpdate(shopOrderId);
+    if (shopOrder.getStatus() != CustomerOrder.OrderStatus.SHIPPED
+        && shopOrder.getStatus() != CustomerOrder.OrderStatus.OUT_FOR_DELIVERY) {
+      throw new IllegalStateException("Sub-order cannot be marked delivered. Current status: "
+          + shopOrder.getStatus());
+    }
+
+    shopOrder.setStatus(CustomerOrder.OrderStatus.DELIVERED);
+    shopOrder.setDeliveredAt(Instant.now());
+    orderItemRepository.updateStatusForShopOrder(shopOrderId, CustomerOrderItem.ItemStatus.DELIVERED);
+    return rollUp(shopOrder, deliveredBy);
+  }
+
+  private ShopOrder rollUp(ShopOrder shopOrder, String changedBy) {
+    ShopOrder saved = shopOrderRepository.save(shopOrder);
+    customerOrderService.rollUpShopOrders(shopOrder.getOrderId(), changedBy);
+    log.info("Sub-order {} is now {}", shopOrder.getSubOrderNumber(), shopOrder.getStatus());
+    return saved;
+  }
+
+  private void requireStatus(ShopOrder shopOrder, CustomerOrder.OrderStatus expected, String action) {
+    if (shopOrder.getStatus() != expected) {
+      throw new IllegalStateException("Sub-order cannot be " + action + ". Current status: " + shopOrder.getStatus());
+    }
+  }
+
+  /**
+   * Lock the parent order, then load the sub-order. Changes to sub-orders of the
+   * same order run one at a time, so the status check and the roll-up both see
+   * what the previous change committed.
+   */
+  private ShopOrder lockForUpdate(UUID shopOrderId) {
+    UUID orderId = shopOrderRepository.findOrderIdById(shopOrderId)
+        .orElseThrow(() -> new IllegalArgumentException("Sub-order not found: " + shopOrderId));
+    customerOrderService.lockOrder(orderId);
+    return getShopOrderOrThrow(shopOrderId);
+  }
+
+  private ShopOrder getShopOrderOrThrow(UUID shopOrderId) {
+    return shopOrderRepository.findById(shopOrderId)
+        .orElseThrow(() -> new IllegalArgumentException("Sub-order not found: " + shopOrderId));
+  }
+}
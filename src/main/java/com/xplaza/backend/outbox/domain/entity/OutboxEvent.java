@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.outbox.domain.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+import com.xplaza.backend.common.domain.entity.AssignedIdEntity;
+
+/**
+ * Domain event written in the same transaction as the change it describes and
+ * delivered to its handlers afterwards by the outbox relay.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_status_available", columnList = "status, available_at"),
+    @Index(name = "idx_outbox_aggregate", columnList = "aggregate_type, aggregate_id, created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent extends AssignedIdEntity<UUID> {
+
+  @Id
+  @Column(name = "event_id")
+  @Builder.Default
+  private UUID eventId = UUID.randomUUID();
+
+  @Column(name = "aggregate_type", nullable = false, length = 50)
+  private String aggregateType;
+
+  @Column(name = "aggregate_id", nullable = false, length = 100)
+  private String aggregateId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "event_type", nullable = false, length = 50)
+  private EventType eventType;
+
+  @Column(name = "payload", columnDefinition = "TEXT")
+  private String payload;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 20)
+  @Builder.Default
+  private EventStatus status = EventStatus.PENDING;
+
+  @Column(name = "attempts", nullable = false)
+  @Builder.Default
+  private Integer attempts = 0;
+
+  @Column(name = "last_error", columnDefinition = "TEXT")
+  private String lastError;
+
+  /** Not delivered before this time: set while claimed and after a failure */
+  @Column(name = "available_at", nullable = false)
+  private Instant availableAt;
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+
+  @Column(name = "published_at")
+  private Instant publishedAt;
+
+  public enum EventType {
+    ORDER_PLACED,
+    ORDER_PAID,
+    ORDER_CANCELLED,
+    ORDER_SHIPPED,
+    STOCK_CHANGED,
+    PRICE_CHANGED
+  }
+
+  public enum EventStatus {
+    /** Waiting for delivery (or claimed by a relay) */
+    PENDING,
+    /** Delivered to every handler */
+    PUBLISHED,
+    /** Gave up after the maximum number of attempts */
+    FAILED
+  }
+
+  @Override
+  public UUID getId() {
+    return eventId;
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.outbox.domain.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.xplaza.backend.outbox.domain.entity.OutboxEvent;
+
+/**
+ * Repository for OutboxEvent entity.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+  /**
+   * Lock deliverable events, oldest first. An event is deliverable only when no
+   * earlier event of its aggregate is still pending, so each aggregate's events
+   * are delivered in order; events locked by another relay are skipped with
+   * {@code SKIP LOCKED}.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query("SELECT e FROM OutboxEvent e WHERE e.status = 'PENDING' AND e.availableAt <= :now "
+      + "AND NOT EXISTS (SELECT p.eventId FROM OutboxEvent p WHERE p.aggregateType = e.aggregateType "
+      + "AND p.aggregateId = e.aggregateId AND p.status = 'PENDING' AND p.createdAt < e.createdAt) "
+      + "ORDER BY e.createdAt")
+  List<OutboxEvent> claimDeliverable(@Param("now") Instant now, Pageable pageable);
+
+  @Modifying
+  @Query("DELETE FROM OutboxEvent e WHERE e.status = 'PUBLISHED' AND e.publishedAt < :cutoff")
+  int deletePublishedBefore(@Param("cutoff") Instant cutoff);
+
+  long countByStatus(OutboxEvent.EventStatus status);
+}
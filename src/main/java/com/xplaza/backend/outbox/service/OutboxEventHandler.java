@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.outbox.service;
+
+import java.util.Set;
+
+import com.xplaza.backend.outbox.domain.entity.OutboxEvent;
+
+/**
+ * In-process consumer of outbox events. Delivery is at least once, so handlers
+ * must tolerate seeing an event again after a failed attempt.
+ */
+public interface OutboxEventHandler {
+
+  /** Event types this handler receives. */
+  Set<OutboxEvent.EventType> eventTypes();
+
+  /** Handle one event; throwing schedules a retry of the whole event. */
+  void handle(OutboxEvent event);
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.outbox.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers outbox events to their handlers. Each round claims a batch (several
+ * nodes can relay at once; claims skip each other's rows), then delivers every
+ * event in its own transaction so one failing event is retried on its own.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+  private static final int MAX_ROUNDS = 20;
+
+  private final OutboxService outboxService;
+
+  @Value("${outbox.enabled:true}")
+  private boolean enabled;
+
+  @Value("${outbox.batch-size:100}")
+  private int batchSize;
+
+  @Value("${outbox.retention-days:7}")
+  private int retentionDays;
+
+  /**
+   * Deliver pending events until none are left or the round limit is reached.
+   */
+  @Scheduled(fixedDelayString = "${outbox.relay-ms:500}")
+  public void relay() {
+    if (!enabled) {
+      return;
+    }
+    for (int round = 0; round < MAX_ROUNDS; round++) {
+      List<UUID> claimed;
+      try {
+        claimed = outboxService.claim(batchSize);
+      } catch (RuntimeException e) {
+        log.warn("Outbox claim failed, retrying next run", e);
+        return;
+      }
+      for (UUID eventId : claimed) {
+        try {
+          outboxService.deliver(eventId);
+        } catch (RuntimeException e) {
+          log.warn("Outbox event {} delivery failed: {}", eventId, e.getMessage());
+          try {
+            outboxService.recordFailure(eventId, String.valueOf(e.getMessage()));
+          } catch (RuntimeException recordError) {
+            // The lease runs out and the event is claimed again
+            log.warn("Could not record failure of outbox event {}", eventId, recordError);
+          }
+        }
+      }
+      if (claimed.isEmpty()) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Delete delivered events past the retention window.
+   */
+  @Scheduled(cron = "${outbox.purge-cron:0 15 4 * * *}")
+  public void purge() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      int deleted = outboxService.purgePublished(Instant.now().minus(retentionDays, ChronoUnit.DAYS));
+      if (deleted > 0) {
+        log.info("Purged {} published outbox events", deleted);
+      }
+    } catch (RuntimeException e) {
+      log.warn("Outbox purge failed", e);
+    }
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.outbox.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xplaza.backend.outbox.domain.entity.OutboxEvent;
+import com.xplaza.backend.outbox.domain.repository.OutboxEventRepository;
+
+/**
+ * Transactional outbox: side effects of a change are recorded as events in the
+ * change's own transaction and delivered to {@link OutboxEventHandler}s by
+ * {@link OutboxRelay} after it commits, so a rollback never leaves a side
+ * effect behind and the request never waits for one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class OutboxService {
+
+  private final OutboxEventRepository eventRepository;
+  private final List<OutboxEventHandler> handlers;
+  private final ObjectMapper objectMapper;
+
+  @Value("${outbox.lease-seconds:60}")
+  private long leaseSeconds;
+
+  @Value("${outbox.max-attempts:10}")
+  private int maxAttempts;
+
+  /**
+   * Last creation time handed out, so events of one transaction keep their order.
+   */
+  private final AtomicReference<Instant> lastCreatedAt = new AtomicReference<>(Instant.EPOCH);
+
+  /**
+   * Record an event in the caller's transaction.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public OutboxEvent publish(String aggregateType, Object aggregateId, OutboxEvent.EventType type,
+      Map<String, ?> payload) {
+    Instant createdAt = nextCreatedAt();
+    OutboxEvent event = OutboxEvent.builder()
+        .aggregateType(aggregateType)
+        .aggregateId(String.valueOf(aggregateId))
+        .eventType(type)
+        .payload(toJson(payload))
+        .availableAt(createdAt)
+        .createdAt(createdAt)
+        .build();
+    eventRepository.save(event);
+    return event;
+  }
+
+  /**
+   * Claim up to {@code limit} deliverable events by leasing them to this relay. A
+   * lease that runs out (the relay died) makes the event deliverable again.
+   */
+  public List<UUID> claim(int limit) {
+    Instant now = Instant.now();
+    List<OutboxEvent> events = eventRepository.claimDeliverable(now, PageRequest.of(0, limit));
+    Instant leasedUntil = now.plusSeconds(leaseSeconds);
+    events.forEach(e -> e.setAvailableAt(leasedUntil));
+    return events.stream().map(OutboxEvent::getEventId).toList();
+  }
+
+  /**
+   * Deliver one claimed event to its handlers and mark it published. Runs in its
+   * own transaction so handler writes commit together with the status.
+   */
+  public void deliver(UUID eventId) {
+    OutboxEvent event = eventRepository.findById(eventId).orElse(null);
+    if (event == null || event.getStatus() != OutboxEvent.EventStatus.PENDING) {
+      return;
+    }
+    for (OutboxEventHandler handler : handlers) {
+      if (handler.eventTypes().contains(event.getEventType())) {
+        handler.handle(event);
+      }
+    }
+    event.setStatus(OutboxEvent.EventStatus.PUBLISHED);
+    event.setPublishedAt(Instant.now());
+    event.setAttempts(event.getAttempts() + 1);
+  }
+
+  /**
+   * Record a failed delivery: retry with exponential backoff, or give up after
+   * the maximum number of attempts.
+   */
+  public void recordFailure(UUID eventId, String error) {
+    eventRepository.findById(eventId).ifPresent(event -> {
+      int attempts = event.getAttempts() + 1;
+      event.setAttempts(attempts);
+      event.setLastError(error);
+      if (attempts >= maxAttempts) {
+        event.setStatus(OutboxEvent.EventStatus.FAILED);
+        log.error("Outbox event {} ({}) failed {} times, giving up: {}", eventId, event.getEventType(),
+            attempts, error);
+      } else {
+        long backoff = Math.min(Duration.ofHours(1).toSeconds(), 1L << Math.min(attempts, 12));
+        event.setAvailableAt(Instant.now().plusSeconds(backoff));
+      }
+    });
+  }
+
+  /**
+   * Delete published events older than the cutoff.
+   */
+  public int purgePublished(Instant cutoff) {
+    return eventRepository.deletePublishedBefore(cutoff);
+  }
+
+  private Instant nextCreatedAt() {
+    Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    return lastCreatedAt.updateAndGet(last -> now.isAfter(last) ? now : last.plus(1, ChronoUnit.MICROS));
+  }
+
+  private String toJson(Map<String, ?> payload) {
+    try {
+      return objectMapper.writeValueAsString(payload);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Outbox payload is not serializable", e);
+    }
+  }
+}
@@ -9,15 +9,27 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.xplaza.backend.promotion.domain.entity.Coupon;
 
 @Repository
 public interface CouponRepository extends JpaRepository<Coupon, Long> {
+
+  /** Code of one coupon. */
+  interface CouponCode {
+    Long getCouponId();
+
+    String getCouponCode();
+  }
+
   Optional<Coupon> findByCouponCode(String couponCode);
 
   List<Coupon> findByIsActiveTrue();
 
   boolean existsByCouponCode(String couponCode);
+
+  @Query("SELECT c.couponId AS couponId, c.couponCode AS couponCode FROM Coupon c")
+  List<CouponCode> findAllCodes();
 }
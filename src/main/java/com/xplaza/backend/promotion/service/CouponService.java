@@ -14,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.xplaza.backend.exception.ResourceAlreadyExistsException;
 import com.xplaza.backend.exception.ResourceNotFoundException;
+import com.xplaza.backend.marketing.service.CouponCodeIndex;
 import com.xplaza.backend.promotion.domain.entity.Coupon;
 import com.xplaza.backend.promotion.domain.entity.DiscountType;
 import com.xplaza.backend.promotion.repository.CouponRepository;
@@ -24,6 +25,7 @@ import com.xplaza.backend.promotion.repository.DiscountTypeRepository;
 public class CouponService {
   private final CouponRepository couponRepository;
   private final DiscountTypeRepository discountTypeRepository;
+  private final CouponCodeIndex codeIndex;
 
   public List<Coupon> listCoupons() {
     return couponRepository.findAll();
@@ -39,7 +41,8 @@ public class CouponService {
   }
 
   public Coupon getCouponByCode(String code) {
-    return couponRepository.findByCouponCode(code)
+    return codeIndex.findCouponId(code)
+        .flatMap(couponRepository::findById)
         .orElseThrow(() -> new ResourceNotFoundException("Coupon not found: " + code));
   }
 
@@ -48,7 +51,9 @@ public class CouponService {
     if (couponRepository.existsByCouponCode(coupon.getCouponCode())) {
       throw new ResourceAlreadyExistsException("Coupon code already exists: " + coupon.getCouponCode());
     }
-    return couponRepository.save(coupon);
+    Coupon saved = couponRepository.save(coupon);
+    codeIndex.refreshAfterCommit();
+    return saved;
   }
 
   @Transactional
@@ -76,5 +81,6 @@ public class CouponService {
       throw new ResourceNotFoundException("Coupon not found: " + id);
     }
     couponRepository.deleteById(id);
+    codeIndex.refreshAfterCommit();
   }
 }
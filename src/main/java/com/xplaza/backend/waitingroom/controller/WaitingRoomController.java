@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.waitingroom.controller;
+
+import java.util.Set;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import com.xplaza.backend.waitingroom.service.WaitingRoomService;
+import com.xplaza.backend.waitingroom.service.WaitingRoomService.QueueStatus;
+
+/**
+ * REST controller for flash-sale waiting rooms.
+ */
+@RestController
+@RequestMapping("/api/v1/waiting-room")
+@RequiredArgsConstructor
+@Tag(name = "Waiting Room", description = "Flash-sale queue and admission APIs")
+public class WaitingRoomController {
+
+  private final WaitingRoomService waitingRoomService;
+
+  @Operation(summary = "List campaigns whose waiting rooms are open")
+  @GetMapping
+  public ResponseEntity<Set<String>> getOpenRooms() {
+    return ResponseEntity.ok(waitingRoomService.openCampaigns());
+  }
+
+  @Operation(summary = "Join a campaign's waiting room", description = "A signed-in visitor's pass only works for them")
+  @PostMapping("/{campaignCode}/join")
+  public ResponseEntity<QueueStatus> join(
+      @Parameter(description = "Campaign code") @PathVariable String campaignCode,
+      Authentication authentication) {
+    String principal = authentication != null ? authentication.getName() : null;
+    return ResponseEntity.ok(waitingRoomService.join(campaignCode, principal));
+  }
+
+  @Operation(summary = "Check a queue ticket", description = "Returns a pass once the ticket is admitted; send "
+      + "it with the ticket on gated requests")
+  @GetMapping("/status")
+  public ResponseEntity<QueueStatus> getStatus(
+      @Parameter(description = "Queue ticket") @RequestParam String ticket) {
+    return ResponseEntity.ok(waitingRoomService.status(ticket));
+  }
+}
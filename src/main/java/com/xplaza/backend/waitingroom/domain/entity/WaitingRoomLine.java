@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.waitingroom.domain.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+/**
+ * One node's line for a campaign as it last published it: places handed out and
+ * places let in.
+ */
+@Entity
+@Table(name = "waiting_room_lines", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_waiting_room_lines_campaign_node", columnNames = { "campaign_code", "node_id" })
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitingRoomLine {
+
+  @Id
+  @Column(name = "id")
+  @Builder.Default
+  private UUID id = UUID.randomUUID();
+
+  @Column(name = "campaign_code", nullable = false, length = 50)
+  private String campaignCode;
+
+  @Column(name = "node_id", nullable = false, length = 64)
+  private String nodeId;
+
+  @Column(name = "issued", nullable = false)
+  private Long issued;
+
+  @Column(name = "admitted", nullable = false)
+  private Long admitted;
+
+  @Column(name = "updated_at", nullable = false)
+  private Instant updatedAt;
+}
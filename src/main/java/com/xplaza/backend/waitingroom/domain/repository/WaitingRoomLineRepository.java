@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.waitingroom.domain.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.xplaza.backend.waitingroom.domain.entity.WaitingRoomLine;
+
+/**
+ * Repository for WaitingRoomLine entity.
+ */
+@Repository
+public interface WaitingRoomLineRepository extends JpaRepository<WaitingRoomLine, UUID> {
+
+  /**
+   * Overwrite a node's counters for a campaign. Returns 0 when the node has not
+   * published that line yet.
+   */
+  @Modifying
+  @Transactional
+  @Query("UPDATE WaitingRoomLine l SET l.issued = :issued, l.admitted = :admitted, l.updatedAt = :now "
+      + "WHERE l.campaignCode = :campaignCode AND l.nodeId = :nodeId")
+  int report(
+      @Param("campaignCode") String campaignCode,
+      @Param("nodeId") String nodeId,
+      @Param("issued") long issued,
+      @Param("admitted") long admitted,
+      @Param("now") Instant now);
+
+  /**
+   * Take over a line whose node has stopped publishing, if it is still as it was
+   * read. Returns 0 when another node took it over first.
+   */
+  @Modifying
+  @Transactional
+  @Query("UPDATE WaitingRoomLine l SET l.updatedAt = :now WHERE l.id = :id AND l.updatedAt = :seen")
+  int claim(@Param("id") UUID id, @Param("seen") Instant seen, @Param("now") Instant now);
+
+  List<WaitingRoomLine> findByCampaignCodeInAndUpdatedAtAfter(Collection<String> campaignCodes, Instant after);
+
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM WaitingRoomLine l WHERE l.updatedAt < :before")
+  int deleteStale(@Param("before") Instant before);
+}
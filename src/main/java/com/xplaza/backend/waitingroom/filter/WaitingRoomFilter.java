@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.waitingroom.filter;
+
+import java.io.IOException;
+import java.util.Set;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xplaza.backend.common.util.ErrorResponse;
+import com.xplaza.backend.waitingroom.service.WaitingRoomService;
+
+/**
+ * Gate in front of cart and checkout writes while a flash-sale waiting room is
+ * open.
+ *
+ * Requests carrying a valid {@code X-Waiting-Room-Pass} together with the
+ * {@code X-Waiting-Room-Ticket} it was issued for, from the principal that
+ * joined, go through and their latency and outcome feed the admission rate; the
+ * rest get 429 pointing at the waiting rooms to join. When no room is open the
+ * filter is skipped after one volatile read.
+ */
+@Component
+public class WaitingRoomFilter extends OncePerRequestFilter {
+
+  public static final String PASS_HEADER = "X-Waiting-Room-Pass";
+  public static final String TICKET_HEADER = "X-Waiting-Room-Ticket";
+
+  private static final Set<String> METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+  private final WaitingRoomService waitingRoomService;
+  private final ObjectMapper objectMapper;
+  private final AntPathMatcher pathMatcher = new AntPathMatcher();
+  private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+  @Value("${waiting-room.paths:/api/v1/carts/**,/api/v1/checkout/**}")
+  private String[] paths;
+
+  public WaitingRoomFilter(WaitingRoomService waitingRoomService, ObjectMapper objectMapper) {
+    this.waitingRoomService = waitingRoomService;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(@NotNull HttpServletRequest request) {
+    if (!waitingRoomService.gateOpen() || !METHODS.contains(request.getMethod())) {
+      return true;
+    }
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    for (String pattern : paths) {
+      if (pathMatcher.match(pattern.trim(), path)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  protected void doFilterInternal(@NotNull HttpServletRequest request,
+      @NotNull HttpServletResponse response,
+      @NotNull FilterChain filterChain)
+      throws ServletException, IOException {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    String principal = trustResolver.isAuthenticated(authentication) ? authentication.getName() : null;
+    if (!waitingRoomService.admits(request.getHeader(PASS_HEADER), request.getHeader(TICKET_HEADER), principal)) {
+      var error = new ErrorResponse.Error("waiting_room.pass_required", "A flash sale is running; join the "
+          + "waiting room at /api/v1/waiting-room/{campaignCode}/join for one of "
+          + waitingRoomService.openCampaigns() + " and retry with " + PASS_HEADER + " and " + TICKET_HEADER,
+          request.getRequestURI());
+      response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+      response.setHeader("Retry-After", "1");
+      response.setContentType("application/json");
+      response.getWriter().write(objectMapper.writeValueAsString(error));
+      return;
+    }
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      filterChain.doFilter(request, response);
+      failed = response.getStatus() >= 500;
+    } finally {
+      waitingRoomService.record(System.nanoTime() - start, failed);
+    }
+  }
+}
@@ -0,0 +1,483 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.waitingroom.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.xplaza.backend.marketing.domain.entity.Campaign;
+import com.xplaza.backend.marketing.domain.repository.CampaignRepository;
+import com.xplaza.backend.waitingroom.domain.entity.WaitingRoomLine;
+import com.xplaza.backend.waitingroom.domain.repository.WaitingRoomLineRepository;
+import com.xplaza.backend.waitingroom.service.WaitingRoomTokens.Pass;
+import com.xplaza.backend.waitingroom.service.WaitingRoomTokens.Ticket;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * Virtual waiting room for flash-sale campaigns.
+ *
+ * While a configured hot campaign is active, cart and checkout writes need a
+ * pass. Visitors join the campaign's line on the node they reach and get a
+ * signed ticket carrying that node and their place; the line itself is just two
+ * counters per campaign (tickets issued, places admitted), so it costs no
+ * memory per visitor and no database access per visitor. Each tick admits more
+ * places at the current admission rate, shared between the lines that are
+ * waiting. Polling a ticket whose place has been admitted returns a signed pass
+ * bound to that ticket, good until the pass time after the place was let in;
+ * polling again does not extend it.
+ *
+ * Every node publishes its counters each tick and reads the others', so a
+ * ticket polled on any node is admitted against the line of the node that
+ * issued it. When a node stops publishing, one of the others takes its line
+ * over from the last place it let in and keeps admitting at the usual rate.
+ *
+ * The rate follows measured capacity: gated requests report their latency and
+ * status, and the rate backs off multiplicatively when they get slow, fail or
+ * queue for a database connection, and grows additively while the backend keeps
+ * up and people are waiting. Rates are per node.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitingRoomService {
+
+  private static final double BACKOFF = 0.7;
+  private static final Duration LINE_RETENTION = Duration.ofHours(1);
+
+  private final CampaignRepository campaignRepository;
+  private final WaitingRoomLineRepository lineRepository;
+  private final WaitingRoomTokens tokens;
+  private final DataSource dataSource;
+
+  @Value("${waiting-room.campaigns:}")
+  private String[] campaignCodes;
+
+  @Value("${waiting-room.pass-minutes:10}")
+  private long passMinutes;
+
+  @Value("${waiting-room.initial-rate:20}")
+  private double initialRate;
+
+  @Value("${waiting-room.min-rate:2}")
+  private double minRate;
+
+  @Value("${waiting-room.max-rate:500}")
+  private double maxRate;
+
+  @Value("${waiting-room.rate-step:2}")
+  private double rateStep;
+
+  @Value("${waiting-room.target-latency-ms:500}")
+  private long targetLatencyMs;
+
+  @Value("${waiting-room.tick-ms:1000}")
+  private long tickMillis;
+
+  @Value("${waiting-room.node-timeout-ms:30000}")
+  private long nodeTimeoutMillis;
+
+  private final String nodeId = UUID.randomUUID().toString();
+  private final Map<String, Line> lines = new ConcurrentHashMap<>();
+  private final Map<PeerLine, Line> adopted = new ConcurrentHashMap<>();
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder latencyNanos = new LongAdder();
+  private final LongAdder errors = new LongAdder();
+
+  private volatile Set<String> live = Set.of();
+  private volatile Map<PeerLine, Line> peers = Map.of();
+  private volatile Instant peersReadAt;
+  private volatile double rate = -1;
+  private long lastTickNanos = System.nanoTime();
+
+  /**
+   * Whether any waiting room is open, i.e. the gate is up.
+   */
+  public boolean gateOpen() {
+    return !live.isEmpty();
+  }
+
+  /**
+   * Codes of the campaigns whose waiting rooms are open.
+   */
+  public Set<String> openCampaigns() {
+    return live;
+  }
+
+  /**
+   * Take a place in a campaign's line. A signed-in visitor's pass will only work
+   * for them.
+   *
+   * @param principal name of the signed-in visitor, or null
+   */
+  public QueueStatus join(String campaignCode, String principal) {
+    Line line = live.contains(campaignCode) ? lines.get(campaignCode) : null;
+    if (line == null) {
+      throw new IllegalArgumentException("No waiting room is open for campaign " + campaignCode);
+    }
+    Ticket ticket = tokens.newTicket(campaignCode, nodeId, line.issued.incrementAndGet(), Instant.now(), principal);
+    return status(ticket, tokens.issueTicket(ticket));
+  }
+
+  /**
+   * Where a ticket stands; once its place is admitted, or the room has closed,
+   * the status carries a pass. A place admitted longer ago than the pass time
+   * gets no new pass.
+   */
+  public QueueStatus status(String ticket) {
+    Ticket parsed = tokens.parseTicket(ticket)
+        .orElseThrow(() -> new IllegalArgumentException("Invalid or expired waiting room ticket"));
+    return status(parsed, ticket);
+  }
+
+  /**
+   * Whether a pass lets a request through the gate now: it must be presented with
+   * the ticket it was issued for, by the principal that joined, if any.
+   */
+  public boolean admits(String pass, String ticket, String principal) {
+    Optional<Pass> parsedPass = tokens.parsePass(pass);
+    if (parsedPass.isEmpty() || !live.contains(parsedPass.get().campaign())) {
+      return false;
+    }
+    Optional<Ticket> parsedTicket = tokens.parseTicket(ticket);
+    return parsedTicket.isPresent() && tokens.binds(parsedPass.get(), parsedTicket.get(), principal);
+  }
+
+  /**
+   * Report a gated request that was let through, to measure capacity.
+   */
+  public void record(long elapsedNanos, boolean failed) {
+    requests.increment();
+    latencyNanos.add(elapsedNanos);
+    if (failed) {
+      errors.increment();
+    }
+  }
+
+  /**
+   * Adjust the admission rate and admit the next places.
+   */
+  @Scheduled(fixedDelayString = "${waiting-room.tick-ms:1000}")
+  public void tick() {
+    long now = System.nanoTime();
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(now - lastTickNanos);
+    lastTickNanos = now;
+    if (gateOpen()) {
+      advance(elapsed);
+      sync();
+    }
+  }
+
+  /**
+   * Reload which hot campaigns are active, opening and closing their rooms.
+   */
+  @Scheduled(fixedDelayString = "${waiting-room.refresh-ms:15000}", initialDelay = 0)
+  public void refresh() {
+    Set<String> open = new LinkedHashSet<>();
+    try {
+      for (String code : campaignCodes) {
+        if (!code.isBlank() && campaignRepository.findByCode(code.trim()).filter(Campaign::isActive).isPresent()) {
+          open.add(code.trim());
+        }
+      }
+    } catch (RuntimeException e) {
+      log.warn("Waiting room refresh failed, keeping rooms {}", live, e);
+      return;
+    }
+    open.forEach(code -> lines.computeIfAbsent(code, c -> {
+      log.info("Opened waiting room for campaign {}", c);
+      return new Line();
+    }));
+    lines.keySet().removeIf(code -> {
+      if (open.contains(code)) {
+        return false;
+      }
+      log.info("Closed waiting room for campaign {}", code);
+      return true;
+    });
+    adopted.keySet().removeIf(line -> !open.contains(line.campaignCode()));
+    live = Set.copyOf(open);
+    try {
+      lineRepository.deleteStale(Instant.now().minus(LINE_RETENTION));
+    } catch (RuntimeException e) {
+      log.warn("Failed to purge stale waiting room lines", e);
+    }
+  }
+
+  /**
+   * Publish this node's lines and the ones it took over, and read the other
+   * nodes', so tickets they issued can be admitted here. A line whose node has
+   * stopped publishing while places are still waiting is taken over by the first
+   * node to claim it.
+   */
+  void sync() {
+    Instant now = Instant.now();
+    Instant cutoff = now.minusMillis(nodeTimeoutMillis);
+    try {
+      for (String code : live) {
+        Line line = lines.get(code);
+        if (line != null && lineRepository.report(code, nodeId, line.issued.get(), line.admitted, now) == 0) {
+          lineRepository.save(WaitingRoomLine.builder()
+              .campaignCode(code)
+              .nodeId(nodeId)
+              .issued(line.issued.get())
+              .admitted(line.admitted)
+              .updatedAt(now)
+              .build());
+        }
+      }
+      for (Map.Entry<PeerLine, Line> entry : adopted.entrySet()) {
+        Line line = entry.getValue();
+        lineRepository.report(entry.getKey().campaignCode(), entry.getKey().nodeId(), line.issued.get(),
+            line.admitted, now);
+      }
+      Map<PeerLine, Line> followed = new HashMap<>();
+      for (WaitingRoomLine peer : lineRepository.findByCampaignCodeInAndUpdatedAtAfter(live,
+          now.minus(LINE_RETENTION))) {
+        PeerLine key = new PeerLine(peer.getCampaignCode(), peer.getNodeId());
+        if (nodeId.equals(peer.getNodeId()) || adopted.containsKey(key)) {
+          continue;
+        }
+        // Reuse the line so it keeps when its places were let in
+        Line line = peers.getOrDefault(key, new Line());
+        line.issued.set(peer.getIssued());
+        line.admit(peer.getAdmitted(), now, now.minus(passTime()));
+        if (peer.getUpdatedAt().isBefore(cutoff) && peer.getAdmitted() < peer.getIssued()
+            && lineRepository.claim(peer.getId(), peer.getUpdatedAt(), now) == 1) {
+          adopted.put(key, line);
+          log.info("Took over waiting room line of node {} for campaign {} at place {} of {}", key.nodeId(),
+              key.campaignCode(), peer.getAdmitted(), peer.getIssued());
+        } else {
+          followed.put(key, line);
+        }
+      }
+      peers = Map.copyOf(followed);
+      peersReadAt = now;
+    } catch (RuntimeException e) {
+      log.warn("Waiting room sync failed, keeping the last view of other nodes", e);
+    }
+  }
+
+  /**
+   * One tick over {@code elapsedMillis}: move the rate, then hand out that much
+   * admission, split evenly between the lines with people waiting, this node's
+   * own and the ones it took over.
+   */
+  synchronized void advance(long elapsedMillis) {
+    long count = requests.sumThenReset();
+    long nanos = latencyNanos.sumThenReset();
+    long failed = errors.sumThenReset();
+    int awaitingConnection = threadsAwaitingConnection();
+    List<Line> waiting = new ArrayList<>();
+    for (String code : live) {
+      Line line = lines.get(code);
+      if (line != null && line.issued.get() > line.admitted) {
+        waiting.add(line);
+      }
+    }
+    for (Line line : adopted.values()) {
+      if (line.issued.get() > line.admitted) {
+        waiting.add(line);
+      }
+    }
+
+    double current = admissionRate();
+    boolean overloaded = failed > 0 || awaitingConnection > 0
+        || (count > 0 && TimeUnit.NANOSECONDS.toMillis(nanos / count) > targetLatencyMs);
+    if (overloaded) {
+      current = Math.max(minRate, current * BACKOFF);
+    } else if (!waiting.isEmpty()) {
+      current = Math.min(maxRate, current + rateStep);
+    }
+    rate = current;
+
+    if (waiting.isEmpty()) {
+      return;
+    }
+    double share = current * elapsedMillis / 1000.0 / waiting.size();
+    Instant now = Instant.now();
+    Instant keepAfter = now.minus(passTime());
+    for (Line line : waiting) {
+      line.credit += share;
+      long whole = (long) line.credit;
+      long issued = line.issued.get();
+      if (line.admitted + whole >= issued) {
+        line.admit(issued, now, keepAfter);
+        line.credit = 0;
+      } else {
+        line.admit(line.admitted + whole, now, keepAfter);
+        line.credit -= whole;
+      }
+    }
+    if (overloaded) {
+      log.debug("Waiting room backing off to {}/s ({} requests, {} failed, {} awaiting a connection)",
+          String.format("%.1f", current), count, failed, awaitingConnection);
+    }
+  }
+
+  /** Current admission rate in places per second. */
+  double admissionRate() {
+    return rate < 0 ? initialRate : rate;
+  }
+
+  /**
+   * The line a ticket's place belongs to: this node's own, one it took over, or
+   * another node's as it last published it. Until other nodes' lines are known,
+   * their tickets wait; a ticket whose node never published its line is refused,
+   * as nobody can admit it.
+   */
+  private Line lineOf(Ticket ticket) {
+    if (nodeId.equals(ticket.node())) {
+      return lines.get(ticket.campaign());
+    }
+    PeerLine key = new PeerLine(ticket.campaign(), ticket.node());
+    Line line = adopted.get(key);
+    if (line != null) {
+      return line;
+    }
+    Instant cutoff = Instant.now().minusMillis(nodeTimeoutMillis);
+    Instant readAt = peersReadAt;
+    if (readAt == null || readAt.isBefore(cutoff)) {
+      return null;
+    }
+    line = peers.get(key);
+    if (line == null && ticket.issuedAt().isBefore(cutoff)) {
+      throw new IllegalArgumentException("The waiting room line of this ticket is gone, join again");
+    }
+    return line;
+  }
+
+  private QueueStatus status(Ticket parsed, String ticket) {
+    String campaignCode = parsed.campaign();
+    if (!live.contains(campaignCode)) {
+      // A closed room admits everyone
+      return admitted(parsed, ticket, Instant.now());
+    }
+    Line line = lineOf(parsed);
+    long admittedThrough = line == null ? 0 : line.admitted;
+    if (parsed.sequence() <= admittedThrough) {
+      Instant admittedAt = line.admittedAt(parsed.sequence(), Instant.now().minus(passTime()));
+      if (admittedAt == null) {
+        throw new IllegalArgumentException("The waiting room pass time of this ticket is over");
+      }
+      return admitted(parsed, ticket, admittedAt);
+    }
+    long ahead = parsed.sequence() - admittedThrough;
+    double perSecond = Math.max(admissionRate() / Math.max(1, live.size()), minRate / 10);
+    long waitSeconds = (long) Math.ceil(ahead / perSecond);
+    // Poll about twice before the expected turn, never faster than a tick
+    long pollAfter = Math.min(30_000, Math.max(tickMillis, waitSeconds * 500));
+    return new QueueStatus(campaignCode, ticket, false, ahead, waitSeconds, pollAfter, null, null);
+  }
+
+  private QueueStatus admitted(Ticket parsed, String ticket, Instant admittedAt) {
+    Instant expiresAt = admittedAt.plus(passTime());
+    return new QueueStatus(parsed.campaign(), ticket, true, 0, 0, 0, tokens.issuePass(parsed, expiresAt), expiresAt);
+  }
+
+  private Duration passTime() {
+    return Duration.ofMinutes(passMinutes);
+  }
+
+  private int threadsAwaitingConnection() {
+    if (dataSource instanceof HikariDataSource hikari) {
+      HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+      return pool != null ? pool.getThreadsAwaitingConnection() : 0;
+    }
+    return 0;
+  }
+
+  /**
+   * One campaign's line: places handed out and places let in, with when each
+   * stretch of places was let in for as long as their passes last.
+   */
+  private static final class Line {
+    private final AtomicLong issued = new AtomicLong();
+    private final Deque<Admission> admissions = new ConcurrentLinkedDeque<>();
+    private volatile long admitted;
+    private volatile long expiredThrough;
+    private double credit;
+
+    /**
+     * Let in every place through {@code through} as of {@code at}, and forget
+     * admissions from before {@code keepAfter}.
+     */
+    void admit(long through, Instant at, Instant keepAfter) {
+      if (through > admitted) {
+        // Recorded before it is published, so an admitted place always has a time
+        admissions.addLast(new Admission(through, at));
+        admitted = through;
+      }
+      for (Admission first = admissions.peekFirst(); first != null && first.at().isBefore(keepAfter);
+          first = admissions.peekFirst()) {
+        expiredThrough = first.through();
+        admissions.pollFirst();
+      }
+    }
+
+    /**
+     * When a place was let in, or null if that was before {@code keepAfter}.
+     */
+    Instant admittedAt(long place, Instant keepAfter) {
+      if (place <= expiredThrough) {
+        return null;
+      }
+      for (Admission admission : admissions) {
+        if (admission.through() >= place) {
+          return admission.at().isBefore(keepAfter) ? null : admission.at();
+        }
+      }
+      return null;
+    }
+  }
+
+  /** Places let in, up to and including {@code through}, at one time. */
+  private record Admission(long through, Instant at) {
+  }
+
+  /** Another node's line for a campaign. */
+  private record PeerLine(String campaignCode, String nodeId) {
+  }
+
+  /**
+   * A visitor's place in line. {@code pass} is set once admitted; until then
+   * {@code pollAfterMillis} says when to ask again.
+   */
+  public record QueueStatus(
+      String campaignCode,
+      String ticket,
+      boolean admitted,
+      long position,
+      long estimatedWaitSeconds,
+      long pollAfterMillis,
+      String pass,
+      Instant passExpiresAt
+  ) {
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.waitingroom.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Signs and checks waiting-room queue tickets and admission passes, so neither
+ * needs any server-side state.
+ *
+ * <p>
+ * Wire format: {@code base64url(payload) + "." + base64url(hmac)}. A ticket's
+ * payload is {@code t2|campaign|node|sequence|issuedEpochSeconds|id|holder}; a
+ * pass's is {@code p2|campaign|ticketId|holder|expiresEpochSeconds}. The node
+ * is the one whose line the ticket's place belongs to. The holder is a hash of
+ * the principal that joined, empty for anonymous visitors; a pass is only good
+ * together with its ticket and, when it has one, its holder.
+ */
+@Component
+@Slf4j
+public class WaitingRoomTokens {
+
+  private static final String TICKET_VERSION = "t2";
+  private static final String PASS_VERSION = "p2";
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  @Value("${waiting-room.secret:${jwt.secret}}")
+  private String secret;
+
+  @Value("${waiting-room.ticket-hours:6}")
+  private long ticketHours;
+
+  private SecretKeySpec key;
+
+  @PostConstruct
+  public void init() {
+    key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+  }
+
+  /**
+   * A new place in a node's line for a campaign, under a fresh ticket id.
+   *
+   * @param principal name of the signed-in visitor, or null
+   */
+  public Ticket newTicket(String campaign, String node, long sequence, Instant issuedAt, String principal) {
+    return new Ticket(campaign, node, sequence, Instant.ofEpochSecond(issuedAt.getEpochSecond()),
+        UUID.randomUUID().toString(), holder(principal));
+  }
+
+  /**
+   * Sign a queue ticket.
+   */
+  public String issueTicket(Ticket ticket) {
+    return encode(TICKET_VERSION + "|" + ticket.campaign() + "|" + ticket.node() + "|" + ticket.sequence() + "|"
+        + ticket.issuedAt().getEpochSecond() + "|" + ticket.id() + "|" + ticket.holder());
+  }
+
+  /**
+   * Sign a pass letting the ticket's holder through the gate until it expires.
+   */
+  public String issuePass(Ticket ticket, Instant expiresAt) {
+    return encode(PASS_VERSION + "|" + ticket.campaign() + "|" + ticket.id() + "|" + ticket.holder() + "|"
+        + expiresAt.getEpochSecond());
+  }
+
+  /**
+   * Read a ticket; tampered, stale or malformed tickets yield nothing.
+   */
+  public Optional<Ticket> parseTicket(String value) {
+    return decode(value, TICKET_VERSION, 7, 3, 4).flatMap(parts -> {
+      Instant issuedAt = Instant.ofEpochSecond(Long.parseLong(parts[4]));
+      if (issuedAt.plusSeconds(ticketHours * 3600).isBefore(Instant.now())) {
+        return Optional.empty();
+      }
+      return Optional.of(new Ticket(parts[1], parts[2], Long.parseLong(parts[3]), issuedAt, parts[5], parts[6]));
+    });
+  }
+
+  /**
+   * Read a pass; tampered, expired or malformed passes yield nothing.
+   */
+  public Optional<Pass> parsePass(String value) {
+    return decode(value, PASS_VERSION, 5, 4).flatMap(parts -> {
+      Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(parts[4]));
+      if (expiresAt.isBefore(Instant.now())) {
+        return Optional.empty();
+      }
+      return Optional.of(new Pass(parts[1], parts[2], parts[3], expiresAt));
+    });
+  }
+
+  /**
+   * Whether a pass belongs to this ticket and principal.
+   */
+  public boolean binds(Pass pass, Ticket ticket, String principal) {
+    return pass.campaign().equals(ticket.campaign()) && pass.ticketId().equals(ticket.id())
+        && (pass.holder().isEmpty() || pass.holder().equals(holder(principal)));
+  }
+
+  /**
+   * Opaque stand-in for a principal name, so tokens do not carry e-mail
+   * addresses.
+   */
+  private String holder(String principal) {
+    if (principal == null || principal.isBlank()) {
+      return "";
+    }
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(principal.getBytes(StandardCharsets.UTF_8));
+      return ENCODER.encodeToString(digest).substring(0, 22);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Unable to hash waiting room holder", e);
+    }
+  }
+
+  private String encode(String payload) {
+    byte[] body = payload.getBytes(StandardCharsets.UTF_8);
+    return ENCODER.encodeToString(body) + "." + ENCODER.encodeToString(sign(body));
+  }
+
+  /**
+   * Check the signature, version and shape of a token; {@code numeric} are the
+   * indexes of its parts that must be numbers.
+   */
+  private Optional<String[]> decode(String value, String version, int length, int... numeric) {
+    if (value == null || value.isBlank()) {
+      return Optional.empty();
+    }
+    try {
+      int dot = value.indexOf('.');
+      if (dot <= 0) {
+        return Optional.empty();
+      }
+      byte[] body = DECODER.decode(value.substring(0, dot));
+      if (!MessageDigest.isEqual(sign(body), DECODER.decode(value.substring(dot + 1)))) {
+        log.debug("Rejected waiting room token with invalid signature");
+        return Optional.empty();
+      }
+      String[] parts = new String(body, StandardCharsets.UTF_8).split("\\|", -1);
+      if (parts.length != length || !version.equals(parts[0])) {
+        return Optional.empty();
+      }
+      for (int index : numeric) {
+        Long.parseLong(parts[index]);
+      }
+      return Optional.of(parts);
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  private byte[] sign(byte[] body) {
+    try {
+      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(key);
+      return mac.doFinal(body);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Unable to sign waiting room token", e);
+    }
+  }
+
+  /** A place in the line a node keeps for a campaign. */
+  public record Ticket(String campaign, String node, long sequence, Instant issuedAt, String id, String holder) {
+  }
+
+  /** Admission through the gate for a campaign's ticket, until it expires. */
+  public record Pass(String campaign, String ticketId, String holder, Instant expiresAt) {
+  }
+}
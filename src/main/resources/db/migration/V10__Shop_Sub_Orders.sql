@@ -0,0 +1,53 @@
+-- =====================================================
+-- X-Plaza Enterprise E-Commerce Schema
+-- Version: 1.0.9
+-- Date: 2026-10-18
+-- Description: Per-shop sub-orders for marketplace orders
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS shop_orders (
+    shop_order_id UUID PRIMARY KEY,
+    order_id UUID NOT NULL REFERENCES customer_orders(order_id) ON DELETE CASCADE,
+    sub_order_number VARCHAR(60) NOT NULL UNIQUE,
+    shop_id BIGINT NOT NULL REFERENCES shops(shop_id),
+    customer_id BIGINT NOT NULL,
+    status VARCHAR(30) NOT NULL DEFAULT 'PENDING',
+    item_count INTEGER NOT NULL,
+    subtotal DECIMAL(15, 2) NOT NULL,
+    discount_amount DECIMAL(15, 2) DEFAULT 0,
+    shipping_cost DECIMAL(15, 2) DEFAULT 0,
+    tax_amount DECIMAL(15, 2) DEFAULT 0,
+    grand_total DECIMAL(15, 2) NOT NULL,
+    currency VARCHAR(3) DEFAULT 'USD',
+    carrier VARCHAR(100),
+    tracking_number VARCHAR(100),
+    shipped_at TIMESTAMP,
+    delivered_at TIMESTAMP,
+    cancelled_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_shop_orders_order ON shop_orders(order_id);
+CREATE INDEX IF NOT EXISTS idx_shop_orders_shop_created ON shop_orders(shop_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_shop_orders_shop_status ON shop_orders(shop_id, status, created_at);
+
+-- Orders spanning several shops have no single shop
+ALTER TABLE customer_orders ALTER COLUMN shop_id DROP NOT NULL;
+
+-- Items point at their shop's sub-order (no FK: items are inserted in the same batch)
+ALTER TABLE customer_order_items ADD COLUMN IF NOT EXISTS shop_order_id UUID;
+CREATE INDEX IF NOT EXISTS idx_cust_order_items_shop_order ON customer_order_items(shop_order_id);
+
+-- Existing orders were single-shop: give each one sub-order sharing its id
+INSERT INTO shop_orders (shop_order_id, order_id, sub_order_number, shop_id, customer_id, status, item_count,
+    subtotal, discount_amount, shipping_cost, tax_amount, grand_total, currency, shipped_at, delivered_at,
+    cancelled_at, created_at, updated_at)
+SELECT o.order_id, o.order_id, o.order_number || '-1', o.shop_id, o.customer_id, o.status,
+    (SELECT COUNT(*) FROM customer_order_items i WHERE i.order_id = o.order_id),
+    o.subtotal, o.discount_amount, o.shipping_cost, o.tax_amount, o.grand_total, o.currency, o.shipped_at,
+    o.delivered_at, o.cancelled_at, o.created_at, o.updated_at
+FROM customer_orders o
+WHERE NOT EXISTS (SELECT 1 FROM shop_orders s WHERE s.order_id = o.order_id);
+
+UPDATE customer_order_items SET shop_order_id = order_id WHERE shop_order_id IS NULL;
@@ -0,0 +1,17 @@
+-- =====================================================
+-- X-Plaza Enterprise E-Commerce Schema
+-- Version: 1.0.10
+-- Date: 2026-10-18
+-- Description: Block-allocated order number series
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS order_number_blocks (
+    name VARCHAR(30) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
+
+-- Continue after the numbers already issued from order_number_seq
+INSERT INTO order_number_blocks (name, next_value)
+SELECT 'ORDER', COALESCE(MAX(CAST(SUBSTRING(order_number FROM 14) AS BIGINT)), 0) + 1
+FROM customer_orders
+WHERE order_number LIKE 'ORD-________-%';
@@ -0,0 +1,20 @@
+-- =====================================================
+-- X-Plaza Enterprise E-Commerce Schema
+-- Version: 1.0.11
+-- Date: 2026-10-18
+-- Description: Idempotency-Key leases and response snapshots
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    record_key VARCHAR(64) PRIMARY KEY, -- SHA-256 of caller and key
+    request_hash VARCHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL, -- IN_PROGRESS, COMPLETED
+    lease_until TIMESTAMP,
+    response_status INTEGER,
+    content_type VARCHAR(100),
+    response_body BYTEA, -- gzipped
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_expires ON idempotency_keys(expires_at);
@@ -0,0 +1,9 @@
+-- =====================================================
+-- X-Plaza Enterprise E-Commerce Schema
+-- Version: 1.0.12
+-- Date: 2026-10-18
+-- Description: Index for keyset-paged customer order listings
+-- =====================================================
+
+CREATE INDEX IF NOT EXISTS idx_cust_orders_customer_created
+    ON customer_orders (customer_id, created_at, order_id);
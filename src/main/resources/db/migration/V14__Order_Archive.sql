@@ -0,0 +1,19 @@
+-- =====================================================
+-- X-Plaza Enterprise E-Commerce Schema
+-- Version: 1.0.13
+-- Date: 2026-10-18
+-- Description: Index of closed orders moved to cold storage
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS archived_orders (
+    order_id UUID PRIMARY KEY,
+    order_number VARCHAR(50) NOT NULL,
+    customer_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    object_key VARCHAR(255) NOT NULL,
+    member_offset BIGINT NOT NULL,
+    member_length INTEGER NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_archived_orders_customer ON archived_orders (customer_id, created_at);
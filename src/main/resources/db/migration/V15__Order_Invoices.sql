@@ -0,0 +1,20 @@
+-- =====================================================
+-- X-Plaza Enterprise E-Commerce Schema
+-- Version: 1.0.14
+-- Date: 2026-10-18
+-- Description: Invoice PDFs rendered in the background
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS order_invoices (
+    order_id UUID PRIMARY KEY,
+    invoice_number VARCHAR(60) NOT NULL UNIQUE,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    object_key VARCHAR(255),
+    size_bytes BIGINT,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    failure_reason VARCHAR(500),
+    requested_at TIMESTAMP NOT NULL,
+    rendered_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_invoices_status ON order_invoices (status, requested_at);
@@ -0,0 +1,43 @@
+-- =====================================================
+-- X-Plaza Enterprise E-Commerce Schema
+-- Version: 1.0.15
+-- Date: 2026-10-18
+-- Description: Sharded campaign redemption counters and redemption ledger
+-- =====================================================
+
+-- Remaining uses of a campaign, split over N rows to spread update contention
+CREATE TABLE IF NOT EXISTS campaign_redemption_shards (
+    shard_id UUID PRIMARY KEY,
+    campaign_id BIGINT NOT NULL,
+    shard_index INTEGER NOT NULL,
+    redeemed INTEGER NOT NULL DEFAULT 0,
+    remaining INTEGER,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_redemption_shard_campaign_index UNIQUE (campaign_id, shard_index),
+    CONSTRAINT chk_redemption_shard_non_negative CHECK (redeemed >= 0 AND (remaining IS NULL OR remaining >= 0))
+);
+
+CREATE INDEX IF NOT EXISTS idx_redemption_shard_campaign ON campaign_redemption_shards(campaign_id);
+
+CREATE TABLE IF NOT EXISTS campaign_customer_redemptions (
+    id UUID PRIMARY KEY,
+    campaign_id BIGINT NOT NULL,
+    customer_id BIGINT NOT NULL,
+    redeemed INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_customer_redemption_campaign_customer UNIQUE (campaign_id, customer_id)
+);
+
+CREATE TABLE IF NOT EXISTS campaign_redemptions (
+    redemption_id UUID PRIMARY KEY,
+    campaign_id BIGINT NOT NULL,
+    customer_id BIGINT,
+    order_id UUID,
+    shard_index INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    redeemed_at TIMESTAMP NOT NULL,
+    released_at TIMESTAMP,
+    CONSTRAINT uk_campaign_redemptions_campaign_order UNIQUE (campaign_id, order_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_campaign_redemptions_order ON campaign_redemptions(order_id);
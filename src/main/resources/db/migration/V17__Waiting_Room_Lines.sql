@@ -0,0 +1,20 @@
+-- =====================================================
+-- X-Plaza Enterprise E-Commerce Schema
+-- Version: 1.0.16
+-- Date: 2026-10-18
+-- Description: Waiting room line counters published by each node
+-- =====================================================
+
+-- One row per campaign and node, rewritten every tick, so any node can admit
+-- a ticket against the line of the node that issued it
+CREATE TABLE IF NOT EXISTS waiting_room_lines (
+    id UUID PRIMARY KEY,
+    campaign_code VARCHAR(50) NOT NULL,
+    node_id VARCHAR(64) NOT NULL,
+    issued BIGINT NOT NULL DEFAULT 0,
+    admitted BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_waiting_room_lines_campaign_node UNIQUE (campaign_code, node_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_waiting_room_lines_updated ON waiting_room_lines(updated_at);
@@ -0,0 +1,9 @@
+-- =====================================================
+-- X-Plaza Enterprise E-Commerce Schema
+-- Version: 1.0.17
+-- Date: 2026-10-18
+-- Description: Per-attempt token on idempotency key leases
+-- =====================================================
+
+-- Only the attempt holding the lease may complete or release the key
+ALTER TABLE idempotency_keys ADD COLUMN IF NOT EXISTS lease_token UUID;
@@ -0,0 +1,22 @@
+-- =====================================================
+-- X-Plaza Enterprise E-Commerce Schema
+-- Version: 1.0.1
+-- Date: 2026-10-18
+-- Description: Hot-SKU stock striping buckets
+-- =====================================================
+
+ALTER TABLE inventory_items ADD COLUMN IF NOT EXISTS stripe_count INTEGER;
+ALTER TABLE stock_reservations ADD COLUMN IF NOT EXISTS bucket_index INTEGER;
+
+-- Free units of a striped item, split over N rows to spread update contention
+CREATE TABLE IF NOT EXISTS inventory_stock_buckets (
+    bucket_id UUID DEFAULT RANDOM_UUID() PRIMARY KEY,
+    inventory_id UUID NOT NULL,
+    bucket_index INTEGER NOT NULL,
+    quantity_available INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_stock_bucket_inventory_index UNIQUE (inventory_id, bucket_index),
+    CONSTRAINT chk_stock_bucket_non_negative CHECK (quantity_available >= 0)
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_bucket_inventory ON inventory_stock_buckets(inventory_id);
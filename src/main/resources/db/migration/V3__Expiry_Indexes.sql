@@ -0,0 +1,9 @@
+-- =====================================================
+-- X-Plaza Enterprise E-Commerce Schema
+-- Version: 1.0.2
+-- Date: 2026-10-18
+-- Description: Indexes for reservation and pending order expiry
+-- =====================================================
+
+CREATE INDEX IF NOT EXISTS idx_reservation_status_expires ON stock_reservations(status, expires_at);
+CREATE INDEX IF NOT EXISTS idx_cust_orders_status_created ON customer_orders(status, created_at);
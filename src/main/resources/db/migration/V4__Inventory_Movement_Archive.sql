@@ -0,0 +1,26 @@
+-- =====================================================
+-- X-Plaza Enterprise E-Commerce Schema
+-- Version: 1.0.3
+-- Date: 2026-10-18
+-- Description: Paged movement history index and movement archive
+-- =====================================================
+
+CREATE INDEX IF NOT EXISTS idx_movement_inventory_created ON inventory_movements(inventory_item_id, created_at);
+
+-- Movements past the retention window, moved out of the live table monthly
+CREATE TABLE IF NOT EXISTS inventory_movements_archive (
+    movement_id UUID PRIMARY KEY,
+    inventory_id UUID NOT NULL,
+    type VARCHAR(30) NOT NULL,
+    quantity INTEGER NOT NULL,
+    quantity_before INTEGER NOT NULL,
+    quantity_after INTEGER NOT NULL,
+    reference_type VARCHAR(30),
+    reference_id VARCHAR(50),
+    reason TEXT,
+    notes TEXT,
+    created_by BIGINT,
+    created_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_movement_archive_inventory_created ON inventory_movements_archive(inventory_id, created_at);
@@ -0,0 +1,21 @@
+-- =====================================================
+-- X-Plaza Enterprise E-Commerce Schema
+-- Version: 1.0.4
+-- Date: 2026-10-18
+-- Description: Open reorder and low-stock alerts
+-- =====================================================
+
+-- One row per item and threshold while the item stays at or below it
+CREATE TABLE IF NOT EXISTS inventory_alerts (
+    alert_id UUID DEFAULT RANDOM_UUID() PRIMARY KEY,
+    inventory_id UUID NOT NULL,
+    product_id BIGINT,
+    warehouse_id BIGINT,
+    type VARCHAR(20) NOT NULL, -- REORDER, LOW_STOCK
+    available_quantity INTEGER NOT NULL,
+    threshold INTEGER NOT NULL,
+    raised_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_inventory_alert_item_type UNIQUE (inventory_id, type)
+);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_alert_type_raised ON inventory_alerts(type, raised_at);
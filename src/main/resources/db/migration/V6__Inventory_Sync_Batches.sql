@@ -0,0 +1,17 @@
+-- =====================================================
+-- X-Plaza Enterprise E-Commerce Schema
+-- Version: 1.0.5
+-- Date: 2026-10-18
+-- Description: Applied warehouse stock sync batches
+-- =====================================================
+
+-- One row per applied WMS push; the batch id makes re-sent pushes a no-op
+CREATE TABLE IF NOT EXISTS inventory_sync_batches (
+    batch_id VARCHAR(100) PRIMARY KEY,
+    line_count INTEGER NOT NULL,
+    changed_count INTEGER NOT NULL,
+    unknown_count INTEGER NOT NULL,
+    changes BYTEA, -- gzipped TSV: warehouse_id, sku, before, after
+    applied_by BIGINT,
+    applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,28 @@
+-- =====================================================
+-- X-Plaza Enterprise E-Commerce Schema
+-- Version: 1.0.6
+-- Date: 2026-10-18
+-- Description: Demand forecasts and suggested reorder thresholds
+-- =====================================================
+
+-- Latest forecast per item; rewritten by each forecast run
+CREATE TABLE IF NOT EXISTS inventory_demand_forecasts (
+    inventory_id UUID PRIMARY KEY,
+    daily_demand DOUBLE PRECISION NOT NULL,
+    demand_std_dev DOUBLE PRECISION NOT NULL,
+    days_observed INTEGER NOT NULL,
+    lead_time_days INTEGER NOT NULL,
+    service_level DOUBLE PRECISION NOT NULL,
+    current_reorder_point INTEGER,
+    current_safety_stock INTEGER,
+    suggested_reorder_point INTEGER NOT NULL,
+    suggested_safety_stock INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL, -- PENDING, APPLIED, REJECTED, UNCHANGED
+    computed_at TIMESTAMP NOT NULL,
+    decided_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_demand_forecast_status ON inventory_demand_forecasts(status, computed_at);
+
+-- Forecast runs read one history window of reservations
+CREATE INDEX IF NOT EXISTS idx_reservation_created ON stock_reservations(created_at);
@@ -0,0 +1,9 @@
+-- =====================================================
+-- X-Plaza Enterprise E-Commerce Schema
+-- Version: 1.0.7
+-- Date: 2026-10-18
+-- Description: Unit cost on inbound movements for FIFO valuation
+-- =====================================================
+
+ALTER TABLE inventory_movements ADD COLUMN IF NOT EXISTS unit_cost DECIMAL(15, 4);
+ALTER TABLE inventory_movements_archive ADD COLUMN IF NOT EXISTS unit_cost DECIMAL(15, 4);
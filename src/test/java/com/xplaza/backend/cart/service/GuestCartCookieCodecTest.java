@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.cart.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.xplaza.backend.cart.service.GuestCartCookieCodec.GuestCartLine;
+
+class GuestCartCookieCodecTest {
+
+  private GuestCartCookieCodec codec;
+
+  @BeforeEach
+  void setUp() {
+    codec = new GuestCartCookieCodec();
+    ReflectionTestUtils.setField(codec, "secret", "test-secret-key-for-guest-cart-cookies");
+    ReflectionTestUtils.setField(codec, "maxBytes", 512);
+    ReflectionTestUtils.setField(codec, "ttlDays", 30);
+    codec.init();
+  }
+
+  @Test
+  void encodeDecode_ShouldRoundTripLines() {
+    UUID variantId = UUID.randomUUID();
+    List<GuestCartLine> lines = List.of(
+        new GuestCartLine(500L, null, 2),
+        new GuestCartLine(501L, variantId, 1));
+
+    String value = codec.encode(lines);
+
+    assertThat(value).isNotNull();
+    assertThat(codec.decode(value)).containsExactlyElementsOf(lines);
+  }
+
+  @Test
+  void decode_ShouldReturnEmpty_WhenSignatureIsTampered() {
+    String value = codec.encode(List.of(new GuestCartLine(500L, null, 2)));
+    String tampered = value.substring(0, value.indexOf('.')) + ".AAAA";
+
+    assertThat(codec.decode(tampered)).isEmpty();
+  }
+
+  @Test
+  void decode_ShouldReturnEmpty_WhenCookieIsMissingOrGarbage() {
+    assertThat(codec.decode(null)).isEmpty();
+    assertThat(codec.decode("not-a-cookie")).isEmpty();
+    assertThat(codec.decode("%%%.###")).isEmpty();
+  }
+
+  @Test
+  void encode_ShouldReturnNull_WhenCartExceedsSizeCap() {
+    List<GuestCartLine> lines = new ArrayList<>();
+    for (long i = 0; i < 20; i++) {
+      lines.add(new GuestCartLine(i, UUID.randomUUID(), 1));
+    }
+
+    assertThat(codec.encode(lines)).isNull();
+  }
+}
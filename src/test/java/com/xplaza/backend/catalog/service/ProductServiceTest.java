@@ -29,6 +29,7 @@ import org.springframework.data.domain.Pageable;
 import com.xplaza.backend.catalog.domain.entity.Product;
 import com.xplaza.backend.catalog.domain.repository.ProductRepository;
 import com.xplaza.backend.exception.ResourceNotFoundException;
+import com.xplaza.backend.outbox.service.OutboxService;
 
 @ExtendWith(MockitoExtension.class)
 class ProductServiceTest {
@@ -36,6 +37,9 @@ class ProductServiceTest {
   @Mock
   private ProductRepository productRepository;
 
+  @Mock
+  private OutboxService outboxService;
+
   @InjectMocks
   private ProductService productService;
 
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.common.domain.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.xplaza.backend.outbox.domain.entity.OutboxEvent;
+
+class AssignedIdEntityTest {
+
+  @Test
+  void isNew_ShouldBeTrue_UntilPersistedOrLoaded_EvenWithAnAssignedId() {
+    OutboxEvent event = OutboxEvent.builder().build();
+
+    assertThat(event.getId()).isNotNull().isEqualTo(event.getEventId());
+    assertThat(event.isNew()).isTrue();
+
+    event.markPersisted();
+
+    assertThat(event.isNew()).isFalse();
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+  @Test
+  void mightContain_ShouldBeTrue_ForEveryAddedValue() {
+    BloomFilter filter = new BloomFilter(1000, 0.01);
+    for (int i = 0; i < 1000; i++) {
+      filter.add("CODE" + i);
+    }
+
+    for (int i = 0; i < 1000; i++) {
+      assertThat(filter.mightContain("CODE" + i)).isTrue();
+    }
+  }
+
+  @Test
+  void mightContain_ShouldStayNearFalsePositiveRate_ForValuesNeverAdded() {
+    BloomFilter filter = new BloomFilter(1000, 0.01);
+    for (int i = 0; i < 1000; i++) {
+      filter.add("CODE" + i);
+    }
+
+    int falsePositives = 0;
+    for (int i = 0; i < 100_000; i++) {
+      if (filter.mightContain("GUESS" + i)) {
+        falsePositives++;
+      }
+    }
+
+    assertThat(falsePositives).isLessThan(2000);
+  }
+
+  @Test
+  void mightContain_ShouldBeFalse_WhenEmpty() {
+    BloomFilter filter = new BloomFilter(0, 0.01);
+
+    assertThat(filter.mightContain("SAVE10")).isFalse();
+    assertThat(filter.bitCount()).isPositive();
+  }
+
+  @Test
+  void constructor_ShouldRejectInvalidFalsePositiveRate() {
+    assertThatThrownBy(() -> new BloomFilter(10, 0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new BloomFilter(10, 1)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
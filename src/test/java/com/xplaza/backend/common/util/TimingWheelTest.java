@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+  private final Instant start = Instant.ofEpochSecond(1_700_000_000L);
+
+  @Test
+  void advance_ShouldReturnEntriesOnlyOnceTheirDeadlineIsReached() {
+    TimingWheel<String> wheel = new TimingWheel<>(1000, 3, start);
+    wheel.add("soon", start.plusSeconds(5));
+    wheel.add("later", start.plusSeconds(100));
+    wheel.add("much-later", start.plus(Duration.ofHours(2)));
+
+    assertThat(wheel.advance(start.plusSeconds(4))).isEmpty();
+    assertThat(wheel.advance(start.plusSeconds(5))).containsExactly("soon");
+    assertThat(wheel.advance(start.plusSeconds(99))).isEmpty();
+    assertThat(wheel.advance(start.plusSeconds(100))).containsExactly("later");
+    assertThat(wheel.advance(start.plus(Duration.ofHours(2)).minusSeconds(1))).isEmpty();
+    assertThat(wheel.advance(start.plus(Duration.ofHours(2)))).containsExactly("much-later");
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  void add_ShouldFireOnNextAdvance_WhenDeadlineHasPassed() {
+    TimingWheel<String> wheel = new TimingWheel<>(1000, 2, start);
+    wheel.advance(start.plusSeconds(10));
+
+    wheel.add("overdue", start);
+
+    assertThat(wheel.advance(start.plusSeconds(10))).containsExactly("overdue");
+  }
+
+  @Test
+  void add_ShouldRejectDeadlinesBeyondHorizon() {
+    TimingWheel<String> wheel = new TimingWheel<>(1000, 2, start);
+
+    assertThat(wheel.add("too-far", wheel.horizon().plusSeconds(1))).isFalse();
+    assertThat(wheel.add("edge", wheel.horizon())).isTrue();
+  }
+
+  @Test
+  void advance_ShouldReleaseLargeBatchesInDeadlineBuckets() {
+    TimingWheel<Integer> wheel = new TimingWheel<>(1000, 3, start);
+    for (int i = 0; i < 18_000; i++) {
+      wheel.add(i, start.plusSeconds(i % 600));
+    }
+
+    assertThat(wheel.advance(start.plusSeconds(299))).hasSize(9_000);
+    assertThat(wheel.advance(start.plusSeconds(599))).hasSize(9_000);
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.idempotency.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xplaza.backend.idempotency.domain.entity.IdempotencyRecord;
+import com.xplaza.backend.idempotency.service.IdempotencyService;
+import com.xplaza.backend.idempotency.service.IdempotencyService.Decision;
+import com.xplaza.backend.idempotency.service.IdempotencyService.Outcome;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyKeyFilterTest {
+
+  @Mock
+  private IdempotencyService idempotencyService;
+
+  private IdempotencyKeyFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    filter = new IdempotencyKeyFilter(idempotencyService, new ObjectMapper());
+    ReflectionTestUtils.setField(filter, "paths", new String[] { "/api/v1/checkout/**" });
+    ReflectionTestUtils.setField(filter, "waitMs", 0L);
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void doFilter_ShouldRunAndStoreResponse_WhenKeyIsNew() throws Exception {
+    UUID leaseToken = UUID.randomUUID();
+    given(idempotencyService.begin(eq("alice"), eq("key-1"), anyString()))
+        .willReturn(new Outcome(Decision.PROCEED, "rk", leaseToken, null));
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+      @Override
+      protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        assertThat(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("{}");
+        resp.setStatus(201);
+        resp.setContentType("application/json");
+        resp.getWriter().write("{\"ok\":true}");
+      }
+    });
+
+    filter.doFilter(request("key-1"), response, chain);
+
+    assertThat(response.getStatus()).isEqualTo(201);
+    assertThat(response.getContentAsString()).isEqualTo("{\"ok\":true}");
+    verify(idempotencyService).complete(eq("rk"), eq(leaseToken), eq(201), startsWith("application/json"),
+        eq("{\"ok\":true}".getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  void doFilter_ShouldReplayStoredResponse_WithoutRunningTheRequest() throws Exception {
+    IdempotencyRecord record = IdempotencyRecord.builder().responseStatus(201).contentType("application/json").build();
+    given(idempotencyService.begin(eq("alice"), eq("key-1"), anyString()))
+        .willReturn(new Outcome(Decision.REPLAY, "rk", null, record));
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    MockFilterChain chain = new MockFilterChain();
+
+    filter.doFilter(request("key-1"), response, chain);
+
+    assertThat(chain.getRequest()).isNull();
+    assertThat(response.getStatus()).isEqualTo(201);
+    assertThat(response.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER)).isEqualTo("true");
+  }
+
+  @Test
+  void doFilter_ShouldReturnConflict_WhenDuplicateIsStillRunning() throws Exception {
+    given(idempotencyService.begin(eq("alice"), eq("key-1"), anyString()))
+        .willReturn(new Outcome(Decision.IN_PROGRESS, "rk", null, null));
+    given(idempotencyService.awaitCompletion(eq("rk"), anyLong())).willReturn(Optional.empty());
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    MockFilterChain chain = new MockFilterChain();
+
+    filter.doFilter(request("key-1"), response, chain);
+
+    assertThat(chain.getRequest()).isNull();
+    assertThat(response.getStatus()).isEqualTo(409);
+    verify(idempotencyService, never()).complete(anyString(), any(), any(Integer.class), any(), any());
+  }
+
+  @Test
+  void doFilter_ShouldPassThrough_WhenNoKeyIsSent() throws Exception {
+    MockHttpServletRequest request = request(null);
+    MockFilterChain chain = new MockFilterChain();
+
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    assertThat(chain.getRequest()).isSameAs(request);
+    verify(idempotencyService, never()).begin(anyString(), anyString(), anyString());
+  }
+
+  private static MockHttpServletRequest request(String key) {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/checkout/42/complete");
+    request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+    if (key != null) {
+      request.addHeader(IdempotencyKeyFilter.HEADER, key);
+    }
+    return request;
+  }
+}
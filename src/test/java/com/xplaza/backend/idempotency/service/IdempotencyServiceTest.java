@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.idempotency.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.xplaza.backend.idempotency.domain.entity.IdempotencyRecord;
+import com.xplaza.backend.idempotency.domain.entity.IdempotencyRecord.RecordStatus;
+import com.xplaza.backend.idempotency.domain.repository.IdempotencyRecordRepository;
+import com.xplaza.backend.idempotency.service.IdempotencyService.Decision;
+import com.xplaza.backend.idempotency.service.IdempotencyService.Outcome;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+  private static final String HASH = IdempotencyService.hashRequest("POST", "/api/v1/checkout/1/complete", null,
+      new byte[0]);
+
+  @Mock
+  private IdempotencyRecordRepository recordRepository;
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @InjectMocks
+  private IdempotencyService idempotencyService;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(idempotencyService, "leaseSeconds", 60L);
+    ReflectionTestUtils.setField(idempotencyService, "ttlHours", 24L);
+  }
+
+  @Test
+  void begin_ShouldLeaseKey_WhenSeenForTheFirstTime() {
+    given(recordRepository.findById(anyString())).willReturn(Optional.empty());
+
+    Outcome outcome = idempotencyService.begin("alice", "key-1", HASH);
+
+    assertThat(outcome.decision()).isEqualTo(Decision.PROCEED);
+    assertThat(outcome.leaseToken()).isNotNull();
+    verify(jdbcTemplate).update(anyString(), any(Object[].class));
+  }
+
+  @Test
+  void begin_ShouldReplay_WhenKeyCompletedForSameRequest() {
+    IdempotencyRecord record = record(RecordStatus.COMPLETED, HASH, null);
+    given(recordRepository.findById(anyString())).willReturn(Optional.of(record));
+
+    Outcome outcome = idempotencyService.begin("alice", "key-1", HASH);
+
+    assertThat(outcome.decision()).isEqualTo(Decision.REPLAY);
+    assertThat(outcome.record()).isSameAs(record);
+    verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+  }
+
+  @Test
+  void begin_ShouldReject_WhenKeyWasUsedForAnotherRequest() {
+    IdempotencyRecord record = record(RecordStatus.COMPLETED, "other", null);
+    given(recordRepository.findById(anyString())).willReturn(Optional.of(record));
+
+    assertThat(idempotencyService.begin("alice", "key-1", HASH).decision()).isEqualTo(Decision.MISMATCH);
+  }
+
+  @Test
+  void begin_ShouldReportInProgress_WhenAConcurrentDuplicateWins() {
+    IdempotencyRecord running = record(RecordStatus.IN_PROGRESS, HASH, Instant.now().plusSeconds(30));
+    given(recordRepository.findById(anyString())).willReturn(Optional.empty(), Optional.of(running));
+    given(jdbcTemplate.update(anyString(), any(Object[].class))).willThrow(new DuplicateKeyException("dup"));
+
+    assertThat(idempotencyService.begin("alice", "key-1", HASH).decision()).isEqualTo(Decision.IN_PROGRESS);
+  }
+
+  @Test
+  void begin_ShouldTakeOver_WhenLeaseHasLapsed() {
+    IdempotencyRecord stale = record(RecordStatus.IN_PROGRESS, HASH, Instant.now().minusSeconds(5));
+    given(recordRepository.findById(anyString())).willReturn(Optional.of(stale));
+    given(recordRepository.takeOver(eq(stale.getRecordKey()), eq(HASH), any(), any(), any(), any())).willReturn(1);
+
+    Outcome outcome = idempotencyService.begin("alice", "key-1", HASH);
+
+    assertThat(outcome.decision()).isEqualTo(Decision.PROCEED);
+    // The takeover stores a fresh token, and the new attempt is the one given it
+    verify(recordRepository).takeOver(eq(stale.getRecordKey()), eq(HASH), any(), eq(outcome.leaseToken()), any(),
+        any());
+  }
+
+  @Test
+  void release_ShouldOnlyDropTheLeaseHeldWithTheGivenToken() {
+    UUID leaseToken = UUID.randomUUID();
+
+    idempotencyService.release("rk", leaseToken);
+
+    verify(recordRepository).release("rk", leaseToken);
+  }
+
+  @Test
+  void complete_ShouldStoreGzippedBodyThatUnzipsToTheResponse() {
+    byte[] body = "{\"orderId\":\"42\"}".getBytes(StandardCharsets.UTF_8);
+    UUID leaseToken = UUID.randomUUID();
+    given(recordRepository.complete(eq("rk"), eq(leaseToken), eq(201), eq("application/json"), any(), any()))
+        .willAnswer(inv -> {
+          IdempotencyRecord stored = record(RecordStatus.COMPLETED, HASH, null);
+          stored.setResponseBody(inv.getArgument(4));
+          assertThat(IdempotencyService.responseBody(stored)).isEqualTo(body);
+          return 1;
+        });
+
+    idempotencyService.complete("rk", leaseToken, 201, "application/json", body);
+
+    verify(recordRepository).complete(eq("rk"), eq(leaseToken), eq(201), eq("application/json"), any(), any());
+  }
+
+  private static IdempotencyRecord record(RecordStatus status, String hash, Instant leaseUntil) {
+    Instant now = Instant.now();
+    return IdempotencyRecord.builder()
+        .recordKey("rk")
+        .requestHash(hash)
+        .status(status)
+        .leaseUntil(leaseUntil)
+        .responseStatus(status == RecordStatus.COMPLETED ? 201 : null)
+        .createdAt(now)
+        .expiresAt(now.plusSeconds(3600))
+        .build();
+  }
+}
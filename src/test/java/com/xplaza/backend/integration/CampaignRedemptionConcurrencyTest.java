@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.xplaza.backend.marketing.domain.entity.Campaign;
+import com.xplaza.backend.marketing.domain.repository.CampaignRedemptionShardRepository;
+import com.xplaza.backend.marketing.domain.repository.CampaignRepository;
+import com.xplaza.backend.marketing.service.CampaignRedemptionService;
+import com.xplaza.backend.marketing.service.CampaignService;
+
+/**
+ * Hammers one coupon from many threads and checks that redemptions never exceed
+ * the total or per-customer limits, and that cancelling gives back exactly what
+ * was taken.
+ */
+public class CampaignRedemptionConcurrencyTest extends BaseIntegrationTest {
+
+  private static final int TOTAL_LIMIT = 40;
+  private static final int PER_CUSTOMER_LIMIT = 2;
+  private static final int CUSTOMERS = 30;
+  private static final int THREADS = 16;
+  private static final int ATTEMPTS = 150;
+
+  @Autowired
+  private CampaignRepository campaignRepository;
+
+  @Autowired
+  private CampaignService campaignService;
+
+  @Autowired
+  private CampaignRedemptionService redemptionService;
+
+  @Autowired
+  private CampaignRedemptionShardRepository shardRepository;
+
+  @Test
+  public void concurrentRedemptions_ShouldNeverExceedLimits_AndReleaseExactlyOnce() throws Exception {
+    Campaign campaign = createCampaign();
+    Long campaignId = campaign.getCampaignId();
+
+    List<UUID> orders = hammer(campaignId);
+
+    assertThat(orders).isNotEmpty().hasSizeLessThanOrEqualTo(TOTAL_LIMIT);
+    assertThat(shardRepository.sumRedeemedByCampaignId(campaignId)).isEqualTo(orders.size());
+    List<Map<String, Object>> perCustomer = jdbcTemplate.queryForList("SELECT customer_id, COUNT(*) AS uses "
+        + "FROM xplaza.campaign_redemptions WHERE campaign_id = ? AND status = 'REDEEMED' GROUP BY customer_id",
+        campaignId);
+    assertThat(perCustomer).allSatisfy(row -> assertThat(((Number) row.get("uses")).intValue())
+        .isLessThanOrEqualTo(PER_CUSTOMER_LIMIT));
+
+    List<UUID> cancelled = orders.subList(0, orders.size() / 2);
+    assertThat(redemptionService.releaseForOrders(cancelled)).isEqualTo(cancelled.size());
+    assertThat(redemptionService.releaseForOrders(cancelled)).isZero();
+    assertThat(shardRepository.sumRedeemedByCampaignId(campaignId)).isEqualTo(orders.size() - cancelled.size());
+    assertThat(campaignService.getRedemptionStats(campaignId).redeemed()).isEqualTo(orders.size() - cancelled.size());
+  }
+
+  /**
+   * Fire redemptions for random customers from all threads at once.
+   *
+   * @return orders whose redemption succeeded
+   */
+  private List<UUID> hammer(Long campaignId) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    Queue<UUID> redeemed = new ConcurrentLinkedQueue<>();
+    List<Future<?>> futures = new ArrayList<>();
+    try {
+      for (int i = 0; i < ATTEMPTS; i++) {
+        futures.add(executor.submit(() -> {
+          long customerId = ThreadLocalRandom.current().nextLong(1, CUSTOMERS + 1);
+          UUID orderId = UUID.randomUUID();
+          start.await();
+          try {
+            redemptionService.redeem(campaignId, customerId, orderId);
+            redeemed.add(orderId);
+          } catch (RuntimeException e) {
+            // Limit reached (or lock timeout): the attempt redeemed nothing
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    return new ArrayList<>(redeemed);
+  }
+
+  private Campaign createCampaign() {
+    String code = "HOT" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    Campaign campaign = campaignRepository.save(Campaign.builder()
+        .name("Flash " + code)
+        .code(code)
+        .type(Campaign.CampaignType.FLASH_SALE)
+        .discountType(Campaign.DiscountType.PERCENTAGE)
+        .discountValue(new BigDecimal("10"))
+        .totalUsesLimit(TOTAL_LIMIT)
+        .perCustomerLimit(PER_CUSTOMER_LIMIT)
+        .startDate(Instant.now().minus(1, ChronoUnit.DAYS))
+        .endDate(Instant.now().plus(1, ChronoUnit.DAYS))
+        .build());
+    return campaignService.activateCampaign(campaign.getCampaignId());
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.servlet.Filter;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.xplaza.backend.cart.controller.GuestCartController.GuestItemRequest;
+import com.xplaza.backend.cart.service.GuestCartCookieCodec;
+import com.xplaza.backend.inventory.domain.entity.InventoryItem;
+import com.xplaza.backend.inventory.domain.entity.Warehouse;
+
+/**
+ * Guest cart endpoints through the real security filter chain: open to
+ * anonymous visitors, except the merge into a customer's cart, and never
+ * writing a cart row for them.
+ */
+public class GuestCartSecurityIntegrationTest extends BaseIntegrationTest {
+
+  @Autowired
+  @Qualifier("springSecurityFilterChain")
+  private Filter springSecurityFilterChain;
+
+  @Autowired
+  private GuestCartCookieCodec cookieCodec;
+
+  @Test
+  public void addItem_ShouldSucceed_ForAnonymousVisitor() throws Exception {
+    Long productId = createProduct(getAdminToken());
+    stock(productId);
+    MockMvc secured = securedMockMvc();
+
+    secured.perform(post("/api/v1/carts/guest/items")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(new GuestItemRequest(productId, null, 2))))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.SET_COOKIE, Matchers.containsString(GuestCartCookieCodec.COOKIE_NAME)))
+        .andExpect(jsonPath("$.items[0].productId").value(productId));
+  }
+
+  @Test
+  public void addItem_ShouldBeRefused_WithoutPersisting_WhenCartOutgrowsTheCookie() throws Exception {
+    Long productId = createProduct(getAdminToken());
+    stock(productId);
+    MockMvc secured = securedMockMvc();
+    Integer cartsBefore = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM xplaza.shopping_carts", Integer.class);
+
+    int maxBytes = (int) ReflectionTestUtils.getField(cookieCodec, "maxBytes");
+    ReflectionTestUtils.setField(cookieCodec, "maxBytes", 16);
+    try {
+      secured.perform(post("/api/v1/carts/guest/items")
+          .contentType(MediaType.APPLICATION_JSON)
+          .content(objectMapper.writeValueAsString(new GuestItemRequest(productId, null, 1))))
+          .andExpect(status().isBadRequest())
+          .andExpect(header().doesNotExist(HttpHeaders.SET_COOKIE));
+    } finally {
+      ReflectionTestUtils.setField(cookieCodec, "maxBytes", maxBytes);
+    }
+
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM xplaza.shopping_carts", Integer.class))
+        .isEqualTo(cartsBefore);
+  }
+
+  @Test
+  public void merge_ShouldBeForbidden_UnlessSignedInAsThatCustomer() throws Exception {
+    MockMvc secured = securedMockMvc();
+
+    secured.perform(post("/api/v1/carts/guest/merge/1"))
+        .andExpect(status().isForbidden());
+    secured.perform(post("/api/v1/carts/guest/merge/1")
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAdminToken()))
+        .andExpect(status().isForbidden());
+  }
+
+  private MockMvc securedMockMvc() {
+    return MockMvcBuilders.webAppContextSetup(webApplicationContext)
+        .addFilters(springSecurityFilterChain)
+        .build();
+  }
+
+  private void stock(Long productId) {
+    Warehouse warehouse = warehouseRepository.findByCode("MAIN")
+        .orElseGet(() -> warehouseRepository.save(Warehouse.builder()
+            .name("Main Warehouse")
+            .code("MAIN")
+            .city("City")
+            .countryCode("US")
+            .addressLine1("123 Main St")
+            .postalCode("12345")
+            .isActive(true)
+            .build()));
+    inventoryItemRepository.save(InventoryItem.builder()
+        .productId(productId)
+        .warehouse(warehouse)
+        .sku("SKU-GUEST-" + productId)
+        .quantityOnHand(10)
+        .quantityReserved(0)
+        .status(InventoryItem.InventoryStatus.ACTIVE)
+        .build());
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.xplaza.backend.idempotency.domain.entity.IdempotencyRecord;
+import com.xplaza.backend.idempotency.domain.repository.IdempotencyRecordRepository;
+import com.xplaza.backend.idempotency.service.IdempotencyService;
+import com.xplaza.backend.idempotency.service.IdempotencyService.Decision;
+import com.xplaza.backend.idempotency.service.IdempotencyService.Outcome;
+
+/**
+ * Takes over idempotency keys whose lease or record expired, against the real
+ * database, and checks the attempt that lost its lease can no longer complete
+ * or release the key.
+ */
+public class IdempotencyTakeoverIntegrationTest extends BaseIntegrationTest {
+
+  private static final Instant PAST = Instant.parse("2026-01-01T00:00:00Z");
+
+  @Autowired
+  private IdempotencyService idempotencyService;
+
+  @Autowired
+  private IdempotencyRecordRepository recordRepository;
+
+  @Test
+  public void begin_ShouldTakeOverKey_WhenLeaseExpired() {
+    String key = UUID.randomUUID().toString();
+    Outcome first = idempotencyService.begin("customer:1", key, "hash-a");
+    assertThat(first.decision()).isEqualTo(Decision.PROCEED);
+    jdbcTemplate.update("UPDATE xplaza.idempotency_keys SET lease_until = ? WHERE record_key = ?",
+        Timestamp.from(PAST), first.recordKey());
+
+    Outcome retry = idempotencyService.begin("customer:1", key, "hash-b");
+
+    assertThat(retry.decision()).isEqualTo(Decision.PROCEED);
+    IdempotencyRecord record = recordRepository.findById(first.recordKey()).orElseThrow();
+    assertThat(record.getRequestHash()).isEqualTo("hash-b");
+    assertThat(record.getLeaseUntil()).isAfter(Instant.now());
+  }
+
+  @Test
+  public void begin_ShouldTakeOverKey_WhenCompletedRecordExpired() {
+    String key = UUID.randomUUID().toString();
+    Outcome first = idempotencyService.begin("customer:1", key, "hash-a");
+    idempotencyService.complete(first.recordKey(), first.leaseToken(), 201, "application/json", "{}".getBytes());
+    jdbcTemplate.update("UPDATE xplaza.idempotency_keys SET expires_at = ? WHERE record_key = ?",
+        Timestamp.from(PAST), first.recordKey());
+
+    Outcome retry = idempotencyService.begin("customer:1", key, "hash-a");
+
+    assertThat(retry.decision()).isEqualTo(Decision.PROCEED);
+    IdempotencyRecord record = recordRepository.findById(first.recordKey()).orElseThrow();
+    assertThat(record.getStatus()).isEqualTo(IdempotencyRecord.RecordStatus.IN_PROGRESS);
+    assertThat(record.getResponseBody()).isNull();
+    assertThat(record.getExpiresAt()).isAfter(Instant.now());
+  }
+
+  @Test
+  public void completeAndRelease_ShouldBeIgnored_ForAnAttemptWhoseLeaseWasTakenOver() {
+    String key = UUID.randomUUID().toString();
+    Outcome first = idempotencyService.begin("customer:1", key, "hash-a");
+    jdbcTemplate.update("UPDATE xplaza.idempotency_keys SET lease_until = ? WHERE record_key = ?",
+        Timestamp.from(PAST), first.recordKey());
+    Outcome retry = idempotencyService.begin("customer:1", key, "hash-a");
+    assertThat(retry.decision()).isEqualTo(Decision.PROCEED);
+
+    idempotencyService.complete(first.recordKey(), first.leaseToken(), 500, "application/json", "{}".getBytes());
+    idempotencyService.release(first.recordKey(), first.leaseToken());
+
+    IdempotencyRecord record = recordRepository.findById(first.recordKey()).orElseThrow();
+    assertThat(record.getStatus()).isEqualTo(IdempotencyRecord.RecordStatus.IN_PROGRESS);
+    assertThat(record.getLeaseToken()).isEqualTo(retry.leaseToken());
+
+    idempotencyService.complete(retry.recordKey(), retry.leaseToken(), 201, "application/json", "{}".getBytes());
+
+    record = recordRepository.findById(first.recordKey()).orElseThrow();
+    assertThat(record.getStatus()).isEqualTo(IdempotencyRecord.RecordStatus.COMPLETED);
+    assertThat(record.getResponseStatus()).isEqualTo(201);
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.xplaza.backend.inventory.domain.entity.InventoryItem;
+import com.xplaza.backend.inventory.domain.entity.StockReservation;
+import com.xplaza.backend.inventory.domain.entity.Warehouse;
+import com.xplaza.backend.inventory.domain.repository.InventoryStockBucketRepository;
+import com.xplaza.backend.inventory.service.InventoryService;
+
+/**
+ * Hammers one SKU from many threads and checks that reservations never exceed
+ * the stock on hand, with and without bucket striping, and that a reservation
+ * released from many threads at once is returned to stock once.
+ */
+public class InventoryReservationConcurrencyTest extends BaseIntegrationTest {
+
+  private static final int STOCK = 50;
+  private static final int THREADS = 16;
+  private static final int ATTEMPTS = 120;
+
+  @Autowired
+  private InventoryService inventoryService;
+
+  @Autowired
+  private InventoryStockBucketRepository bucketRepository;
+
+  @Test
+  public void concurrentReservations_ShouldNeverOversell() throws Exception {
+    InventoryItem item = createItem();
+
+    int reserved = hammer(item.getProductId());
+
+    InventoryItem after = inventoryItemRepository.findById(item.getInventoryId()).orElseThrow();
+    assertThat(reserved).isPositive().isLessThanOrEqualTo(STOCK);
+    assertThat(after.getQuantityReserved()).isEqualTo(reserved);
+    assertThat(after.getQuantityOnHand()).isEqualTo(STOCK);
+  }
+
+  @Test
+  public void concurrentReservations_ShouldNeverOversell_WhenStriped() throws Exception {
+    InventoryItem item = createItem();
+    inventoryService.enableStriping(item.getInventoryId(), 8);
+
+    int reserved = hammer(item.getProductId());
+
+    assertThat(reserved).isPositive().isLessThanOrEqualTo(STOCK);
+    assertThat(bucketRepository.sumAvailableByInventoryId(item.getInventoryId())).isEqualTo(STOCK - reserved);
+    assertThat(inventoryService.getAvailableQuantity(item.getProductId())).isEqualTo(STOCK - reserved);
+
+    InventoryItem after = inventoryService.disableStriping(item.getInventoryId());
+    assertThat(after.getQuantityReserved()).isEqualTo(reserved);
+  }
+
+  @Test
+  public void concurrentReleases_ShouldReturnTheStockOnce() throws Exception {
+    InventoryItem item = createItem();
+    StockReservation reservation = inventoryService.reserveStockAnyWarehouse(item.getProductId(), null, 5,
+        UUID.randomUUID());
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    AtomicInteger released = new AtomicInteger();
+    List<Future<?>> futures = new ArrayList<>();
+    try {
+      for (int i = 0; i < THREADS; i++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          try {
+            inventoryService.releaseReservation(reservation.getReservationId());
+            released.incrementAndGet();
+          } catch (RuntimeException e) {
+            // Already released by another thread
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(released.get()).isEqualTo(1);
+    InventoryItem after = inventoryItemRepository.findById(item.getInventoryId()).orElseThrow();
+    assertThat(after.getQuantityReserved()).isZero();
+    assertThat(after.getQuantityOnHand()).isEqualTo(STOCK);
+  }
+
+  /**
+   * Fire reservations of 1-3 units from all threads at once.
+   *
+   * @return total units successfully reserved
+   */
+  private int hammer(Long productId) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    AtomicInteger reservedUnits = new AtomicInteger();
+    List<Future<?>> futures = new ArrayList<>();
+    try {
+      for (int i = 0; i < ATTEMPTS; i++) {
+        futures.add(executor.submit(() -> {
+          int quantity = ThreadLocalRandom.current().nextInt(1, 4);
+          start.await();
+          try {
+            inventoryService.reserveStockAnyWarehouse(productId, null, quantity, UUID.randomUUID());
+            reservedUnits.addAndGet(quantity);
+          } catch (RuntimeException e) {
+            // Out of stock (or lock timeout): the attempt reserved nothing
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    return reservedUnits.get();
+  }
+
+  private InventoryItem createItem() {
+    Warehouse warehouse = warehouseRepository.findByCode("MAIN")
+        .orElseGet(() -> warehouseRepository.save(Warehouse.builder()
+            .name("Main Warehouse")
+            .code("MAIN")
+            .city("City")
+            .countryCode("US")
+            .addressLine1("123 Main St")
+            .postalCode("12345")
+            .isActive(true)
+            .build()));
+
+    long productId = ThreadLocalRandom.current().nextLong(1_000_000L, Long.MAX_VALUE);
+    return inventoryItemRepository.save(InventoryItem.builder()
+        .productId(productId)
+        .warehouse(warehouse)
+        .sku("SKU-HOT-" + productId)
+        .quantityOnHand(STOCK)
+        .quantityReserved(0)
+        .status(InventoryItem.InventoryStatus.ACTIVE)
+        .build());
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.xplaza.backend.inventory.domain.entity.InventoryItem;
+import com.xplaza.backend.inventory.domain.entity.Warehouse;
+import com.xplaza.backend.inventory.service.InventorySyncService;
+import com.xplaza.backend.inventory.service.InventorySyncService.SyncLine;
+import com.xplaza.backend.inventory.service.InventorySyncService.SyncResult;
+
+public class InventorySyncIntegrationTest extends BaseIntegrationTest {
+
+  @Autowired
+  private InventorySyncService syncService;
+
+  @Test
+  public void sync_ShouldApplyCountsAndDeltasOnce() {
+    Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+        .name("WMS Warehouse")
+        .code("WMS-" + UUID.randomUUID().toString().substring(0, 8))
+        .city("City")
+        .countryCode("US")
+        .addressLine1("1 Dock St")
+        .postalCode("12345")
+        .isActive(true)
+        .build());
+    InventoryItem counted = createItem(warehouse, 10);
+    InventoryItem delta = createItem(warehouse, 10);
+    InventoryItem unchanged = createItem(warehouse, 7);
+    String batchId = "batch-" + UUID.randomUUID();
+    List<SyncLine> lines = List.of(
+        new SyncLine(warehouse.getWarehouseId(), counted.getSku(), 42, null),
+        new SyncLine(warehouse.getWarehouseId(), delta.getSku(), null, -3),
+        new SyncLine(warehouse.getWarehouseId(), unchanged.getSku(), 7, null),
+        new SyncLine(warehouse.getWarehouseId(), "NO-SUCH-SKU", 1, null));
+
+    SyncResult first = syncService.sync(batchId, lines, null);
+    SyncResult replay = syncService.sync(batchId, lines, null);
+
+    assertThat(first.changed()).isEqualTo(2);
+    assertThat(first.unknown()).isEqualTo(1);
+    assertThat(first.replayed()).isFalse();
+    assertThat(replay.replayed()).isTrue();
+    assertThat(onHand(counted)).isEqualTo(42);
+    assertThat(onHand(delta)).isEqualTo(7);
+    assertThat(onHand(unchanged)).isEqualTo(7);
+  }
+
+  private int onHand(InventoryItem item) {
+    return inventoryItemRepository.findById(item.getInventoryId()).orElseThrow().getQuantityOnHand();
+  }
+
+  private InventoryItem createItem(Warehouse warehouse, int onHand) {
+    long productId = ThreadLocalRandom.current().nextLong(1_000_000L, Long.MAX_VALUE);
+    return inventoryItemRepository.save(InventoryItem.builder()
+        .productId(productId)
+        .warehouse(warehouse)
+        .sku("SKU-WMS-" + productId)
+        .quantityOnHand(onHand)
+        .quantityReserved(0)
+        .status(InventoryItem.InventoryStatus.ACTIVE)
+        .build());
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.xplaza.backend.order.domain.entity.CustomerOrder;
+import com.xplaza.backend.order.domain.entity.CustomerOrder.OrderStatus;
+import com.xplaza.backend.order.domain.entity.CustomerOrderItem;
+import com.xplaza.backend.order.domain.repository.ArchivedOrderRepository;
+import com.xplaza.backend.order.domain.repository.CustomerOrderRepository;
+import com.xplaza.backend.order.service.OrderArchiveService;
+import com.xplaza.backend.order.service.OrderArchiveStore;
+import com.xplaza.backend.payment.domain.entity.PaymentTransaction;
+import com.xplaza.backend.payment.domain.entity.PaymentTransaction.TransactionStatus;
+import com.xplaza.backend.payment.domain.entity.PaymentTransaction.TransactionType;
+import com.xplaza.backend.payment.domain.repository.PaymentTransactionRepository;
+
+public class OrderArchiveIntegrationTest extends BaseIntegrationTest {
+
+  private static final Instant CLOSED_AT = Instant.parse("2019-03-10T12:00:00Z");
+
+  @MockitoBean
+  private OrderArchiveStore archiveStore;
+
+  @Autowired
+  private OrderArchiveService archiveService;
+
+  @Autowired
+  private CustomerOrderRepository orderRepository;
+
+  @Autowired
+  private ArchivedOrderRepository archivedOrderRepository;
+
+  @Autowired
+  private PaymentTransactionRepository paymentRepository;
+
+  private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+  @BeforeEach
+  void setUpStore() {
+    willAnswer(inv -> objects.put(inv.getArgument(0), inv.getArgument(1))).given(archiveStore)
+        .put(anyString(), any());
+    given(archiveStore.read(anyString(), anyLong(), anyLong())).willAnswer(inv -> {
+      byte[] object = objects.get(inv.getArgument(0, String.class));
+      int offset = (int) (long) inv.getArgument(1, Long.class);
+      return Arrays.copyOfRange(object, offset, offset + (int) (long) inv.getArgument(2, Long.class));
+    });
+  }
+
+  @Test
+  public void archiveBatch_ShouldMoveClosedOrders_AndStillReadThemById() {
+    String run = UUID.randomUUID().toString().substring(0, 8);
+    CustomerOrder first = orderRepository.save(order("ARCH-" + run + "-1", "Milk"));
+    CustomerOrder second = orderRepository.save(order("ARCH-" + run + "-2", "Bread"));
+    jdbcTemplate.update("UPDATE xplaza.customer_orders SET status = 'DELIVERED', delivered_at = ?, created_at = ? "
+        + "WHERE order_number LIKE ?", Timestamp.from(CLOSED_AT), Timestamp.from(CLOSED_AT.minusSeconds(86400)),
+        "ARCH-" + run + "-%");
+
+    int archived = archiveService.archiveBatch(CLOSED_AT.plusSeconds(60), 100);
+
+    assertThat(archived).isEqualTo(2);
+    assertThat(objects).hasSize(1);
+    assertThat(objects.keySet().iterator().next()).startsWith("orders/2019/03/");
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM xplaza.customer_orders WHERE order_number LIKE ?",
+        Integer.class, "ARCH-" + run + "-%")).isZero();
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM xplaza.customer_order_items WHERE order_id IN (?, ?)",
+        Integer.class, first.getOrderId(), second.getOrderId())).isZero();
+    assertThat(archivedOrderRepository.findById(second.getOrderId())).isPresent();
+
+    CustomerOrder restored = archiveService.findArchived(second.getOrderId()).orElseThrow();
+    assertThat(restored.getOrderNumber()).isEqualTo("ARCH-" + run + "-2");
+    assertThat(restored.getStatus()).isEqualTo(OrderStatus.DELIVERED);
+    assertThat(restored.getItems()).extracting(CustomerOrderItem::getProductName).containsExactly("Bread");
+    assertThat(archiveService.findArchived(UUID.randomUUID())).isEmpty();
+  }
+
+  @Test
+  public void archiveBatch_ShouldKeepOnlyTheAllowedPaymentColumns() throws IOException {
+    String run = UUID.randomUUID().toString().substring(0, 8);
+    CustomerOrder order = orderRepository.save(order("ARCH-" + run + "-1", "Milk"));
+    paymentRepository.save(PaymentTransaction.builder()
+        .orderId(order.getOrderId())
+        .customerId(1L)
+        .type(TransactionType.SALE)
+        .status(TransactionStatus.SUCCESS)
+        .amount(new BigDecimal("12.34"))
+        .currency("USD")
+        .amountInCents(1234L)
+        .gateway("stripe")
+        .cardholderName("Jane Doe")
+        .ipAddress("203.0.113.7")
+        .deviceFingerprint("fp-" + run)
+        .riskScore(42)
+        .build());
+    jdbcTemplate.update("UPDATE xplaza.customer_orders SET status = 'DELIVERED', delivered_at = ?, created_at = ? "
+        + "WHERE order_id = ?", Timestamp.from(CLOSED_AT), Timestamp.from(CLOSED_AT.minusSeconds(86400)),
+        order.getOrderId());
+
+    assertThat(archiveService.archiveBatch(CLOSED_AT.plusSeconds(60), 100)).isEqualTo(1);
+
+    String archived;
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(objects.values().iterator().next()))) {
+      archived = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+    assertThat(archived).contains("12.34", "\"gateway\":\"stripe\"")
+        .doesNotContain("ip_address", "203.0.113.7", "device_fingerprint", "risk_score", "cardholder_name");
+  }
+
+  private static CustomerOrder order(String orderNumber, String productName) {
+    CustomerOrder order = CustomerOrder.builder()
+        .orderNumber(orderNumber)
+        .customerId(1L)
+        .status(OrderStatus.PENDING)
+        .subtotal(new BigDecimal("10.00"))
+        .grandTotal(new BigDecimal("10.00"))
+        .build();
+    order.addItem(CustomerOrderItem.builder()
+        .productId(1L)
+        .shopId(1L)
+        .productName(productName)
+        .quantity(1)
+        .unitPrice(new BigDecimal("10.00"))
+        .totalPrice(new BigDecimal("10.00"))
+        .build());
+    return order;
+  }
+}
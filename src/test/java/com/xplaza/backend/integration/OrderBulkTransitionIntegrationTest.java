@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.xplaza.backend.order.domain.entity.CustomerOrder;
+import com.xplaza.backend.order.domain.entity.CustomerOrder.OrderStatus;
+import com.xplaza.backend.order.domain.repository.CustomerOrderRepository;
+import com.xplaza.backend.order.service.OrderBulkTransitionService;
+import com.xplaza.backend.order.service.OrderBulkTransitionService.BulkTransitionResult;
+import com.xplaza.backend.order.service.OrderBulkTransitionService.Failure;
+
+public class OrderBulkTransitionIntegrationTest extends BaseIntegrationTest {
+
+  private static final int ORDERS = 1000;
+
+  @Autowired
+  private OrderBulkTransitionService bulkTransitionService;
+
+  @Autowired
+  private CustomerOrderRepository orderRepository;
+
+  @Test
+  public void transition_ShouldMoveEligibleOrders_AndReportTheRest() {
+    String run = UUID.randomUUID().toString().substring(0, 8);
+    List<CustomerOrder> confirmed = new ArrayList<>();
+    for (int i = 0; i < ORDERS; i++) {
+      confirmed.add(order("BULK-" + run + "-" + i, OrderStatus.CONFIRMED));
+    }
+    orderRepository.saveAll(confirmed);
+    CustomerOrder pending = orderRepository.save(order("BULK-" + run + "-P", OrderStatus.PENDING));
+    UUID missing = UUID.randomUUID();
+
+    List<UUID> ids = new ArrayList<>(confirmed.stream().map(CustomerOrder::getOrderId).toList());
+    ids.add(pending.getOrderId());
+    ids.add(missing);
+    BulkTransitionResult processing = bulkTransitionService.transition(ids, OrderStatus.PROCESSING, null, "ops");
+
+    assertThat(processing.requested()).isEqualTo(ORDERS + 2);
+    assertThat(processing.transitioned()).isEqualTo(ORDERS);
+    assertThat(processing.failures()).extracting(Failure::orderId).containsExactly(pending.getOrderId(), missing);
+    assertThat(countWithStatus(run, OrderStatus.PROCESSING)).isEqualTo(ORDERS);
+    assertThat(countWithStatus(run, OrderStatus.PENDING)).isEqualTo(1);
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM xplaza.customer_order_status_history h "
+        + "JOIN xplaza.customer_orders o ON o.order_id = h.order_id WHERE o.order_number LIKE ? "
+        + "AND h.new_status = 'PROCESSING' AND h.changed_by = 'ops'", Integer.class, "BULK-" + run + "-%"))
+        .isEqualTo(ORDERS);
+
+    List<UUID> shipping = ids.subList(0, 10);
+    BulkTransitionResult shipped = bulkTransitionService.transition(shipping, OrderStatus.SHIPPED, null, "ops");
+
+    assertThat(shipped.transitioned()).isEqualTo(10);
+    assertThat(shipped.failures()).isEmpty();
+    assertThat(countWithStatus(run, OrderStatus.SHIPPED)).isEqualTo(10);
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM xplaza.outbox_events "
+        + "WHERE event_type = 'ORDER_SHIPPED' AND aggregate_id = ?", Integer.class, shipping.get(0).toString())).isEqualTo(1);
+  }
+
+  private int countWithStatus(String run, OrderStatus status) {
+    return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM xplaza.customer_orders WHERE order_number LIKE ? "
+        + "AND status = ?", Integer.class, "BULK-" + run + "-%", status.name());
+  }
+
+  private static CustomerOrder order(String orderNumber, OrderStatus status) {
+    return CustomerOrder.builder()
+        .orderNumber(orderNumber)
+        .customerId(1L)
+        .status(status)
+        .subtotal(new BigDecimal("10.00"))
+        .grandTotal(new BigDecimal("10.00"))
+        .build();
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.xplaza.backend.order.service.OrderNumberGenerator;
+
+/**
+ * Several generators standing in for separate nodes draw order numbers from the
+ * shared series at once; no number may be handed out twice.
+ */
+public class OrderNumberGeneratorConcurrencyTest extends BaseIntegrationTest {
+
+  private static final int NODES = 4;
+  private static final int THREADS = 16;
+  private static final int NUMBERS = 2000;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private Environment environment;
+
+  @Autowired
+  private OrderNumberGenerator orderNumberGenerator;
+
+  @Test
+  public void concurrentNodes_ShouldNeverHandOutTheSameNumber() throws Exception {
+    List<OrderNumberGenerator> nodes = new ArrayList<>();
+    for (int i = 0; i < NODES; i++) {
+      nodes.add(node(7 + i));
+    }
+    Set<String> numbers = ConcurrentHashMap.newKeySet();
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    try {
+      for (int i = 0; i < NUMBERS; i++) {
+        OrderNumberGenerator node = nodes.get(i % NODES);
+        futures.add(executor.submit(() -> {
+          start.await();
+          String number = node.next();
+          assertThat(numbers.add(number)).as("duplicate %s", number).isTrue();
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(numbers).hasSize(NUMBERS);
+  }
+
+  @Test
+  public void next_ShouldPrefixTodayAndPadToSixDigits() {
+    String number = orderNumberGenerator.next();
+
+    String prefix = "ORD-" + LocalDate.now().toString().replace("-", "") + "-";
+    assertThat(number).startsWith(prefix);
+    assertThat(number.substring(prefix.length())).matches("\\d{6,}");
+  }
+
+  private OrderNumberGenerator node(int blockSize) {
+    OrderNumberGenerator node = new OrderNumberGenerator(jdbcTemplate, transactionManager);
+    ReflectionTestUtils.setField(node, "blockSize", blockSize);
+    ReflectionTestUtils.setField(node, "defaultSchema",
+        environment.getProperty("spring.jpa.properties.hibernate.default_schema"));
+    return node;
+  }
+}
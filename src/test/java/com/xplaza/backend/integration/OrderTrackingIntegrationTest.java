@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+
+import com.xplaza.backend.fulfillment.domain.entity.Return;
+import com.xplaza.backend.fulfillment.domain.entity.Shipment;
+import com.xplaza.backend.fulfillment.domain.entity.ShipmentTrackingEvent;
+import com.xplaza.backend.fulfillment.domain.repository.ReturnRepository;
+import com.xplaza.backend.fulfillment.domain.repository.ShipmentRepository;
+import com.xplaza.backend.order.domain.entity.CustomerOrder;
+import com.xplaza.backend.order.domain.entity.CustomerOrder.OrderStatus;
+import com.xplaza.backend.order.domain.repository.CustomerOrderRepository;
+
+public class OrderTrackingIntegrationTest extends BaseIntegrationTest {
+
+  private static final Instant SHIPPED_AT = Instant.parse("2026-10-01T08:00:00Z");
+
+  @Autowired
+  private CustomerOrderRepository orderRepository;
+
+  @Autowired
+  private ShipmentRepository shipmentRepository;
+
+  @Autowired
+  private ReturnRepository returnRepository;
+
+  @Test
+  public void trackOrder_ShouldReturnLatestEventsPerShipment_AndNotModifiedUntilSomethingChanges() throws Exception {
+    String run = UUID.randomUUID().toString().substring(0, 8);
+    CustomerOrder order = orderRepository.save(CustomerOrder.builder()
+        .orderNumber("TRACK-" + run)
+        .customerId(1L)
+        .status(OrderStatus.SHIPPED)
+        .subtotal(new BigDecimal("10.00"))
+        .grandTotal(new BigDecimal("10.00"))
+        .build());
+    Shipment first = shipment(order.getOrderId());
+    for (int i = 0; i < 6; i++) {
+      first.addTrackingEvent(event("Scan " + i, SHIPPED_AT.plusSeconds(3600L * i)));
+    }
+    first = shipmentRepository.save(first);
+    Shipment second = shipment(order.getOrderId());
+    second.setCreatedAt(first.getCreatedAt().plusSeconds(1));
+    second.addTrackingEvent(event("Label created", SHIPPED_AT));
+    shipmentRepository.save(second);
+    returnRepository.save(Return.builder()
+        .rmaNumber("RMA-" + run)
+        .orderId(order.getOrderId())
+        .customerId(1L)
+        .reason(Return.ReturnReason.DAMAGED)
+        .build());
+    String path = "/api/v1/fulfillment/orders/" + order.getOrderId() + "/tracking";
+
+    String etag = mockMvc.perform(get(path).param("events", "3"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.orderNumber").value("TRACK-" + run))
+        .andExpect(jsonPath("$.shipments.length()").value(2))
+        .andExpect(jsonPath("$.shipments[0].events.length()").value(3))
+        .andExpect(jsonPath("$.shipments[0].events[0].description").value("Scan 5"))
+        .andExpect(jsonPath("$.shipments[0].events[2].description").value("Scan 3"))
+        .andExpect(jsonPath("$.shipments[1].events.length()").value(1))
+        .andExpect(jsonPath("$.returns[0].rmaNumber").value("RMA-" + run))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    assertThat(etag).isNotBlank();
+
+    mockMvc.perform(get(path).param("events", "3").header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified());
+
+    jdbcTemplate.update("INSERT INTO xplaza.shipment_tracking_events (event_id, shipment_id, status, description, "
+        + "event_time, created_at) VALUES (?, ?, 'OUT_FOR_DELIVERY', 'Out for delivery', ?, ?)", UUID.randomUUID(),
+        first.getShipmentId(), Timestamp.from(SHIPPED_AT.plusSeconds(86400)), Timestamp.from(Instant.now()));
+
+    mockMvc.perform(get(path).param("events", "3").header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.shipments[0].events[0].description").value("Out for delivery"));
+    mockMvc.perform(get("/api/v1/fulfillment/orders/" + UUID.randomUUID() + "/tracking"))
+        .andExpect(status().isNotFound());
+  }
+
+  private static Shipment shipment(UUID orderId) {
+    return Shipment.builder()
+        .orderId(orderId)
+        .recipientName("Jane Doe")
+        .addressLine1("1 Main St")
+        .city("Berlin")
+        .postalCode("10115")
+        .countryCode("DE")
+        .build();
+  }
+
+  private static ShipmentTrackingEvent event(String description, Instant eventTime) {
+    return ShipmentTrackingEvent.builder()
+        .status(Shipment.ShipmentStatus.IN_TRANSIT)
+        .description(description)
+        .eventTime(eventTime)
+        .build();
+  }
+}
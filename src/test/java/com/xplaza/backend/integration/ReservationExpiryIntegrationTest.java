@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.xplaza.backend.inventory.domain.entity.InventoryItem;
+import com.xplaza.backend.inventory.domain.entity.StockReservation;
+import com.xplaza.backend.inventory.domain.entity.StockReservation.ReservationStatus;
+import com.xplaza.backend.inventory.domain.entity.Warehouse;
+import com.xplaza.backend.inventory.domain.repository.StockReservationRepository;
+import com.xplaza.backend.inventory.service.InventoryService;
+import com.xplaza.backend.order.domain.entity.CustomerOrder;
+import com.xplaza.backend.order.domain.entity.CustomerOrder.OrderStatus;
+import com.xplaza.backend.order.domain.repository.CustomerOrderRepository;
+
+/**
+ * Checks that deadline expiry only returns cart reservations to stock; a paid
+ * order keeps its reservation until it ships or is cancelled.
+ */
+public class ReservationExpiryIntegrationTest extends BaseIntegrationTest {
+
+  private static final Instant PAST = Instant.parse("2026-01-01T00:00:00Z");
+
+  @Autowired
+  private InventoryService inventoryService;
+
+  @Autowired
+  private StockReservationRepository reservationRepository;
+
+  @Autowired
+  private CustomerOrderRepository orderRepository;
+
+  @Test
+  public void expiry_ShouldReleaseDueCartReservations_AndKeepOrderReservationsOfPaidOrders() {
+    InventoryItem item = createItem();
+    CustomerOrder order = orderRepository.save(CustomerOrder.builder()
+        .orderNumber("EXP-" + UUID.randomUUID().toString().substring(0, 8))
+        .customerId(1L)
+        .status(OrderStatus.CONFIRMED)
+        .paymentStatus("PAID")
+        .subtotal(new BigDecimal("10.00"))
+        .grandTotal(new BigDecimal("10.00"))
+        .build());
+    StockReservation forOrder = inventoryService.reserveStockAnyWarehouse(item.getProductId(), null, 3,
+        order.getOrderId());
+    StockReservation forCart = inventoryService.reserveStock(item.getProductId(), null,
+        item.getWarehouse().getWarehouseId(), 2, null, UUID.randomUUID());
+    jdbcTemplate.update("UPDATE xplaza.stock_reservations SET expires_at = ? WHERE reservation_id IN (?, ?)",
+        Timestamp.from(PAST), forOrder.getReservationId(), forCart.getReservationId());
+
+    assertThat(inventoryService.getExpiryDeadlines(PAST.minusSeconds(1), Instant.now(), PAST))
+        .extracting(StockReservationRepository.ExpiryDeadline::getId)
+        .contains(forCart.getReservationId())
+        .doesNotContain(forOrder.getReservationId());
+    assertThat(inventoryService.expireReservations(List.of(forOrder.getReservationId()))).isZero();
+    inventoryService.expireDueReservations(1000);
+
+    assertThat(reservationRepository.findById(forOrder.getReservationId()).orElseThrow().getStatus())
+        .isEqualTo(ReservationStatus.RESERVED);
+    assertThat(reservationRepository.findById(forCart.getReservationId()).orElseThrow().getStatus())
+        .isEqualTo(ReservationStatus.EXPIRED);
+    assertThat(inventoryItemRepository.findById(item.getInventoryId()).orElseThrow().getQuantityReserved())
+        .isEqualTo(3);
+  }
+
+  private InventoryItem createItem() {
+    Warehouse warehouse = warehouseRepository.findByCode("MAIN")
+        .orElseGet(() -> warehouseRepository.save(Warehouse.builder()
+            .name("Main Warehouse")
+            .code("MAIN")
+            .city("City")
+            .countryCode("US")
+            .addressLine1("123 Main St")
+            .postalCode("12345")
+            .isActive(true)
+            .build()));
+
+    long productId = ThreadLocalRandom.current().nextLong(1_000_000L, Long.MAX_VALUE);
+    return inventoryItemRepository.save(InventoryItem.builder()
+        .productId(productId)
+        .warehouse(warehouse)
+        .sku("SKU-EXP-" + productId)
+        .quantityOnHand(10)
+        .quantityReserved(0)
+        .status(InventoryItem.InventoryStatus.ACTIVE)
+        .build());
+  }
+}
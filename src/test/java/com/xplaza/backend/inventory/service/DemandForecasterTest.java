@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class DemandForecasterTest {
+
+  @Test
+  void finish_ShouldNeedNoSafetyStock_WhenDemandIsConstant() {
+    DemandForecaster forecaster = new DemandForecaster(0.2);
+    for (int day = 0; day < 30; day++) {
+      forecaster.add(day, 10);
+    }
+
+    DemandForecaster.Estimate estimate = forecaster.finish(29);
+
+    assertThat(estimate.dailyDemand()).isCloseTo(10.0, within(1e-9));
+    assertThat(estimate.stdDev()).isCloseTo(0.0, within(1e-9));
+    assertThat(estimate.days()).isEqualTo(30);
+    assertThat(DemandForecaster.safetyStock(estimate, 7, 0.95)).isZero();
+    assertThat(DemandForecaster.reorderPoint(estimate, 7, 0)).isEqualTo(70);
+  }
+
+  @Test
+  void finish_ShouldCountDaysWithoutDemandAsZero() {
+    DemandForecaster forecaster = new DemandForecaster(0.5);
+    forecaster.add(0, 8);
+    forecaster.add(3, 8);
+
+    DemandForecaster.Estimate estimate = forecaster.finish(3);
+
+    // Level 8 -> 4 -> 2 -> 5 across the two empty days and the second order
+    assertThat(estimate.dailyDemand()).isCloseTo(5.0, within(1e-9));
+    assertThat(estimate.stdDev()).isCloseTo(Math.sqrt(30), within(1e-9));
+    assertThat(estimate.days()).isEqualTo(4);
+  }
+
+  @Test
+  void safetyStock_ShouldGrowWithVariabilityAndServiceLevel() {
+    DemandForecaster forecaster = new DemandForecaster(0.2);
+    for (int day = 0; day < 60; day++) {
+      forecaster.add(day, day % 2 == 0 ? 0 : 20);
+    }
+    DemandForecaster.Estimate estimate = forecaster.finish(59);
+
+    int at95 = DemandForecaster.safetyStock(estimate, 7, 0.95);
+    int at99 = DemandForecaster.safetyStock(estimate, 7, 0.99);
+
+    assertThat(at95).isPositive();
+    assertThat(at99).isGreaterThan(at95);
+    assertThat(DemandForecaster.reorderPoint(estimate, 7, at95)).isGreaterThan(at95);
+  }
+
+  @Test
+  void finish_ShouldReturnZeroEstimate_WhenNoDemand() {
+    DemandForecaster.Estimate estimate = new DemandForecaster(0.2).finish(10);
+
+    assertThat(estimate.dailyDemand()).isZero();
+    assertThat(estimate.days()).isZero();
+  }
+
+  @Test
+  void zScore_ShouldMatchStandardNormalQuantiles() {
+    assertThat(DemandForecaster.zScore(0.5)).isCloseTo(0.0, within(1e-9));
+    assertThat(DemandForecaster.zScore(0.95)).isCloseTo(1.6449, within(1e-4));
+    assertThat(DemandForecaster.zScore(0.99)).isCloseTo(2.3263, within(1e-4));
+    assertThat(DemandForecaster.zScore(0.01)).isCloseTo(-2.3263, within(1e-4));
+  }
+}
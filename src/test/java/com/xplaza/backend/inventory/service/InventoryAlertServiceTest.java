@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.xplaza.backend.inventory.domain.entity.InventoryAlert;
+import com.xplaza.backend.inventory.domain.entity.InventoryAlert.AlertType;
+import com.xplaza.backend.inventory.domain.repository.InventoryAlertRepository;
+import com.xplaza.backend.inventory.domain.repository.InventoryItemRepository;
+import com.xplaza.backend.inventory.domain.repository.InventoryItemRepository.StockLevel;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryAlertServiceTest {
+
+  @Mock
+  private InventoryAlertRepository alertRepository;
+
+  @Mock
+  private InventoryItemRepository inventoryRepository;
+
+  @InjectMocks
+  private InventoryAlertService alertService;
+
+  private final UUID inventoryId = UUID.randomUUID();
+
+  @Test
+  void evaluate_ShouldRaiseReorderAlert_WhenStockDropsToReorderPoint() {
+    List<UUID> ids = List.of(inventoryId);
+    given(inventoryRepository.findStockLevels(ids)).willReturn(List.of(level(10, 10, 5)));
+    given(alertRepository.findByInventoryIdIn(ids)).willReturn(List.of());
+
+    int raised = alertService.evaluate(ids);
+
+    assertThat(raised).isEqualTo(1);
+    verify(alertRepository).saveAll(argThat((List<InventoryAlert> alerts) -> alerts.size() == 1
+        && alerts.get(0).getType() == AlertType.REORDER && alerts.get(0).getAvailableQuantity() == 10));
+    verify(alertRepository, never()).deleteByIds(any());
+  }
+
+  @Test
+  void evaluate_ShouldNotRaiseAgain_WhenAlertIsAlreadyOpen() {
+    List<UUID> ids = List.of(inventoryId);
+    given(inventoryRepository.findStockLevels(ids)).willReturn(List.of(level(8, 10, 5)));
+    given(alertRepository.findByInventoryIdIn(ids)).willReturn(List.of(alert(AlertType.REORDER)));
+
+    int raised = alertService.evaluate(ids);
+
+    assertThat(raised).isZero();
+    verify(alertRepository, never()).saveAll(anyList());
+  }
+
+  @Test
+  void evaluate_ShouldClearAlerts_WhenStockRecovers() {
+    List<UUID> ids = List.of(inventoryId);
+    InventoryAlert reorder = alert(AlertType.REORDER);
+    InventoryAlert lowStock = alert(AlertType.LOW_STOCK);
+    given(inventoryRepository.findStockLevels(ids)).willReturn(List.of(level(50, 10, 5)));
+    given(alertRepository.findByInventoryIdIn(ids)).willReturn(List.of(reorder, lowStock));
+
+    alertService.evaluate(ids);
+
+    verify(alertRepository).deleteByIds(argThat(cleared -> cleared.size() == 2
+        && cleared.containsAll(List.of(reorder.getAlertId(), lowStock.getAlertId()))));
+  }
+
+  private InventoryAlert alert(AlertType type) {
+    return InventoryAlert.builder().inventoryId(inventoryId).type(type).availableQuantity(0).threshold(0).build();
+  }
+
+  private StockLevel level(long available, int reorderPoint, int safetyStock) {
+    return new Level(inventoryId, available, reorderPoint, safetyStock);
+  }
+
+  private record Level(UUID inventoryId, long available, int reorderPoint, int safetyStock) implements StockLevel {
+
+    @Override
+    public UUID getInventoryId() {
+      return inventoryId;
+    }
+
+    @Override
+    public Long getProductId() {
+      return 1L;
+    }
+
+    @Override
+    public Long getWarehouseId() {
+      return 1L;
+    }
+
+    @Override
+    public Long getAvailable() {
+      return available;
+    }
+
+    @Override
+    public Integer getReorderPoint() {
+      return reorderPoint;
+    }
+
+    @Override
+    public Integer getSafetyStock() {
+      return safetyStock;
+    }
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.xplaza.backend.inventory.domain.entity.InventoryItem;
+import com.xplaza.backend.inventory.domain.entity.InventoryMovement;
+import com.xplaza.backend.inventory.domain.entity.StockReservation;
+import com.xplaza.backend.inventory.domain.entity.StockReservation.ReservationStatus;
+import com.xplaza.backend.inventory.domain.repository.InventoryItemRepository;
+import com.xplaza.backend.inventory.domain.repository.InventoryStockBucketRepository;
+import com.xplaza.backend.inventory.domain.repository.StockReservationRepository;
+import com.xplaza.backend.inventory.domain.repository.WarehouseRepository;
+import com.xplaza.backend.outbox.service.OutboxService;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryServiceTest {
+
+  @Mock
+  private InventoryItemRepository inventoryRepository;
+
+  @Mock
+  private WarehouseRepository warehouseRepository;
+
+  @Mock
+  private StockReservationRepository reservationRepository;
+
+  @Mock
+  private InventoryStockBucketRepository bucketRepository;
+
+  @Mock
+  private StockAvailabilityService availabilityService;
+
+  @Mock
+  private InventoryMovementService movementService;
+
+  @Mock
+  private InventoryAlertService alertService;
+
+  @Mock
+  private StockThresholdDetector thresholdDetector;
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private OutboxService outboxService;
+
+  @InjectMocks
+  private InventoryService inventoryService;
+
+  private final UUID orderId = UUID.randomUUID();
+
+  @Test
+  void releaseOrderReservations_ShouldReleaseGroupedQuantitiesPerItem() {
+    InventoryItem itemA = InventoryItem.builder().build();
+    InventoryItem itemB = InventoryItem.builder().build();
+    List<StockReservation> reservations = List.of(
+        reservation(itemA, 2),
+        reservation(itemA, 3),
+        reservation(itemB, 1));
+    given(reservationRepository.lockByOrderIdAndStatus(orderId, ReservationStatus.RESERVED))
+        .willReturn(reservations);
+    given(reservationRepository.releaseByOrderId(eq(orderId), any(Instant.class))).willReturn(3);
+
+    int released = inventoryService.releaseOrderReservations(orderId);
+
+    assertThat(released).isEqualTo(3);
+    verify(inventoryRepository).releaseReserved(eq(itemA.getInventoryId()), eq(5), any(Instant.class));
+    verify(inventoryRepository).releaseReserved(eq(itemB.getInventoryId()), eq(1), any(Instant.class));
+    verify(inventoryRepository, never()).findAll();
+  }
+
+  @Test
+  void fulfillOrderReservations_ShouldDoNothing_WhenOrderHasNoOpenReservations() {
+    given(reservationRepository.lockByOrderIdAndStatus(orderId, ReservationStatus.RESERVED))
+        .willReturn(List.of());
+
+    int fulfilled = inventoryService.fulfillOrderReservations(orderId);
+
+    assertThat(fulfilled).isZero();
+    verify(inventoryRepository, never()).fulfillReserved(any(), anyInt(), any());
+    verify(reservationRepository, never()).fulfillByOrderId(any(), any());
+  }
+
+  @Test
+  void reserveStock_ShouldThrow_WhenConditionalUpdateMatchesNoRow() {
+    InventoryItem item = InventoryItem.builder().productId(500L).quantityOnHand(1).build();
+    given(inventoryRepository.findByProductIdAndWarehouseId(500L, 1L)).willReturn(Optional.of(item));
+    given(inventoryRepository.tryReserve(eq(item.getInventoryId()), eq(2), any(Instant.class))).willReturn(0);
+
+    assertThatThrownBy(() -> inventoryService.reserveStock(500L, null, 1L, 2, orderId, null))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("Insufficient stock");
+    verify(reservationRepository, never()).save(any());
+  }
+
+  @Test
+  void reserveStock_ShouldTakeFromBucket_WhenItemIsStriped() {
+    InventoryItem item = InventoryItem.builder().productId(500L).stripeCount(1).build();
+    given(inventoryRepository.findByProductIdAndWarehouseId(500L, 1L)).willReturn(Optional.of(item));
+    given(bucketRepository.tryTake(eq(item.getInventoryId()), eq(0), eq(2), any(Instant.class))).willReturn(1);
+    given(reservationRepository.save(any(StockReservation.class))).willAnswer(inv -> inv.getArgument(0));
+
+    StockReservation reservation = inventoryService.reserveStock(500L, null, 1L, 2, orderId, null);
+
+    assertThat(reservation.getBucketIndex()).isZero();
+    verify(inventoryRepository, never()).tryReserve(any(), anyInt(), any());
+  }
+
+  @Test
+  void releaseOrderReservations_ShouldGiveUnitsBackToBucket_WhenItemIsStriped() {
+    InventoryItem item = InventoryItem.builder().stripeCount(4).build();
+    StockReservation striped = reservation(item, 2);
+    striped.setBucketIndex(3);
+    given(reservationRepository.lockByOrderIdAndStatus(orderId, ReservationStatus.RESERVED))
+        .willReturn(List.of(striped));
+    given(bucketRepository.giveBack(eq(item.getInventoryId()), eq(3), eq(2), any(Instant.class))).willReturn(1);
+    given(reservationRepository.releaseByOrderId(eq(orderId), any(Instant.class))).willReturn(1);
+
+    inventoryService.releaseOrderReservations(orderId);
+
+    verify(inventoryRepository, never()).releaseReserved(any(), anyInt(), any());
+  }
+
+  @Test
+  void receiveStock_ShouldAppendMovementThroughWriter() {
+    InventoryItem item = InventoryItem.builder().sku("SKU-1").quantityOnHand(10).build();
+    given(inventoryRepository.lockBySkuAndWarehouseId("SKU-1", 1L)).willReturn(Optional.of(item));
+    given(inventoryRepository.save(item)).willReturn(item);
+
+    inventoryService.receiveStock("SKU-1", 1L, 5, 7L);
+
+    assertThat(item.getQuantityOnHand()).isEqualTo(15);
+    verify(movementService).append(argThat(m -> m.getType() == InventoryMovement.MovementType.RECEIVE
+        && m.getQuantityBefore() == 10 && m.getQuantityAfter() == 15 && m.getInventoryItem() == item));
+  }
+
+  @Test
+  void reservePicks_ShouldReserveAllPicksInOneBatch() {
+    InventoryItem itemA = InventoryItem.builder().build();
+    InventoryItem itemB = InventoryItem.builder().build();
+    given(inventoryRepository.findAllById(Set.of(itemA.getInventoryId(), itemB.getInventoryId())))
+        .willReturn(List.of(itemA, itemB));
+    given(jdbcTemplate.batchUpdate(anyString(), anyList())).willReturn(new int[] { 1, 1 });
+
+    List<StockReservation> reserved = inventoryService.reservePicks(List.of(
+        new StockAllocator.Pick(0, itemA.getInventoryId(), 1L, 2),
+        new StockAllocator.Pick(1, itemB.getInventoryId(), 2L, 3)), orderId);
+
+    assertThat(reserved).hasSize(2).allMatch(r -> orderId.equals(r.getOrderId()));
+    verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    verify(reservationRepository).saveAll(reserved);
+    verify(inventoryRepository, never()).tryReserve(any(), anyInt(), any());
+  }
+
+  @Test
+  void reservePicks_ShouldPutBackTakenUnits_WhenAPickCannotBeCovered() {
+    InventoryItem itemA = InventoryItem.builder().inventoryId(new UUID(0, 1)).build();
+    InventoryItem itemB = InventoryItem.builder().inventoryId(new UUID(0, 2)).build();
+    given(inventoryRepository.findAllById(Set.of(itemA.getInventoryId(), itemB.getInventoryId())))
+        .willReturn(List.of(itemA, itemB));
+    given(jdbcTemplate.batchUpdate(anyString(), anyList()))
+        .willReturn(new int[] { 1, 0 })
+        .willReturn(new int[] { 1 });
+
+    List<StockReservation> reserved = inventoryService.reservePicks(List.of(
+        new StockAllocator.Pick(0, itemB.getInventoryId(), 1L, 3),
+        new StockAllocator.Pick(1, itemA.getInventoryId(), 1L, 2)), orderId);
+
+    assertThat(reserved).isNull();
+    // Picks run in inventory id order, so item A was taken and must go back
+    verify(jdbcTemplate).batchUpdate(argThat((String sql) -> sql.contains("ELSE 0 END")),
+        argThat((List<Object[]> rows) -> rows.size() == 1 && rows.get(0)[3].equals(itemA.getInventoryId())));
+    verify(reservationRepository, never()).saveAll(any());
+  }
+
+  private StockReservation reservation(InventoryItem item, int quantity) {
+    return StockReservation.builder()
+        .inventoryItem(item)
+        .orderId(orderId)
+        .quantity(quantity)
+        .status(ReservationStatus.RESERVED)
+        .build();
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.Test;
+
+class InventoryValuationTest {
+
+  private static final Instant NOW = Instant.parse("2026-10-18T00:00:00Z");
+
+  @Test
+  void addLayer_ShouldValueOnHandAtNewestReceipts_WhenFifo() {
+    InventoryValuation valuation = new InventoryValuation(InventoryValuation.Method.FIFO, NOW);
+
+    valuation.startItem(15, new BigDecimal("4.00"), daysAgo(400));
+    valuation.addLayer(10, new BigDecimal("5.00"), daysAgo(10));
+    valuation.addLayer(10, new BigDecimal("3.00"), daysAgo(100));
+    valuation.finishItem();
+
+    // 10 units from the newest receipt, 5 of the 10 from the older one
+    assertThat(valuation.units()).isEqualTo(15);
+    assertThat(valuation.value()).isEqualByComparingTo("65.00");
+    assertThat(valuation.bucketUnits(0)).isEqualTo(10);
+    assertThat(valuation.bucketUnits(3)).isEqualTo(5);
+    assertThat(valuation.bucketValue(3)).isEqualByComparingTo("15.00");
+  }
+
+  @Test
+  void addLayer_ShouldValueAtItemCost_WhenWeightedAverage() {
+    InventoryValuation valuation = new InventoryValuation(InventoryValuation.Method.WEIGHTED_AVERAGE, NOW);
+
+    valuation.startItem(15, new BigDecimal("4.00"), daysAgo(400));
+    valuation.addLayer(10, new BigDecimal("5.00"), daysAgo(10));
+    valuation.addLayer(10, new BigDecimal("3.00"), daysAgo(100));
+    valuation.finishItem();
+
+    assertThat(valuation.value()).isEqualByComparingTo("60.00");
+    assertThat(valuation.bucketUnits(0)).isEqualTo(10);
+    assertThat(valuation.bucketUnits(3)).isEqualTo(5);
+  }
+
+  @Test
+  void finishItem_ShouldAgeUncoveredUnitsFromItemCreation() {
+    InventoryValuation valuation = new InventoryValuation(InventoryValuation.Method.FIFO, NOW);
+
+    valuation.startItem(8, new BigDecimal("2.50"), daysAgo(500));
+    valuation.addLayer(3, null, daysAgo(20));
+    valuation.startItem(4, null, daysAgo(45));
+
+    valuation.finishItem();
+
+    assertThat(valuation.items()).isEqualTo(2);
+    assertThat(valuation.bucketUnits(0)).isEqualTo(3);
+    assertThat(valuation.bucketUnits(1)).isEqualTo(4);
+    assertThat(valuation.bucketUnits(InventoryValuation.BUCKET_DAYS.length)).isEqualTo(5);
+    assertThat(valuation.value()).isEqualByComparingTo("20.00");
+  }
+
+  @Test
+  void bucket_ShouldIncludeUpperBound() {
+    assertThat(InventoryValuation.bucket(0)).isZero();
+    assertThat(InventoryValuation.bucket(30)).isZero();
+    assertThat(InventoryValuation.bucket(31)).isEqualTo(1);
+    assertThat(InventoryValuation.bucket(365)).isEqualTo(4);
+    assertThat(InventoryValuation.bucket(366)).isEqualTo(5);
+  }
+
+  private static Instant daysAgo(int days) {
+    return NOW.minus(days, ChronoUnit.DAYS);
+  }
+}
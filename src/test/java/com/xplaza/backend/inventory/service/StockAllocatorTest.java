@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class StockAllocatorTest {
+
+  private final StockAllocator allocator = new StockAllocator(10, 0.05);
+
+  @Test
+  void allocate_ShouldShipFromNearestWarehouse_WhenItCoversTheOrder() {
+    List<StockAllocator.Stock> stock = List.of(
+        stock(0, 1L, 20),
+        stock(0, 2L, 20));
+
+    StockAllocator.Plan plan = allocator.allocate(new int[] { 5 }, stock, Map.of(1L, 300.0, 2L, 15.0)).orElseThrow();
+
+    assertThat(plan.warehouseIds()).containsExactly(2L);
+    assertThat(plan.picks()).extracting(StockAllocator.Pick::quantity).containsExactly(5);
+  }
+
+  @Test
+  void allocate_ShouldSplitAcrossWarehouses_WhenNoSingleWarehouseCovers() {
+    List<StockAllocator.Stock> stock = List.of(
+        stock(0, 1L, 6),
+        stock(0, 2L, 6),
+        stock(0, 3L, 4));
+
+    StockAllocator.Plan plan = allocator.allocate(new int[] { 10 }, stock, Map.of(1L, 10.0, 2L, 20.0, 3L, 500.0))
+        .orElseThrow();
+
+    assertThat(plan.warehouseIds()).containsExactly(1L, 2L);
+    assertThat(plan.picks()).extracting(StockAllocator.Pick::quantity).containsExactly(6, 4);
+  }
+
+  @Test
+  void allocate_ShouldPreferOneFartherShipment_WhenSplittingCostsMore() {
+    List<StockAllocator.Stock> stock = List.of(
+        stock(0, 1L, 6),
+        stock(0, 2L, 6),
+        stock(0, 3L, 10));
+
+    StockAllocator.Plan plan = allocator.allocate(new int[] { 10 }, stock, Map.of(1L, 10.0, 2L, 20.0, 3L, 100.0))
+        .orElseThrow();
+
+    assertThat(plan.warehouseIds()).containsExactly(3L);
+    assertThat(plan.cost()).isCloseTo(15.0, within(1e-9));
+  }
+
+  @Test
+  void allocate_ShouldReturnEmpty_WhenStockCannotCoverALine() {
+    List<StockAllocator.Stock> stock = List.of(
+        stock(0, 1L, 10),
+        stock(1, 1L, 2),
+        stock(1, 2L, 2));
+
+    Optional<StockAllocator.Plan> plan = allocator.allocate(new int[] { 5, 5 }, stock, Map.of(1L, 1.0, 2L, 2.0));
+
+    assertThat(plan).isEmpty();
+  }
+
+  @Test
+  void allocate_ShouldCoverEveryLine_WhenMoreWarehousesThanExactSearch() {
+    // Each warehouse holds one unit of every line, so 20 warehouses are needed
+    List<StockAllocator.Stock> stock = new ArrayList<>();
+    Map<Long, Double> distance = new HashMap<>();
+    for (long w = 1; w <= 30; w++) {
+      distance.put(w, (double) w);
+      for (int line = 0; line < 3; line++) {
+        stock.add(stock(line, w, 1));
+      }
+    }
+
+    StockAllocator.Plan plan = allocator.allocate(new int[] { 20, 20, 20 }, stock, distance).orElseThrow();
+
+    assertThat(plan.shipments()).isEqualTo(20);
+    assertThat(plan.warehouseIds()).doesNotContain(21L);
+    assertThat(plan.picks()).extracting(StockAllocator.Pick::quantity).containsOnly(1).hasSize(60);
+  }
+
+  @Test
+  void allocate_ShouldReturnAnEmptyPlan_WhenNothingIsWanted() {
+    StockAllocator.Plan none = allocator.allocate(new int[0], List.of(), Map.of()).orElseThrow();
+    StockAllocator.Plan zero = allocator.allocate(new int[] { 0 }, List.of(), Map.of()).orElseThrow();
+
+    assertThat(none.picks()).isEmpty();
+    assertThat(none.shipments()).isZero();
+    assertThat(zero.picks()).isEmpty();
+    assertThat(zero.cost()).isZero();
+  }
+
+  @Test
+  void allocate_ShouldCountAnItemOnce_WhenAProductLineAndAVariantLineShareIt() {
+    // The near warehouse's item serves both lines but holds 6 of the 9 wanted
+    UUID shared = UUID.randomUUID();
+    UUID other = UUID.randomUUID();
+    List<StockAllocator.Stock> stock = List.of(
+        new StockAllocator.Stock(0, shared, 1L, 6),
+        new StockAllocator.Stock(0, other, 2L, 5),
+        new StockAllocator.Stock(1, shared, 1L, 6));
+
+    StockAllocator.Plan plan = allocator.allocate(new int[] { 5, 4 }, stock, Map.of(1L, 1.0, 2L, 2.0))
+        .orElseThrow();
+
+    assertThat(plan.warehouseIds()).containsExactly(1L, 2L);
+    assertThat(plan.picks()).containsExactlyInAnyOrder(
+        new StockAllocator.Pick(1, shared, 1L, 4),
+        new StockAllocator.Pick(0, shared, 1L, 2),
+        new StockAllocator.Pick(0, other, 2L, 3));
+  }
+
+  @Test
+  void allocate_ShouldReturnEmpty_WhenASharedItemCannotCoverBothLines() {
+    UUID shared = UUID.randomUUID();
+    List<StockAllocator.Stock> stock = List.of(
+        new StockAllocator.Stock(0, shared, 1L, 6),
+        new StockAllocator.Stock(1, shared, 1L, 6));
+
+    assertThat(allocator.allocate(new int[] { 5, 4 }, stock, Map.of(1L, 1.0))).isEmpty();
+  }
+
+  private static StockAllocator.Stock stock(int line, Long warehouseId, int available) {
+    return new StockAllocator.Stock(line, UUID.randomUUID(), warehouseId, available);
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.xplaza.backend.inventory.domain.repository.InventoryItemRepository;
+import com.xplaza.backend.inventory.domain.repository.InventoryItemRepository.ProductAvailable;
+import com.xplaza.backend.inventory.domain.repository.InventoryStockBucketRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StockAvailabilityServiceTest {
+
+  @Mock
+  private InventoryItemRepository inventoryRepository;
+
+  @Mock
+  private InventoryStockBucketRepository bucketRepository;
+
+  @InjectMocks
+  private StockAvailabilityService availabilityService;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(availabilityService, "maxEntries", 1000);
+    ReflectionTestUtils.setField(availabilityService, "idleMs", 600_000L);
+  }
+
+  @Test
+  void getProductAvailability_ShouldLoadManyProductsWithOneGroupedQuery_AndServeRepeatsFromMemory() {
+    given(inventoryRepository.sumAvailableByProductIds(anyCollection()))
+        .willReturn(List.of(available(1L, 7L)));
+    given(bucketRepository.sumAvailableByProductIds(anyCollection()))
+        .willReturn(List.of(available(1L, 3L)));
+
+    Map<Long, Integer> first = availabilityService.getProductAvailability(List.of(1L, 2L));
+    Map<Long, Integer> second = availabilityService.getProductAvailability(List.of(1L, 2L));
+
+    assertThat(first).containsEntry(1L, 10).containsEntry(2L, 0);
+    assertThat(second).isEqualTo(first);
+    verify(inventoryRepository, times(1)).sumAvailableByProductIds(anyCollection());
+  }
+
+  @Test
+  void invalidate_ShouldReloadTotalOnNextRead() {
+    given(inventoryRepository.sumAvailableByProductIds(anyCollection()))
+        .willReturn(List.of(available(1L, 5L)))
+        .willReturn(List.of(available(1L, 4L)));
+
+    assertThat(availabilityService.getProductAvailability(1L)).isEqualTo(5);
+    availabilityService.invalidate(1L, null);
+
+    assertThat(availabilityService.getProductAvailability(1L)).isEqualTo(4);
+  }
+
+  @Test
+  void reconcile_ShouldReloadOnlyTheMostRecentlyRead_WhenOverMaxEntries() {
+    ReflectionTestUtils.setField(availabilityService, "maxEntries", 2);
+    given(inventoryRepository.sumAvailableByProductIds(anyCollection())).willReturn(List.of());
+
+    availabilityService.getProductAvailability(1L);
+    availabilityService.getProductAvailability(2L);
+    availabilityService.getProductAvailability(3L);
+    clearInvocations(inventoryRepository);
+    availabilityService.reconcile();
+
+    verify(inventoryRepository).sumAvailableByProductIds(argThat(ids -> ids.size() == 2));
+  }
+
+  @Test
+  void reconcile_ShouldEvictTotalsNotReadWithinTheIdleTime() throws InterruptedException {
+    ReflectionTestUtils.setField(availabilityService, "idleMs", 0L);
+    given(inventoryRepository.sumAvailableByProductIds(anyCollection()))
+        .willReturn(List.of(available(1L, 5L)));
+
+    availabilityService.getProductAvailability(1L);
+    Thread.sleep(5);
+    availabilityService.reconcile();
+    availabilityService.getProductAvailability(1L);
+
+    // The idle total was not reloaded by the pass, only by the read after it
+    verify(inventoryRepository, times(2)).sumAvailableByProductIds(anyCollection());
+  }
+
+  private static ProductAvailable available(Long productId, Long available) {
+    return new ProductAvailable() {
+      @Override
+      public Long getProductId() {
+        return productId;
+      }
+
+      @Override
+      public Long getAvailable() {
+        return available;
+      }
+    };
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.marketing.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.xplaza.backend.marketing.domain.repository.CampaignRepository;
+import com.xplaza.backend.marketing.domain.repository.CampaignRepository.CampaignCode;
+import com.xplaza.backend.promotion.repository.CouponRepository;
+import com.xplaza.backend.promotion.repository.CouponRepository.CouponCode;
+
+@ExtendWith(MockitoExtension.class)
+class CouponCodeIndexTest {
+
+  @Mock
+  private CampaignRepository campaignRepository;
+
+  @Mock
+  private CouponRepository couponRepository;
+
+  private CouponCodeIndex codeIndex;
+
+  @BeforeEach
+  void setUp() {
+    codeIndex = new CouponCodeIndex(campaignRepository, couponRepository);
+    ReflectionTestUtils.setField(codeIndex, "falsePositiveRate", 0.01);
+  }
+
+  @Test
+  void find_ShouldResolveKnownCodes_AndRejectOthers_FromOneLoad() {
+    given(campaignRepository.findAllCodes()).willReturn(List.of(campaignCode(7L, "SUMMER")));
+    given(couponRepository.findAllCodes()).willReturn(List.of(couponCode(3L, "SAVE10")));
+
+    assertThat(codeIndex.findCampaignId("SUMMER")).contains(7L);
+    assertThat(codeIndex.findCouponId("SAVE10")).contains(3L);
+    assertThat(codeIndex.findCampaignId("SAVE10")).isEmpty();
+    assertThat(codeIndex.findCampaignId("summer")).isEmpty();
+    for (int i = 0; i < 1000; i++) {
+      assertThat(codeIndex.findCampaignId("GUESS" + i)).isEmpty();
+    }
+    assertThat(codeIndex.findCouponId(null)).isEmpty();
+
+    verify(campaignRepository, times(1)).findAllCodes();
+    verify(couponRepository, times(1)).findAllCodes();
+  }
+
+  @Test
+  void refreshAfterCommit_ShouldPickUpNewCodes_WhenNoTransaction() {
+    given(campaignRepository.findAllCodes()).willReturn(List.of())
+        .willReturn(List.of(campaignCode(8L, "WINTER")));
+    given(couponRepository.findAllCodes()).willReturn(List.of());
+
+    assertThat(codeIndex.findCampaignId("WINTER")).isEmpty();
+    codeIndex.refreshAfterCommit();
+
+    assertThat(codeIndex.findCampaignId("WINTER")).contains(8L);
+  }
+
+  @Test
+  void refresh_ShouldKeepPreviousIndex_WhenLoadFails() {
+    given(campaignRepository.findAllCodes()).willReturn(List.of(campaignCode(7L, "SUMMER")))
+        .willThrow(new IllegalStateException("database down"));
+    given(couponRepository.findAllCodes()).willReturn(List.of());
+    codeIndex.refresh();
+
+    codeIndex.refresh();
+
+    assertThat(codeIndex.findCampaignId("SUMMER")).contains(7L);
+  }
+
+  private static CampaignCode campaignCode(Long campaignId, String code) {
+    return new CampaignCode() {
+      @Override
+      public Long getCampaignId() {
+        return campaignId;
+      }
+
+      @Override
+      public String getCode() {
+        return code;
+      }
+    };
+  }
+
+  private static CouponCode couponCode(Long couponId, String code) {
+    return new CouponCode() {
+      @Override
+      public Long getCouponId() {
+        return couponId;
+      }
+
+      @Override
+      public String getCouponCode() {
+        return code;
+      }
+    };
+  }
+}
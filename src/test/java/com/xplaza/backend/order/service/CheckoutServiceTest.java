@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.xplaza.backend.cart.domain.repository.CartRepository;
+import com.xplaza.backend.marketing.domain.entity.Campaign;
+import com.xplaza.backend.marketing.service.CampaignRedemptionService;
+import com.xplaza.backend.marketing.service.CampaignService;
+import com.xplaza.backend.order.domain.entity.CheckoutSession;
+import com.xplaza.backend.order.domain.repository.CheckoutSessionRepository;
+import com.xplaza.backend.order.service.CheckoutService.CheckoutUpdate;
+
+@ExtendWith(MockitoExtension.class)
+class CheckoutServiceTest {
+
+  @Mock
+  private CheckoutSessionRepository checkoutSessionRepository;
+
+  @Mock
+  private CartRepository cartRepository;
+
+  @Mock
+  private CustomerOrderService customerOrderService;
+
+  @Mock
+  private CampaignService campaignService;
+
+  @Mock
+  private CampaignRedemptionService redemptionService;
+
+  @InjectMocks
+  private CheckoutService checkoutService;
+
+  private CheckoutSession checkout;
+
+  @BeforeEach
+  void setUp() {
+    checkout = CheckoutSession.builder()
+        .cartId(UUID.randomUUID())
+        .customerId(1L)
+        .subtotal(new BigDecimal("100.00"))
+        .build();
+    checkout.setDefaultExpiration();
+    checkout.calculateGrandTotal();
+    given(checkoutSessionRepository.findById(checkout.getCheckoutId())).willReturn(Optional.of(checkout));
+  }
+
+  @Test
+  void updateCheckout_ShouldApplyAllSteps_AndSaveOnce() {
+    given(campaignService.validateCouponForCustomer("SAVE10", new BigDecimal("100.00"), 1L))
+        .willReturn(new BigDecimal("10.00"));
+    given(campaignService.getCampaignByCode("SAVE10"))
+        .willReturn(Optional.of(Campaign.builder().campaignId(5L).code("SAVE10").build()));
+    given(checkoutSessionRepository.save(checkout)).willReturn(checkout);
+
+    CheckoutSession updated = checkoutService.updateCheckout(checkout.getCheckoutId(), new CheckoutUpdate(11L, 2L,
+        "Express", new BigDecimal("7.50"), LocalDate.now().plusDays(1), LocalTime.of(9, 0), LocalTime.of(12, 0),
+        null, null, true, 3L, "CARD", "SAVE10", "Ring twice"));
+
+    assertThat(updated.getShippingAddressId()).isEqualTo(11L);
+    assertThat(updated.getPaymentMethodId()).isEqualTo(3L);
+    assertThat(updated.getStatus()).isEqualTo(CheckoutSession.CheckoutStatus.PAYMENT_SELECTED);
+    assertThat(updated.getCouponId()).isEqualTo(5L);
+    assertThat(updated.getGrandTotal()).isEqualByComparingTo("97.50");
+    assertThat(updated.isReadyForOrder()).isTrue();
+    verify(checkoutSessionRepository, times(1)).save(any());
+  }
+
+  @Test
+  void updateCheckout_ShouldReportEveryProblem_AndChangeNothing() {
+    CheckoutUpdate update = new CheckoutUpdate(11L, 2L, null, new BigDecimal("-1"),
+        LocalDate.now().minus(1, ChronoUnit.DAYS), LocalTime.of(9, 0), null, null, null, null, 3L, null, null, null);
+
+    assertThatThrownBy(() -> checkoutService.updateCheckout(checkout.getCheckoutId(), update))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Shipping method")
+        .hasMessageContaining("negative")
+        .hasMessageContaining("past")
+        .hasMessageContaining("Delivery slot")
+        .hasMessageContaining("Payment method");
+    assertThat(checkout.getShippingAddressId()).isNull();
+    verify(checkoutSessionRepository, never()).save(any());
+  }
+
+  @Test
+  void updateCheckout_ShouldRemoveCoupon_WhenCodeIsBlank() {
+    checkout.setCouponId(5L);
+    checkout.setCouponCode("SAVE10");
+    checkout.setCouponDiscountAmount(new BigDecimal("10.00"));
+    checkout.setDiscountAmount(new BigDecimal("10.00"));
+    given(checkoutSessionRepository.save(checkout)).willReturn(checkout);
+
+    CheckoutSession updated = checkoutService.updateCheckout(checkout.getCheckoutId(), new CheckoutUpdate(null,
+        null, null, null, null, null, null, null, null, null, null, null, "", null));
+
+    assertThat(updated.getCouponCode()).isNull();
+    assertThat(updated.getDiscountAmount()).isEqualByComparingTo("0");
+    assertThat(updated.getGrandTotal()).isEqualByComparingTo("100.00");
+  }
+}
@@ -8,17 +8,30 @@ package com.xplaza.backend.order.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import jakarta.persistence.EntityManager;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -26,13 +39,20 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import com.xplaza.backend.cart.domain.entity.Cart;
 import com.xplaza.backend.cart.domain.entity.CartItem;
 import com.xplaza.backend.cart.domain.repository.CartRepository;
+import com.xplaza.backend.customer.domain.repository.CustomerAddressRepository;
 import com.xplaza.backend.inventory.service.InventoryService;
-import com.xplaza.backend.notification.service.NotificationService;
+import com.xplaza.backend.inventory.service.StockAllocationService;
+import com.xplaza.backend.marketing.service.CampaignRedemptionService;
 import com.xplaza.backend.order.domain.entity.CheckoutSession;
 import com.xplaza.backend.order.domain.entity.CustomerOrder;
 import com.xplaza.backend.order.domain.entity.CustomerOrder.OrderStatus;
+import com.xplaza.backend.order.domain.entity.CustomerOrderItem;
+import com.xplaza.backend.order.domain.entity.ShopOrder;
 import com.xplaza.backend.order.domain.repository.CustomerOrderItemRepository;
 import com.xplaza.backend.order.domain.repository.CustomerOrderRepository;
+import com.xplaza.backend.order.domain.repository.ShopOrderRepository;
+import com.xplaza.backend.outbox.domain.entity.OutboxEvent;
+import com.xplaza.backend.outbox.service.OutboxService;
 import com.xplaza.backend.payment.service.PaymentService;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,6 +64,9 @@ class CustomerOrderServiceTest {
   @Mock
   private CustomerOrderItemRepository orderItemRepository;
 
+  @Mock
+  private ShopOrderRepository shopOrderRepository;
+
   @Mock
   private CartRepository cartRepository;
 
@@ -51,11 +74,29 @@ class CustomerOrderServiceTest {
   private PaymentService paymentService;
 
   @Mock
-  private NotificationService notificationService;
+  private OutboxService outboxService;
+
+  @Mock
+  private OrderNumberGenerator orderNumberGenerator;
 
   @Mock
   private InventoryService inventoryService;
 
+  @Mock
+  private StockAllocationService allocationService;
+
+  @Mock
+  private CustomerAddressRepository addressRepository;
+
+  @Mock
+  private EntityManager entityManager;
+
+  @Mock
+  private CampaignRedemptionService redemptionService;
+
+  @Captor
+  private ArgumentCaptor<Iterable<ShopOrder>> savedShopOrders;
+
   @InjectMocks
   private CustomerOrderService orderService;
 
@@ -96,8 +137,7 @@ class CustomerOrderServiceTest {
   @Test
   void createOrderFromCheckout_ShouldCreateOrder_WhenCartIsValid() {
     given(cartRepository.findByIdWithItems(cartId)).willReturn(Optional.of(cart));
-    given(orderRepository.getNextOrderSequence()).willReturn(12345L);
-    given(orderRepository.save(any(CustomerOrder.class))).willAnswer(inv -> inv.getArgument(0));
+    given(orderNumberGenerator.next()).willReturn("ORD-20261018-012345");
 
     CustomerOrder result = orderService.createOrderFromCheckout(checkoutSession);
 
@@ -110,6 +150,56 @@ class CustomerOrderServiceTest {
 
     verify(cartRepository).save(cart); // Should mark cart converted
     assertThat(cart.getStatus()).isEqualTo(Cart.CartStatus.CONVERTED);
+    verify(orderRepository).save(result);
+    verify(outboxService).publish(eq("ORDER"), eq(result.getOrderId()), eq(OutboxEvent.EventType.ORDER_PLACED),
+        argThat(payload -> Long.valueOf(customerId).equals(payload.get("customerId"))));
+  }
+
+  @Test
+  void createOrderFromCheckout_ShouldSplitIntoShopOrders_WhenCartSpansShops() {
+    cart.addCartItem(CartItem.builder()
+        .id(UUID.randomUUID())
+        .cart(cart)
+        .productId(600L)
+        .shopId(77L)
+        .quantity(1)
+        .unitPrice(BigDecimal.valueOf(100.00))
+        .status(CartItem.ItemStatus.ACTIVE)
+        .build());
+    checkoutSession.setSubtotal(BigDecimal.valueOf(200.00));
+    checkoutSession.setShippingCost(BigDecimal.valueOf(10.00));
+    checkoutSession.setGrandTotal(BigDecimal.valueOf(210.00));
+    given(cartRepository.findByIdWithItems(cartId)).willReturn(Optional.of(cart));
+    given(orderNumberGenerator.next()).willReturn("ORD-20261018-012345");
+
+    CustomerOrder result = orderService.createOrderFromCheckout(checkoutSession);
+
+    verify(shopOrderRepository).saveAll(savedShopOrders.capture());
+    List<ShopOrder> shopOrders = new ArrayList<>();
+    savedShopOrders.getValue().forEach(shopOrders::add);
+    assertThat(result.getShopId()).isNull();
+    assertThat(shopOrders).extracting(ShopOrder::getShopId).containsExactly(99L, 77L);
+    assertThat(shopOrders).extracting(ShopOrder::getSubOrderNumber)
+        .containsExactly(result.getOrderNumber() + "-1", result.getOrderNumber() + "-2");
+    assertThat(shopOrders).extracting(ShopOrder::getGrandTotal)
+        .containsExactly(new BigDecimal("105.00"), new BigDecimal("105.00"));
+    assertThat(result.getItems()).extracting(CustomerOrderItem::getShopOrderId)
+        .containsExactly(shopOrders.get(0).getShopOrderId(), shopOrders.get(1).getShopOrderId());
+  }
+
+  @Test
+  void createOrderFromCheckout_ShouldReserveStockAfterWritingOrder() {
+    given(cartRepository.findByIdWithItems(cartId)).willReturn(Optional.of(cart));
+    given(orderNumberGenerator.next()).willReturn("ORD-20261018-012345");
+
+    CustomerOrder result = orderService.createOrderFromCheckout(checkoutSession);
+
+    InOrder inOrder = inOrder(orderRepository, entityManager, allocationService);
+    inOrder.verify(orderRepository).save(result);
+    inOrder.verify(entityManager).flush();
+    inOrder.verify(allocationService).allocateAndReserve(
+        argThat(lines -> lines.size() == 1 && lines.get(0).quantity() == 2), isNull(), isNull(),
+        eq(result.getOrderId()));
   }
 
   @Test
@@ -180,4 +270,60 @@ class CustomerOrderServiceTest {
     assertThat(result.getEstimatedDeliveryDate()).isNotNull();
     assertThat(result.getStatusHistory()).isNotEmpty();
   }
+
+  @Test
+  void cancelStalePendingOrders_ShouldCancelClaimedBatchSetBased() {
+    CustomerOrder first = CustomerOrder.builder().status(OrderStatus.PENDING).build();
+    CustomerOrder second = CustomerOrder.builder().status(OrderStatus.PENDING).build();
+    List<UUID> orderIds = List.of(first.getOrderId(), second.getOrderId());
+    Instant cutoff = Instant.now();
+    given(orderRepository.claimStalePendingOrdersByIds(orderIds, cutoff)).willReturn(List.of(first, second));
+
+    int cancelled = orderService.cancelStalePendingOrders(orderIds, cutoff);
+
+    assertThat(cancelled).isEqualTo(2);
+    assertThat(first.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+    assertThat(second.getStatusHistory()).hasSize(1);
+    verify(orderItemRepository).updateStatusForOrders(orderIds, CustomerOrderItem.ItemStatus.CANCELLED);
+    verify(inventoryService).releaseOrdersReservations(orderIds);
+    verify(redemptionService).releaseForOrders(orderIds);
+    verify(shopOrderRepository).transitionForOrders(eq(orderIds), eq(List.of(OrderStatus.PENDING)),
+        eq(OrderStatus.CANCELLED), any(Instant.class));
+  }
+
+  @Test
+  void rollUpShopOrders_ShouldShipOrder_WhenEveryOpenShopOrderHasShipped() {
+    UUID orderId = UUID.randomUUID();
+    CustomerOrder order = CustomerOrder.builder()
+        .orderId(orderId)
+        .status(OrderStatus.PROCESSING)
+        .build();
+    given(orderRepository.lockById(orderId)).willReturn(Optional.of(order));
+    given(shopOrderRepository.findStatusesByOrderId(orderId))
+        .willReturn(List.of(OrderStatus.SHIPPED, OrderStatus.CANCELLED, OrderStatus.DELIVERED));
+    given(orderRepository.save(any(CustomerOrder.class))).willAnswer(inv -> inv.getArgument(0));
+
+    CustomerOrder result = orderService.rollUpShopOrders(orderId, "vendor");
+
+    assertThat(result.getStatus()).isEqualTo(OrderStatus.SHIPPED);
+    verify(inventoryService).fulfillOrderReservations(orderId);
+  }
+
+  @Test
+  void rollUpShopOrders_ShouldKeepOrderProcessing_WhenAShopHasNotShipped() {
+    UUID orderId = UUID.randomUUID();
+    CustomerOrder order = CustomerOrder.builder()
+        .orderId(orderId)
+        .status(OrderStatus.PROCESSING)
+        .build();
+    given(orderRepository.lockById(orderId)).willReturn(Optional.of(order));
+    given(shopOrderRepository.findStatusesByOrderId(orderId))
+        .willReturn(List.of(OrderStatus.SHIPPED, OrderStatus.CONFIRMED));
+    given(orderRepository.save(any(CustomerOrder.class))).willAnswer(inv -> inv.getArgument(0));
+
+    CustomerOrder result = orderService.rollUpShopOrders(orderId, "vendor");
+
+    assertThat(result.getStatus()).isEqualTo(OrderStatus.PROCESSING);
+    verify(inventoryService, never()).fulfillOrderReservations(any());
+  }
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import com.xplaza.backend.order.domain.entity.CustomerOrder;
+import com.xplaza.backend.order.domain.entity.CustomerOrder.OrderStatus;
+import com.xplaza.backend.order.domain.entity.CustomerOrderItem;
+import com.xplaza.backend.order.domain.entity.OrderInvoice;
+import com.xplaza.backend.order.domain.entity.OrderInvoice.InvoiceStatus;
+import com.xplaza.backend.order.domain.repository.CustomerOrderRepository;
+import com.xplaza.backend.order.domain.repository.OrderInvoiceRepository;
+
+@ExtendWith(MockitoExtension.class)
+class InvoiceRendererTest {
+
+  @Mock
+  private CustomerOrderRepository orderRepository;
+
+  @Mock
+  private OrderInvoiceRepository invoiceRepository;
+
+  @Mock
+  private InvoiceStore invoiceStore;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private InvoiceRenderer renderer;
+
+  private final UUID orderId = UUID.randomUUID();
+
+  @BeforeEach
+  void setUp() {
+    ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+    resolver.setPrefix("templates/");
+    resolver.setSuffix(".html");
+    resolver.setTemplateMode(TemplateMode.HTML);
+    resolver.setCharacterEncoding("UTF-8");
+    SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+    templateEngine.setTemplateResolver(resolver);
+
+    renderer = new InvoiceRenderer(orderRepository, invoiceRepository, invoiceStore, templateEngine,
+        transactionManager);
+    ReflectionTestUtils.setField(renderer, "threads", 1);
+    ReflectionTestUtils.setField(renderer, "queueCapacity", 10);
+    ReflectionTestUtils.setField(renderer, "maxAttempts", 2);
+    renderer.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    renderer.stop();
+  }
+
+  @Test
+  void submit_ShouldRenderTheInvoiceTemplate_ToAPdf_AndMarkTheInvoiceRendered() throws InterruptedException {
+    OrderInvoice invoice = invoice();
+    given(invoiceRepository.findById(orderId)).willReturn(Optional.of(invoice));
+    given(orderRepository.findByIdWithItems(orderId)).willReturn(Optional.of(order()));
+
+    renderAndWait();
+
+    String key = "invoices/2026/10/INV-ORD-20261018-000001.pdf";
+    ArgumentCaptor<byte[]> pdf = ArgumentCaptor.forClass(byte[].class);
+    verify(invoiceStore).put(eq(key), pdf.capture());
+    assertThat(new String(Arrays.copyOf(pdf.getValue(), 5), StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+    assertThat(invoice.getStatus()).isEqualTo(InvoiceStatus.RENDERED);
+    assertThat(invoice.getObjectKey()).isEqualTo(key);
+    assertThat(invoice.getSizeBytes()).isEqualTo((long) pdf.getValue().length);
+    assertThat(invoice.getRenderedAt()).isNotNull();
+  }
+
+  @Test
+  void submit_ShouldRetry_AndMarkTheInvoiceFailed_AfterMaxAttempts() throws InterruptedException {
+    OrderInvoice invoice = invoice();
+    given(invoiceRepository.findById(orderId)).willReturn(Optional.of(invoice));
+    given(orderRepository.findByIdWithItems(orderId)).willReturn(Optional.empty());
+
+    renderAndWait();
+
+    assertThat(invoice.getAttempts()).isEqualTo(1);
+    assertThat(invoice.getStatus()).isEqualTo(InvoiceStatus.PENDING);
+    assertThat(invoice.getFailureReason()).contains(orderId.toString());
+
+    renderAndWait();
+
+    assertThat(invoice.getAttempts()).isEqualTo(2);
+    assertThat(invoice.getStatus()).isEqualTo(InvoiceStatus.FAILED);
+
+    renderAndWait();
+
+    assertThat(invoice.getAttempts()).isEqualTo(2);
+    verify(orderRepository, times(2)).findByIdWithItems(orderId);
+    verify(invoiceStore, never()).put(any(), any());
+  }
+
+  private void renderAndWait() throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(1);
+    assertThat(renderer.submit(orderId, done::countDown)).isTrue();
+    assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+  }
+
+  private OrderInvoice invoice() {
+    return OrderInvoice.builder()
+        .orderId(orderId)
+        .invoiceNumber("INV-ORD-20261018-000001")
+        .build();
+  }
+
+  private CustomerOrder order() {
+    CustomerOrder order = CustomerOrder.builder()
+        .orderId(orderId)
+        .orderNumber("ORD-20261018-000001")
+        .customerId(1L)
+        .status(OrderStatus.DELIVERED)
+        .subtotal(new BigDecimal("12.50"))
+        .grandTotal(new BigDecimal("12.50"))
+        .paymentMethod("CARD")
+        .shippingFirstName("Jane")
+        .shippingLastName("Doe")
+        .shippingAddressLine1("1 Main Street")
+        .shippingCity("Springfield")
+        .shippingPostalCode("12345")
+        .shippingCountryCode("US")
+        .createdAt(Instant.parse("2026-10-18T09:00:00Z"))
+        .build();
+    order.addItem(CustomerOrderItem.builder()
+        .productId(1L)
+        .shopId(1L)
+        .productName("Bread")
+        .sku("BREAD-1")
+        .quantity(5)
+        .unitPrice(new BigDecimal("2.50"))
+        .totalPrice(new BigDecimal("12.50"))
+        .build());
+    return order;
+  }
+}
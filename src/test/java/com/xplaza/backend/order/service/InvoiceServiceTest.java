@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.xplaza.backend.order.domain.entity.CustomerOrder;
+import com.xplaza.backend.order.domain.entity.CustomerOrder.OrderStatus;
+import com.xplaza.backend.order.domain.entity.OrderInvoice;
+import com.xplaza.backend.order.domain.entity.OrderInvoice.InvoiceStatus;
+import com.xplaza.backend.order.domain.repository.CustomerOrderRepository;
+import com.xplaza.backend.order.domain.repository.OrderInvoiceRepository;
+import com.xplaza.backend.order.service.InvoiceService.InvoiceDownload;
+
+@ExtendWith(MockitoExtension.class)
+class InvoiceServiceTest {
+
+  @Mock
+  private CustomerOrderRepository orderRepository;
+
+  @Mock
+  private OrderInvoiceRepository invoiceRepository;
+
+  @Mock
+  private InvoiceRenderer renderer;
+
+  @Mock
+  private InvoiceStore invoiceStore;
+
+  @InjectMocks
+  private InvoiceService invoiceService;
+
+  private final UUID orderId = UUID.randomUUID();
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(invoiceService, "urlTtlMinutes", 60L);
+    ReflectionTestUtils.setField(invoiceService, "urlCacheSize", 100);
+  }
+
+  @Test
+  void getInvoice_ShouldRecordPendingInvoice_AndQueueIt_WhenNoneExists() {
+    given(invoiceRepository.findById(orderId)).willReturn(Optional.empty());
+    given(orderRepository.findById(orderId)).willReturn(Optional.of(order(OrderStatus.DELIVERED)));
+    given(invoiceRepository.save(any(OrderInvoice.class))).willAnswer(inv -> inv.getArgument(0));
+
+    InvoiceDownload download = invoiceService.getInvoice(orderId);
+
+    assertThat(download.status()).isEqualTo(InvoiceStatus.PENDING);
+    assertThat(download.invoiceNumber()).isEqualTo("INV-ORD-20261018-000001");
+    assertThat(download.url()).isNull();
+    ArgumentCaptor<OrderInvoice> saved = ArgumentCaptor.forClass(OrderInvoice.class);
+    verify(invoiceRepository).save(saved.capture());
+    assertThat(saved.getValue().getOrderId()).isEqualTo(orderId);
+    verify(renderer).submit(orderId, null);
+  }
+
+  @Test
+  void getInvoice_ShouldReuseSignedUrl_ForRepeatDownloads() {
+    OrderInvoice invoice = OrderInvoice.builder()
+        .orderId(orderId)
+        .invoiceNumber("INV-ORD-20261018-000001")
+        .status(InvoiceStatus.RENDERED)
+        .objectKey("invoices/2026/10/INV-ORD-20261018-000001.pdf")
+        .renderedAt(Instant.now())
+        .build();
+    given(invoiceRepository.findById(orderId)).willReturn(Optional.of(invoice));
+    given(invoiceStore.signedUrl(eq(invoice.getObjectKey()), any())).willReturn("https://files/invoice?sig=1");
+
+    InvoiceDownload first = invoiceService.getInvoice(orderId);
+    InvoiceDownload second = invoiceService.getInvoice(orderId);
+
+    assertThat(first.url()).isEqualTo("https://files/invoice?sig=1");
+    assertThat(second.url()).isEqualTo(first.url());
+    assertThat(second.urlExpiresAt()).isEqualTo(first.urlExpiresAt());
+    verify(invoiceStore, times(1)).signedUrl(any(), any());
+    verify(renderer, never()).submit(any(), any());
+  }
+
+  @Test
+  void getInvoice_ShouldReject_OrdersNotYetConfirmed() {
+    given(invoiceRepository.findById(orderId)).willReturn(Optional.empty());
+    given(orderRepository.findById(orderId)).willReturn(Optional.of(order(OrderStatus.PENDING)));
+
+    assertThatThrownBy(() -> invoiceService.getInvoice(orderId)).isInstanceOf(IllegalStateException.class);
+    verify(invoiceRepository, never()).save(any());
+  }
+
+  private CustomerOrder order(OrderStatus status) {
+    return CustomerOrder.builder()
+        .orderId(orderId)
+        .orderNumber("ORD-20261018-000001")
+        .customerId(1L)
+        .status(status)
+        .subtotal(new BigDecimal("10.00"))
+        .grandTotal(new BigDecimal("10.00"))
+        .build();
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.xplaza.backend.order.domain.entity.CustomerOrder;
+import com.xplaza.backend.order.domain.entity.CustomerOrderItem;
+import com.xplaza.backend.order.domain.repository.CustomerOrderItemRepository;
+import com.xplaza.backend.order.domain.repository.CustomerOrderRepository;
+import com.xplaza.backend.order.domain.repository.ShopOrderRepository;
+import com.xplaza.backend.order.dto.response.OrderLineSummary;
+import com.xplaza.backend.order.dto.response.OrderListPage;
+import com.xplaza.backend.order.dto.response.OrderSummary;
+import com.xplaza.backend.order.dto.response.ShopOrderSummary;
+
+@ExtendWith(MockitoExtension.class)
+class OrderListingServiceTest {
+
+  @Mock
+  private CustomerOrderRepository orderRepository;
+
+  @Mock
+  private ShopOrderRepository shopOrderRepository;
+
+  @Mock
+  private CustomerOrderItemRepository orderItemRepository;
+
+  @InjectMocks
+  private OrderListingService listingService;
+
+  private final Instant now = Instant.parse("2026-10-18T10:00:00Z");
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(listingService, "maxPageSize", 100);
+  }
+
+  @Test
+  void getCustomerOrders_ShouldReturnCursorOfLastRow_WhenMoreRowsExist() {
+    List<OrderSummary> rows = List.of(order(0), order(1), order(2));
+    given(orderRepository.findSummariesByCustomer(eq(7L), eq(OrderCursor.START.createdAt()),
+        eq(OrderCursor.START.id()), eq(Pageable.ofSize(3)))).willReturn(rows);
+
+    OrderListPage<OrderSummary> page = listingService.getCustomerOrders(7L, null, 2, false);
+
+    assertThat(page.orders()).containsExactly(rows.get(0), rows.get(1));
+    assertThat(page.items()).isNull();
+    OrderCursor next = OrderCursor.decode(page.nextCursor());
+    assertThat(next.createdAt()).isEqualTo(rows.get(1).createdAt());
+    assertThat(next.id()).isEqualTo(rows.get(1).orderId());
+    verify(orderItemRepository, never()).findLinesByOrderIds(any());
+  }
+
+  @Test
+  void getCustomerOrders_ShouldContinueFromCursor_AndEndWithoutNextCursor() {
+    OrderSummary previous = order(1);
+    String cursor = new OrderCursor(previous.createdAt(), previous.orderId()).encode();
+    OrderSummary last = order(2);
+    given(orderRepository.findSummariesByCustomer(7L, previous.createdAt(), previous.orderId(),
+        Pageable.ofSize(3))).willReturn(List.of(last));
+
+    OrderListPage<OrderSummary> page = listingService.getCustomerOrders(7L, cursor, 2, false);
+
+    assertThat(page.orders()).containsExactly(last);
+    assertThat(page.nextCursor()).isNull();
+  }
+
+  @Test
+  void getOrdersByStatus_ShouldBatchFetchLineItemsOfThePage() {
+    OrderSummary first = order(0);
+    OrderSummary second = order(1);
+    given(orderRepository.findSummariesByStatus(eq(CustomerOrder.OrderStatus.CONFIRMED), any(), any(), any()))
+        .willReturn(List.of(first, second));
+    OrderLineSummary a = line(first.orderId());
+    OrderLineSummary b = line(second.orderId());
+    OrderLineSummary c = line(first.orderId());
+    given(orderItemRepository.findLinesByOrderIds(List.of(first.orderId(), second.orderId())))
+        .willReturn(List.of(a, b, c));
+
+    OrderListPage<OrderSummary> page = listingService.getOrdersByStatus(CustomerOrder.OrderStatus.CONFIRMED, null, 20,
+        true);
+
+    assertThat(page.items()).containsOnlyKeys(first.orderId(), second.orderId());
+    assertThat(page.items().get(first.orderId())).containsExactly(a, c);
+    assertThat(page.items().get(second.orderId())).containsExactly(b);
+  }
+
+  @Test
+  void getShopOrders_ShouldCapPageSize_AndFilterByStatus() {
+    given(shopOrderRepository.findSummariesByShopAndStatus(eq(3L), eq(CustomerOrder.OrderStatus.SHIPPED), any(),
+        any(), eq(Pageable.ofSize(101)))).willReturn(List.of());
+
+    OrderListPage<ShopOrderSummary> page = listingService.getShopOrders(3L, CustomerOrder.OrderStatus.SHIPPED, null,
+        5000, true);
+
+    assertThat(page.orders()).isEmpty();
+    assertThat(page.nextCursor()).isNull();
+    verify(shopOrderRepository, never()).findSummariesByShop(any(), any(), any(), any());
+  }
+
+  @Test
+  void getOrdersCreatedBetween_ShouldReject_InvertedRange() {
+    assertThatThrownBy(() -> listingService.getOrdersCreatedBetween(now, now.minusSeconds(1), null, 20, false))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void decode_ShouldReject_MalformedCursor() {
+    assertThatThrownBy(() -> OrderCursor.decode("not-a-cursor"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private OrderSummary order(int age) {
+    return new OrderSummary(UUID.randomUUID(), "ORD-20261018-00000" + age, 7L, 3L,
+        CustomerOrder.OrderStatus.CONFIRMED, "PAID", new BigDecimal("10.00"), "USD", now.minusSeconds(age));
+  }
+
+  private static OrderLineSummary line(UUID orderId) {
+    return new OrderLineSummary(UUID.randomUUID(), orderId, orderId, 1L, null, "Milk", null, "MILK-1", 1,
+        new BigDecimal("10.00"), new BigDecimal("10.00"), CustomerOrderItem.ItemStatus.PENDING);
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+class OrderSplitterTest {
+
+  @Test
+  void split_ShouldGroupLinesByShopInOrderOfAppearance() {
+    List<OrderSplitter.Share> shares = OrderSplitter.split(
+        List.of(line(1L, "10"), line(2L, "20"), line(1L, "5")),
+        totals("35.00", "0", "0", "0", "35.00"));
+
+    assertThat(shares).extracting(OrderSplitter.Share::shopId).containsExactly(1L, 2L);
+    assertThat(shares).extracting(OrderSplitter.Share::itemCount).containsExactly(2, 1);
+    assertThat(shares).extracting(OrderSplitter.Share::subtotal)
+        .containsExactly(new BigDecimal("15.00"), new BigDecimal("20.00"));
+  }
+
+  @Test
+  void split_ShouldMakeSharesAddUpToOrderTotals() {
+    List<OrderSplitter.Share> shares = OrderSplitter.split(
+        List.of(line(1L, "10"), line(2L, "10"), line(3L, "10")),
+        totals("30.00", "1.00", "9.99", "2.50", "41.49"));
+
+    assertThat(sum(shares, OrderSplitter.Share::discount)).isEqualByComparingTo("1.00");
+    assertThat(sum(shares, OrderSplitter.Share::shipping)).isEqualByComparingTo("9.99");
+    assertThat(sum(shares, OrderSplitter.Share::tax)).isEqualByComparingTo("2.50");
+    assertThat(sum(shares, OrderSplitter.Share::grandTotal)).isEqualByComparingTo("41.49");
+    assertThat(shares).extracting(OrderSplitter.Share::shipping)
+        .containsExactly(new BigDecimal("3.33"), new BigDecimal("3.33"), new BigDecimal("3.33"));
+  }
+
+  @Test
+  void prorate_ShouldSplitEvenly_WhenAllWeightsAreZero() {
+    List<BigDecimal> shares = OrderSplitter.prorate(new BigDecimal("10.00"),
+        List.of(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO));
+
+    assertThat(shares).containsExactly(new BigDecimal("3.33"), new BigDecimal("3.33"), new BigDecimal("3.34"));
+  }
+
+  @Test
+  void split_ShouldGiveSingleShopEverything() {
+    List<OrderSplitter.Share> shares = OrderSplitter.split(List.of(line(7L, "12.50")),
+        totals("12.50", "2.00", "5.00", "1.00", "16.50"));
+
+    assertThat(shares).singleElement().satisfies(share -> {
+      assertThat(share.discount()).isEqualByComparingTo("2.00");
+      assertThat(share.grandTotal()).isEqualByComparingTo("16.50");
+    });
+  }
+
+  private static BigDecimal sum(List<OrderSplitter.Share> shares,
+      Function<OrderSplitter.Share, BigDecimal> amount) {
+    return shares.stream().map(amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+  }
+
+  private static OrderSplitter.Line line(Long shopId, String total) {
+    return new OrderSplitter.Line(shopId, new BigDecimal(total));
+  }
+
+  private static OrderSplitter.Totals totals(String subtotal, String discount, String shipping, String tax,
+      String grandTotal) {
+    return new OrderSplitter.Totals(new BigDecimal(subtotal), new BigDecimal(discount), new BigDecimal(shipping),
+        new BigDecimal(tax), new BigDecimal(grandTotal));
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.xplaza.backend.order.domain.entity.CustomerOrder;
+import com.xplaza.backend.order.domain.entity.CustomerOrder.OrderStatus;
+import com.xplaza.backend.order.domain.entity.ShopOrder;
+import com.xplaza.backend.order.domain.repository.CustomerOrderItemRepository;
+import com.xplaza.backend.order.domain.repository.ShopOrderRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ShopOrderServiceTest {
+
+  @Mock
+  private ShopOrderRepository shopOrderRepository;
+
+  @Mock
+  private CustomerOrderItemRepository orderItemRepository;
+
+  @Mock
+  private CustomerOrderService customerOrderService;
+
+  @InjectMocks
+  private ShopOrderService shopOrderService;
+
+  @Test
+  void markShipped_ShouldLockParentOrder_BeforeLoadingSubOrderAndRollingUp() {
+    UUID orderId = UUID.randomUUID();
+    ShopOrder shopOrder = ShopOrder.builder()
+        .orderId(orderId)
+        .subOrderNumber("ORD-1-1")
+        .status(OrderStatus.PROCESSING)
+        .build();
+    UUID shopOrderId = shopOrder.getShopOrderId();
+    given(shopOrderRepository.findOrderIdById(shopOrderId)).willReturn(Optional.of(orderId));
+    given(customerOrderService.lockOrder(orderId)).willReturn(CustomerOrder.builder().orderId(orderId).build());
+    given(shopOrderRepository.findById(shopOrderId)).willReturn(Optional.of(shopOrder));
+    given(shopOrderRepository.save(any(ShopOrder.class))).willAnswer(inv -> inv.getArgument(0));
+
+    ShopOrder result = shopOrderService.markShipped(shopOrderId, "DHL", "TRK1", "vendor");
+
+    assertThat(result.getStatus()).isEqualTo(OrderStatus.SHIPPED);
+    InOrder order = inOrder(customerOrderService, shopOrderRepository);
+    order.verify(customerOrderService).lockOrder(orderId);
+    order.verify(shopOrderRepository).findById(shopOrderId);
+    order.verify(shopOrderRepository).save(shopOrder);
+    order.verify(customerOrderService).rollUpShopOrders(orderId, "vendor");
+  }
+}
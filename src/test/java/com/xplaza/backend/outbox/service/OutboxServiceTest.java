@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.outbox.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xplaza.backend.outbox.domain.entity.OutboxEvent;
+import com.xplaza.backend.outbox.domain.repository.OutboxEventRepository;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+  @Mock
+  private OutboxEventRepository eventRepository;
+
+  @Mock
+  private OutboxEventHandler orderHandler;
+
+  private OutboxService outboxService;
+
+  @BeforeEach
+  void setUp() {
+    outboxService = new OutboxService(eventRepository, List.of(orderHandler), new ObjectMapper());
+    ReflectionTestUtils.setField(outboxService, "leaseSeconds", 60L);
+    ReflectionTestUtils.setField(outboxService, "maxAttempts", 3);
+  }
+
+  @Test
+  void publish_ShouldPersistEventsInCreationOrder() {
+    OutboxEvent first = outboxService.publish("ORDER", 1L, OutboxEvent.EventType.ORDER_PLACED,
+        Map.of("orderId", 1L));
+    OutboxEvent second = outboxService.publish("ORDER", 1L, OutboxEvent.EventType.ORDER_PAID,
+        Map.of("orderId", 1L));
+
+    ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+    verify(eventRepository, times(2)).save(captor.capture());
+    assertThat(captor.getAllValues()).containsExactly(first, second);
+    assertThat(first.getPayload()).isEqualTo("{\"orderId\":1}");
+    assertThat(second.getCreatedAt()).isAfter(first.getCreatedAt());
+  }
+
+  @Test
+  void deliver_ShouldMarkPublished_AfterMatchingHandlerRuns() {
+    OutboxEvent event = event(OutboxEvent.EventType.ORDER_PLACED);
+    given(eventRepository.findById(event.getEventId())).willReturn(Optional.of(event));
+    given(orderHandler.eventTypes()).willReturn(Set.of(OutboxEvent.EventType.ORDER_PLACED));
+
+    outboxService.deliver(event.getEventId());
+
+    verify(orderHandler).handle(event);
+    assertThat(event.getStatus()).isEqualTo(OutboxEvent.EventStatus.PUBLISHED);
+    assertThat(event.getPublishedAt()).isNotNull();
+  }
+
+  @Test
+  void deliver_ShouldSkipHandler_WhenEventTypeDoesNotMatch() {
+    OutboxEvent event = event(OutboxEvent.EventType.PRICE_CHANGED);
+    given(eventRepository.findById(event.getEventId())).willReturn(Optional.of(event));
+    given(orderHandler.eventTypes()).willReturn(Set.of(OutboxEvent.EventType.ORDER_PLACED));
+
+    outboxService.deliver(event.getEventId());
+
+    verify(orderHandler, never()).handle(any());
+    assertThat(event.getStatus()).isEqualTo(OutboxEvent.EventStatus.PUBLISHED);
+  }
+
+  @Test
+  void recordFailure_ShouldBackOff_ThenGiveUpAfterMaxAttempts() {
+    OutboxEvent event = event(OutboxEvent.EventType.ORDER_PLACED);
+    given(eventRepository.findById(event.getEventId())).willReturn(Optional.of(event));
+    Instant before = Instant.now();
+
+    outboxService.recordFailure(event.getEventId(), "boom");
+
+    assertThat(event.getStatus()).isEqualTo(OutboxEvent.EventStatus.PENDING);
+    assertThat(event.getAttempts()).isEqualTo(1);
+    assertThat(event.getAvailableAt()).isAfter(before);
+    assertThat(event.getLastError()).isEqualTo("boom");
+
+    outboxService.recordFailure(event.getEventId(), "boom");
+    outboxService.recordFailure(event.getEventId(), "boom");
+
+    assertThat(event.getStatus()).isEqualTo(OutboxEvent.EventStatus.FAILED);
+    assertThat(event.getAttempts()).isEqualTo(3);
+  }
+
+  private OutboxEvent event(OutboxEvent.EventType type) {
+    Instant now = Instant.now();
+    return OutboxEvent.builder()
+        .aggregateType("ORDER")
+        .aggregateId("1")
+        .eventType(type)
+        .payload("{}")
+        .availableAt(now)
+        .createdAt(now)
+        .build();
+  }
+}
@@ -24,6 +24,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.xplaza.backend.exception.ResourceAlreadyExistsException;
 import com.xplaza.backend.exception.ResourceNotFoundException;
+import com.xplaza.backend.marketing.service.CouponCodeIndex;
 import com.xplaza.backend.promotion.domain.entity.Coupon;
 import com.xplaza.backend.promotion.domain.entity.DiscountType;
 import com.xplaza.backend.promotion.repository.CouponRepository;
@@ -39,6 +40,9 @@ class CouponServiceTest {
   @Mock
   private DiscountTypeRepository discountTypeRepository;
 
+  @Mock
+  private CouponCodeIndex codeIndex;
+
   @InjectMocks
   private CouponService couponService;
 
@@ -108,7 +112,8 @@ class CouponServiceTest {
     @Test
     @DisplayName("Should return coupon by code")
     void shouldReturnCouponByCode() {
-      when(couponRepository.findByCouponCode("SAVE10")).thenReturn(Optional.of(testCoupon));
+      when(codeIndex.findCouponId("SAVE10")).thenReturn(Optional.of(1L));
+      when(couponRepository.findById(1L)).thenReturn(Optional.of(testCoupon));
 
       Coupon result = couponService.getCouponByCode("SAVE10");
 
@@ -116,6 +121,15 @@ class CouponServiceTest {
       assertEquals("SAVE10", result.getCouponCode());
     }
 
+    @Test
+    @DisplayName("Should reject unknown code without querying the database")
+    void shouldRejectUnknownCodeWithoutQuery() {
+      when(codeIndex.findCouponId("GUESS42")).thenReturn(Optional.empty());
+
+      assertThrows(ResourceNotFoundException.class, () -> couponService.getCouponByCode("GUESS42"));
+      verifyNoInteractions(couponRepository);
+    }
+
     @Test
     @DisplayName("Should throw ResourceNotFoundException when coupon not found")
     void shouldThrowExceptionWhenCouponNotFound() {
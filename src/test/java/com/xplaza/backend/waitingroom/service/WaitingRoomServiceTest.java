@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2025 Xplaza or Xplaza affiliate company. All rights reserved.
+ * Author: Mahiuddin Al Kamal <mahiuddinalkamal>
+ */
+
+package com.xplaza.backend.waitingroom.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.xplaza.backend.marketing.domain.entity.Campaign;
+import com.xplaza.backend.marketing.domain.repository.CampaignRepository;
+import com.xplaza.backend.waitingroom.domain.entity.WaitingRoomLine;
+import com.xplaza.backend.waitingroom.domain.repository.WaitingRoomLineRepository;
+import com.xplaza.backend.waitingroom.service.WaitingRoomService.QueueStatus;
+
+@ExtendWith(MockitoExtension.class)
+class WaitingRoomServiceTest {
+
+  @Mock
+  private CampaignRepository campaignRepository;
+
+  @Mock
+  private WaitingRoomLineRepository lineRepository;
+
+  @Mock
+  private DataSource dataSource;
+
+  private WaitingRoomTokens tokens;
+  private WaitingRoomService waitingRoomService;
+
+  @BeforeEach
+  void setUp() {
+    tokens = new WaitingRoomTokens();
+    ReflectionTestUtils.setField(tokens, "secret", "test-secret-key-for-waiting-room");
+    ReflectionTestUtils.setField(tokens, "ticketHours", 6L);
+    tokens.init();
+
+    given(campaignRepository.findByCode("FLASH")).willReturn(Optional.of(activeCampaign()));
+    waitingRoomService = newNode();
+  }
+
+  private WaitingRoomService newNode() {
+    WaitingRoomService node = new WaitingRoomService(campaignRepository, lineRepository, tokens, dataSource);
+    ReflectionTestUtils.setField(node, "campaignCodes", new String[] { "FLASH" });
+    ReflectionTestUtils.setField(node, "passMinutes", 10L);
+    ReflectionTestUtils.setField(node, "initialRate", 10.0);
+    ReflectionTestUtils.setField(node, "minRate", 2.0);
+    ReflectionTestUtils.setField(node, "maxRate", 100.0);
+    ReflectionTestUtils.setField(node, "rateStep", 0.0);
+    ReflectionTestUtils.setField(node, "targetLatencyMs", 500L);
+    ReflectionTestUtils.setField(node, "tickMillis", 1000L);
+    ReflectionTestUtils.setField(node, "nodeTimeoutMillis", 30_000L);
+    node.refresh();
+    return node;
+  }
+
+  @Test
+  void join_ShouldQueueVisitors_AndAdmitThemAtTheRate() {
+    List<QueueStatus> joined = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      joined.add(waitingRoomService.join("FLASH", null));
+    }
+    assertThat(joined.get(0).admitted()).isFalse();
+    assertThat(joined.get(24).position()).isEqualTo(25);
+    assertThat(joined.get(24).estimatedWaitSeconds()).isEqualTo(3);
+
+    waitingRoomService.advance(1000);
+
+    QueueStatus tenth = waitingRoomService.status(joined.get(9).ticket());
+    assertThat(tenth.admitted()).isTrue();
+    assertThat(tenth.passExpiresAt()).isAfter(Instant.now());
+    assertThat(waitingRoomService.admits(tenth.pass(), tenth.ticket(), null)).isTrue();
+    QueueStatus eleventh = waitingRoomService.status(joined.get(10).ticket());
+    assertThat(eleventh.admitted()).isFalse();
+    assertThat(eleventh.position()).isEqualTo(1);
+    assertThat(eleventh.pass()).isNull();
+  }
+
+  @Test
+  void advance_ShouldBackOff_WhenGatedRequestsSlowDown_AndRecoverWhileKeepingUp() {
+    ReflectionTestUtils.setField(waitingRoomService, "rateStep", 2.0);
+    waitingRoomService.join("FLASH", null);
+    waitingRoomService.record(2_000_000_000L, false);
+
+    waitingRoomService.advance(100);
+    assertThat(waitingRoomService.admissionRate()).isEqualTo(7.0);
+
+    waitingRoomService.join("FLASH", null);
+    waitingRoomService.record(50_000_000L, false);
+    waitingRoomService.advance(100);
+    assertThat(waitingRoomService.admissionRate()).isEqualTo(9.0);
+
+    waitingRoomService.record(50_000_000L, true);
+    waitingRoomService.advance(100);
+    assertThat(waitingRoomService.admissionRate()).isEqualTo(9.0 * 0.7);
+  }
+
+  @Test
+  void admits_ShouldReject_TamperedPasses_AndPassesOnceTheRoomCloses() {
+    QueueStatus joined = waitingRoomService.join("FLASH", null);
+    waitingRoomService.advance(1000);
+    String pass = waitingRoomService.status(joined.ticket()).pass();
+
+    String ticket = joined.ticket();
+    assertThat(waitingRoomService.admits(pass, ticket, null)).isTrue();
+    assertThat(waitingRoomService.admits(pass.substring(0, pass.length() - 2) + "xx", ticket, null)).isFalse();
+    assertThat(waitingRoomService.admits(ticket, ticket, null)).isFalse();
+    assertThat(waitingRoomService.admits(null, ticket, null)).isFalse();
+
+    given(campaignRepository.findByCode("FLASH")).willReturn(Optional.empty());
+    waitingRoomService.refresh();
+
+    assertThat(waitingRoomService.gateOpen()).isFalse();
+    assertThat(waitingRoomService.admits(pass, ticket, null)).isFalse();
+    assertThatThrownBy(() -> waitingRoomService.join("FLASH", null)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void admits_ShouldRequireThePassesOwnTicket_AndTheVisitorWhoJoined() {
+    QueueStatus alice = waitingRoomService.join("FLASH", "alice@example.com");
+    QueueStatus bob = waitingRoomService.join("FLASH", "bob@example.com");
+    QueueStatus anonymous = waitingRoomService.join("FLASH", null);
+    waitingRoomService.advance(1000);
+    String alicePass = waitingRoomService.status(alice.ticket()).pass();
+    String anonymousPass = waitingRoomService.status(anonymous.ticket()).pass();
+
+    assertThat(waitingRoomService.admits(alicePass, alice.ticket(), "alice@example.com")).isTrue();
+    assertThat(waitingRoomService.admits(alicePass, null, "alice@example.com")).isFalse();
+    assertThat(waitingRoomService.admits(alicePass, bob.ticket(), "alice@example.com")).isFalse();
+    assertThat(waitingRoomService.admits(alicePass, alice.ticket(), "bob@example.com")).isFalse();
+    assertThat(waitingRoomService.admits(alicePass, alice.ticket(), null)).isFalse();
+    assertThat(waitingRoomService.admits(anonymousPass, anonymous.ticket(), null)).isTrue();
+    assertThat(waitingRoomService.admits(anonymousPass, alice.ticket(), null)).isFalse();
+  }
+
+  @Test
+  void status_ShouldAdmitTicketsFromAnotherNode_AgainstThatNodesLine() {
+    WaitingRoomService otherNode = newNode();
+    List<QueueStatus> joined = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      joined.add(otherNode.join("FLASH", null));
+    }
+    String otherNodeId = (String) ReflectionTestUtils.getField(otherNode, "nodeId");
+
+    assertThat(waitingRoomService.status(joined.get(1).ticket()).admitted()).isFalse();
+
+    given(lineRepository.findByCampaignCodeInAndUpdatedAtAfter(any(), any())).willReturn(List.of(
+        WaitingRoomLine.builder().campaignCode("FLASH").nodeId(otherNodeId).issued(3L).admitted(2L)
+            .updatedAt(Instant.now()).build()));
+    waitingRoomService.sync();
+
+    QueueStatus second = waitingRoomService.status(joined.get(1).ticket());
+    assertThat(second.admitted()).isTrue();
+    assertThat(waitingRoomService.admits(second.pass(), joined.get(1).ticket(), null)).isTrue();
+    QueueStatus third = waitingRoomService.status(joined.get(2).ticket());
+    assertThat(third.admitted()).isFalse();
+    assertThat(third.position()).isEqualTo(1);
+  }
+
+  @Test
+  void status_ShouldKeepThePassExpiry_OfTheFirstAdmission() throws InterruptedException {
+    QueueStatus joined = waitingRoomService.join("FLASH", null);
+    waitingRoomService.advance(1000);
+
+    QueueStatus first = waitingRoomService.status(joined.ticket());
+    Thread.sleep(5);
+    QueueStatus again = waitingRoomService.status(joined.ticket());
+
+    assertThat(first.admitted()).isTrue();
+    assertThat(again.passExpiresAt()).isEqualTo(first.passExpiresAt());
+    assertThat(again.pass()).isEqualTo(first.pass());
+  }
+
+  @Test
+  void status_ShouldRefuseANewPass_OnceThePassTimeOfTheAdmissionIsOver() throws InterruptedException {
+    ReflectionTestUtils.setField(waitingRoomService, "passMinutes", 0L);
+    QueueStatus joined = waitingRoomService.join("FLASH", null);
+    waitingRoomService.advance(1000);
+    Thread.sleep(5);
+
+    assertThatThrownBy(() -> waitingRoomService.status(joined.ticket()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void status_ShouldLetIn_TicketsOfANodeThatStoppedPublishing_OnlyAtTheRate() {
+    UUID goneLine = UUID.randomUUID();
+    Instant lastPublished = Instant.now().minusSeconds(60);
+    given(lineRepository.findByCampaignCodeInAndUpdatedAtAfter(any(), any())).willReturn(List.of(
+        WaitingRoomLine.builder().id(goneLine).campaignCode("FLASH").nodeId("gone").issued(30L).admitted(5L)
+            .updatedAt(lastPublished).build()));
+    given(lineRepository.claim(eq(goneLine), eq(lastPublished), any())).willReturn(1);
+    String fifth = tokens.issueTicket(tokens.newTicket("FLASH", "gone", 5, lastPublished, null));
+    String sixth = tokens.issueTicket(tokens.newTicket("FLASH", "gone", 6, lastPublished, null));
+    String sixteenth = tokens.issueTicket(tokens.newTicket("FLASH", "gone", 16, lastPublished, null));
+
+    waitingRoomService.sync();
+
+    assertThat(waitingRoomService.status(fifth).admitted()).isTrue();
+    assertThat(waitingRoomService.status(sixth).admitted()).isFalse();
+
+    waitingRoomService.advance(1000);
+
+    assertThat(waitingRoomService.status(sixth).admitted()).isTrue();
+    assertThat(waitingRoomService.status(sixteenth).admitted()).isFalse();
+    assertThat(waitingRoomService.status(sixteenth).position()).isEqualTo(1);
+    waitingRoomService.sync();
+    verify(lineRepository).report(eq("FLASH"), eq("gone"), eq(30L), eq(15L), any());
+  }
+
+  @Test
+  void status_ShouldWait_ForTicketsOfAnUnknownNode_AndRefuseThemOnceItIsGone() {
+    waitingRoomService.sync();
+    String fresh = tokens.issueTicket(tokens.newTicket("FLASH", "gone", 5, Instant.now(), null));
+    String old = tokens.issueTicket(tokens.newTicket("FLASH", "gone", 5, Instant.now().minusSeconds(60), null));
+
+    assertThat(waitingRoomService.status(fresh).admitted()).isFalse();
+    assertThatThrownBy(() -> waitingRoomService.status(old)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static Campaign activeCampaign() {
+    return Campaign.builder()
+        .code("FLASH")
+        .name("Flash sale")
+        .status(Campaign.CampaignStatus.ACTIVE)
+        .startDate(Instant.now().minusSeconds(3600))
+        .endDate(Instant.now().plusSeconds(3600))
+        .build();
+  }
+}